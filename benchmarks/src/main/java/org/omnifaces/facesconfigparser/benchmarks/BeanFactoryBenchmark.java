@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.AttributeBean;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.DescriptionBean;
+import org.omnifaces.facesconfigparser.digester.beans.PropertyBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Per element cost of creating the bean of a matched element: the class loader lookup and <code>Class.newInstance()</code>
+ * the rules used to do, against the constructor reference supplied by {@link BeanFactory} that they use now.
+ * </p>
+ *
+ * <p>
+ * Run with <code>-t 4</code> or more to see the class loader contention of the reflective variant.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class BeanFactoryBenchmark {
+
+    @Param({ "ComponentBean", "AttributeBean", "PropertyBean", "DescriptionBean" })
+    public String bean;
+
+    private Class<?> type;
+    private String className;
+    private ClassLoader classLoader;
+    private Supplier<?> supplier;
+
+    @Setup
+    public void setup() {
+        switch (bean) {
+        case "ComponentBean":
+            type = ComponentBean.class;
+            break;
+        case "AttributeBean":
+            type = AttributeBean.class;
+            break;
+        case "PropertyBean":
+            type = PropertyBean.class;
+            break;
+        default:
+            type = DescriptionBean.class;
+            break;
+        }
+
+        className = type.getName();
+        classLoader = Thread.currentThread().getContextClassLoader();
+        supplier = BeanFactory.DEFAULT.supplier(type);
+    }
+
+    /**
+     * What each rule did in <code>begin</code> before the bean factory.
+     */
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public Object reflective() throws Exception {
+        return classLoader.loadClass(className).newInstance();
+    }
+
+    /**
+     * What each rule does in <code>begin</code> now; the supplier is resolved once, when the rule is created.
+     */
+    @Benchmark
+    public Object supplier() {
+        return supplier.get();
+    }
+
+    /**
+     * Resolving the supplier per element as well, as a rule would without caching it.
+     */
+    @Benchmark
+    public Object factory() {
+        return BeanFactory.DEFAULT.create(type);
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.omnifaces.facesconfigparser.digester.beans.ApplicationBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedPropertyBean;
+import org.omnifaces.facesconfigparser.digester.rules.FacesConfigRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Adds and merges entries into the holders that used to scan a list per entry: application listeners and managed
+ * properties. Compare the scores of the two sizes; linear code takes about 4 times as long for the larger one, and the
+ * quadratic code it replaced 16 times.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolderScalingBenchmark {
+
+    @Param({ "10000", "40000" })
+    public int size;
+
+    private String[] names;
+
+    @Setup
+    public void setup() {
+        names = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = "com.example.Name" + i;
+        }
+    }
+
+    /**
+     * Adds every name as an action listener, EL resolver and view handler.
+     */
+    @Benchmark
+    public ApplicationBean addApplicationListeners() {
+        ApplicationBean application = new ApplicationBean();
+        for (String name : names) {
+            application.addActionListener(name);
+            application.addELResolver(name);
+            application.addViewHandler(name);
+        }
+        return application;
+    }
+
+    /**
+     * Adds every name as a managed property, then looks each of them up.
+     */
+    @Benchmark
+    public int addAndGetManagedProperties() {
+        ManagedBeanBean managedBean = managedBean(0, size);
+        int found = 0;
+        for (String name : names) {
+            if (managedBean.getManagedProperty(name) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Merges two configurations that share half of their action listeners and of the managed properties of a bean, as
+     * when a second faces config file is parsed.
+     */
+    @Benchmark
+    public FacesConfigBean mergeFacesConfigs() {
+        FacesConfigBean top = facesConfig(0);
+        FacesConfigBean old = facesConfig(size / 2);
+        FacesConfigRule.mergeFacesConfig(top, old);
+        return old;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private FacesConfigBean facesConfig(int offset) {
+        ApplicationBean application = new ApplicationBean();
+        for (int i = 0; i < size; i++) {
+            application.addActionListener(names[(i + offset) % size]);
+        }
+
+        FacesConfigBean facesConfig = new FacesConfigBean();
+        facesConfig.setApplication(application);
+        facesConfig.addManagedBean(managedBean(offset, size));
+        return facesConfig;
+    }
+
+    private ManagedBeanBean managedBean(int offset, int count) {
+        ManagedBeanBean managedBean = new ManagedBeanBean();
+        managedBean.setManagedBeanName("bean");
+        for (int i = 0; i < count; i++) {
+            ManagedPropertyBean managedProperty = new ManagedPropertyBean();
+            managedProperty.setPropertyName(names[(i + offset) % size]);
+            managedBean.addManagedProperty(managedProperty);
+        }
+        return managedBean;
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.benchmarks;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
+import org.omnifaces.facesconfigparser.digester.beans.RendererBean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Renderer lookup of a standard HTML render kit: the family to type index of {@link RenderKitBean} against the single
+ * <code>TreeMap</code> keyed by <code>componentFamily + "|" + rendererType</code> it replaced.
+ * </p>
+ *
+ * <p>
+ * Run with <code>-prof gc</code> to see the allocation of the composite key per lookup.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RendererLookupBenchmark {
+
+    private static final String[][] RENDERERS = {
+            { "javax.faces.Command", "javax.faces.Button" }, { "javax.faces.Command", "javax.faces.Link" },
+            { "javax.faces.Data", "javax.faces.Table" }, { "javax.faces.Form", "javax.faces.Form" },
+            { "javax.faces.Graphic", "javax.faces.Image" }, { "javax.faces.Input", "javax.faces.Hidden" },
+            { "javax.faces.Input", "javax.faces.Secret" }, { "javax.faces.Input", "javax.faces.Text" },
+            { "javax.faces.Input", "javax.faces.Textarea" }, { "javax.faces.Input", "javax.faces.File" },
+            { "javax.faces.Message", "javax.faces.Message" }, { "javax.faces.Messages", "javax.faces.Messages" },
+            { "javax.faces.Output", "javax.faces.Format" }, { "javax.faces.Output", "javax.faces.Label" },
+            { "javax.faces.Output", "javax.faces.Link" }, { "javax.faces.Output", "javax.faces.Text" },
+            { "javax.faces.Output", "javax.faces.resource.Script" }, { "javax.faces.Output", "javax.faces.resource.Stylesheet" },
+            { "javax.faces.Panel", "javax.faces.Grid" }, { "javax.faces.Panel", "javax.faces.Group" },
+            { "javax.faces.SelectBoolean", "javax.faces.Checkbox" }, { "javax.faces.SelectMany", "javax.faces.Checkbox" },
+            { "javax.faces.SelectMany", "javax.faces.Listbox" }, { "javax.faces.SelectMany", "javax.faces.Menu" },
+            { "javax.faces.SelectOne", "javax.faces.Listbox" }, { "javax.faces.SelectOne", "javax.faces.Menu" },
+            { "javax.faces.SelectOne", "javax.faces.Radio" } };
+
+    private RenderKitBean renderKit;
+    private Map<String, RendererBean> concatenatedKeys;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        renderKit = new RenderKitBean();
+        concatenatedKeys = new TreeMap<>();
+
+        for (String[] renderer : RENDERERS) {
+            RendererBean bean = new RendererBean();
+            bean.setComponentFamily(renderer[0]);
+            bean.setRendererType(renderer[1]);
+            bean.setRendererClass("com.example." + renderer[1]);
+
+            renderKit.addRenderer(bean);
+            concatenatedKeys.put(renderer[0] + "|" + renderer[1], bean);
+        }
+    }
+
+    /**
+     * The two-level index, allocation-free.
+     */
+    @Benchmark
+    public RendererBean index() {
+        String[] renderer = nextRenderer();
+        return renderKit.getRenderer(renderer[0], renderer[1]);
+    }
+
+    /**
+     * The former lookup, concatenating a new key per call.
+     */
+    @Benchmark
+    public RendererBean concatenatedKey() {
+        String[] renderer = nextRenderer();
+        return concatenatedKeys.get(renderer[0] + "|" + renderer[1]);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private String[] nextRenderer() {
+        String[] renderer = RENDERERS[next];
+        next = next + 1 == RENDERERS.length ? 0 : next + 1;
+        return renderer;
+    }
+
+}
@@ -16,16 +16,39 @@
 package org.omnifaces.facesconfigparser;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 import org.apache.commons.digester.Digester;
+import org.omnifaces.facesconfigparser.digester.CancellationToken;
 import org.omnifaces.facesconfigparser.digester.DigesterFactory;
+import org.omnifaces.facesconfigparser.digester.DocumentShards;
+import org.omnifaces.facesconfigparser.digester.LazyFacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.ParseCancelledException;
+import org.omnifaces.facesconfigparser.digester.RecordedDocument;
+import org.omnifaces.facesconfigparser.digester.SaxEventRecorder;
+import org.omnifaces.facesconfigparser.digester.StringArena;
+import org.omnifaces.facesconfigparser.digester.StringPool;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.rules.FacesConfigRule;
 import org.omnifaces.facesconfigparser.digester.rules.FacesConfigRuleSet;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -54,9 +77,29 @@ public class FacesConfigParser {
      * @return the faces-config file as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
      */
     public static FacesConfigBean parseFacesConfig(String facesConfig, String schemaDirectory) {
+        return parseFacesConfig(facesConfig, schemaDirectory, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Starts the parsing of a faces config file into a tree of Java objects, that ends early when the given token is
+     * cancelled or its deadline passes.
+     *
+     * <p>
+     * The token is checked at the start of every element. A parse that ends early throws a
+     * {@link ParseCancelledException} that describes where it stopped, and closes the file.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the faces-config file as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfig(String facesConfig, String schemaDirectory, CancellationToken cancellation) {
         try (InputStream stream = newInputStream(facesConfig)) {
             return (FacesConfigBean)
-                    createDigester(true, false, true, schemaDirectory)
+                    createDigester(true, false, true, schemaDirectory, cancellation)
                         .parse(newInputSource(stream, facesConfig));
         } catch (IOException | SAXException e) {
             throw new IllegalStateException(e);
@@ -64,39 +107,831 @@ public class FacesConfigParser {
     }
 
 
-    // --------------------------------------------------------- Private Methods
+    /**
+     * Starts the parsing of a faces config file into a tree of Java objects, optionally deferring descriptions.
+     *
+     * <p>
+     * When descriptions are deferred only the position of their text in the file is recorded, and the text is read back
+     * from the file the first time {@link org.omnifaces.facesconfigparser.digester.beans.DescriptionBean#getDescription()}
+     * is called, so the file must remain readable for as long as descriptions may be used.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param deferDescriptions whether to defer descriptions to their first use
+     *
+     * @return the faces-config file as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfig(String facesConfig, String schemaDirectory, boolean deferDescriptions) {
+        return parseFacesConfig(facesConfig, schemaDirectory, deferDescriptions, CancellationToken.NONE);
+    }
 
 
     /**
+     * Starts the parsing of a faces config file into a tree of Java objects, optionally deferring descriptions, that ends
+     * early when the given token is cancelled or its deadline passes. See
+     * {@link #parseFacesConfig(String, String, boolean)} and {@link #parseFacesConfig(String, String, CancellationToken)}.
+     *
      * <p>
-     * Configure and return a <code>Digester</code> instance suitable for use in the
-     * environment specified by our parameter flags.
-     * </p>
+     * Deferred descriptions are read back after the parse has ended, and are not checked against the token.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param deferDescriptions whether to defer descriptions to their first use
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the faces-config file as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfig(String facesConfig, String schemaDirectory, boolean deferDescriptions,
+            CancellationToken cancellation) {
+        try (InputStream stream = newInputStream(facesConfig)) {
+            return (FacesConfigBean)
+                    createDigester(true, false, true, schemaDirectory, new StringPool(), null, deferDescriptions, cancellation)
+                        .parse(newInputSource(stream, facesConfig));
+        } catch (IOException | SAXException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    /**
+     * Scans a faces config file and returns a tree of Java objects whose top-level components, converters, validators,
+     * managed beans, render kits and navigation rules are only bound the first time they are looked up.
+     *
+     * <p>
+     * The file is not validated, and its bytes are held by the returned bean until all its indexed elements are bound. See
+     * {@link LazyFacesConfigBean}.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     *
+     * @return the faces-config file as a tree of Java objects rooted in the returned <code>LazyFacesConfigBean</code>
+     */
+    public static LazyFacesConfigBean parseFacesConfigLazily(String facesConfig, String schemaDirectory) {
+        return parseFacesConfigLazily(facesConfig, schemaDirectory, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Scans a faces config file as {@link #parseFacesConfigLazily(String, String)} does, binding its elements under the
+     * given token.
+     *
+     * <p>
+     * The token is checked at the start of every element that is bound, both of the elements that are not indexed, which
+     * are bound by this method, and of the indexed elements, which are bound by later lookups. A bind that ends early
+     * throws a {@link ParseCancelledException}, after which the elements it was binding stay unbound, so later lookups try
+     * to bind them again under the same token. As indexed elements are bound on later lookups, a token with a deadline also
+     * bounds those lookups.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param cancellation the token to cancel the binds with, see {@link CancellationToken}
+     *
+     * @return the faces-config file as a tree of Java objects rooted in the returned <code>LazyFacesConfigBean</code>
+     */
+    public static LazyFacesConfigBean parseFacesConfigLazily(String facesConfig, String schemaDirectory, CancellationToken cancellation) {
+        StringPool stringPool = new StringPool();
+
+        return new LazyFacesConfigBean(readAllBytes(facesConfig), () -> {
+            Digester digester = DigesterFactory.newInstance(false, schemaDirectory).createDigester();
+            digester.addRuleSet(new FacesConfigRuleSet(true, false, true, BeanFactory.DEFAULT, stringPool));
+
+            return cancellation.applyTo(digester);
+        });
+    }
+
+
+    /**
+     * Parses a single large faces config file into a tree of Java objects in as many shards as there are available
+     * processors, as {@link #parseFacesConfigInParallel(String, String, Executor, int)} does on the parser's own executor:
+     * virtual threads where available, otherwise a cached pool of daemon threads. Parsing blocks on I/O, so it is kept
+     * off the common fork-join pool.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     *
+     * @return the faces-config file as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfigInParallel(String facesConfig, String schemaDirectory) {
+        return parseFacesConfigInParallel(facesConfig, schemaDirectory, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Parses a single large faces config file in parallel as {@link #parseFacesConfigInParallel(String, String)} does,
+     * checking the given token at the start of every element of every shard.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the faces-config file as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfigInParallel(String facesConfig, String schemaDirectory, CancellationToken cancellation) {
+        return parseFacesConfigInParallel(facesConfig, schemaDirectory, ParserExecutor.INSTANCE, Runtime.getRuntime().availableProcessors(),
+                cancellation);
+    }
+
+
+    /**
+     * Parses a single large faces config file into a tree of Java objects by splitting it into shards at the boundaries of
+     * its top-level elements, binding each shard into a partial tree on the given executor, and merging the partial trees
+     * in document order.
+     *
+     * <p>
+     * The result is the same as that of {@link #parseFacesConfig(String, String)}, except that the file is not validated.
+     * Files smaller than two shards are bound as a single shard. See {@link DocumentShards}.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param executor the executor to bind the shards on
+     * @param maxShards the maximum number of shards to split the file into
+     *
+     * @return the faces-config file as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfigInParallel(String facesConfig, String schemaDirectory, Executor executor, int maxShards) {
+        return parseFacesConfigInParallel(facesConfig, schemaDirectory, executor, maxShards, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Parses a single large faces config file in parallel as {@link #parseFacesConfigInParallel(String, String, Executor, int)}
+     * does, checking the given token at the start of every element of every shard.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param executor the executor to bind the shards on
+     * @param maxShards the maximum number of shards to split the file into
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the faces-config file as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfigInParallel(String facesConfig, String schemaDirectory, Executor executor, int maxShards,
+            CancellationToken cancellation) {
+
+        StringPool stringPool = StringPool.newWeakPool();
+        List<CompletableFuture<FacesConfigBean>> partials = new ArrayList<>();
+
+        // Stops all shards, including running ones, on the first failure, or when submitting or merging fails
+        CancellationToken shardCancellation = CancellationToken.newToken();
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        boolean merged = false;
+
+        try {
+            for (InputSource shard : DocumentShards.split(readAllBytes(facesConfig), maxShards)) {
+                partials.add(CompletableFuture.supplyAsync(() -> {
+                    Digester digester = DigesterFactory.newInstance(false, schemaDirectory).createDigester();
+                    digester.addRuleSet(new FacesConfigRuleSet(true, false, true, BeanFactory.DEFAULT, stringPool));
+                    cancellation.applyTo(digester);
+                    shardCancellation.applyTo(digester);
+                    try {
+                        return (FacesConfigBean) digester.parse(shard);
+                    } catch (IOException | SAXException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, executor).whenComplete((partial, failure) -> {
+                    if (failure != null && firstFailure.compareAndSet(null, failure)) {
+                        shardCancellation.cancel();
+                    }
+                }));
+            }
+
+            // Merge each partial as soon as it and all partials before it are bound
+            FacesConfigBean facesConfigBean = partials.get(0).join();
+            for (int i = 1; i < partials.size(); i++) {
+                FacesConfigRule.mergeFacesConfig(partials.get(i).join(), facesConfigBean);
+            }
+            merged = true;
+
+            return facesConfigBean;
+        } catch (CompletionException e) {
+            // Report the failure that stopped the other shards, not the cancellation of a shard that was joined first
+            Throwable failure = firstFailure.get() != null ? firstFailure.get() : e;
+            if (failure instanceof CompletionException && failure.getCause() != null) {
+                failure = failure.getCause();
+            }
+            throw failure instanceof IllegalStateException ? (IllegalStateException) failure : new IllegalStateException(failure);
+        } finally {
+            if (!merged) {
+                shardCancellation.cancel();
+            }
+        }
+    }
+
+
+    /**
+     * Starts the parsing of a faces config resource, such as a <code>jar:</code> URL of a
+     * <code>META-INF/faces-config.xml</code> entry, into a tree of Java objects.
+     *
+     * <p>
+     * URL caching is disabled, so that parsing an entry of a jar file does not keep that jar file open.
+     *
+     * @param facesConfig the URL of the faces config resource to parse.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     *
+     * @return the faces-config resource as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfig(URL facesConfig, String schemaDirectory) {
+        return parseFacesConfig(facesConfig, schemaDirectory, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Starts the parsing of a faces config resource as {@link #parseFacesConfig(URL, String)} does, checking the given
+     * token at the start of every element.
+     *
+     * @param facesConfig the URL of the faces config resource to parse.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the faces-config resource as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfig(URL facesConfig, String schemaDirectory, CancellationToken cancellation) {
+        try {
+            URLConnection connection = facesConfig.openConnection();
+            connection.setUseCaches(false);
+
+            try (InputStream stream = new BufferedInputStream(connection.getInputStream())) {
+                InputSource source = new InputSource(facesConfig.toExternalForm());
+                source.setByteStream(stream);
+
+                return (FacesConfigBean) createDigester(true, false, true, schemaDirectory, cancellation).parse(source);
+            }
+        } catch (IOException | SAXException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    /**
+     * Parses a set of faces config files and merges them, in the given order, into a single tree of Java objects.
+     *
+     * <p>
+     * Later files are merged into the artifacts of earlier ones the same way duplicate definitions within a single file are
+     * merged. Identifier-like values are deduplicated across all files.
+     *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     *
+     * @return the merged faces-config files as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfig(List<String> facesConfigs, String schemaDirectory) {
+        return parseFacesConfig(facesConfigs, schemaDirectory, (StringArena) null);
+    }
+
+
+    /**
+     * Parses and merges a set of faces config files as {@link #parseFacesConfig(List, String)} does, checking the given
+     * token at the start of every element of every file. The partial result of a {@link ParseCancelledException} is the
+     * tree the files before the cancelled one, and the elements of that file before it stopped, were merged into.
+     *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the merged faces-config files as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfig(List<String> facesConfigs, String schemaDirectory, CancellationToken cancellation) {
+        return parseFacesConfig(facesConfigs, schemaDirectory, null, cancellation);
+    }
+
+
+    /**
+     * Parses and merges a set of faces config files as {@link #parseFacesConfig(List, String)} does, storing the text of
+     * all descriptions off-heap in the given arena, for merged trees that are kept for the lifetime of an application.
+     *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param descriptionArena the arena to store the text of descriptions in, or <code>null</code> to hold it on the heap
+     *
+     * @return the merged faces-config files as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfig(List<String> facesConfigs, String schemaDirectory, StringArena descriptionArena) {
+        return parseFacesConfig(facesConfigs, schemaDirectory, descriptionArena, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Parses and merges a set of faces config files as {@link #parseFacesConfig(List, String, StringArena)} does, checking
+     * the given token at the start of every element, so that a single token or deadline bounds the whole set.
+     *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param descriptionArena the arena to store the text of descriptions in, or <code>null</code> to hold it on the heap
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the merged faces-config files as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfig(List<String> facesConfigs, String schemaDirectory, StringArena descriptionArena,
+            CancellationToken cancellation) {
+
+        FacesConfigBean facesConfigBean = new FacesConfigBean();
+        StringPool stringPool = new StringPool();
+
+        for (String facesConfig : facesConfigs) {
+            try (InputStream stream = newInputStream(facesConfig)) {
+                Digester digester = createDigester(true, false, true, schemaDirectory, stringPool, descriptionArena, false, cancellation);
+
+                // The faces-config rule merges into the bean already on the stack
+                digester.push(facesConfigBean);
+                digester.parse(newInputSource(stream, facesConfig));
+            } catch (IOException | SAXException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return facesConfigBean;
+    }
+
+
+    /**
+     * Parses and merges the content of a set of faces config files that was already read, as
+     * {@link #parseFacesConfig(List, String)} does, so that a caller that inspected the bytes, for instance to fingerprint
+     * them, parses exactly those bytes even when the files change meanwhile.
+     *
+     * @param facesConfigs the faces config filenames the content was read from, relatively to the current directory or as
+     * absolute paths. Relative references in the files are resolved against them.
+     * @param contents the content of each file, in the same order as the filenames
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     *
+     * @return the merged faces-config files as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfig(List<String> facesConfigs, List<byte[]> contents, String schemaDirectory) {
+        if (facesConfigs.size() != contents.size()) {
+            throw new IllegalArgumentException(facesConfigs.size() + " filenames for " + contents.size() + " contents");
+        }
+
+        FacesConfigBean facesConfigBean = new FacesConfigBean();
+        StringPool stringPool = new StringPool();
+
+        for (int i = 0; i < facesConfigs.size(); i++) {
+            try (InputStream stream = new ByteArrayInputStream(contents.get(i))) {
+                Digester digester = createDigester(true, false, true, schemaDirectory, stringPool, null, false, CancellationToken.NONE);
+
+                // The faces-config rule merges into the bean already on the stack
+                digester.push(facesConfigBean);
+                digester.parse(newInputSource(stream, facesConfigs.get(i)));
+            } catch (IOException | SAXException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return facesConfigBean;
+    }
+
+
+    /**
+     * Starts the parsing of a faces config file on the default executor, as
+     * {@link #parseFacesConfigAsync(String, String, Executor)} does. On Java 21 and later the default executor runs each
+     * parse on its own virtual thread; on earlier versions it is a shared pool of daemon threads.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     *
+     * @return the future tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(String facesConfig, String schemaDirectory) {
+        return parseFacesConfigAsync(facesConfig, schemaDirectory, ParserExecutor.INSTANCE);
+    }
+
+
+    /**
+     * Starts the parsing of a faces config file on the default executor, as
+     * {@link #parseFacesConfigAsync(String, String, Executor, CancellationToken)} does.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the future tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(String facesConfig, String schemaDirectory,
+            CancellationToken cancellation) {
+        return parseFacesConfigAsync(facesConfig, schemaDirectory, ParserExecutor.INSTANCE, cancellation);
+    }
+
+
+    /**
+     * Starts the parsing of a faces config file on the given executor, as {@link #parseFacesConfig(String, String)} does.
+     *
+     * <p>
+     * A failed parse completes the returned future exceptionally with the <code>IllegalStateException</code> that the
+     * blocking method throws. Cancelling the returned future ends the parse at its next element.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param executor the executor to parse on
+     *
+     * @return the future tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(String facesConfig, String schemaDirectory, Executor executor) {
+        return parseFacesConfigAsync(facesConfig, schemaDirectory, executor, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Starts the parsing of a faces config file on the given executor as {@link #parseFacesConfigAsync(String, String, Executor)}
+     * does, checking the given token at the start of every element. A parse that the token ends completes the returned
+     * future exceptionally with a {@link ParseCancelledException}. Cancelling the returned future does not cancel the
+     * token.
+     *
+     * @param facesConfig the faces config filename to parse, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param executor the executor to parse on
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the future tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(String facesConfig, String schemaDirectory, Executor executor,
+            CancellationToken cancellation) {
+        return supplyCancellable(token -> parseFacesConfig(facesConfig, schemaDirectory, token), executor, cancellation);
+    }
+
+
+    /**
+     * Starts the parsing of a faces config resource on the default executor, as
+     * {@link #parseFacesConfigAsync(URL, String, Executor)} does.
+     *
+     * @param facesConfig the URL of the faces config resource to parse.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     *
+     * @return the future tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(URL facesConfig, String schemaDirectory) {
+        return parseFacesConfigAsync(facesConfig, schemaDirectory, ParserExecutor.INSTANCE);
+    }
+
+
+    /**
+     * Starts the parsing of a faces config resource on the default executor, as
+     * {@link #parseFacesConfigAsync(URL, String, Executor, CancellationToken)} does.
+     *
+     * @param facesConfig the URL of the faces config resource to parse.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the future tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(URL facesConfig, String schemaDirectory, CancellationToken cancellation) {
+        return parseFacesConfigAsync(facesConfig, schemaDirectory, ParserExecutor.INSTANCE, cancellation);
+    }
+
+
+    /**
+     * Starts the parsing of a faces config resource, such as a <code>jar:</code> URL of a
+     * <code>META-INF/faces-config.xml</code> entry, on the given executor, as {@link #parseFacesConfig(URL, String)} does.
+     * Cancelling the returned future ends the parse at its next element.
+     *
+     * @param facesConfig the URL of the faces config resource to parse.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param executor the executor to parse on
+     *
+     * @return the future tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(URL facesConfig, String schemaDirectory, Executor executor) {
+        return parseFacesConfigAsync(facesConfig, schemaDirectory, executor, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Starts the parsing of a faces config resource on the given executor as
+     * {@link #parseFacesConfigAsync(URL, String, Executor)} does, checking the given token at the start of every element.
+     * A parse that the token ends completes the returned future exceptionally with a {@link ParseCancelledException}.
+     * Cancelling the returned future does not cancel the token.
+     *
+     * @param facesConfig the URL of the faces config resource to parse.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param executor the executor to parse on
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the future tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(URL facesConfig, String schemaDirectory, Executor executor,
+            CancellationToken cancellation) {
+        return supplyCancellable(token -> parseFacesConfig(facesConfig, schemaDirectory, token), executor, cancellation);
+    }
+
+
+    /**
+     * Starts the parsing of a set of faces config files on the default executor, as
+     * {@link #parseFacesConfigAsync(List, String, Executor)} does.
+     *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     *
+     * @return the future merged tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(List<String> facesConfigs, String schemaDirectory) {
+        return parseFacesConfigAsync(facesConfigs, schemaDirectory, ParserExecutor.INSTANCE);
+    }
+
+
+    /**
+     * Starts the parsing of a set of faces config files on the default executor, as
+     * {@link #parseFacesConfigAsync(List, String, Executor, CancellationToken)} does.
      *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param cancellation the token to cancel the parses with, see {@link CancellationToken}
+     *
+     * @return the future merged tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(List<String> facesConfigs, String schemaDirectory,
+            CancellationToken cancellation) {
+        return parseFacesConfigAsync(facesConfigs, schemaDirectory, ParserExecutor.INSTANCE, cancellation);
+    }
+
+
+    /**
+     * Starts the parsing of a set of faces config files on the given executor, each file as a task of its own, and merges
+     * them in the given order as {@link #parseFacesConfig(List, String)} does.
+     *
+     * <p>
+     * Each file is merged as soon as it and all files before it are parsed. The first failed parse completes the returned
+     * future exceptionally right away, regardless of the files before it, and ends the other parses at their next element.
+     * Cancelling the returned future ends the parses in progress at their next element.
+     *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param executor the executor to parse on
+     *
+     * @return the future merged tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(List<String> facesConfigs, String schemaDirectory, Executor executor) {
+        return parseFacesConfigAsync(facesConfigs, schemaDirectory, executor, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Starts the parsing of a set of faces config files on the given executor as
+     * {@link #parseFacesConfigAsync(List, String, Executor)} does, checking the given token at the start of every element
+     * of every file. A parse that the token ends completes the returned future exceptionally with a
+     * {@link ParseCancelledException}. Cancelling the returned future, or a failed parse, ends the other parses without
+     * cancelling the token.
+     *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param executor the executor to parse on
+     * @param parentCancellation the token to cancel the parses with, see {@link CancellationToken}
+     *
+     * @return the future merged tree of Java objects rooted in a <code>FacesConfigBean</code>
+     */
+    public static CompletableFuture<FacesConfigBean> parseFacesConfigAsync(List<String> facesConfigs, String schemaDirectory, Executor executor,
+            CancellationToken parentCancellation) {
+
+        CancellationToken cancellation = CancellationToken.newToken(parentCancellation);
+        StringPool stringPool = StringPool.newWeakPool();
+        CompletableFuture<FacesConfigBean> result = new CompletableFuture<>();
+        CompletableFuture<FacesConfigBean> merged = CompletableFuture.completedFuture(new FacesConfigBean());
+
+        for (String facesConfig : facesConfigs) {
+            CompletableFuture<FacesConfigBean> parsed = CompletableFuture.supplyAsync(() -> {
+                try (InputStream stream = newInputStream(facesConfig)) {
+                    return (FacesConfigBean)
+                            createDigester(true, false, true, schemaDirectory, stringPool, null, false, cancellation)
+                                .parse(newInputSource(stream, facesConfig));
+                } catch (IOException | SAXException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor);
+
+            // Fail without waiting for the files before this one, and stop the parses still in progress
+            parsed.whenComplete((top, e) -> {
+                if (e != null && result.completeExceptionally(e)) {
+                    cancellation.cancel();
+                }
+            });
+
+            merged = merged.thenCombine(parsed, (facesConfigBean, top) -> {
+                FacesConfigRule.mergeFacesConfig(top, facesConfigBean);
+                return facesConfigBean;
+            });
+        }
+
+        merged.whenComplete((facesConfigBean, e) -> {
+            if (e == null) {
+                result.complete(facesConfigBean);
+            } else {
+                result.completeExceptionally(e);
+            }
+        });
+
+        return cancelOnCancel(result, cancellation);
+    }
+
+
+    /**
+     * Returns a publisher of the artifacts of a set of faces config files, that publishes the artifacts of each file in
+     * their merged state as soon as the file is parsed and merged. See {@link FacesConfigPublisher}.
+     *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param executor the executor to parse the files on
+     *
+     * @return the publisher, which parses the files anew for every subscriber
+     */
+    public static FacesConfigPublisher publishFacesConfig(List<String> facesConfigs, String schemaDirectory, Executor executor) {
+        return publishFacesConfig(facesConfigs, schemaDirectory, executor, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Returns a publisher of the artifacts of a set of faces config files as
+     * {@link #publishFacesConfig(List, String, Executor)} does, whose parses check the given token at the start of every
+     * element. A parse that the token ends is signalled to the subscriber as a {@link ParseCancelledException}.
+     *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param executor the executor to parse the files on
+     * @param cancellation the token to cancel the parses of all subscriptions with, see {@link CancellationToken}
+     *
+     * @return the publisher, which parses the files anew for every subscriber
+     */
+    public static FacesConfigPublisher publishFacesConfig(List<String> facesConfigs, String schemaDirectory, Executor executor,
+            CancellationToken cancellation) {
+        return new FacesConfigPublisher(facesConfigs, schemaDirectory, executor, cancellation);
+    }
+
+
+    /**
+     * Records the SAX event stream of a faces config file, so that it can be bound under several rule profiles with
+     * {@link #parseFacesConfig(RecordedDocument, boolean, boolean, boolean)} while being tokenized and validated only once.
+     *
+     * @param facesConfig the faces config filename to record, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     *
+     * @return the recorded document
+     */
+    public static RecordedDocument recordFacesConfig(String facesConfig, String schemaDirectory) {
+        return recordFacesConfig(facesConfig, schemaDirectory, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Records the SAX event stream of a faces config file as {@link #recordFacesConfig(String, String)} does, checking the
+     * given token at the start of every element. The partial result of a {@link ParseCancelledException} is the
+     * {@link RecordedDocument} recorded so far, which is not complete and should not be replayed.
+     *
+     * @param facesConfig the faces config filename to record, relatively to the current directory or as an absolute path.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files referenced by faces-config.xml. When null the classpath is
+     * tried.
+     * @param cancellation the token to cancel the recording with, see {@link CancellationToken}
+     *
+     * @return the recorded document
+     */
+    public static RecordedDocument recordFacesConfig(String facesConfig, String schemaDirectory, CancellationToken cancellation) {
+        try (InputStream stream = newInputStream(facesConfig)) {
+            return SaxEventRecorder.record(
+                    DigesterFactory.newInstance(true, schemaDirectory).createDigester(),
+                    newInputSource(stream, facesConfig),
+                    cancellation);
+        } catch (IOException | SAXException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    /**
+     * Binds a recorded faces config file into a tree of Java objects using the rules of the given profile.
+     *
+     * @param facesConfig the recorded faces config file, see {@link #recordFacesConfig(String, String)}
      * @param design Include rules suitable for design time use in a tool
-     * @param generate Include rules suitable for generating component, renderer,
-     * and tag classes
+     * @param generate Include rules suitable for generating component, renderer, and tag classes
      * @param runtime Include rules suitable for runtime execution
+     *
+     * @return the faces-config file as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
      */
-    private static Digester createDigester(boolean design, boolean generate, boolean runtime, String schemaDirectory) {
+    public static FacesConfigBean parseFacesConfig(RecordedDocument facesConfig, boolean design, boolean generate, boolean runtime) {
+        return parseFacesConfig(facesConfig, design, generate, runtime, CancellationToken.NONE);
+    }
+
+
+    /**
+     * Binds a recorded faces config file as {@link #parseFacesConfig(RecordedDocument, boolean, boolean, boolean)} does,
+     * checking the given token at the start of every element.
+     *
+     * @param facesConfig the recorded faces config file, see {@link #recordFacesConfig(String, String)}
+     * @param design Include rules suitable for design time use in a tool
+     * @param generate Include rules suitable for generating component, renderer, and tag classes
+     * @param runtime Include rules suitable for runtime execution
+     * @param cancellation the token to cancel the parse with, see {@link CancellationToken}
+     *
+     * @return the faces-config file as a tree of Java objects rooted in the returned <code>FacesConfigBean</code>
+     */
+    public static FacesConfigBean parseFacesConfig(RecordedDocument facesConfig, boolean design, boolean generate, boolean runtime,
+            CancellationToken cancellation) {
+
+        Digester digester = new Digester();
+        digester.addRuleSet(new FacesConfigRuleSet(design, generate, runtime));
+        cancellation.applyTo(digester);
+
+        try {
+            return (FacesConfigBean) facesConfig.replay(digester);
+        } catch (SAXException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    // --------------------------------------------------------- Package Methods
+
+
+    static Digester createDigester(boolean design, boolean generate, boolean runtime, String schemaDirectory, StringPool stringPool,
+            StringArena descriptionArena, boolean deferDescriptions, CancellationToken cancellation) {
 
         Digester digester = DigesterFactory.newInstance(true, schemaDirectory).createDigester();
 
         // Configure parsing rules
-        digester.addRuleSet(new FacesConfigRuleSet(design, generate, runtime));
+        digester.addRuleSet(new FacesConfigRuleSet(design, generate, runtime, BeanFactory.DEFAULT, stringPool, descriptionArena, deferDescriptions));
 
-        return digester;
+        return cancellation.applyTo(digester);
     }
 
-    private static InputStream newInputStream(String fileName) throws FileNotFoundException {
+    static InputStream newInputStream(String fileName) throws FileNotFoundException {
         return new BufferedInputStream(new FileInputStream(fileName));
     }
 
-    private static InputSource newInputSource(InputStream stream, String fileName) throws MalformedURLException {
+    static InputSource newInputSource(InputStream stream, String fileName) throws MalformedURLException {
         InputSource source = new InputSource(new File(fileName).toURI().toURL().toString());
         source.setByteStream(stream);
 
         return source;
     }
 
+
+    // --------------------------------------------------------- Private Methods
+
+
+    /**
+     * <p>
+     * Configure and return a <code>Digester</code> instance suitable for use in the
+     * environment specified by our parameter flags.
+     * </p>
+     *
+     * @param design Include rules suitable for design time use in a tool
+     * @param generate Include rules suitable for generating component, renderer,
+     * and tag classes
+     * @param runtime Include rules suitable for runtime execution
+     * @param cancellation the token for the digester to check at the start of every element
+     */
+    private static Digester createDigester(boolean design, boolean generate, boolean runtime, String schemaDirectory,
+            CancellationToken cancellation) {
+        return createDigester(design, generate, runtime, schemaDirectory, new StringPool(), null, false, cancellation);
+    }
+
+    // Run the parse on the executor, with a token that follows the given one and is also cancelled when the returned future is
+    private static CompletableFuture<FacesConfigBean> supplyCancellable(Function<CancellationToken, FacesConfigBean> parse, Executor executor,
+            CancellationToken parentCancellation) {
+        CancellationToken cancellation = CancellationToken.newToken(parentCancellation);
+
+        return cancelOnCancel(CompletableFuture.supplyAsync(() -> parse.apply(cancellation), executor), cancellation);
+    }
+
+    private static CompletableFuture<FacesConfigBean> cancelOnCancel(CompletableFuture<FacesConfigBean> future, CancellationToken cancellation) {
+        future.whenComplete((facesConfigBean, e) -> {
+            if (e instanceof CancellationException) {
+                cancellation.cancel();
+            }
+        });
+
+        return future;
+    }
+
+    private static byte[] readAllBytes(String fileName) {
+        try {
+            return Files.readAllBytes(Paths.get(fileName));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.omnifaces.facesconfigparser.digester.CancellationToken;
+import org.omnifaces.facesconfigparser.digester.ParseCancelledException;
+import org.omnifaces.facesconfigparser.digester.StringPool;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.ConverterBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
+import org.omnifaces.facesconfigparser.digester.beans.ValidatorBean;
+import org.omnifaces.facesconfigparser.digester.rules.FacesConfigRule;
+import org.omnifaces.facesconfigparser.model.FacesConfigModel;
+import org.omnifaces.facesconfigparser.model.ModelStore;
+import org.xml.sax.SAXException;
+
+/**
+ * <p>
+ * Publishes the artifacts of a set of faces config files as each file is parsed and merged, so that a subscriber can
+ * register them while the next files are still being parsed.
+ * </p>
+ *
+ * <p>
+ * The files are parsed and merged in the given order, as {@link FacesConfigParser#parseFacesConfig(java.util.List, String)}
+ * does. After each file, one {@link FacesConfigModel} is published with the components, converters, validators and render
+ * kits that the file defined, in their merged state, so an artifact that is defined again by a later file is published
+ * again with the later definitions merged in. All models are canonicalized through one {@link ModelStore}, so an
+ * artifact whose merged state did not change is published as the same instance.
+ * </p>
+ *
+ * <p>
+ * Only the artifacts that {@link FacesConfigModel} holds are published. Managed and referenced beans, navigation rules
+ * and the application, factory and lifecycle settings are merged but not published; use
+ * {@link FacesConfigParser#parseFacesConfig(java.util.List, String)} for those.
+ * </p>
+ *
+ * <p>
+ * The API mirrors <code>java.util.concurrent.Flow</code>, which is not available on Java 8, so a Flow subscriber is adapted
+ * by delegating each method. Every subscription parses the files anew, on the given executor. The next file is parsed
+ * while the subscriber handles the model of the previous one, but no further ahead, so a slow subscriber throttles
+ * parsing instead of models piling up. The subscriber is signalled serially, from the executor. An error in parsing or
+ * merging a file, an exception thrown by {@link Subscriber#onNext(Object)} and a task rejected by the executor are all
+ * signalled with {@link Subscriber#onError(Throwable)}, and end the subscription.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public final class FacesConfigPublisher {
+
+    private final List<String> facesConfigs;
+    private final String schemaDirectory;
+    private final Executor executor;
+    private final CancellationToken cancellation;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new publisher of the given faces config files.
+     * </p>
+     *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files, see
+     * {@link FacesConfigParser#parseFacesConfig(String, String)}
+     * @param executor the executor to parse the files and signal subscribers on
+     */
+    public FacesConfigPublisher(List<String> facesConfigs, String schemaDirectory, Executor executor) {
+        this(facesConfigs, schemaDirectory, executor, CancellationToken.NONE);
+    }
+
+    /**
+     * <p>
+     * Construct a new publisher of the given faces config files, whose parses check the given token at the start of every
+     * element. Once the token is cancelled or its deadline passes, every subscription ends with a
+     * {@link ParseCancelledException} at its next element; cancelling a subscription does not cancel the token.
+     * </p>
+     *
+     * @param facesConfigs the faces config filenames to parse, relatively to the current directory or as absolute paths.
+     * @param schemaDirectory directory that stores the .dtd and .xsd files, see
+     * {@link FacesConfigParser#parseFacesConfig(String, String)}
+     * @param executor the executor to parse the files and signal subscribers on
+     * @param cancellation the token to cancel the parses with, see {@link CancellationToken}
+     */
+    public FacesConfigPublisher(List<String> facesConfigs, String schemaDirectory, Executor executor, CancellationToken cancellation) {
+        this.facesConfigs = new ArrayList<>(facesConfigs);
+        this.schemaDirectory = schemaDirectory;
+        this.executor = executor;
+        this.cancellation = cancellation;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Subscribe the given subscriber, which is first passed its subscription with
+     * {@link Subscriber#onSubscribe(Subscription)}, on the calling thread.
+     * </p>
+     *
+     * @param subscriber the subscriber
+     */
+    public void subscribe(Subscriber<? super FacesConfigModel> subscriber) {
+        DocumentSubscription subscription = new DocumentSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+
+        // Complete right away if there are no files
+        subscription.schedule();
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * <p>
+     * Receives the models of a publisher, as <code>java.util.concurrent.Flow.Subscriber</code> does.
+     * </p>
+     *
+     * @param <T> the type of the items
+     */
+    public interface Subscriber<T> {
+
+        /**
+         * @param subscription the subscription to request items with
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * @param item the next item
+         */
+        void onNext(T item);
+
+        /**
+         * @param throwable the error that ended the subscription
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Called when all items have been received.
+         */
+        void onComplete();
+    }
+
+    /**
+     * <p>
+     * The link between a publisher and a subscriber, as <code>java.util.concurrent.Flow.Subscription</code> is.
+     * </p>
+     */
+    public interface Subscription {
+
+        /**
+         * Add the given number of items to the unfulfilled demand. A number that is not positive ends the subscription with
+         * an <code>IllegalArgumentException</code>.
+         *
+         * @param n the number of items to add
+         */
+        void request(long n);
+
+        /**
+         * Stop receiving items. The file being parsed, if any, is abandoned at its next element.
+         */
+        void cancel();
+    }
+
+    private final class DocumentSubscription implements Subscription {
+
+        private final Subscriber<? super FacesConfigModel> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final CancellationToken cancellation = CancellationToken.newToken(FacesConfigPublisher.this.cancellation);
+
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+
+        // Only accessed by the draining thread
+        private final FacesConfigBean facesConfigBean = new FacesConfigBean();
+        private final StringPool stringPool = new StringPool();
+        private final ModelStore store = new ModelStore();
+        private int next;
+        private CompletableFuture<FacesConfigBean> parsing;
+
+        DocumentSubscription(Subscriber<? super FacesConfigModel> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " items, which is not positive");
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancellation.cancel();
+        }
+
+        void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    // No drain is running, as none was pending, so the error can be signalled from here
+                    fail(e);
+                }
+            }
+        }
+
+        // Signals are serialized by running one drain at a time; requests and parses that complete meanwhile make it loop
+        // again. A terminal signal returns without lowering the pending count, so that no drain runs after it.
+        private void drain() {
+            int missed = 1;
+            do {
+                while (!cancelled) {
+                    if (invalidRequest != null) {
+                        fail(invalidRequest);
+                        return;
+                    }
+                    if (next == facesConfigs.size()) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (parsing == null) {
+                        parsing = parseAhead(facesConfigs.get(next));
+                    }
+
+                    // The parse schedules a drain when it completes
+                    if (!parsing.isDone()) {
+                        break;
+                    }
+                    if (parsing.isCompletedExceptionally()) {
+                        fail(failure(parsing));
+                        return;
+                    }
+                    if (demand.get() == 0) {
+                        break;
+                    }
+
+                    FacesConfigBean top = parsing.join();
+                    parsing = ++next < facesConfigs.size() ? parseAhead(facesConfigs.get(next)) : null;
+
+                    FacesConfigModel model;
+                    try {
+                        model = merge(top);
+                    } catch (RuntimeException e) {
+                        fail(e);
+                        return;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    try {
+                        subscriber.onNext(model);
+                    } catch (RuntimeException e) {
+                        fail(e);
+                        return;
+                    }
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void fail(Throwable throwable) {
+            cancelled = true;
+            cancellation.cancel();
+            subscriber.onError(throwable);
+        }
+
+        // Start parsing the file on the executor; a rejected parse completes exceptionally
+        private CompletableFuture<FacesConfigBean> parseAhead(String facesConfig) {
+            CompletableFuture<FacesConfigBean> parsed;
+            try {
+                parsed = CompletableFuture.supplyAsync(() -> parse(facesConfig), executor);
+            } catch (RuntimeException e) {
+                parsed = new CompletableFuture<>();
+                parsed.completeExceptionally(e);
+            }
+            parsed.whenComplete((top, failure) -> schedule());
+
+            return parsed;
+        }
+
+        private Throwable failure(CompletableFuture<FacesConfigBean> parsed) {
+            try {
+                parsed.join();
+                throw new IllegalStateException("Parse did not fail");
+            } catch (CompletionException e) {
+                return e.getCause() != null ? e.getCause() : e;
+            }
+        }
+
+        private FacesConfigBean parse(String facesConfig) {
+            try (InputStream stream = FacesConfigParser.newInputStream(facesConfig)) {
+                return (FacesConfigBean) FacesConfigParser.createDigester(true, false, true, schemaDirectory, stringPool, null, false, cancellation)
+                        .parse(FacesConfigParser.newInputSource(stream, facesConfig));
+            } catch (IOException | SAXException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // Merge the parsed file and return the artifacts it defined in their merged state
+        private FacesConfigModel merge(FacesConfigBean top) {
+            // The keys are taken before merging, as the beans of "top" may be taken over by the merged configuration
+            List<String> componentTypes = keys(top.getComponentsView(), ComponentBean::getComponentType);
+            List<String> converterIds = keys(top.getConvertersByIdView(), ConverterBean::getConverterId);
+            List<String> converterClasses = keys(top.getConvertersByClassView(), ConverterBean::getConverterForClassName);
+            List<String> validatorIds = keys(top.getValidatorsView(), ValidatorBean::getValidatorId);
+            List<String> renderKitIds = keys(top.getRenderKitsView(), RenderKitBean::getRenderKitId);
+
+            FacesConfigRule.mergeFacesConfig(top, facesConfigBean);
+
+            FacesConfigBean artifacts = new FacesConfigBean();
+            componentTypes.forEach(type -> artifacts.addComponent(facesConfigBean.getComponent(type)));
+            converterIds.forEach(id -> artifacts.addConverter(facesConfigBean.getConverterById(id)));
+            converterClasses.forEach(forClass -> artifacts.addConverter(facesConfigBean.getConverterByClass(forClass)));
+            validatorIds.forEach(id -> artifacts.addValidator(facesConfigBean.getValidator(id)));
+            renderKitIds.forEach(id -> artifacts.addRenderKit(facesConfigBean.getRenderKit(id)));
+
+            return artifacts.freeze(store);
+        }
+
+        private <T> List<String> keys(Collection<T> beans, Function<? super T, String> key) {
+            List<String> keys = new ArrayList<>(beans.size());
+            beans.forEach(bean -> keys.add(key.apply(bean)));
+
+            return keys;
+        }
+    }
+
+}
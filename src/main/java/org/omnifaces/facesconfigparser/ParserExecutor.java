@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Holds the default executor of the asynchronous parse methods of {@link FacesConfigParser}.
+ * </p>
+ *
+ * <p>
+ * On Java 21 and later this is an executor that runs each parse on its own virtual thread, so a parse that blocks on
+ * reading a file or an archive entry does not hold a platform thread. It is looked up through a method handle, as this
+ * library is compiled for Java 8. On earlier versions it is an unbounded pool of daemon threads, which are reused for
+ * later parses and end after a minute of idleness.
+ * </p>
+ */
+final class ParserExecutor {
+
+    /** The default executor, created on first use. */
+    static final Executor INSTANCE = create();
+
+    private ParserExecutor() {
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static Executor create() {
+        MethodHandle factory;
+        try {
+            factory = MethodHandles.publicLookup()
+                    .findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (ReflectiveOperationException e) {
+            // Before Java 19 the method is missing
+            return newDaemonThreadPool();
+        }
+
+        try {
+            return (ExecutorService) factory.invoke();
+        } catch (UnsupportedOperationException e) {
+            // On Java 19 and 20 virtual threads are a preview feature that may be disabled
+            return newDaemonThreadPool();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Executor newDaemonThreadPool() {
+        return Executors.newCachedThreadPool(new DaemonThreadFactory());
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "faces-config-parser-" + count.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+
+}
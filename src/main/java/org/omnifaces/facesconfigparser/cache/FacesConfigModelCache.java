@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.omnifaces.facesconfigparser.FacesConfigParser;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.util.ToolsUtil;
+
+/**
+ * <p>
+ * Bounded in-memory cache of parsed <code>FacesConfigBean</code> models, keyed by a fingerprint of the content of the
+ * parsed source set and the schema directory it was parsed against.
+ * </p>
+ *
+ * <p>
+ * Applications that parse (near) identical configuration files, such as tenants of a multi-tenant server, share a single
+ * parse per distinct source set. The cache holds at most <code>maximumWeight</code> bytes of models, as estimated by
+ * {@link ModelSizeEstimator}, and evicts the least recently used models when that budget is exceeded. A model that is
+ * larger than the whole budget is returned but not cached.
+ * </p>
+ *
+ * <p>
+ * The cached models are made read-only with {@link FacesConfigBean#makeReadOnly()} and handed out as they are, so all
+ * callers of the same source set share one model and the budget bounds the heap held by the models. Mutators of a
+ * returned model throw an <code>IllegalStateException</code>, and state a bean resolves lazily, such as the converter
+ * class loaded through the context class loader of the calling thread, is not cached in the shared model. A caller that
+ * needs to modify its model, for instance to merge other files into it, takes a private copy with
+ * {@link #copy(FacesConfigBean)}, which does not count against the budget.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe. Parsing happens outside the cache lock; when two threads miss on the same source set at the
+ * same time both parse it and the first result to be stored wins.
+ * </p>
+ */
+public class FacesConfigModelCache {
+
+    private static final Logger logger = ToolsUtil.getLogger(ToolsUtil.FACES_LOGGER + ToolsUtil.CONFIG_LOGGER);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long maximumWeight;
+
+    /** Access ordered, so iteration starts at the least recently used entry. */
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long loadCount;
+    private long evictionCount;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Creates a new cache.
+     * </p>
+     *
+     * @param maximumWeight the maximum estimated number of bytes of models to retain
+     */
+    public FacesConfigModelCache(long maximumWeight) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("maximumWeight must not be negative: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Return the merged model of the given source set, parsing it only when no model for the same content and schema
+     * directory is cached.
+     * </p>
+     *
+     * <p>
+     * Each file is read once. The fingerprint is computed over the bytes read and a miss parses those same bytes, so a
+     * file that changes meanwhile is never cached under the fingerprint of its former content.
+     * </p>
+     *
+     * @param facesConfigs the faces config filenames to parse, in merge order
+     * @param schemaDirectory directory that stores the .dtd and .xsd files, see
+     * {@link FacesConfigParser#parseFacesConfig(List, String)}
+     * @return the shared, read-only merged model
+     *
+     * @exception IllegalStateException if one of the files cannot be read or parsed
+     */
+    public FacesConfigBean get(List<String> facesConfigs, String schemaDirectory) {
+        List<byte[]> contents = new ArrayList<>(facesConfigs.size());
+        for (String facesConfig : facesConfigs) {
+            try {
+                contents.add(Files.readAllBytes(Paths.get(facesConfig)));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        String fingerprint = fingerprintContents(contents, schemaDirectory);
+
+        FacesConfigBean facesConfig = getIfPresent(fingerprint);
+        if (facesConfig != null) {
+            return facesConfig;
+        }
+
+        facesConfig = FacesConfigParser.parseFacesConfig(facesConfigs, contents, schemaDirectory);
+        facesConfig.makeReadOnly();
+
+        return put(fingerprint, facesConfig, ModelSizeEstimator.estimate(facesConfig));
+    }
+
+    /**
+     * <p>
+     * Return the cached model for the given fingerprint, or <code>null</code> if there is none.
+     * </p>
+     *
+     * @param fingerprint a fingerprint as returned by {@link #fingerprint(List, String)}
+     * @return the shared, read-only cached model or <code>null</code>
+     */
+    public synchronized FacesConfigBean getIfPresent(String fingerprint) {
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        return entry.facesConfig;
+    }
+
+    /**
+     * <p>
+     * Return a deep copy of a model returned by this cache, that the caller may modify. The copy is not shared and does
+     * not count against the budget of any cache.
+     * </p>
+     *
+     * @param facesConfig the model to copy
+     * @return a private, modifiable copy
+     */
+    public static FacesConfigBean copy(FacesConfigBean facesConfig) {
+        return ModelCopier.copy(facesConfig);
+    }
+
+    /**
+     * <p>
+     * Remove the model for the given fingerprint, if cached.
+     * </p>
+     *
+     * @param fingerprint a fingerprint as returned by {@link #fingerprint(List, String)}
+     */
+    public synchronized void invalidate(String fingerprint) {
+        Entry entry = entries.remove(fingerprint);
+        if (entry != null) {
+            weight -= entry.weight;
+        }
+    }
+
+    /**
+     * <p>
+     * Remove all cached models.
+     * </p>
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * <p>
+     * Return a snapshot of the statistics of this cache.
+     * </p>
+     *
+     * @return the statistics
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hitCount, missCount, loadCount, evictionCount, entries.size(), weight, maximumWeight);
+    }
+
+    /**
+     * <p>
+     * Compute the fingerprint of a source set: a SHA-256 digest over the content of each file, in order. Files with the
+     * same content at different locations have the same fingerprint.
+     * </p>
+     *
+     * @param facesConfigs the faces config filenames, in merge order
+     * @return the hex encoded fingerprint
+     *
+     * @exception IllegalStateException if one of the files cannot be read
+     */
+    public static String fingerprint(List<String> facesConfigs) {
+        return fingerprint(facesConfigs, null);
+    }
+
+    /**
+     * <p>
+     * Compute the fingerprint of a source set parsed against the given schema directory: the fingerprint of
+     * {@link #fingerprint(List)} extended with the schema directory, so that the same files parsed against different
+     * schema locations are cached separately.
+     * </p>
+     *
+     * @param facesConfigs the faces config filenames, in merge order
+     * @param schemaDirectory directory that stores the .dtd and .xsd files, or <code>null</code>
+     * @return the hex encoded fingerprint
+     *
+     * @exception IllegalStateException if one of the files cannot be read
+     */
+    public static String fingerprint(List<String> facesConfigs, String schemaDirectory) {
+        MessageDigest digest = newDigest();
+
+        byte[] buffer = new byte[8192];
+        for (String facesConfig : facesConfigs) {
+            long length = 0;
+            try (InputStream stream = Files.newInputStream(Paths.get(facesConfig))) {
+                for (int read = stream.read(buffer); read != -1; read = stream.read(buffer)) {
+                    digest.update(buffer, 0, read);
+                    length += read;
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            updateLength(digest, length);
+        }
+
+        return finish(digest, schemaDirectory);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    // The same fingerprint as fingerprint(List, String), over content already read
+    private static String fingerprintContents(List<byte[]> contents, String schemaDirectory) {
+        MessageDigest digest = newDigest();
+        for (byte[] content : contents) {
+            digest.update(content);
+            updateLength(digest, content.length);
+        }
+
+        return finish(digest, schemaDirectory);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Frame each file so that moving bytes between files changes the fingerprint
+    private static void updateLength(MessageDigest digest, long length) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            digest.update((byte) (length >>> shift));
+        }
+    }
+
+    private static String finish(MessageDigest digest, String schemaDirectory) {
+        if (schemaDirectory != null) {
+            // Marker byte, so a null directory and an empty one differ
+            digest.update((byte) 1);
+            digest.update(schemaDirectory.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] hash = digest.digest();
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[hash[i] & 0xF];
+        }
+
+        return new String(hex);
+    }
+
+    private synchronized FacesConfigBean put(String fingerprint, FacesConfigBean facesConfig, long modelWeight) {
+        loadCount++;
+
+        Entry existing = entries.get(fingerprint);
+        if (existing != null) {
+            // Another thread loaded the same source set meanwhile
+            return existing.facesConfig;
+        }
+
+        if (modelWeight > maximumWeight) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Not caching model " + fingerprint + " of " + modelWeight + " bytes, exceeds budget of " + maximumWeight);
+            }
+            return facesConfig;
+        }
+
+        entries.put(fingerprint, new Entry(facesConfig, modelWeight));
+        weight += modelWeight;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > maximumWeight) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            weight -= evicted.weight;
+            evictionCount++;
+        }
+
+        return facesConfig;
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static class Entry {
+
+        private final FacesConfigBean facesConfig;
+        private final long weight;
+
+        Entry(FacesConfigBean facesConfig, long weight) {
+            this.facesConfig = facesConfig;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * <p>
+     * Immutable snapshot of the statistics of a {@link FacesConfigModelCache}.
+     * </p>
+     */
+    public static final class Stats {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long loadCount;
+        private final long evictionCount;
+        private final int entryCount;
+        private final long weight;
+        private final long maximumWeight;
+
+        Stats(long hitCount, long missCount, long loadCount, long evictionCount, int entryCount, long weight, long maximumWeight) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loadCount = loadCount;
+            this.evictionCount = evictionCount;
+            this.entryCount = entryCount;
+            this.weight = weight;
+            this.maximumWeight = maximumWeight;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getLoadCount() {
+            return loadCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        public int getEntryCount() {
+            return entryCount;
+        }
+
+        /**
+         * @return the estimated number of bytes currently retained by cached models
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        public long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public double getHitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats[hits=" + hitCount + ", misses=" + missCount + ", loads=" + loadCount + ", evictions=" + evictionCount
+                    + ", entries=" + entryCount + ", weight=" + weight + "/" + maximumWeight + "]";
+        }
+    }
+
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.cache;
+
+import org.omnifaces.facesconfigparser.digester.beans.ApplicationBean;
+import org.omnifaces.facesconfigparser.digester.beans.AttributeBean;
+import org.omnifaces.facesconfigparser.digester.beans.AttributeHolder;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.ConverterBean;
+import org.omnifaces.facesconfigparser.digester.beans.DescriptionBean;
+import org.omnifaces.facesconfigparser.digester.beans.DisplayNameBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.FactoryBean;
+import org.omnifaces.facesconfigparser.digester.beans.FeatureBean;
+import org.omnifaces.facesconfigparser.digester.beans.IconBean;
+import org.omnifaces.facesconfigparser.digester.beans.LifecycleBean;
+import org.omnifaces.facesconfigparser.digester.beans.ListEntriesBean;
+import org.omnifaces.facesconfigparser.digester.beans.LocaleConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedPropertyBean;
+import org.omnifaces.facesconfigparser.digester.beans.MapEntriesBean;
+import org.omnifaces.facesconfigparser.digester.beans.MapEntryBean;
+import org.omnifaces.facesconfigparser.digester.beans.NavigationCaseBean;
+import org.omnifaces.facesconfigparser.digester.beans.NavigationRuleBean;
+import org.omnifaces.facesconfigparser.digester.beans.PropertyBean;
+import org.omnifaces.facesconfigparser.digester.beans.PropertyHolder;
+import org.omnifaces.facesconfigparser.digester.beans.ReferencedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
+import org.omnifaces.facesconfigparser.digester.beans.RendererBean;
+import org.omnifaces.facesconfigparser.digester.beans.ResourceBundleBean;
+import org.omnifaces.facesconfigparser.digester.beans.ValidatorBean;
+
+/**
+ * <p>
+ * Creates deep copies of <code>FacesConfigBean</code> trees, so a cached tree can be merged into an application's model
+ * without the merge ever modifying the cached beans.
+ * </p>
+ */
+final class ModelCopier {
+
+    private ModelCopier() {
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    static FacesConfigBean copy(FacesConfigBean source) {
+        FacesConfigBean copy = new FacesConfigBean();
+
+        if (source.getApplication() != null) {
+            copy.setApplication(copy(source.getApplication()));
+        }
+        if (source.getFactory() != null) {
+            copy.setFactory(copy(source.getFactory()));
+        }
+        if (source.getLifecycle() != null) {
+            copy.setLifecycle(copy(source.getLifecycle()));
+        }
+
+        for (ComponentBean component : source.getComponentsView()) {
+            copy.addComponent(copy(component));
+        }
+        for (ConverterBean converter : source.getConvertersByIdView()) {
+            copy.addConverter(copy(converter));
+        }
+        for (ConverterBean converter : source.getConvertersByClassView()) {
+            copy.addConverter(copy(converter));
+        }
+        for (ManagedBeanBean managedBean : source.getManagedBeansView()) {
+            copy.addManagedBean(copy(managedBean));
+        }
+        for (NavigationRuleBean navigationRule : source.getNavigationRulesView()) {
+            copy.addNavigationRule(copy(navigationRule));
+        }
+        for (ReferencedBeanBean referencedBean : source.getReferencedBeansView()) {
+            ReferencedBeanBean referencedBeanCopy = new ReferencedBeanBean();
+            referencedBeanCopy.setReferencedBeanClass(referencedBean.getReferencedBeanClass());
+            referencedBeanCopy.setReferencedBeanName(referencedBean.getReferencedBeanName());
+            copyFeatures(referencedBean, referencedBeanCopy);
+            copy.addReferencedBean(referencedBeanCopy);
+        }
+        for (RenderKitBean renderKit : source.getRenderKitsView()) {
+            copy.addRenderKit(copy(renderKit));
+        }
+        for (ValidatorBean validator : source.getValidatorsView()) {
+            copy.addValidator(copy(validator));
+        }
+
+        return copy;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static ApplicationBean copy(ApplicationBean source) {
+        ApplicationBean copy = new ApplicationBean();
+        copy.setMessageBundle(source.getMessageBundle());
+        copy.setDefaultRenderKitId(source.getDefaultRenderKitId());
+
+        LocaleConfigBean localeConfig = source.getLocaleConfig();
+        if (localeConfig != null) {
+            LocaleConfigBean localeConfigCopy = new LocaleConfigBean();
+            localeConfigCopy.setDefaultLocale(localeConfig.getDefaultLocale());
+            for (String supportedLocale : localeConfig.getSupportedLocalesView()) {
+                localeConfigCopy.addSupportedLocale(supportedLocale);
+            }
+            copy.setLocaleConfig(localeConfigCopy);
+        }
+
+        for (String actionListener : source.getActionListenersView()) {
+            copy.addActionListener(actionListener);
+        }
+        for (String elResolver : source.getELResolversView()) {
+            copy.addELResolver(elResolver);
+        }
+        for (String navigationHandler : source.getNavigationHandlersView()) {
+            copy.addNavigationHandler(navigationHandler);
+        }
+        for (String propertyResolver : source.getPropertyResolversView()) {
+            copy.addPropertyResolver(propertyResolver);
+        }
+        for (String stateManager : source.getStateManagersView()) {
+            copy.addStateManager(stateManager);
+        }
+        for (String variableResolver : source.getVariableResolversView()) {
+            copy.addVariableResolver(variableResolver);
+        }
+        for (String viewHandler : source.getViewHandlersView()) {
+            copy.addViewHandler(viewHandler);
+        }
+        for (ResourceBundleBean resourceBundle : source.getResourceBundlesView()) {
+            ResourceBundleBean resourceBundleCopy = new ResourceBundleBean();
+            resourceBundleCopy.setBasename(resourceBundle.getBasename());
+            resourceBundleCopy.setVar(resourceBundle.getVar());
+            copyFeatures(resourceBundle, resourceBundleCopy);
+            copy.addResourceBundle(resourceBundleCopy);
+        }
+
+        return copy;
+    }
+
+    private static FactoryBean copy(FactoryBean source) {
+        FactoryBean copy = new FactoryBean();
+        for (String applicationFactory : source.getApplicationFactories()) {
+            copy.addApplicationFactory(applicationFactory);
+        }
+        for (String facesContextFactory : source.getFacesContextFactories()) {
+            copy.addFacesContextFactory(facesContextFactory);
+        }
+        for (String lifecycleFactory : source.getLifecycleFactories()) {
+            copy.addLifecycleFactory(lifecycleFactory);
+        }
+        for (String renderKitFactory : source.getRenderKitFactories()) {
+            copy.addRenderKitFactory(renderKitFactory);
+        }
+
+        return copy;
+    }
+
+    private static LifecycleBean copy(LifecycleBean source) {
+        LifecycleBean copy = new LifecycleBean();
+        for (String phaseListener : source.getPhaseListenersView()) {
+            copy.addPhaseListener(phaseListener);
+        }
+
+        return copy;
+    }
+
+    private static ComponentBean copy(ComponentBean source) {
+        ComponentBean copy = new ComponentBean();
+        copy.setComponentClass(source.getComponentClass());
+        copy.setComponentType(source.getComponentType());
+        copy.setBaseComponentType(source.getBaseComponentType());
+        copy.setComponentFamily(source.getComponentFamily());
+        copy.setRendererType(source.getRendererType());
+        copy.setIgnore(source.isIgnore());
+        copyFeatures(source, copy);
+        copyAttributes(source, copy);
+        copyProperties(source, copy);
+
+        return copy;
+    }
+
+    private static ConverterBean copy(ConverterBean source) {
+        ConverterBean copy = new ConverterBean();
+        copy.setConverterClass(source.getConverterClass());
+        copy.setConverterId(source.getConverterId());
+        copy.setConverterForClass(source.getConverterForClassName());
+        copyFeatures(source, copy);
+        copyAttributes(source, copy);
+        copyProperties(source, copy);
+
+        return copy;
+    }
+
+    private static ValidatorBean copy(ValidatorBean source) {
+        ValidatorBean copy = new ValidatorBean();
+        copy.setValidatorClass(source.getValidatorClass());
+        copy.setValidatorId(source.getValidatorId());
+        copyFeatures(source, copy);
+        copyAttributes(source, copy);
+        copyProperties(source, copy);
+
+        return copy;
+    }
+
+    private static ManagedBeanBean copy(ManagedBeanBean source) {
+        ManagedBeanBean copy = new ManagedBeanBean();
+        copy.setManagedBeanClass(source.getManagedBeanClass());
+        copy.setManagedBeanName(source.getManagedBeanName());
+        copy.setManagedBeanScope(source.getManagedBeanScope());
+        copy.setListEntries(copy(source.getListEntries()));
+        copy.setMapEntries(copy(source.getMapEntries()));
+        copyFeatures(source, copy);
+
+        for (ManagedPropertyBean managedProperty : source.getManagedPropertiesView()) {
+            ManagedPropertyBean managedPropertyCopy = new ManagedPropertyBean();
+            managedPropertyCopy.setPropertyClass(managedProperty.getPropertyClass());
+            managedPropertyCopy.setPropertyName(managedProperty.getPropertyName());
+            managedPropertyCopy.setValue(managedProperty.getValue());
+            managedPropertyCopy.setNullValue(managedProperty.isNullValue());
+            managedPropertyCopy.setListEntries(copy(managedProperty.getListEntries()));
+            managedPropertyCopy.setMapEntries(copy(managedProperty.getMapEntries()));
+            copyFeatures(managedProperty, managedPropertyCopy);
+            copy.addManagedProperty(managedPropertyCopy);
+        }
+
+        return copy;
+    }
+
+    private static ListEntriesBean copy(ListEntriesBean source) {
+        if (source == null) {
+            return null;
+        }
+
+        ListEntriesBean copy = new ListEntriesBean();
+        copy.setValueClass(source.getValueClass());
+        for (String value : source.getValuesView()) {
+            if (value == null) {
+                copy.addNullValue();
+            } else {
+                copy.addValue(value);
+            }
+        }
+
+        return copy;
+    }
+
+    private static MapEntriesBean copy(MapEntriesBean source) {
+        if (source == null) {
+            return null;
+        }
+
+        MapEntriesBean copy = new MapEntriesBean();
+        copy.setKeyClass(source.getKeyClass());
+        copy.setValueClass(source.getValueClass());
+        for (MapEntryBean mapEntry : source.getMapEntriesView()) {
+            MapEntryBean mapEntryCopy = new MapEntryBean();
+            mapEntryCopy.setKey(mapEntry.getKey());
+            mapEntryCopy.setValue(mapEntry.getValue());
+            mapEntryCopy.setNullValue(mapEntry.isNullValue());
+            copy.addMapEntry(mapEntryCopy);
+        }
+
+        return copy;
+    }
+
+    private static NavigationRuleBean copy(NavigationRuleBean source) {
+        NavigationRuleBean copy = new NavigationRuleBean();
+        copy.setFromViewId(source.getFromViewId());
+        copyFeatures(source, copy);
+
+        for (NavigationCaseBean navigationCase : source.getNavigationCasesView()) {
+            NavigationCaseBean navigationCaseCopy = new NavigationCaseBean();
+            navigationCaseCopy.setFromAction(navigationCase.getFromAction());
+            navigationCaseCopy.setFromOutcome(navigationCase.getFromOutcome());
+            navigationCaseCopy.setRedirect(navigationCase.isRedirect());
+            navigationCaseCopy.setToViewId(navigationCase.getToViewId());
+            copyFeatures(navigationCase, navigationCaseCopy);
+            copy.addNavigationCase(navigationCaseCopy);
+        }
+
+        return copy;
+    }
+
+    private static RenderKitBean copy(RenderKitBean source) {
+        RenderKitBean copy = new RenderKitBean();
+        copy.setRenderKitClass(source.getRenderKitClass());
+        copy.setRenderKitId(source.getRenderKitId());
+        copyFeatures(source, copy);
+
+        for (RendererBean renderer : source.getRenderersView()) {
+            RendererBean rendererCopy = new RendererBean();
+            rendererCopy.setComponentFamily(renderer.getComponentFamily());
+            rendererCopy.setRendererClass(renderer.getRendererClass());
+            rendererCopy.setRendererType(renderer.getRendererType());
+            rendererCopy.setRendersChildren(renderer.isRendersChildren());
+            rendererCopy.setExcludeAttributes(renderer.getExcludeAttributes());
+            rendererCopy.setIgnoreForJsp(renderer.isIgnoreForJsp());
+            rendererCopy.setIgnoreAll(renderer.isIgnoreAll());
+            rendererCopy.setBodyTag(renderer.isBodyTag());
+            rendererCopy.setTagName(renderer.getTagName());
+            copyFeatures(renderer, rendererCopy);
+            copyAttributes(renderer, rendererCopy);
+            copy.addRenderer(rendererCopy);
+        }
+
+        return copy;
+    }
+
+    private static void copyAttributes(AttributeHolder source, AttributeHolder copy) {
+        for (AttributeBean attribute : source.getAttributesView()) {
+            AttributeBean attributeCopy = new AttributeBean();
+            attributeCopy.setAttributeClass(attribute.getAttributeClass());
+            attributeCopy.setAttributeName(attribute.getAttributeName());
+            attributeCopy.setSuggestedValue(attribute.getSuggestedValue());
+            attributeCopy.setDefaultValue(attribute.getDefaultValue());
+            attributeCopy.setPassThrough(attribute.isPassThrough());
+            attributeCopy.setRequired(attribute.isRequired());
+            attributeCopy.setTagAttribute(attribute.isTagAttribute());
+            attributeCopy.setAttributeIgnoredForRenderer(attribute.isAttributeIgnoredForRenderer());
+            attributeCopy.addAllBehaviors(attribute.getBehaviors());
+            attributeCopy.setDefaultBehavior(attribute.isDefaultBehavior());
+            copyFeatures(attribute, attributeCopy);
+            copy.addAttribute(attributeCopy);
+        }
+    }
+
+    private static void copyProperties(PropertyHolder source, PropertyHolder copy) {
+        for (PropertyBean property : source.getPropertiesView()) {
+            PropertyBean propertyCopy = new PropertyBean();
+            propertyCopy.setPropertyClass(property.getPropertyClass());
+            propertyCopy.setPropertyName(property.getPropertyName());
+            propertyCopy.setSuggestedValue(property.getSuggestedValue());
+            propertyCopy.setDefaultValue(property.getDefaultValue());
+            propertyCopy.setPassThrough(property.isPassThrough());
+            propertyCopy.setReadOnly(property.isReadOnly());
+            propertyCopy.setRequired(property.isRequired());
+            propertyCopy.setTagAttribute(property.isTagAttribute());
+            propertyCopy.setMethodExpressionEnabled(property.isMethodExpressionEnabled());
+            propertyCopy.setMethodSignature(property.getMethodSignature());
+            propertyCopy.setValueExpressionEnabled(property.isValueExpressionEnabled());
+            propertyCopy.addAllBehaviors(property.getBehaviors());
+            propertyCopy.setDefaultBehavior(property.isDefaultBehavior());
+            copyFeatures(property, propertyCopy);
+            copy.addProperty(propertyCopy);
+        }
+    }
+
+    private static void copyFeatures(FeatureBean source, FeatureBean copy) {
+        for (DescriptionBean description : source.getDescriptionsView()) {
+            DescriptionBean descriptionCopy = new DescriptionBean();
+            descriptionCopy.setLang(description.getLang());
+            descriptionCopy.setDescription(description);
+            copy.addDescription(descriptionCopy);
+        }
+        for (DisplayNameBean displayName : source.getDisplayNamesView()) {
+            DisplayNameBean displayNameCopy = new DisplayNameBean();
+            displayNameCopy.setLang(displayName.getLang());
+            displayNameCopy.setDisplayName(displayName.getDisplayName());
+            copy.addDisplayName(displayNameCopy);
+        }
+        for (IconBean icon : source.getIconsView()) {
+            IconBean iconCopy = new IconBean();
+            iconCopy.setLang(icon.getLang());
+            iconCopy.setLargeIcon(icon.getLargeIcon());
+            iconCopy.setSmallIcon(icon.getSmallIcon());
+            copy.addIcon(iconCopy);
+        }
+    }
+
+}
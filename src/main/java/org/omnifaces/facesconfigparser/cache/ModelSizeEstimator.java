@@ -0,0 +1,520 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.cache;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.omnifaces.facesconfigparser.digester.beans.ApplicationBean;
+import org.omnifaces.facesconfigparser.digester.beans.AttributeBean;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.ConverterBean;
+import org.omnifaces.facesconfigparser.digester.beans.DescriptionBean;
+import org.omnifaces.facesconfigparser.digester.beans.DisplayNameBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.FactoryBean;
+import org.omnifaces.facesconfigparser.digester.beans.FeatureBean;
+import org.omnifaces.facesconfigparser.digester.beans.IconBean;
+import org.omnifaces.facesconfigparser.digester.beans.LifecycleBean;
+import org.omnifaces.facesconfigparser.digester.beans.ListEntriesBean;
+import org.omnifaces.facesconfigparser.digester.beans.LocaleConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedPropertyBean;
+import org.omnifaces.facesconfigparser.digester.beans.MapEntriesBean;
+import org.omnifaces.facesconfigparser.digester.beans.MapEntryBean;
+import org.omnifaces.facesconfigparser.digester.beans.NavigationCaseBean;
+import org.omnifaces.facesconfigparser.digester.beans.NavigationRuleBean;
+import org.omnifaces.facesconfigparser.digester.beans.PropertyBean;
+import org.omnifaces.facesconfigparser.digester.beans.ReferencedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
+import org.omnifaces.facesconfigparser.digester.beans.RendererBean;
+import org.omnifaces.facesconfigparser.digester.beans.ResourceBundleBean;
+import org.omnifaces.facesconfigparser.digester.beans.ValidatorBean;
+import org.omnifaces.facesconfigparser.model.AttributeModel;
+import org.omnifaces.facesconfigparser.model.ComponentModel;
+import org.omnifaces.facesconfigparser.model.ConverterModel;
+import org.omnifaces.facesconfigparser.model.FacesConfigModel;
+import org.omnifaces.facesconfigparser.model.PropertyModel;
+import org.omnifaces.facesconfigparser.model.RenderKitModel;
+import org.omnifaces.facesconfigparser.model.RendererModel;
+import org.omnifaces.facesconfigparser.model.ValidatorModel;
+
+/**
+ * <p>
+ * Estimates the retained heap size of a parsed <code>FacesConfigBean</code> tree, or of the
+ * <code>FacesConfigModel</code> frozen from it.
+ * </p>
+ *
+ * <p>
+ * The estimate assumes a 64-bit JVM with compressed references (12 byte object headers, 4 byte references, 8 byte
+ * alignment) and Latin-1 compact strings. Strings are counted once per occurrence, so values that happen to be shared
+ * are over-estimated. Collections of the beans are only allocated on their first element, so empty collections are not
+ * counted, nor are descriptions stored off-heap in a <code>StringArena</code> or not loaded from their source yet. The
+ * result is meant for budgeting, not for exact accounting.
+ * </p>
+ */
+public final class ModelSizeEstimator {
+
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+
+    /** Shallow size of a <code>TreeMap</code> plus that of each of its entries. */
+    private static final int TREE_MAP = 48;
+    private static final int TREE_MAP_ENTRY = 40;
+
+    /** Shallow size of an <code>ArrayList</code>, its backing array is counted separately. */
+    private static final int ARRAY_LIST = 24;
+
+    /** Shallow size of a <code>LinkedHashMap</code> plus that of each of its entries, its table is counted separately. */
+    private static final int LINKED_HASH_MAP = 56;
+    private static final int LINKED_HASH_MAP_ENTRY = 40;
+
+    /** Shallow size of a <code>LinkedHashSet</code>, excluding its backing map. */
+    private static final int HASH_SET = 16;
+
+    private ModelSizeEstimator() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Return the estimated number of bytes retained by the given configuration tree.
+     * </p>
+     *
+     * @param facesConfig the root of the tree, may be <code>null</code>
+     * @return the estimated retained size in bytes
+     */
+    public static long estimate(FacesConfigBean facesConfig) {
+        if (facesConfig == null) {
+            return 0;
+        }
+
+        long size = shallow(11, 0);
+        size += treeMap(facesConfig.getComponentsView()) + treeMap(facesConfig.getConvertersByIdView());
+        size += treeMap(facesConfig.getConvertersByClassView()) + treeMap(facesConfig.getManagedBeansView());
+        size += treeMap(facesConfig.getNavigationRulesView()) + treeMap(facesConfig.getReferencedBeansView());
+        size += treeMap(facesConfig.getRenderKitsView()) + treeMap(facesConfig.getValidatorsView());
+
+        size += estimate(facesConfig.getApplication());
+        size += estimate(facesConfig.getFactory());
+        size += estimate(facesConfig.getLifecycle());
+
+        for (ComponentBean component : facesConfig.getComponentsView()) {
+            size += TREE_MAP_ENTRY + estimate(component);
+        }
+        for (ConverterBean converter : facesConfig.getConvertersByIdView()) {
+            size += TREE_MAP_ENTRY + estimate(converter);
+        }
+        for (ConverterBean converter : facesConfig.getConvertersByClassView()) {
+            size += TREE_MAP_ENTRY + estimate(converter);
+        }
+        for (ManagedBeanBean managedBean : facesConfig.getManagedBeansView()) {
+            size += TREE_MAP_ENTRY + estimate(managedBean);
+        }
+        for (NavigationRuleBean navigationRule : facesConfig.getNavigationRulesView()) {
+            size += TREE_MAP_ENTRY + estimate(navigationRule);
+        }
+        for (ReferencedBeanBean referencedBean : facesConfig.getReferencedBeansView()) {
+            size += TREE_MAP_ENTRY + shallow(5, 0) + features(referencedBean)
+                    + string(referencedBean.getReferencedBeanClass()) + string(referencedBean.getReferencedBeanName());
+        }
+        for (RenderKitBean renderKit : facesConfig.getRenderKitsView()) {
+            size += TREE_MAP_ENTRY + estimate(renderKit);
+        }
+        for (ValidatorBean validator : facesConfig.getValidatorsView()) {
+            size += TREE_MAP_ENTRY + estimate(validator);
+        }
+
+        return size;
+    }
+
+    /**
+     * <p>
+     * Return the estimated number of bytes retained by the given frozen model, with the same assumptions as
+     * {@link #estimate(FacesConfigBean)}. Converters registered both by id and by class are counted once.
+     * </p>
+     *
+     * @param model the model, may be <code>null</code>
+     * @return the estimated retained size in bytes
+     */
+    public static long estimate(FacesConfigModel model) {
+        if (model == null) {
+            return 0;
+        }
+
+        long size = shallow(5, 0);
+        size += array(model.getComponents().size()) + array(model.getConvertersById().size());
+        size += array(model.getConvertersByClass().size()) + array(model.getValidators().size());
+        size += array(model.getRenderKits().size());
+
+        for (ComponentModel component : model.getComponents()) {
+            size += shallow(8, 1);
+            size += string(component.getComponentType()) + string(component.getComponentClass());
+            size += string(component.getBaseComponentType()) + string(component.getComponentFamily());
+            size += string(component.getRendererType());
+            size += attributeModels(component.getAttributes()) + propertyModels(component.getProperties());
+        }
+        for (ConverterModel converter : model.getConvertersById()) {
+            size += estimate(converter);
+        }
+        for (ConverterModel converter : model.getConvertersByClass()) {
+            if (converter != model.getConverterById(converter.getConverterId())) {
+                size += estimate(converter);
+            }
+        }
+        for (ValidatorModel validator : model.getValidators()) {
+            size += shallow(4, 0) + string(validator.getValidatorId()) + string(validator.getValidatorClass());
+            size += attributeModels(validator.getAttributes()) + propertyModels(validator.getProperties());
+        }
+        for (RenderKitModel renderKit : model.getRenderKits()) {
+            size += shallow(3, 0) + string(renderKit.getRenderKitId()) + string(renderKit.getRenderKitClass());
+            size += array(renderKit.getRenderers().size());
+            for (RendererModel renderer : renderKit.getRenderers()) {
+                size += shallow(6, 4);
+                size += string(renderer.getComponentFamily()) + string(renderer.getRendererType());
+                size += string(renderer.getRendererClass()) + string(renderer.getExcludeAttributes());
+                size += string(renderer.getTagName());
+                size += attributeModels(renderer.getAttributes());
+            }
+        }
+
+        return size;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static long estimate(ApplicationBean application) {
+        if (application == null) {
+            return 0;
+        }
+
+        long size = shallow(11, 0) + treeMap(application.getResourceBundlesView());
+        size += set(application.getActionListenersView());
+        size += set(application.getELResolversView());
+        size += set(application.getNavigationHandlersView());
+        size += set(application.getPropertyResolversView());
+        size += set(application.getStateManagersView());
+        size += set(application.getVariableResolversView());
+        size += set(application.getViewHandlersView());
+        size += string(application.getMessageBundle()) + string(application.getDefaultRenderKitId());
+
+        LocaleConfigBean localeConfig = application.getLocaleConfig();
+        if (localeConfig != null) {
+            Collection<String> supportedLocales = localeConfig.getSupportedLocalesView();
+            size += shallow(2, 0) + treeMap(supportedLocales) + string(localeConfig.getDefaultLocale());
+            for (String supportedLocale : supportedLocales) {
+                size += TREE_MAP_ENTRY + string(supportedLocale);
+            }
+        }
+
+        for (ResourceBundleBean resourceBundle : application.getResourceBundlesView()) {
+            size += TREE_MAP_ENTRY + shallow(5, 0) + features(resourceBundle)
+                    + string(resourceBundle.getBasename()) + string(resourceBundle.getVar());
+        }
+
+        return size;
+    }
+
+    private static long estimate(FactoryBean factory) {
+        if (factory == null) {
+            return 0;
+        }
+
+        return shallow(4, 0)
+                + list(factory.getApplicationFactories())
+                + list(factory.getFacesContextFactories())
+                + list(factory.getLifecycleFactories())
+                + list(factory.getRenderKitFactories());
+    }
+
+    private static long estimate(LifecycleBean lifecycle) {
+        if (lifecycle == null) {
+            return 0;
+        }
+
+        return shallow(1, 0) + set(lifecycle.getPhaseListenersView());
+    }
+
+    private static long estimate(ComponentBean component) {
+        long size = shallow(10, 1) + features(component);
+        size += string(component.getComponentClass()) + string(component.getComponentType());
+        size += string(component.getBaseComponentType()) + string(component.getComponentFamily());
+        size += string(component.getRendererType());
+        size += attributes(component.getAttributesView()) + properties(component.getPropertiesView());
+
+        return size;
+    }
+
+    private static long estimate(ConverterBean converter) {
+        long size = shallow(8, 0) + features(converter);
+        size += string(converter.getConverterClass()) + string(converter.getConverterId());
+        size += attributes(converter.getAttributesView()) + properties(converter.getPropertiesView());
+
+        return size;
+    }
+
+    private static long estimate(ValidatorBean validator) {
+        long size = shallow(7, 0) + features(validator);
+        size += string(validator.getValidatorClass()) + string(validator.getValidatorId());
+        size += attributes(validator.getAttributesView()) + properties(validator.getPropertiesView());
+
+        return size;
+    }
+
+    private static long estimate(ManagedBeanBean managedBean) {
+        long size = shallow(9, 0) + features(managedBean);
+        size += string(managedBean.getManagedBeanClass()) + string(managedBean.getManagedBeanName());
+        size += string(managedBean.getManagedBeanScope());
+        size += estimate(managedBean.getListEntries()) + estimate(managedBean.getMapEntries());
+
+        Collection<ManagedPropertyBean> managedProperties = managedBean.getManagedPropertiesView();
+        size += linkedHashMap(managedProperties);
+        for (ManagedPropertyBean managedProperty : managedProperties) {
+            size += shallow(8, 1) + features(managedProperty);
+            size += string(managedProperty.getPropertyClass()) + string(managedProperty.getPropertyName());
+            size += string(managedProperty.getValue());
+            size += estimate(managedProperty.getListEntries()) + estimate(managedProperty.getMapEntries());
+        }
+
+        return size;
+    }
+
+    private static long estimate(ListEntriesBean listEntries) {
+        if (listEntries == null) {
+            return 0;
+        }
+
+        Collection<String> values = listEntries.getValuesView();
+        long size = shallow(2, 0) + list(values) + string(listEntries.getValueClass());
+
+        return size;
+    }
+
+    private static long estimate(MapEntriesBean mapEntries) {
+        if (mapEntries == null) {
+            return 0;
+        }
+
+        Collection<MapEntryBean> entries = mapEntries.getMapEntriesView();
+        long size = shallow(3, 0) + arrayList(entries);
+        size += string(mapEntries.getKeyClass()) + string(mapEntries.getValueClass());
+        for (MapEntryBean entry : entries) {
+            size += shallow(2, 1) + string(entry.getKey()) + string(entry.getValue());
+        }
+
+        return size;
+    }
+
+    private static long estimate(NavigationRuleBean navigationRule) {
+        Collection<NavigationCaseBean> navigationCases = navigationRule.getNavigationCasesView();
+        long size = shallow(5, 0) + arrayList(navigationCases) + features(navigationRule);
+        size += string(navigationRule.getFromViewId());
+        for (NavigationCaseBean navigationCase : navigationCases) {
+            size += shallow(6, 1) + features(navigationCase);
+            size += string(navigationCase.getFromAction()) + string(navigationCase.getFromOutcome());
+            size += string(navigationCase.getToViewId());
+        }
+
+        return size;
+    }
+
+    private static long estimate(RenderKitBean renderKit) {
+        Collection<RendererBean> renderers = renderKit.getRenderersView();
+        long size = shallow(7, 0) + treeMap(renderers) + features(renderKit);
+        size += string(renderKit.getRenderKitClass()) + string(renderKit.getRenderKitId());
+
+        // One map of renderer types per component family, keyed by the strings the renderers already hold
+        long families = renderKit.streamRenderers().map(RendererBean::getComponentFamily).distinct().count();
+        size += families * (TREE_MAP_ENTRY + TREE_MAP);
+
+        for (RendererBean renderer : renderers) {
+            size += TREE_MAP_ENTRY + shallow(10, 4) + features(renderer);
+            size += string(renderer.getComponentFamily()) + string(renderer.getRendererClass());
+            size += string(renderer.getRendererType()) + string(renderer.getExcludeAttributes());
+            size += string(renderer.getTagName());
+            size += attributes(renderer.getAttributesView());
+        }
+
+        return size;
+    }
+
+    private static long attributes(Collection<AttributeBean> attributes) {
+        long size = treeMap(attributes);
+        for (AttributeBean attribute : attributes) {
+            size += TREE_MAP_ENTRY + shallow(9, 6) + features(attribute);
+            size += string(attribute.getAttributeClass()) + string(attribute.getAttributeName());
+            size += string(attribute.getSuggestedValue()) + string(attribute.getDefaultValue());
+            size += behaviors(attribute.getBehaviors());
+        }
+
+        return size;
+    }
+
+    private static long properties(Collection<PropertyBean> properties) {
+        long size = treeMap(properties);
+        for (PropertyBean property : properties) {
+            size += TREE_MAP_ENTRY + shallow(10, 9) + features(property);
+            size += string(property.getPropertyClass()) + string(property.getPropertyName());
+            size += string(property.getSuggestedValue()) + string(property.getDefaultValue());
+            size += string(property.getMethodSignature());
+            size += behaviors(property.getBehaviors());
+        }
+
+        return size;
+    }
+
+    private static long estimate(ConverterModel converter) {
+        long size = shallow(5, 0);
+        size += string(converter.getConverterId()) + string(converter.getConverterForClassName());
+        size += string(converter.getConverterClass());
+        size += attributeModels(converter.getAttributes()) + propertyModels(converter.getProperties());
+
+        return size;
+    }
+
+    /** Attribute models are held in a shared empty array when there are none. */
+    private static long attributeModels(List<AttributeModel> attributes) {
+        long size = attributes.isEmpty() ? 0 : array(attributes.size());
+        for (AttributeModel attribute : attributes) {
+            size += shallow(5, 4);
+            size += string(attribute.getName()) + string(attribute.getAttributeClass());
+            size += string(attribute.getSuggestedValue()) + string(attribute.getDefaultValue());
+            size += behaviorModels(attribute.getBehaviors());
+        }
+
+        return size;
+    }
+
+    /** Property models are held in a shared empty array when there are none. */
+    private static long propertyModels(List<PropertyModel> properties) {
+        long size = properties.isEmpty() ? 0 : array(properties.size());
+        for (PropertyModel property : properties) {
+            size += shallow(6, 4);
+            size += string(property.getName()) + string(property.getPropertyClass());
+            size += string(property.getSuggestedValue()) + string(property.getDefaultValue());
+            size += string(property.getMethodSignature());
+            size += behaviorModels(property.getBehaviors());
+        }
+
+        return size;
+    }
+
+    private static long behaviorModels(List<String> behaviors) {
+        return behaviors.isEmpty() ? 0 : strings(behaviors);
+    }
+
+    private static long features(FeatureBean feature) {
+        Collection<DescriptionBean> descriptions = feature.getDescriptionsView();
+        Collection<DisplayNameBean> displayNames = feature.getDisplayNamesView();
+        Collection<IconBean> icons = feature.getIconsView();
+
+        long size = treeMap(descriptions) + treeMap(displayNames) + treeMap(icons);
+        for (DescriptionBean description : descriptions) {
+            size += TREE_MAP_ENTRY + shallow(4, 8) + string(description.getLang());
+            if (!description.isDescriptionOffHeap() && !description.isDescriptionDeferred()) {
+                size += string(description.getDescription());
+            }
+        }
+        for (DisplayNameBean displayName : displayNames) {
+            size += TREE_MAP_ENTRY + shallow(2, 0) + string(displayName.getDisplayName()) + string(displayName.getLang());
+        }
+        for (IconBean icon : icons) {
+            size += TREE_MAP_ENTRY + shallow(3, 0) + string(icon.getLang());
+            size += string(icon.getLargeIcon()) + string(icon.getSmallIcon());
+        }
+
+        return size;
+    }
+
+    private static long behaviors(List<String> behaviors) {
+        if (behaviors == null) {
+            return 0;
+        }
+
+        return ARRAY_LIST + strings(behaviors);
+    }
+
+    /** Shallow size of a map with the given values, which is only allocated once it has an entry. */
+    private static long treeMap(Collection<?> values) {
+        return values.isEmpty() ? 0 : TREE_MAP;
+    }
+
+    /** Shallow size of a list with the given values and its backing array, only allocated once it has an element. */
+    private static long arrayList(Collection<?> values) {
+        return values.isEmpty() ? 0 : ARRAY_LIST + array(values.size());
+    }
+
+    /** Shallow size of a map with the given values, its entries and its table, only allocated once it has an entry. */
+    private static long linkedHashMap(Collection<?> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+
+        // Default load factor of 0.75 and a power of two table of at least 16 buckets
+        int buckets = Math.max(16, Integer.highestOneBit((values.size() * 4 / 3) * 2 - 1));
+        return LINKED_HASH_MAP + array(buckets) + values.size() * LINKED_HASH_MAP_ENTRY;
+    }
+
+    private static long list(Collection<String> values) {
+        return values.isEmpty() ? 0 : ARRAY_LIST + strings(values);
+    }
+
+    private static long set(Collection<String> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+
+        long size = HASH_SET + linkedHashMap(values);
+        for (String value : values) {
+            size += string(value);
+        }
+
+        return size;
+    }
+
+    private static long strings(Collection<String> values) {
+        long size = array(values.size());
+        for (String value : values) {
+            size += string(value);
+        }
+
+        return size;
+    }
+
+    private static long string(String value) {
+        if (value == null) {
+            return 0;
+        }
+
+        // String instance plus its byte[] value
+        return 24 + align(16 + value.length());
+    }
+
+    private static long array(int length) {
+        return align(16 + length * REFERENCE);
+    }
+
+    private static long shallow(int references, int primitiveBytes) {
+        return align(HEADER + references * REFERENCE + primitiveBytes);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+}
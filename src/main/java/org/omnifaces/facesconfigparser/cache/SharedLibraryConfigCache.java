@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.omnifaces.facesconfigparser.FacesConfigParser;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.rules.FacesConfigRule;
+import org.omnifaces.facesconfigparser.discovery.FacesConfigDiscovery;
+import org.omnifaces.facesconfigparser.util.ToolsUtil;
+
+/**
+ * <p>
+ * Cache of the faces config resources of shared library jars, keyed by the identity of the jar file: its canonical path,
+ * size and last modified time.
+ * </p>
+ *
+ * <p>
+ * A library in a common lib directory, seen by each application through its own class loader, is parsed once. Each
+ * application merges a private copy of the cached result into its own model with {@link #mergeInto(FacesConfigBean, File, String)};
+ * the cached result itself is made read-only with {@link FacesConfigBean#makeReadOnly()} and never handed out.
+ * </p>
+ *
+ * <p>
+ * The cached result is kept as a <code>FacesConfigBean</code> tree rather than as a frozen <code>FacesConfigModel</code>:
+ * the frozen model only covers components, converters, validators and render kits, while merging into an application
+ * needs every element, and {@link FacesConfigRule#mergeFacesConfig(FacesConfigBean, FacesConfigBean)} adopts the merged
+ * beans into the application model. Hence the copy on each merge.
+ * </p>
+ *
+ * <p>
+ * Entries hold nothing but the parsed beans, the jar identity and the schema directory they were parsed against. The jar
+ * is read through the file system rather than through a class loader, so no class loader is pinned by this cache and
+ * undeploying an application releases everything it loaded. A jar that is replaced on disk gets a new size or
+ * modification time and is parsed again on next use, as is a jar requested with a different schema directory; its new
+ * result replaces the former one. Entries of jars that were deleted or changed since they were cached, such as the former
+ * version of a library after an upgrade, are evicted by {@link #prune()}, which also runs each time a jar is parsed, so
+ * stale entries do not pile up.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public class SharedLibraryConfigCache {
+
+    private static final Logger logger = ToolsUtil.getLogger(ToolsUtil.FACES_LOGGER + ToolsUtil.CONFIG_LOGGER);
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong loadCount = new AtomicLong();
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Merge the faces config resources of the given jar into the given application model, parsing the jar only when it is
+     * not cached or has changed since it was cached.
+     * </p>
+     *
+     * <p>
+     * The resources are <code>META-INF/faces-config.xml</code> followed by any <code>META-INF/*.faces-config.xml</code>
+     * entries in jar entry order.
+     * </p>
+     *
+     * @param facesConfig the application model to merge into
+     * @param jar the shared library jar
+     * @param schemaDirectory directory that stores the .dtd and .xsd files, see
+     * {@link FacesConfigParser#parseFacesConfig(String, String)}
+     *
+     * @exception IllegalStateException if the jar cannot be read or parsed
+     */
+    public void mergeInto(FacesConfigBean facesConfig, File jar, String schemaDirectory) {
+        FacesConfigBean libraryConfig = get(jar, schemaDirectory);
+        if (libraryConfig != null) {
+            FacesConfigRule.mergeFacesConfig(ModelCopier.copy(libraryConfig), facesConfig);
+        }
+    }
+
+    /**
+     * <p>
+     * Remove the cached result of the given jar, if any.
+     * </p>
+     *
+     * @param jar the shared library jar
+     */
+    public void invalidate(File jar) {
+        entries.remove(key(jar));
+    }
+
+    /**
+     * <p>
+     * Remove the cached results of the jars that no longer exist, or whose size or last modified time changed since they
+     * were cached.
+     * </p>
+     */
+    public void prune() {
+        entries.entrySet().removeIf(entry -> {
+            File jar = new File(entry.getKey());
+            return !jar.isFile() || jar.length() != entry.getValue().length || jar.lastModified() != entry.getValue().lastModified;
+        });
+    }
+
+    /**
+     * <p>
+     * Remove all cached results.
+     * </p>
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of jars currently cached
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of times a jar was parsed by this cache
+     */
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private FacesConfigBean get(File jar, String schemaDirectory) {
+        String key = key(jar);
+        long length = jar.length();
+        long lastModified = jar.lastModified();
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.length == length && entry.lastModified == lastModified && Objects.equals(entry.schemaDirectory, schemaDirectory)) {
+            return entry.facesConfig;
+        }
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, (entry == null ? "Parsing " : "Reparsing changed ") + key);
+        }
+
+        FacesConfigBean facesConfig = parse(jar, schemaDirectory);
+        if (facesConfig != null) {
+            facesConfig.makeReadOnly();
+        }
+        loadCount.incrementAndGet();
+
+        // The new result replaces that of the former jar at the same path
+        entry = new Entry(length, lastModified, schemaDirectory, facesConfig);
+        entries.put(key, entry);
+        prune();
+
+        return entry.facesConfig;
+    }
+
+    private static FacesConfigBean parse(File jar, String schemaDirectory) {
+        FacesConfigBean facesConfig = null;
+
+        for (URL resource : findFacesConfigs(jar)) {
+            FacesConfigBean parsed = FacesConfigParser.parseFacesConfig(resource, schemaDirectory);
+            if (facesConfig == null) {
+                facesConfig = parsed;
+            } else {
+                FacesConfigRule.mergeFacesConfig(parsed, facesConfig);
+            }
+        }
+
+        return facesConfig;
+    }
+
+    private static List<URL> findFacesConfigs(File jar) {
+        List<URL> resources = new ArrayList<>();
+
+        try (JarFile jarFile = new JarFile(jar)) {
+            for (String name : FacesConfigDiscovery.findFacesConfigEntries(jarFile)) {
+                resources.add(FacesConfigDiscovery.toURL(jar.toPath(), name));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + jar, e);
+        }
+
+        return resources;
+    }
+
+    private static String key(File jar) {
+        try {
+            return jar.getCanonicalPath();
+        } catch (IOException e) {
+            return jar.getAbsolutePath();
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static class Entry {
+
+        private final long length;
+        private final long lastModified;
+        private final String schemaDirectory;
+
+        /** Read-only and never exposed, only copied; <code>null</code> if the jar has no faces config resources. */
+        private final FacesConfigBean facesConfig;
+
+        Entry(long length, long lastModified, String schemaDirectory, FacesConfigBean facesConfig) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.schemaDirectory = schemaDirectory;
+            this.facesConfig = facesConfig;
+        }
+    }
+
+}
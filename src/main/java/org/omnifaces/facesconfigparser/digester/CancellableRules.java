@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester;
+
+import java.util.List;
+
+import org.apache.commons.digester.Digester;
+import org.apache.commons.digester.Rule;
+import org.apache.commons.digester.Rules;
+import org.xml.sax.Locator;
+
+/**
+ * <p>
+ * <code>Rules</code> that check a {@link CancellationToken} each time the digester matches the start of an element, and
+ * otherwise delegate to the rules they wrap.
+ * </p>
+ */
+final class CancellableRules implements Rules {
+
+    private final Rules rules;
+    private final CancellationToken token;
+    private final long startTime;
+
+    private long elementCount;
+
+    CancellableRules(Rules rules, CancellationToken token, long startTime) {
+        this.rules = rules;
+        this.token = token;
+        this.startTime = startTime;
+    }
+
+    // ----------------------------------------------------------- Rules Methods
+
+    @Override
+    public Digester getDigester() {
+        return rules.getDigester();
+    }
+
+    @Override
+    public void setDigester(Digester digester) {
+        rules.setDigester(digester);
+    }
+
+    @Override
+    public String getNamespaceURI() {
+        return rules.getNamespaceURI();
+    }
+
+    @Override
+    public void setNamespaceURI(String namespaceURI) {
+        rules.setNamespaceURI(namespaceURI);
+    }
+
+    @Override
+    public void add(String pattern, Rule rule) {
+        rules.add(pattern, rule);
+    }
+
+    @Override
+    public void clear() {
+        rules.clear();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public List<Rule> match(String pattern) {
+        check(pattern);
+        return rules.match(pattern);
+    }
+
+    @Override
+    public List<Rule> match(String namespaceURI, String pattern) {
+        check(pattern);
+        return rules.match(namespaceURI, pattern);
+    }
+
+    @Override
+    public List<Rule> rules() {
+        return rules.rules();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void check(String pattern) {
+        ParseCancelledException.Reason reason = token.check();
+        if (reason != null) {
+            Digester digester = getDigester();
+            Locator locator = digester.getDocumentLocator();
+            Object partialResult = digester.getCount() > 0 ? digester.peek(digester.getCount() - 1) : null;
+
+            throw new ParseCancelledException(reason, locator != null ? locator.getSystemId() : null, locator != null ? locator.getLineNumber() : -1,
+                    locator != null ? locator.getColumnNumber() : -1, pattern, elementCount, System.nanoTime() - startTime, partialResult);
+        }
+        elementCount++;
+    }
+
+}
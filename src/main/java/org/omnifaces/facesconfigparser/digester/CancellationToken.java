@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.digester.Digester;
+
+/**
+ * <p>
+ * Lets a parse be cancelled from another thread, or ended when a deadline passes.
+ * </p>
+ *
+ * <p>
+ * A token is applied to a <code>Digester</code> with {@link #applyTo(Digester)}, after which the digester checks the token
+ * at the start of every element that it matches against its rules. Once the token is cancelled or its deadline has
+ * passed, the next check throws a {@link ParseCancelledException} that describes where the parse stopped. Text and
+ * markup within an element, such as the content of a description, are not checked, so a parse ends at the next element
+ * boundary rather than at once. One token may be shared by several parses, which are then all cancelled together.
+ * Instances are thread-safe.
+ * </p>
+ */
+public final class CancellationToken {
+
+    /** A token that is never cancelled and is not checked at all. */
+    public static final CancellationToken NONE = new CancellationToken(Long.MAX_VALUE, false, null);
+
+    private final long deadline;
+    private final boolean hasDeadline;
+    private final CancellationToken parent;
+
+    private volatile boolean cancelled;
+
+    private CancellationToken(long deadline, boolean hasDeadline, CancellationToken parent) {
+        this.deadline = deadline;
+        this.hasDeadline = hasDeadline;
+        this.parent = parent;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Return a new token without a deadline, that is only cancelled by {@link #cancel()}.
+     * </p>
+     *
+     * @return the new token
+     */
+    public static CancellationToken newToken() {
+        return new CancellationToken(0, false, null);
+    }
+
+    /**
+     * <p>
+     * Return a new token that is cancelled when the given parent token is, and ends parses when the deadline of the parent
+     * passes, but that can also be cancelled on its own without cancelling the parent. A parent of {@link #NONE} gives a
+     * token like {@link #newToken()}.
+     * </p>
+     *
+     * @param parent the token to follow
+     * @return the new token
+     */
+    public static CancellationToken newToken(CancellationToken parent) {
+        return new CancellationToken(0, false, parent == NONE ? null : parent);
+    }
+
+    /**
+     * <p>
+     * Return a new token whose deadline passes the given time from now, and that can also be cancelled before that.
+     * </p>
+     *
+     * @param timeout the time from now until the deadline
+     * @param unit the unit of the timeout
+     * @return the new token
+     */
+    public static CancellationToken withTimeout(long timeout, TimeUnit unit) {
+        return new CancellationToken(System.nanoTime() + unit.toNanos(timeout), true, null);
+    }
+
+    /**
+     * <p>
+     * Cancel this token, so that the parses it is applied to end at their next element.
+     * </p>
+     *
+     * @exception IllegalStateException if this token is {@link #NONE}
+     */
+    public void cancel() {
+        if (this == NONE) {
+            throw new IllegalStateException("The NONE token cannot be cancelled");
+        }
+        cancelled = true;
+    }
+
+    /**
+     * @return whether this token, or its parent, was cancelled with {@link #cancel()}
+     */
+    public boolean isCancelled() {
+        return cancelled || parent != null && parent.isCancelled();
+    }
+
+    /**
+     * @return whether this token, or its parent, has a deadline that has passed
+     */
+    public boolean isDeadlineExceeded() {
+        return hasDeadline && System.nanoTime() - deadline >= 0 || parent != null && parent.isDeadlineExceeded();
+    }
+
+    /**
+     * <p>
+     * Make the given digester check this token at the start of every element. This wraps the current rules of the
+     * digester, so rules added before and after this call are all kept. Applying {@link #NONE} does nothing.
+     * </p>
+     *
+     * @param digester the digester to check this token
+     * @return the given digester
+     */
+    public Digester applyTo(Digester digester) {
+        if (this != NONE) {
+            digester.setRules(new CancellableRules(digester.getRules(), this, System.nanoTime()));
+        }
+
+        return digester;
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    // The reason to stop a parse, or null to continue
+    ParseCancelledException.Reason check() {
+        if (isCancelled()) {
+            return ParseCancelledException.Reason.CANCELLED;
+        }
+        if (isDeadlineExceeded()) {
+            return ParseCancelledException.Reason.DEADLINE_EXCEEDED;
+        }
+
+        return null;
+    }
+
+}
@@ -23,6 +23,7 @@ import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -69,13 +70,6 @@ public class DigesterFactory {
      */
     private static final String XERCES_SCHEMA_CONSTRAINT_VALIDATION = "http://apache.org/xml/features/validation/schema-full-checking";
 
-    /**
-     * <p>
-     * Custom <code>EntityResolver</code>.
-     * </p>
-     */
-    private static JsfEntityResolver RESOLVER;
-
     /**
      * <p>
      * Custom <code>ErrorHandler</code>.
@@ -92,6 +86,21 @@ public class DigesterFactory {
 
     private String schemaDirectory;
 
+    /**
+     * <p>
+     * Resolver holding the local grammar locations, copied for each created <code>Digester</code> so that digesters used on
+     * different threads do not share a version listener.
+     * </p>
+     */
+    private final JsfEntityResolver resolver;
+
+    /**
+     * <p>
+     * The listener to set on the <code>EntityResolver</code> of each created <code>Digester</code>, or <code>null</code>.
+     * </p>
+     */
+    private VersionListener listener;
+
     /**
      * <p>
      * The <code>ThreadLocal</code> variable used to record the VersionListener instance for each processing thread.
@@ -129,7 +138,7 @@ public class DigesterFactory {
     private DigesterFactory(boolean isValidating, String schemaDirectory) {
         this.validating = isValidating;
         this.schemaDirectory = schemaDirectory;
-        RESOLVER = new JsfEntityResolver(schemaDirectory);
+        this.resolver = new JsfEntityResolver(schemaDirectory);
     }
 
     // ---------------------------------------------------------- Public Methods
@@ -175,7 +184,7 @@ public class DigesterFactory {
     public static DigesterFactory newInstance(boolean isValidating, VersionListener listener) {
         DigesterFactory result = new DigesterFactory(isValidating);
         if (null != listener) {
-            DigesterFactory.RESOLVER.setVersionListener(listener);
+            result.listener = listener;
             versionListener.set(listener);
         }
 
@@ -187,7 +196,9 @@ public class DigesterFactory {
     }
 
     public static void releaseDigester(Digester toRelease) {
-        RESOLVER.setVersionListener(null);
+        if (toRelease.getEntityResolver() instanceof JsfEntityResolver) {
+            ((JsfEntityResolver) toRelease.getEntityResolver()).setVersionListener(null);
+        }
         versionListener.set(null);
     }
 
@@ -250,7 +261,9 @@ public class DigesterFactory {
 
         digester.setNamespaceAware(true);
         digester.setUseContextClassLoader(true);
-        digester.setEntityResolver(RESOLVER);
+        JsfEntityResolver digesterResolver = new JsfEntityResolver(resolver);
+        digesterResolver.setVersionListener(listener);
+        digester.setEntityResolver(digesterResolver);
         digester.setErrorHandler(ERROR_HANDLER);
         // disable digester log messages
         digester.setLogger(new NoOpLog());
@@ -327,11 +340,12 @@ public class DigesterFactory {
          * Contains mapping between grammar name and the local URL to the physical resource.
          * </p>
          */
-        private HashMap<String, String> entities = new HashMap<String, String>();
+        private final Map<String, String> entities;
 
         // -------------------------------------------------------- Constructors
 
         public JsfEntityResolver(String schemaDirectory) {
+            entities = new HashMap<String, String>();
 
             // Add mappings between last segment of system ID and
             // the expected local physical resource. If the resource
@@ -362,6 +376,15 @@ public class DigesterFactory {
 
         }
 
+        /**
+         * <p>
+         * Creates a resolver sharing the grammar locations of the given one, without its version listener.
+         * </p>
+         */
+        public JsfEntityResolver(JsfEntityResolver prototype) {
+            entities = prototype.entities;
+        }
+
         private VersionListener versionListener;
 
         public void setVersionListener(VersionListener listener) {
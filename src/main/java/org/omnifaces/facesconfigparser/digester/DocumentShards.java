@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.omnifaces.facesconfigparser.digester.TopLevelScanner.Element;
+import org.xml.sax.InputSource;
+
+/**
+ * <p>
+ * Splits a configuration document into shards that can be bound independently, each on its own thread.
+ * </p>
+ *
+ * <p>
+ * A shard is the root start tag, followed by a contiguous run of direct children of the root element and the root end
+ * tag, so it is a document by itself. The runs are cut at the element boundaries found by a structural scan and are about
+ * equally large in bytes. Binding the shards and merging each result into those of the shards before it gives the same
+ * configuration as binding the whole document, as duplicate definitions within a document are merged the same way as
+ * those of different documents.
+ * </p>
+ *
+ * <p>
+ * The shards read the bytes of the document in place. The document type declaration is not part of any shard, so shards
+ * should be bound without validation.
+ * </p>
+ */
+public final class DocumentShards {
+
+    /** The minimum size in bytes of the run of elements of a shard, below which a document is not worth splitting further. */
+    public static final int MIN_SHARD_SIZE = 64 * 1024;
+
+    private DocumentShards() {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Split the given document into at most the given number of shards, in document order. A document that is smaller than
+     * two shards of {@link #MIN_SHARD_SIZE} has a single shard.
+     * </p>
+     *
+     * @param document the bytes of the document
+     * @param maxShards the maximum number of shards, usually the number of available processors
+     * @return the sources of the shards, of which there is at least one
+     *
+     * @exception IllegalArgumentException if <code>maxShards</code> is less than one
+     * @exception IllegalStateException if the document cannot be scanned
+     */
+    public static List<InputSource> split(byte[] document, int maxShards) {
+        if (maxShards < 1) {
+            throw new IllegalArgumentException("maxShards " + maxShards + " is less than one");
+        }
+
+        TopLevelScanner scanner = TopLevelScanner.scan(document);
+        List<Element> elements = scanner.getElements();
+        List<InputSource> shards = new ArrayList<>();
+        if (elements.isEmpty()) {
+            shards.add(shard(scanner, 0, 0));
+            return shards;
+        }
+
+        int first = elements.get(0).start;
+        int size = elements.get(elements.size() - 1).end - first;
+        int count = Math.max(1, Math.min(maxShards, size / MIN_SHARD_SIZE));
+
+        int start = first;
+        for (int i = 0, shard = 1; i < elements.size(); i++) {
+            int end = elements.get(i).end;
+            if (i == elements.size() - 1 || end - first >= (long) size * shard / count) {
+                shards.add(shard(scanner, start, end));
+                start = end;
+                shard++;
+            }
+        }
+
+        return shards;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static InputSource shard(TopLevelScanner scanner, int start, int end) {
+        List<InputStream> streams = Arrays.asList(
+                new ByteArrayInputStream(scanner.getRootStartTag().getBytes(scanner.getCharset())),
+                new ByteArrayInputStream(scanner.getBytes(), start, end - start),
+                new ByteArrayInputStream(scanner.getRootEndTag().getBytes(scanner.getCharset())));
+
+        InputSource source = new InputSource(new SequenceInputStream(Collections.enumeration(streams)));
+        source.setEncoding(scanner.getCharset().name());
+
+        return source;
+    }
+
+}
@@ -0,0 +1,619 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.digester.Digester;
+import org.omnifaces.facesconfigparser.digester.TopLevelScanner.Element;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.ConverterBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.NavigationRuleBean;
+import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
+import org.omnifaces.facesconfigparser.digester.beans.ValidatorBean;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * <p>
+ * A <code>FacesConfigBean</code> that binds the top-level component, converter, validator, managed-bean, render-kit and
+ * navigation-rule elements of its document on demand.
+ * </p>
+ *
+ * <p>
+ * On construction the document is only scanned for the byte ranges of the direct children of the root element, and the
+ * key of each of these elements is read from its body: the component type, the converter id or else the converter for
+ * class, the validator id, the managed bean name, the render kit id and the from view id, with the same defaults as the
+ * beans. All other elements are bound right away. An indexed element is bound the first time a method of this bean is
+ * called with its key, such as {@link #getComponent(String)}, by parsing its range, together with the ranges of all other
+ * elements with the same key in document order, within the root start tag. Methods that return or iterate a whole
+ * collection first bind all remaining elements of that collection, so the result is the same as that of a full parse.
+ * The bytes of the document are held until all indexed elements are bound.
+ * </p>
+ *
+ * <p>
+ * Ranges are bound with the digesters returned by the given supplier, which should not validate, as the ranges are not
+ * valid documents by themselves. Errors in an indexed element surface on binding, as an
+ * <code>IllegalStateException</code>; the elements that failed to bind stay unbound, so the next call that needs them
+ * binds them again.
+ * </p>
+ *
+ * <p>
+ * Binding, and the lookups by key that may bind, are synchronized on the bean until all indexed elements are bound, so
+ * an instance can be read by several threads, as can a <code>FacesConfigBean</code> that is no longer modified. Once
+ * all elements are bound, reads take no lock. As with <code>FacesConfigBean</code>, the methods that modify the tree
+ * are not thread-safe.
+ * </p>
+ */
+public class LazyFacesConfigBean extends FacesConfigBean {
+
+    private final Supplier<? extends Digester> digesters;
+    private final Map<Kind, Map<String, List<Element>>> index = new EnumMap<>(Kind.class);
+
+    // Cleared when all indexed elements are bound, after which reads need no lock
+    private volatile TopLevelScanner document;
+    private int unboundCount;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new bean for the given document, binding all elements that are not indexed.
+     * </p>
+     *
+     * @param document the bytes of the document
+     * @param digesters the supplier of the digesters to bind ranges of the document with, configured with the rules of the
+     * desired profile
+     *
+     * @exception IllegalStateException if the document cannot be scanned or the elements that are not indexed cannot be
+     * bound
+     */
+    public LazyFacesConfigBean(byte[] document, Supplier<? extends Digester> digesters) {
+        this.digesters = digesters;
+        this.document = TopLevelScanner.scan(document);
+
+        List<Element> eager = new ArrayList<>();
+        for (Element element : this.document.getElements()) {
+            Kind kind = Kind.of(this.document, element);
+            if (kind == null) {
+                eager.add(element);
+            } else {
+                String key = this.document.childText(element, kind.keyName);
+                index.computeIfAbsent(kind, k -> new HashMap<>())
+                     .computeIfAbsent(key != null ? key : kind.defaultKey, k -> new ArrayList<>())
+                     .add(element);
+                unboundCount++;
+            }
+        }
+        TopLevelScanner scanned = this.document;
+        if (unboundCount == 0) {
+            this.document = null;
+        }
+        parse(scanned, eager);
+    }
+
+    // -------------------------------------------------------------- Properties
+
+    /**
+     * <p>
+     * Return the number of indexed elements that are not bound yet.
+     * </p>
+     *
+     * @return the number of unbound elements
+     */
+    public synchronized int getUnboundCount() {
+        return unboundCount;
+    }
+
+    // --------------------------------------------------------------- Read-only
+
+    /**
+     * <p>
+     * Bind all remaining indexed elements, then make this tree read-only as {@link FacesConfigBean#makeReadOnly()} does.
+     * </p>
+     */
+    @Override
+    public void makeReadOnly() {
+        for (Kind kind : Kind.values()) {
+            bindAll(kind);
+        }
+        super.makeReadOnly();
+    }
+
+    // ------------------------------------------------- ComponentHolder Methods
+
+    @Override
+    public void addComponent(ComponentBean descriptor) {
+        bind(Kind.COMPONENT, descriptor.getComponentType());
+        super.addComponent(descriptor);
+    }
+
+    @Override
+    public ComponentBean getComponent(String componentType) {
+        if (document == null) {
+            return super.getComponent(componentType);
+        }
+        synchronized (this) {
+            bind(Kind.COMPONENT, componentType);
+            return super.getComponent(componentType);
+        }
+    }
+
+    @Override
+    public ComponentBean[] getComponents() {
+        bindAll(Kind.COMPONENT);
+        return super.getComponents();
+    }
+
+    @Override
+    public Collection<ComponentBean> getComponentsView() {
+        bindAll(Kind.COMPONENT);
+        return super.getComponentsView();
+    }
+
+    @Override
+    public void forEachComponent(Consumer<? super ComponentBean> action) {
+        bindAll(Kind.COMPONENT);
+        super.forEachComponent(action);
+    }
+
+    @Override
+    public Stream<ComponentBean> streamComponents() {
+        bindAll(Kind.COMPONENT);
+        return super.streamComponents();
+    }
+
+    @Override
+    public void removeComponent(ComponentBean descriptor) {
+        bind(Kind.COMPONENT, descriptor.getComponentType());
+        super.removeComponent(descriptor);
+    }
+
+    // ------------------------------------------------- ConverterHolder Methods
+
+    @Override
+    public void addConverter(ConverterBean descriptor) {
+        bindConverter(descriptor);
+        super.addConverter(descriptor);
+    }
+
+    @Override
+    public ConverterBean getConverterByClass(String converterForClass) {
+        if (document == null) {
+            return super.getConverterByClass(converterForClass);
+        }
+        synchronized (this) {
+            bind(Kind.CONVERTER_BY_CLASS, converterForClass);
+            return super.getConverterByClass(converterForClass);
+        }
+    }
+
+    @Override
+    public ConverterBean getConverterById(String converterId) {
+        if (document == null) {
+            return super.getConverterById(converterId);
+        }
+        synchronized (this) {
+            bind(Kind.CONVERTER_BY_ID, converterId);
+            return super.getConverterById(converterId);
+        }
+    }
+
+    @Override
+    public ConverterBean[] getConvertersByClass() {
+        bindAll(Kind.CONVERTER_BY_CLASS);
+        return super.getConvertersByClass();
+    }
+
+    @Override
+    public Collection<ConverterBean> getConvertersByClassView() {
+        bindAll(Kind.CONVERTER_BY_CLASS);
+        return super.getConvertersByClassView();
+    }
+
+    @Override
+    public void forEachConverterByClass(Consumer<? super ConverterBean> action) {
+        bindAll(Kind.CONVERTER_BY_CLASS);
+        super.forEachConverterByClass(action);
+    }
+
+    @Override
+    public Stream<ConverterBean> streamConvertersByClass() {
+        bindAll(Kind.CONVERTER_BY_CLASS);
+        return super.streamConvertersByClass();
+    }
+
+    @Override
+    public ConverterBean[] getConvertersById() {
+        bindAll(Kind.CONVERTER_BY_ID);
+        return super.getConvertersById();
+    }
+
+    @Override
+    public Collection<ConverterBean> getConvertersByIdView() {
+        bindAll(Kind.CONVERTER_BY_ID);
+        return super.getConvertersByIdView();
+    }
+
+    @Override
+    public void forEachConverterById(Consumer<? super ConverterBean> action) {
+        bindAll(Kind.CONVERTER_BY_ID);
+        super.forEachConverterById(action);
+    }
+
+    @Override
+    public Stream<ConverterBean> streamConvertersById() {
+        bindAll(Kind.CONVERTER_BY_ID);
+        return super.streamConvertersById();
+    }
+
+    @Override
+    public void removeConverter(ConverterBean descriptor) {
+        bindConverter(descriptor);
+        super.removeConverter(descriptor);
+    }
+
+    // ----------------------------------------------- ManagedBeanHolder Methods
+
+    @Override
+    public void addManagedBean(ManagedBeanBean descriptor) {
+        bind(Kind.MANAGED_BEAN, descriptor.getManagedBeanName());
+        super.addManagedBean(descriptor);
+    }
+
+    @Override
+    public ManagedBeanBean getManagedBean(String name) {
+        if (document == null) {
+            return super.getManagedBean(name);
+        }
+        synchronized (this) {
+            bind(Kind.MANAGED_BEAN, name);
+            return super.getManagedBean(name);
+        }
+    }
+
+    @Override
+    public ManagedBeanBean[] getManagedBeans() {
+        bindAll(Kind.MANAGED_BEAN);
+        return super.getManagedBeans();
+    }
+
+    @Override
+    public Collection<ManagedBeanBean> getManagedBeansView() {
+        bindAll(Kind.MANAGED_BEAN);
+        return super.getManagedBeansView();
+    }
+
+    @Override
+    public void forEachManagedBean(Consumer<? super ManagedBeanBean> action) {
+        bindAll(Kind.MANAGED_BEAN);
+        super.forEachManagedBean(action);
+    }
+
+    @Override
+    public Stream<ManagedBeanBean> streamManagedBeans() {
+        bindAll(Kind.MANAGED_BEAN);
+        return super.streamManagedBeans();
+    }
+
+    @Override
+    public void removeManagedBean(ManagedBeanBean descriptor) {
+        bind(Kind.MANAGED_BEAN, descriptor.getManagedBeanName());
+        super.removeManagedBean(descriptor);
+    }
+
+    // -------------------------------------------- NavigationRuleHolder Methods
+
+    @Override
+    public void addNavigationRule(NavigationRuleBean descriptor) {
+        bind(Kind.NAVIGATION_RULE, descriptor.getFromViewId());
+        super.addNavigationRule(descriptor);
+    }
+
+    @Override
+    public NavigationRuleBean getNavigationRule(String fromViewId) {
+        if (document == null) {
+            return super.getNavigationRule(fromViewId);
+        }
+        synchronized (this) {
+            bind(Kind.NAVIGATION_RULE, fromViewId);
+            return super.getNavigationRule(fromViewId);
+        }
+    }
+
+    @Override
+    public NavigationRuleBean[] getNavigationRules() {
+        bindAll(Kind.NAVIGATION_RULE);
+        return super.getNavigationRules();
+    }
+
+    @Override
+    public Collection<NavigationRuleBean> getNavigationRulesView() {
+        bindAll(Kind.NAVIGATION_RULE);
+        return super.getNavigationRulesView();
+    }
+
+    @Override
+    public void forEachNavigationRule(Consumer<? super NavigationRuleBean> action) {
+        bindAll(Kind.NAVIGATION_RULE);
+        super.forEachNavigationRule(action);
+    }
+
+    @Override
+    public Stream<NavigationRuleBean> streamNavigationRules() {
+        bindAll(Kind.NAVIGATION_RULE);
+        return super.streamNavigationRules();
+    }
+
+    @Override
+    public void removeNavigationRule(NavigationRuleBean descriptor) {
+        bind(Kind.NAVIGATION_RULE, descriptor.getFromViewId());
+        super.removeNavigationRule(descriptor);
+    }
+
+    // ------------------------------------------------- RenderKitHolder Methods
+
+    @Override
+    public void addRenderKit(RenderKitBean descriptor) {
+        bind(Kind.RENDER_KIT, descriptor.getRenderKitId());
+        super.addRenderKit(descriptor);
+    }
+
+    @Override
+    public RenderKitBean getRenderKit(String id) {
+        if (document == null) {
+            return super.getRenderKit(id);
+        }
+        synchronized (this) {
+            bind(Kind.RENDER_KIT, id);
+            return super.getRenderKit(id);
+        }
+    }
+
+    @Override
+    public RenderKitBean[] getRenderKits() {
+        bindAll(Kind.RENDER_KIT);
+        return super.getRenderKits();
+    }
+
+    @Override
+    public Collection<RenderKitBean> getRenderKitsView() {
+        bindAll(Kind.RENDER_KIT);
+        return super.getRenderKitsView();
+    }
+
+    @Override
+    public void forEachRenderKit(Consumer<? super RenderKitBean> action) {
+        bindAll(Kind.RENDER_KIT);
+        super.forEachRenderKit(action);
+    }
+
+    @Override
+    public Stream<RenderKitBean> streamRenderKits() {
+        bindAll(Kind.RENDER_KIT);
+        return super.streamRenderKits();
+    }
+
+    @Override
+    public void removeRenderKit(RenderKitBean descriptor) {
+        bind(Kind.RENDER_KIT, descriptor.getRenderKitId());
+        super.removeRenderKit(descriptor);
+    }
+
+    // ------------------------------------------------- ValidatorHolder Methods
+
+    @Override
+    public void addValidator(ValidatorBean descriptor) {
+        bind(Kind.VALIDATOR, descriptor.getValidatorId());
+        super.addValidator(descriptor);
+    }
+
+    @Override
+    public ValidatorBean getValidator(String id) {
+        if (document == null) {
+            return super.getValidator(id);
+        }
+        synchronized (this) {
+            bind(Kind.VALIDATOR, id);
+            return super.getValidator(id);
+        }
+    }
+
+    @Override
+    public ValidatorBean[] getValidators() {
+        bindAll(Kind.VALIDATOR);
+        return super.getValidators();
+    }
+
+    @Override
+    public Collection<ValidatorBean> getValidatorsView() {
+        bindAll(Kind.VALIDATOR);
+        return super.getValidatorsView();
+    }
+
+    @Override
+    public void forEachValidator(Consumer<? super ValidatorBean> action) {
+        bindAll(Kind.VALIDATOR);
+        super.forEachValidator(action);
+    }
+
+    @Override
+    public Stream<ValidatorBean> streamValidators() {
+        bindAll(Kind.VALIDATOR);
+        return super.streamValidators();
+    }
+
+    @Override
+    public void removeValidator(ValidatorBean descriptor) {
+        bind(Kind.VALIDATOR, descriptor.getValidatorId());
+        super.removeValidator(descriptor);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void bindConverter(ConverterBean descriptor) {
+        if (descriptor.getConverterId() != null) {
+            bind(Kind.CONVERTER_BY_ID, descriptor.getConverterId());
+        } else {
+            bind(Kind.CONVERTER_BY_CLASS, descriptor.getConverterForClassName());
+        }
+    }
+
+    // Bind the elements with the given key; they are removed from the index before they are parsed, as the rules look up
+    // their keys while binding, and put back if they fail to bind
+    private void bind(Kind kind, String key) {
+        if (document == null) {
+            return;
+        }
+        synchronized (this) {
+            Map<String, List<Element>> keys = index.get(kind);
+            List<Element> elements = keys != null ? keys.remove(key) : null;
+            if (elements == null) {
+                return;
+            }
+
+            boolean bound = false;
+            try {
+                parse(document, elements);
+                bound = true;
+            } finally {
+                if (bound) {
+                    bound(elements.size());
+                } else {
+                    keys.put(key, elements);
+                }
+            }
+        }
+    }
+
+    // Bind all remaining elements of the given kind
+    private void bindAll(Kind kind) {
+        if (document == null) {
+            return;
+        }
+        synchronized (this) {
+            Map<String, List<Element>> keys = index.remove(kind);
+            if (keys == null) {
+                return;
+            }
+
+            List<Element> elements = new ArrayList<>();
+            keys.values().forEach(elements::addAll);
+            elements.sort(Comparator.comparingInt(element -> element.start));
+
+            boolean bound = false;
+            try {
+                parse(document, elements);
+                bound = true;
+            } finally {
+                if (bound) {
+                    bound(elements.size());
+                } else {
+                    index.put(kind, keys);
+                }
+            }
+        }
+    }
+
+    private void bound(int count) {
+        unboundCount -= count;
+        if (unboundCount == 0) {
+            document = null;
+            index.clear();
+        }
+    }
+
+    private void parse(TopLevelScanner scanned, List<Element> elements) {
+        StringBuilder xml = new StringBuilder(scanned.getRootStartTag());
+        for (Element element : elements) {
+            xml.append(scanned.text(element.start, element.end));
+        }
+        xml.append(scanned.getRootEndTag());
+
+        Digester digester = digesters.get();
+
+        // The faces-config rule binds into the bean already on the stack
+        digester.push(this);
+        try {
+            digester.parse(new InputSource(new StringReader(xml.toString())));
+        } catch (IOException | SAXException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * <p>
+     * The kinds of indexed elements, with the local name of the child element that holds their key and the key of an
+     * element without it.
+     * </p>
+     */
+    private enum Kind {
+
+        COMPONENT("component-type", null),
+        CONVERTER_BY_ID("converter-id", null),
+        CONVERTER_BY_CLASS("converter-for-class", null),
+        MANAGED_BEAN("managed-bean-name", null),
+        NAVIGATION_RULE("from-view-id", "*"),
+        RENDER_KIT("render-kit-id", "HTML_BASIC"),
+        VALIDATOR("validator-id", null);
+
+        final String keyName;
+        final String defaultKey;
+
+        Kind(String keyName, String defaultKey) {
+            this.keyName = keyName;
+            this.defaultKey = defaultKey;
+        }
+
+        // The kind of the given direct child of the root element, or null if it is not indexed
+        static Kind of(TopLevelScanner document, Element element) {
+            switch (element.name) {
+            case "component":
+                return COMPONENT;
+            case "converter":
+                return document.childText(element, CONVERTER_BY_ID.keyName) != null ? CONVERTER_BY_ID : CONVERTER_BY_CLASS;
+            case "managed-bean":
+                return MANAGED_BEAN;
+            case "navigation-rule":
+                return NAVIGATION_RULE;
+            case "render-kit":
+                return RENDER_KIT;
+            case "validator":
+                return VALIDATOR;
+            default:
+                return null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester;
+
+/**
+ * <p>
+ * Thrown when a parse ends early because its {@link CancellationToken} was cancelled or its deadline passed.
+ * </p>
+ *
+ * <p>
+ * The exception describes where the parse stopped: the document, the position of the element it was about to process
+ * and the path of that element, together with the number of elements processed before and the time spent. It also holds
+ * the object at the bottom of the digester stack, usually the partially bound <code>FacesConfigBean</code>, for
+ * diagnostics; that object may hold an artifact that was only bound in part and should not be used as a configuration.
+ * </p>
+ */
+public class ParseCancelledException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * <p>
+     * The reasons a parse can end early.
+     * </p>
+     */
+    public enum Reason {
+
+        /** The token was cancelled. */
+        CANCELLED,
+
+        /** The deadline of the token passed. */
+        DEADLINE_EXCEEDED
+    }
+
+    private final Reason reason;
+    private final String systemId;
+    private final int lineNumber;
+    private final int columnNumber;
+    private final String path;
+    private final long elementCount;
+    private final long elapsedNanos;
+    private final transient Object partialResult;
+
+    /**
+     * <p>
+     * Construct a new exception.
+     * </p>
+     *
+     * @param reason the reason the parse ended
+     * @param systemId the system id of the document, or <code>null</code> if unknown
+     * @param lineNumber the line of the element the parse stopped at, or -1 if unknown
+     * @param columnNumber the column of the element the parse stopped at, or -1 if unknown
+     * @param path the path of the element the parse stopped at, such as <code>faces-config/component</code>
+     * @param elementCount the number of elements processed before
+     * @param elapsedNanos the time between applying the token and stopping, in nanoseconds
+     * @param partialResult the object at the bottom of the digester stack, or <code>null</code>
+     */
+    public ParseCancelledException(Reason reason, String systemId, int lineNumber, int columnNumber, String path, long elementCount,
+            long elapsedNanos, Object partialResult) {
+
+        super((reason == Reason.CANCELLED ? "Parse cancelled" : "Parse deadline exceeded") + " at " + path + " (" + systemId + ":" + lineNumber + ":"
+                + columnNumber + ") after " + elementCount + " elements and " + elapsedNanos / 1000000 + " ms");
+        this.reason = reason;
+        this.systemId = systemId;
+        this.lineNumber = lineNumber;
+        this.columnNumber = columnNumber;
+        this.path = path;
+        this.elementCount = elementCount;
+        this.elapsedNanos = elapsedNanos;
+        this.partialResult = partialResult;
+    }
+
+    // -------------------------------------------------------------- Properties
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public String getSystemId() {
+        return systemId;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public int getColumnNumber() {
+        return columnNumber;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getElementCount() {
+        return elementCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public Object getPartialResult() {
+        return partialResult;
+    }
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.digester;
+
+import org.apache.commons.digester.Digester;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * <p>
+ * The SAX event stream of a document, as captured by a {@link SaxEventRecorder}, that can be replayed into any
+ * <code>ContentHandler</code> any number of times.
+ * </p>
+ *
+ * <p>
+ * Replaying skips tokenizing, character decoding, entity resolution and validation, so a document that is bound under
+ * several <code>FacesConfigRuleSet</code> profiles only pays for those once.
+ * </p>
+ *
+ * <p>
+ * Events are stored as one byte opcode followed by their operands. Element, attribute and namespace names are indexes into
+ * a table of distinct names; integers are variable length encoded; text is stored as a length followed by the characters
+ * in UTF-8, with each surrogate encoded on its own so any character sequence round-trips exactly. Instances are immutable
+ * and may be replayed by several threads at once.
+ * </p>
+ */
+public final class RecordedDocument {
+
+    static final byte START_DOCUMENT = 1;
+    static final byte END_DOCUMENT = 2;
+    static final byte START_PREFIX_MAPPING = 3;
+    static final byte END_PREFIX_MAPPING = 4;
+    static final byte START_ELEMENT = 5;
+    static final byte END_ELEMENT = 6;
+    static final byte CHARACTERS = 7;
+    static final byte IGNORABLE_WHITESPACE = 8;
+    static final byte PROCESSING_INSTRUCTION = 9;
+    static final byte SKIPPED_ENTITY = 10;
+
+    private final String systemId;
+    private final String[] names;
+    private final byte[] events;
+
+    RecordedDocument(String systemId, String[] names, byte[] events) {
+        this.systemId = systemId;
+        this.names = names;
+        this.events = events;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Replay the recorded events into the given handler. No <code>Locator</code> is supplied.
+     * </p>
+     *
+     * @param handler the handler to receive the events
+     *
+     * @exception SAXException if the handler throws it
+     */
+    public void replay(ContentHandler handler) throws SAXException {
+        AttributesImpl attributes = new AttributesImpl();
+        char[] text = new char[256];
+        int[] position = { 0 };
+
+        while (position[0] < events.length) {
+            byte event = events[position[0]++];
+
+            switch (event) {
+            case START_DOCUMENT:
+                handler.startDocument();
+                break;
+            case END_DOCUMENT:
+                handler.endDocument();
+                break;
+            case START_PREFIX_MAPPING:
+                handler.startPrefixMapping(name(position), name(position));
+                break;
+            case END_PREFIX_MAPPING:
+                handler.endPrefixMapping(name(position));
+                break;
+            case START_ELEMENT:
+                String uri = name(position);
+                String localName = name(position);
+                String qName = name(position);
+
+                attributes.clear();
+                for (int count = readInt(position); count > 0; count--) {
+                    attributes.addAttribute(name(position), name(position), name(position), name(position), text(position));
+                }
+
+                handler.startElement(uri, localName, qName, attributes);
+                break;
+            case END_ELEMENT:
+                handler.endElement(name(position), name(position), name(position));
+                break;
+            case CHARACTERS:
+            case IGNORABLE_WHITESPACE:
+                int charCount = readInt(position);
+                if (charCount > text.length) {
+                    text = new char[Math.max(charCount, text.length * 2)];
+                }
+                decode(position, text, charCount);
+
+                if (event == CHARACTERS) {
+                    handler.characters(text, 0, charCount);
+                } else {
+                    handler.ignorableWhitespace(text, 0, charCount);
+                }
+                break;
+            case PROCESSING_INSTRUCTION:
+                handler.processingInstruction(name(position), text(position));
+                break;
+            case SKIPPED_ENTITY:
+                handler.skippedEntity(name(position));
+                break;
+            default:
+                throw new IllegalStateException("Corrupt event stream at " + (position[0] - 1) + ": " + event);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Replay the recorded events into the given <code>Digester</code>, configured with the rules of the desired profile,
+     * and return the root object it produced.
+     * </p>
+     *
+     * @param digester the digester to receive the events
+     * @return the root object, as <code>Digester.parse</code> would return it
+     *
+     * @exception SAXException if a rule fails
+     */
+    public Object replay(Digester digester) throws SAXException {
+        replay((ContentHandler) digester);
+
+        return digester.getRoot();
+    }
+
+    /**
+     * @return the system id of the recorded document, or <code>null</code> if it had none
+     */
+    public String getSystemId() {
+        return systemId;
+    }
+
+    /**
+     * @return the number of bytes used by the encoded events, excluding the name table
+     */
+    public int getEventSize() {
+        return events.length;
+    }
+
+    /**
+     * @return the number of distinct names in the name table
+     */
+    public int getNameCount() {
+        return names.length;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private String name(int[] position) {
+        int index = readInt(position);
+        return index == 0 ? null : names[index - 1];
+    }
+
+    private String text(int[] position) {
+        int charCount = readInt(position);
+        if (charCount == -1) {
+            return null;
+        }
+
+        char[] text = new char[charCount];
+        decode(position, text, charCount);
+
+        return new String(text);
+    }
+
+    private int readInt(int[] position) {
+        int pos = position[0];
+        int value = 0;
+        for (int shift = 0;; shift += 7) {
+            byte b = events[pos++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                break;
+            }
+        }
+        position[0] = pos;
+
+        return value;
+    }
+
+    private void decode(int[] position, char[] text, int charCount) {
+        int pos = position[0];
+        for (int i = 0; i < charCount; i++) {
+            int b = events[pos++] & 0xFF;
+            if (b < 0x80) {
+                text[i] = (char) b;
+            } else if (b < 0xE0) {
+                text[i] = (char) (((b & 0x1F) << 6) | (events[pos++] & 0x3F));
+            } else {
+                text[i] = (char) (((b & 0x0F) << 12) | ((events[pos++] & 0x3F) << 6) | (events[pos++] & 0x3F));
+            }
+        }
+        position[0] = pos;
+    }
+
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.digester;
+
+import static org.omnifaces.facesconfigparser.digester.RecordedDocument.CHARACTERS;
+import static org.omnifaces.facesconfigparser.digester.RecordedDocument.END_DOCUMENT;
+import static org.omnifaces.facesconfigparser.digester.RecordedDocument.END_ELEMENT;
+import static org.omnifaces.facesconfigparser.digester.RecordedDocument.END_PREFIX_MAPPING;
+import static org.omnifaces.facesconfigparser.digester.RecordedDocument.IGNORABLE_WHITESPACE;
+import static org.omnifaces.facesconfigparser.digester.RecordedDocument.PROCESSING_INSTRUCTION;
+import static org.omnifaces.facesconfigparser.digester.RecordedDocument.SKIPPED_ENTITY;
+import static org.omnifaces.facesconfigparser.digester.RecordedDocument.START_DOCUMENT;
+import static org.omnifaces.facesconfigparser.digester.RecordedDocument.START_ELEMENT;
+import static org.omnifaces.facesconfigparser.digester.RecordedDocument.START_PREFIX_MAPPING;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.digester.Digester;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * <p>
+ * A <code>ContentHandler</code> that captures the SAX event stream of a document into a compact {@link RecordedDocument}.
+ * </p>
+ *
+ * <p>
+ * Adjacent character events are coalesced, which is safe for <code>Digester</code> since it accumulates body text
+ * anyway. A recorder records a single document and is not thread-safe.
+ * </p>
+ */
+public class SaxEventRecorder implements ContentHandler {
+
+    private final String systemId;
+    private final CancellationToken cancellation;
+
+    private final Map<String, Integer> nameIndexes = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    private byte[] events = new byte[4096];
+    private int length;
+
+    private final StringBuilder pendingText = new StringBuilder();
+    private byte pendingTextEvent;
+
+    // Only kept when checking a token, to describe where the recording stopped
+    private Locator locator;
+    private final StringBuilder path = new StringBuilder();
+    private long elementCount;
+    private final long startTime;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Creates a new recorder.
+     * </p>
+     *
+     * @param systemId the system id of the document to record, may be <code>null</code>
+     */
+    public SaxEventRecorder(String systemId) {
+        this(systemId, CancellationToken.NONE);
+    }
+
+    /**
+     * <p>
+     * Creates a new recorder that checks the given token at the start of every element, as a digester that the token is
+     * applied to does, and throws a {@link ParseCancelledException} whose partial result is the document recorded so far.
+     * </p>
+     *
+     * @param systemId the system id of the document to record, may be <code>null</code>
+     * @param cancellation the token to cancel the recording with, see {@link CancellationToken}
+     */
+    public SaxEventRecorder(String systemId, CancellationToken cancellation) {
+        this.systemId = systemId;
+        this.cancellation = cancellation;
+        this.startTime = System.nanoTime();
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Record the given document using the <code>XMLReader</code> of the given digester, so that the document is
+     * validated and its entities are resolved exactly as they would be when the digester parsed it itself. The digester's
+     * rules are not fired.
+     * </p>
+     *
+     * @param digester a digester as returned by {@link DigesterFactory#createDigester()}
+     * @param source the document to record
+     * @return the recorded document
+     *
+     * @exception IOException if the document cannot be read
+     * @exception SAXException if the document is not well formed or not valid
+     */
+    public static RecordedDocument record(Digester digester, InputSource source) throws IOException, SAXException {
+        return record(digester, source, CancellationToken.NONE);
+    }
+
+    /**
+     * <p>
+     * Record the given document as {@link #record(Digester, InputSource)} does, checking the given token at the start of
+     * every element.
+     * </p>
+     *
+     * @param digester a digester as returned by {@link DigesterFactory#createDigester()}
+     * @param source the document to record
+     * @param cancellation the token to cancel the recording with, see {@link CancellationToken}
+     * @return the recorded document
+     *
+     * @exception IOException if the document cannot be read
+     * @exception SAXException if the document is not well formed or not valid
+     * @exception ParseCancelledException if the token is cancelled or its deadline passes before the document is recorded
+     */
+    public static RecordedDocument record(Digester digester, InputSource source, CancellationToken cancellation) throws IOException, SAXException {
+        SaxEventRecorder recorder = new SaxEventRecorder(source.getSystemId(), cancellation);
+
+        XMLReader reader = digester.getXMLReader();
+        reader.setContentHandler(recorder);
+        try {
+            reader.parse(source);
+        } finally {
+            reader.setContentHandler(digester);
+        }
+
+        return recorder.getDocument();
+    }
+
+    /**
+     * <p>
+     * Return the events recorded so far as an immutable document.
+     * </p>
+     *
+     * @return the recorded document
+     */
+    public RecordedDocument getDocument() {
+        flushText();
+
+        return new RecordedDocument(systemId, names.toArray(new String[names.size()]), Arrays.copyOf(events, length));
+    }
+
+    // ------------------------------------------------- ContentHandler Methods
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+        // Not recorded, as replays carry no location information, only kept to report where a cancelled recording stopped
+        this.locator = locator;
+    }
+
+    @Override
+    public void startDocument() throws SAXException {
+        writeEvent(START_DOCUMENT);
+    }
+
+    @Override
+    public void endDocument() throws SAXException {
+        writeEvent(END_DOCUMENT);
+    }
+
+    @Override
+    public void startPrefixMapping(String prefix, String uri) throws SAXException {
+        writeEvent(START_PREFIX_MAPPING);
+        writeName(prefix);
+        writeName(uri);
+    }
+
+    @Override
+    public void endPrefixMapping(String prefix) throws SAXException {
+        writeEvent(END_PREFIX_MAPPING);
+        writeName(prefix);
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+        if (cancellation != CancellationToken.NONE) {
+            check(localName == null || localName.isEmpty() ? qName : localName);
+        }
+
+        writeEvent(START_ELEMENT);
+        writeName(uri);
+        writeName(localName);
+        writeName(qName);
+
+        int count = attributes.getLength();
+        writeInt(count);
+        for (int i = 0; i < count; i++) {
+            writeName(attributes.getURI(i));
+            writeName(attributes.getLocalName(i));
+            writeName(attributes.getQName(i));
+            writeName(attributes.getType(i));
+            writeText(attributes.getValue(i));
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        if (cancellation != CancellationToken.NONE) {
+            int slash = path.lastIndexOf("/");
+            path.setLength(slash < 0 ? 0 : slash);
+        }
+
+        writeEvent(END_ELEMENT);
+        writeName(uri);
+        writeName(localName);
+        writeName(qName);
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        appendText(CHARACTERS, ch, start, length);
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+        appendText(IGNORABLE_WHITESPACE, ch, start, length);
+    }
+
+    @Override
+    public void processingInstruction(String target, String data) throws SAXException {
+        writeEvent(PROCESSING_INSTRUCTION);
+        writeName(target);
+        writeText(data);
+    }
+
+    @Override
+    public void skippedEntity(String name) throws SAXException {
+        writeEvent(SKIPPED_ENTITY);
+        writeName(name);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    // Enter the element and check the token, as CancellableRules does when a digester matches the element
+    private void check(String name) {
+        if (path.length() > 0) {
+            path.append('/');
+        }
+        path.append(name);
+
+        ParseCancelledException.Reason reason = cancellation.check();
+        if (reason != null) {
+            throw new ParseCancelledException(reason, locator != null ? locator.getSystemId() : systemId,
+                    locator != null ? locator.getLineNumber() : -1, locator != null ? locator.getColumnNumber() : -1, path.toString(), elementCount,
+                    System.nanoTime() - startTime, getDocument());
+        }
+        elementCount++;
+    }
+
+    private void appendText(byte event, char[] ch, int start, int length) {
+        if (pendingTextEvent != event) {
+            flushText();
+            pendingTextEvent = event;
+        }
+        pendingText.append(ch, start, length);
+    }
+
+    private void flushText() {
+        if (pendingTextEvent != 0) {
+            write(pendingTextEvent);
+            writeText(pendingText);
+            pendingText.setLength(0);
+            pendingTextEvent = 0;
+        }
+    }
+
+    private void writeEvent(byte event) {
+        flushText();
+        write(event);
+    }
+
+    /** Names are written as their index in the name table plus one, so that 0 can encode <code>null</code>. */
+    private void writeName(String name) {
+        if (name == null) {
+            writeInt(0);
+            return;
+        }
+
+        Integer index = nameIndexes.get(name);
+        if (index == null) {
+            names.add(name);
+            index = names.size();
+            nameIndexes.put(name, index);
+        }
+        writeInt(index);
+    }
+
+    /** Texts are written as their length followed by their chars, so that a length of -1 can encode <code>null</code>. */
+    private void writeText(CharSequence text) {
+        if (text == null) {
+            writeInt(-1);
+            return;
+        }
+
+        int charCount = text.length();
+        writeInt(charCount);
+        ensureCapacity(charCount * 3);
+
+        for (int i = 0; i < charCount; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                events[length++] = (byte) c;
+            } else if (c < 0x800) {
+                events[length++] = (byte) (0xC0 | (c >> 6));
+                events[length++] = (byte) (0x80 | (c & 0x3F));
+            } else {
+                events[length++] = (byte) (0xE0 | (c >> 12));
+                events[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                events[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void writeInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            events[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        events[length++] = (byte) value;
+    }
+
+    private void write(byte value) {
+        ensureCapacity(1);
+        events[length++] = value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > events.length) {
+            events = Arrays.copyOf(events, Math.max(length + extra, events.length * 2));
+        }
+    }
+
+}
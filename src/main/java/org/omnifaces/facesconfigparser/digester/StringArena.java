@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.digester;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Stores text outside the Java heap, in direct buffers, so that the prose of long-lived configurations is neither
+ * retained on the heap nor traversed by the garbage collector. The parser only stores the text of
+ * <code>description</code> elements in an arena; display names, icons and all identifiers stay on the heap.
+ * </p>
+ *
+ * <p>
+ * {@link #store(String)} encodes a string as UTF-8 into the current chunk and returns a <code>long</code> reference to
+ * it; {@link #get(long)} decodes it again, on every call. Strings that do not fit the space left in the current chunk
+ * start a new one, and strings longer than a chunk get a chunk of their own. Stored strings are never removed
+ * individually. The memory is released when the arena itself becomes unreachable, or earlier by {@link #release()},
+ * after which the descriptions stored in it can no longer be read. Instances are thread-safe.
+ * </p>
+ */
+public final class StringArena {
+
+    /** The default chunk size, in bytes. */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    // Each string is stored as its length in bytes followed by its UTF-8 bytes
+    private static final int LENGTH_BYTES = 4;
+
+    private final int chunkSize;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+
+    private long size;
+    private boolean released;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Creates a new arena with chunks of {@link #DEFAULT_CHUNK_SIZE} bytes.
+     * </p>
+     */
+    public StringArena() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * <p>
+     * Creates a new arena with chunks of the given size.
+     * </p>
+     *
+     * @param chunkSize the size of the direct buffers to allocate, in bytes
+     */
+    public StringArena(int chunkSize) {
+        if (chunkSize <= LENGTH_BYTES) {
+            throw new IllegalArgumentException("Chunk size " + chunkSize + " is too small");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Store the given string in this arena.
+     * </p>
+     *
+     * @param value the string to store, not <code>null</code>
+     * @return the reference to pass to {@link #get(long)}
+     */
+    public synchronized long store(String value) {
+        checkNotReleased();
+        byte[] bytes = value.getBytes(UTF_8);
+        int needed = LENGTH_BYTES + bytes.length;
+
+        ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (chunk == null || chunk.remaining() < needed) {
+            chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, needed));
+            chunks.add(chunk);
+            size += chunk.capacity();
+        }
+
+        int offset = chunk.position();
+        chunk.putInt(bytes.length).put(bytes);
+
+        return (long) (chunks.size() - 1) << 32 | offset;
+    }
+
+    /**
+     * <p>
+     * Decode the string stored under the given reference.
+     * </p>
+     *
+     * @param reference a reference returned by {@link #store(String)} of this arena
+     * @return the string
+     *
+     * @exception IllegalStateException if the reference does not belong to this arena, or if the arena was released
+     */
+    public synchronized String get(long reference) {
+        checkNotReleased();
+        int index = (int) (reference >>> 32);
+        int offset = (int) reference;
+        if (index >= chunks.size() || offset < 0 || offset >= chunks.get(index).position()) {
+            throw new IllegalStateException("No string stored under reference " + reference);
+        }
+
+        ByteBuffer chunk = chunks.get(index).duplicate();
+        byte[] bytes = new byte[chunk.getInt(offset)];
+        // Through Buffer, so that the call also links on Java 8, where ByteBuffer does not override position(int)
+        ((Buffer) chunk).position(offset + LENGTH_BYTES);
+        chunk.get(bytes);
+
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * @return the number of off-heap bytes allocated by this arena
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * <p>
+     * Drop the buffers of this arena, so that their memory can be reclaimed even while beans that refer to the arena are
+     * still reachable. Any later {@link #store(String)} or {@link #get(long)} fails.
+     * </p>
+     */
+    public synchronized void release() {
+        chunks.clear();
+        size = 0;
+        released = true;
+    }
+
+    /**
+     * @return whether {@link #release()} was called
+     */
+    public synchronized boolean isReleased() {
+        return released;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void checkNotReleased() {
+        if (released) {
+            throw new IllegalStateException("String arena was released");
+        }
+    }
+
+}
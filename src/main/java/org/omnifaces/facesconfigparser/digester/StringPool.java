@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.digester;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * <p>
+ * Deduplicates the identifier-like values of a configuration, such as class names, component families, renderer types
+ * and render kit ids, so that every occurrence of a value shares one <code>String</code> instead of holding its own copy
+ * of the body text it was parsed from.
+ * </p>
+ *
+ * <p>
+ * A pool created with {@link #StringPool()} holds its strings strongly and is meant to live as long as a parse, or a set
+ * of parses that are merged together; it is not thread-safe. A pool created with {@link #newWeakPool()} holds its
+ * strings weakly and is thread-safe, so it can be shared by all parses without keeping any string alive. Values longer
+ * than {@link #MAX_LENGTH} are never pooled.
+ * </p>
+ */
+public final class StringPool {
+
+    /** The maximum length of a value that is pooled; longer values are free text rather than identifiers. */
+    public static final int MAX_LENGTH = 256;
+
+    private final Map<String, String> strings;
+    private final Map<String, WeakReference<String>> weakStrings;
+
+    private long lookupCount;
+    private long hitCount;
+    private long savedBytes;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Creates a new pool that holds its strings strongly.
+     * </p>
+     */
+    public StringPool() {
+        this.strings = new HashMap<>();
+        this.weakStrings = null;
+    }
+
+    private StringPool(Map<String, WeakReference<String>> weakStrings) {
+        this.strings = null;
+        this.weakStrings = weakStrings;
+    }
+
+    /**
+     * <p>
+     * Creates a new thread-safe pool that holds its strings weakly.
+     * </p>
+     *
+     * @return the new pool
+     */
+    public static StringPool newWeakPool() {
+        return new StringPool(new WeakHashMap<>());
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Return the pooled string equal to the given value, adding the value to the pool if there is none yet.
+     * </p>
+     *
+     * @param value the value to deduplicate, may be <code>null</code>
+     * @return the pooled string, or the value itself if it is not pooled
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+
+        if (weakStrings == null) {
+            return count(value, strings.putIfAbsent(value, value));
+        }
+
+        synchronized (weakStrings) {
+            WeakReference<String> reference = weakStrings.get(value);
+            String pooled = reference == null ? null : reference.get();
+            if (pooled == null) {
+                weakStrings.put(value, new WeakReference<>(value));
+            }
+
+            return count(value, pooled);
+        }
+    }
+
+    /**
+     * @return the number of values passed to {@link #intern(String)} that were eligible for pooling
+     */
+    public long getLookupCount() {
+        return lookupCount;
+    }
+
+    /**
+     * @return the number of values that were replaced by an equal pooled string
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * <p>
+     * Return an estimate of the heap no longer retained because values were replaced by pooled strings, assuming a
+     * 64-bit JVM with compressed references and Latin-1 compact strings.
+     * </p>
+     *
+     * @return the estimated number of bytes saved
+     */
+    public long getSavedBytes() {
+        return savedBytes;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private String count(String value, String pooled) {
+        lookupCount++;
+        if (pooled == null) {
+            return value;
+        }
+
+        hitCount++;
+        // String instance plus its byte[] value, 8 byte aligned
+        savedBytes += 24 + ((16 + value.length() + 7) & ~7);
+
+        return pooled;
+    }
+
+}
@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * A structural scan of a configuration document that finds the byte range of the root start tag and of each direct child
+ * of the root element, without tokenizing attributes, decoding text or building any objects for the content.
+ * </p>
+ *
+ * <p>
+ * Offsets are byte offsets into the document. A document in an encoding that does not encode markup characters as ASCII,
+ * such as UTF-16, is transcoded to UTF-8 first, and the offsets are into the transcoded bytes. Comments, processing
+ * instructions, CDATA sections and the document type declaration are skipped. The scan checks the nesting of elements
+ * only by count; it is not a well-formedness check.
+ * </p>
+ */
+final class TopLevelScanner {
+
+    private static final Pattern ENCODING = Pattern.compile("^<\\?xml[^>]*encoding\\s*=\\s*[\"']([A-Za-z0-9._:\\-]+)[\"']");
+    private static final Pattern COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+    private static final String MARKUP = "<>/!?=\"'[] \t\r\nazAZ09:-_";
+
+    private final byte[] bytes;
+    private final Charset charset;
+    private final List<Element> elements = new ArrayList<>();
+
+    private int rootStart = -1;
+    private int rootContentStart;
+    private boolean rootEmpty;
+    private String rootName;
+
+    private TopLevelScanner(byte[] bytes, Charset charset) {
+        this.bytes = bytes;
+        this.charset = charset;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Scan the given document.
+     * </p>
+     *
+     * @param document the bytes of the document
+     * @return the scanner holding the ranges found
+     *
+     * @exception IllegalStateException if the document has no root element, or ends inside markup or an element
+     */
+    static TopLevelScanner scan(byte[] document) {
+        TopLevelScanner scanner = forDocument(document);
+        scanner.scan();
+
+        return scanner;
+    }
+
+    /**
+     * <p>
+     * Return the scanned bytes, which are those of the document unless it was transcoded.
+     * </p>
+     *
+     * @return the scanned bytes
+     */
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * <p>
+     * Return the encoding of the scanned bytes.
+     * </p>
+     *
+     * @return the encoding of the scanned bytes
+     */
+    Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * <p>
+     * Return the direct children of the root element, in document order.
+     * </p>
+     *
+     * @return the direct children of the root element
+     */
+    List<Element> getElements() {
+        return elements;
+    }
+
+    /**
+     * <p>
+     * Return the start tag of the root element, as an open tag even if the root element is empty.
+     * </p>
+     *
+     * @return the start tag of the root element
+     */
+    String getRootStartTag() {
+        if (rootEmpty) {
+            return text(rootStart, rootContentStart - 2) + ">";
+        }
+
+        return text(rootStart, rootContentStart);
+    }
+
+    /**
+     * <p>
+     * Return the end tag of the root element.
+     * </p>
+     *
+     * @return the end tag of the root element
+     */
+    String getRootEndTag() {
+        return "</" + rootName + ">";
+    }
+
+    /**
+     * <p>
+     * Return the decoded text of the given range of the document.
+     * </p>
+     *
+     * @param start the start offset, inclusive
+     * @param end the end offset, exclusive
+     * @return the text of the range
+     */
+    String text(int start, int end) {
+        return new String(bytes, start, end - start, charset);
+    }
+
+    /**
+     * <p>
+     * Return the trimmed body text of the first element with the given local name within the given element, with the
+     * predefined entity and character references resolved, or with the markers removed if it is a CDATA section, or
+     * <code>null</code> if there is no such element. Comments are ignored.
+     * </p>
+     *
+     * @param element the element to search
+     * @param name the local name of the element to find
+     * @return the body text of the element, or <code>null</code>
+     */
+    String childText(Element element, String name) {
+        String text = text(element.start, element.end);
+        if (text.indexOf("<!--") >= 0) {
+            text = COMMENT.matcher(text).replaceAll("");
+        }
+        Matcher matcher = Pattern.compile("<(?:[^\\s<>/:]+:)?" + Pattern.quote(name) + "(?:\\s[^>]*)?>(.*?)</", Pattern.DOTALL).matcher(text);
+        if (!matcher.find()) {
+            return null;
+        }
+        String value = matcher.group(1);
+        if (value.indexOf("<![CDATA[") >= 0) {
+            return value.replace("<![CDATA[", "").replace("]]>", "").trim();
+        }
+
+        return unescape(value).trim();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static TopLevelScanner forDocument(byte[] bytes) {
+        int length = bytes.length;
+        if (length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            return new TopLevelScanner(bytes, UTF_8);
+        }
+        if (length >= 2 && ((bytes[0] & 0xFF) == 0xFE && (bytes[1] & 0xFF) == 0xFF || (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xFE)) {
+            return transcode(bytes, Charset.forName("UTF-16"));
+        }
+        if (length >= 4 && bytes[0] == 0 && bytes[1] == '<' && bytes[2] == 0 && bytes[3] == '?') {
+            return transcode(bytes, Charset.forName("UTF-16BE"));
+        }
+        if (length >= 4 && bytes[0] == '<' && bytes[1] == 0 && bytes[2] == '?' && bytes[3] == 0) {
+            return transcode(bytes, Charset.forName("UTF-16LE"));
+        }
+
+        Charset charset = UTF_8;
+        Matcher matcher = ENCODING.matcher(new String(bytes, 0, Math.min(length, 256), US_ASCII));
+        if (matcher.find()) {
+            try {
+                charset = Charset.forName(matcher.group(1));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Unsupported encoding " + matcher.group(1), e);
+            }
+        }
+        if (!charset.canEncode() || !Arrays.equals(MARKUP.getBytes(charset), MARKUP.getBytes(US_ASCII))) {
+            return transcode(bytes, charset);
+        }
+
+        return new TopLevelScanner(bytes, charset);
+    }
+
+    private static TopLevelScanner transcode(byte[] bytes, Charset charset) {
+        String text = new String(bytes, charset);
+        if (text.startsWith("\uFEFF")) {
+            text = text.substring(1);
+        }
+
+        return new TopLevelScanner(text.getBytes(UTF_8), UTF_8);
+    }
+
+    private void scan() {
+        int depth = 0;
+        int childStart = 0;
+        int i = 0;
+
+        while ((i = indexOf('<', i)) >= 0) {
+            if (startsWith(i, "<?")) {
+                i = skipPast(i + 2, "?>");
+            } else if (startsWith(i, "<!--")) {
+                i = skipPast(i + 4, "-->");
+            } else if (startsWith(i, "<![CDATA[")) {
+                i = skipPast(i + 9, "]]>");
+            } else if (startsWith(i, "<!")) {
+                i = skipDeclaration(i + 2);
+            } else if (startsWith(i, "</")) {
+                int end = skipPast(i + 2, ">");
+                depth--;
+                if (depth == 1) {
+                    elements.add(new Element(childStart, end, name(childStart + 1)));
+                } else if (depth == 0) {
+                    return;
+                }
+                i = end;
+            } else {
+                int end = skipTag(i + 1);
+                boolean empty = bytes[end - 2] == '/';
+                if (depth == 0) {
+                    rootStart = i;
+                    rootContentStart = end;
+                    rootEmpty = empty;
+                    rootName = text(i + 1, nameEnd(i + 1));
+                    if (empty) {
+                        return;
+                    }
+                } else if (depth == 1) {
+                    childStart = i;
+                    if (empty) {
+                        elements.add(new Element(i, end, name(i + 1)));
+                    }
+                }
+                if (!empty) {
+                    depth++;
+                }
+                i = end;
+            }
+        }
+
+        throw new IllegalStateException(rootStart < 0 ? "No root element" : "Unterminated element " + rootName);
+    }
+
+    private int indexOf(char c, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == c) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean startsWith(int offset, String prefix) {
+        if (offset + prefix.length() > bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (bytes[offset + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int skipPast(int from, String terminator) {
+        for (int i = from; i < bytes.length; i++) {
+            if (startsWith(i, terminator)) {
+                return i + terminator.length();
+            }
+        }
+
+        throw new IllegalStateException("Unterminated markup at offset " + from);
+    }
+
+    // The end of a start tag, past quoted attribute values that may contain '>'
+    private int skipTag(int from) {
+        byte quote = 0;
+        for (int i = from; i < bytes.length; i++) {
+            byte b = bytes[i];
+            if (quote != 0) {
+                if (b == quote) {
+                    quote = 0;
+                }
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            } else if (b == '>') {
+                return i + 1;
+            }
+        }
+
+        throw new IllegalStateException("Unterminated tag at offset " + from);
+    }
+
+    // The end of a declaration such as DOCTYPE, past an internal subset and quoted literals
+    private int skipDeclaration(int from) {
+        byte quote = 0;
+        int brackets = 0;
+        for (int i = from; i < bytes.length; i++) {
+            byte b = bytes[i];
+            if (quote != 0) {
+                if (b == quote) {
+                    quote = 0;
+                }
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            } else if (b == '[') {
+                brackets++;
+            } else if (b == ']') {
+                brackets--;
+            } else if (b == '>' && brackets == 0) {
+                return i + 1;
+            }
+        }
+
+        throw new IllegalStateException("Unterminated declaration at offset " + from);
+    }
+
+    private int nameEnd(int from) {
+        int i = from;
+        while (i < bytes.length && bytes[i] != '>' && bytes[i] != '/' && bytes[i] > ' ') {
+            i++;
+        }
+
+        return i;
+    }
+
+    // The local name of the element whose name starts at the given offset
+    private String name(int from) {
+        int end = nameEnd(from);
+        int start = from;
+        for (int i = from; i < end; i++) {
+            if (bytes[i] == ':') {
+                start = i + 1;
+            }
+        }
+
+        return text(start, end);
+    }
+
+    private static String unescape(String text) {
+        int amp = text.indexOf('&');
+        if (amp < 0) {
+            return text;
+        }
+
+        StringBuilder sb = new StringBuilder(text.length());
+        int i = 0;
+        while (amp >= 0) {
+            int semicolon = text.indexOf(';', amp);
+            if (semicolon < 0) {
+                break;
+            }
+            sb.append(text, i, amp);
+            String entity = text.substring(amp + 1, semicolon);
+            if (entity.startsWith("#x")) {
+                sb.appendCodePoint(Integer.parseInt(entity.substring(2), 16));
+            } else if (entity.startsWith("#")) {
+                sb.appendCodePoint(Integer.parseInt(entity.substring(1)));
+            } else if (entity.equals("lt")) {
+                sb.append('<');
+            } else if (entity.equals("gt")) {
+                sb.append('>');
+            } else if (entity.equals("amp")) {
+                sb.append('&');
+            } else if (entity.equals("quot")) {
+                sb.append('"');
+            } else if (entity.equals("apos")) {
+                sb.append('\'');
+            } else {
+                sb.append('&').append(entity).append(';');
+            }
+            i = semicolon + 1;
+            amp = text.indexOf('&', i);
+        }
+        sb.append(text, i, text.length());
+
+        return sb.toString();
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * <p>
+     * The byte range and local name of a direct child of the root element.
+     * </p>
+     */
+    static final class Element {
+
+        final int start;
+        final int end;
+        final String name;
+
+        Element(int start, int end, String name) {
+            this.start = start;
+            this.end = end;
+            this.name = name;
+        }
+    }
+
+}
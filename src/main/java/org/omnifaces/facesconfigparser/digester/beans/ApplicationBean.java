@@ -16,10 +16,14 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.omnifaces.facesconfigparser.digester.DigesterFactory;
 import org.omnifaces.facesconfigparser.digester.DigesterFactory.VersionListener;
@@ -45,6 +49,7 @@ public class ApplicationBean {
     }
 
     public void setLocaleConfig(LocaleConfigBean localeConfig) {
+        ReadOnly.check(unmodifiable, this);
         this.localeConfig = localeConfig;
     }
 
@@ -55,6 +60,7 @@ public class ApplicationBean {
     }
 
     public void setMessageBundle(String messageBundle) {
+        ReadOnly.check(unmodifiable, this);
         this.messageBundle = messageBundle;
     }
 
@@ -65,83 +71,152 @@ public class ApplicationBean {
     }
 
     public void setDefaultRenderKitId(String defaultRenderKitId) {
+        ReadOnly.check(unmodifiable, this);
         this.defaultRenderKitId = defaultRenderKitId;
     }
 
     // -------------------------------------------- ActionListenerHolder Methods
 
-    private List<String> actionListeners = new ArrayList<String>();
+    private static final String[] NO_STRINGS = new String[0];
+
+    private Set<String> actionListeners = Collections.emptySet();
 
     public void addActionListener(String actionListener) {
+        ReadOnly.check(unmodifiable, this);
         if (!actionListeners.contains(actionListener)) {
             VersionListener listener = DigesterFactory.getVersionListener();
             if (null != listener) {
                 listener.takeActionOnArtifact(actionListener);
             }
+            if (actionListeners.isEmpty()) {
+                actionListeners = new LinkedHashSet<String>();
+            }
             actionListeners.add(actionListener);
         }
     }
 
     public String[] getActionListeners() {
+        if (actionListeners.isEmpty()) {
+            return (NO_STRINGS);
+        }
         String results[] = new String[actionListeners.size()];
         return (actionListeners.toArray(results));
     }
 
+    public Collection<String> getActionListenersView() {
+        return (LiveView.of(() -> actionListeners));
+    }
+
+    public void forEachActionListener(Consumer<? super String> action) {
+        actionListeners.forEach(action);
+    }
+
+    public Stream<String> streamActionListeners() {
+        return (actionListeners.stream());
+    }
+
     public void removeActionListener(String actionListener) {
+        ReadOnly.check(unmodifiable, this);
         actionListeners.remove(actionListener);
     }
 
     // ----------------------------------------- NavigationHandlerHolder Methods
 
-    private List<String> navigationHandlers = new ArrayList<String>();
+    private Set<String> navigationHandlers = Collections.emptySet();
 
     public void addNavigationHandler(String navigationHandler) {
+        ReadOnly.check(unmodifiable, this);
         if (!navigationHandlers.contains(navigationHandler)) {
             VersionListener listener = DigesterFactory.getVersionListener();
             if (null != listener) {
                 listener.takeActionOnArtifact(navigationHandler);
             }
+            if (navigationHandlers.isEmpty()) {
+                navigationHandlers = new LinkedHashSet<String>();
+            }
             navigationHandlers.add(navigationHandler);
         }
     }
 
     public String[] getNavigationHandlers() {
+        if (navigationHandlers.isEmpty()) {
+            return (NO_STRINGS);
+        }
         String results[] = new String[navigationHandlers.size()];
         return (navigationHandlers.toArray(results));
     }
 
+    public Collection<String> getNavigationHandlersView() {
+        return (LiveView.of(() -> navigationHandlers));
+    }
+
+    public void forEachNavigationHandler(Consumer<? super String> action) {
+        navigationHandlers.forEach(action);
+    }
+
+    public Stream<String> streamNavigationHandlers() {
+        return (navigationHandlers.stream());
+    }
+
     public void removeNavigationHandler(String navigationHandler) {
+        ReadOnly.check(unmodifiable, this);
         navigationHandlers.remove(navigationHandler);
     }
 
     // ------------------------------------------ PropertyResolverHolder Methods
 
-    private List<String> propertyResolvers = new ArrayList<String>();
+    private Set<String> propertyResolvers = Collections.emptySet();
 
     public void addPropertyResolver(String propertyResolver) {
+        ReadOnly.check(unmodifiable, this);
         if (!propertyResolvers.contains(propertyResolver)) {
             VersionListener listener = DigesterFactory.getVersionListener();
             if (null != listener) {
                 listener.takeActionOnArtifact(propertyResolver);
             }
+            if (propertyResolvers.isEmpty()) {
+                propertyResolvers = new LinkedHashSet<String>();
+            }
             propertyResolvers.add(propertyResolver);
         }
     }
 
     public String[] getPropertyResolvers() {
+        if (propertyResolvers.isEmpty()) {
+            return (NO_STRINGS);
+        }
         String results[] = new String[propertyResolvers.size()];
         return (propertyResolvers.toArray(results));
     }
 
+    public Collection<String> getPropertyResolversView() {
+        return (LiveView.of(() -> propertyResolvers));
+    }
+
+    public void forEachPropertyResolver(Consumer<? super String> action) {
+        propertyResolvers.forEach(action);
+    }
+
+    public Stream<String> streamPropertyResolvers() {
+        return (propertyResolvers.stream());
+    }
+
     public void removePropertyResolver(String propertyResolver) {
+        ReadOnly.check(unmodifiable, this);
         propertyResolvers.remove(propertyResolver);
     }
 
     // ---------------------------------------------- StateManagerHolder Methods
 
-    private Map<String, ResourceBundleBean> resourceBundles = new TreeMap<String, ResourceBundleBean>();
+    private static final ResourceBundleBean[] NO_RESOURCE_BUNDLES = new ResourceBundleBean[0];
+
+    private Map<String, ResourceBundleBean> resourceBundles = Collections.emptyMap();
 
     public void addResourceBundle(ResourceBundleBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
+        if (resourceBundles.isEmpty()) {
+            resourceBundles = new TreeMap<String, ResourceBundleBean>();
+        }
         resourceBundles.put(descriptor.getVar(), descriptor);
     }
 
@@ -150,110 +225,219 @@ public class ApplicationBean {
     }
 
     public ResourceBundleBean[] getResourceBundles() {
+        if (resourceBundles.isEmpty()) {
+            return (NO_RESOURCE_BUNDLES);
+        }
         ResourceBundleBean results[] = new ResourceBundleBean[resourceBundles.size()];
         return (resourceBundles.values().toArray(results));
     }
 
+    public Collection<ResourceBundleBean> getResourceBundlesView() {
+        return (LiveView.of(() -> resourceBundles.values()));
+    }
+
+    public void forEachResourceBundle(Consumer<? super ResourceBundleBean> action) {
+        resourceBundles.values().forEach(action);
+    }
+
+    public Stream<ResourceBundleBean> streamResourceBundles() {
+        return (resourceBundles.values().stream());
+    }
+
     public void clearResourceBundles() {
+        ReadOnly.check(unmodifiable, this);
         resourceBundles.clear();
     }
 
     public void removeResourceBundle(ResourceBundleBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         resourceBundles.remove(descriptor.getVar());
     }
 
     // ---------------------------------------------- StateManagerHolder Methods
 
-    private List<String> stateManagers = new ArrayList<String>();
+    private Set<String> stateManagers = Collections.emptySet();
 
     public void addStateManager(String stateManager) {
+        ReadOnly.check(unmodifiable, this);
         if (!stateManagers.contains(stateManager)) {
             VersionListener listener = DigesterFactory.getVersionListener();
             if (null != listener) {
                 listener.takeActionOnArtifact(stateManager);
             }
+            if (stateManagers.isEmpty()) {
+                stateManagers = new LinkedHashSet<String>();
+            }
             stateManagers.add(stateManager);
         }
     }
 
     public String[] getStateManagers() {
+        if (stateManagers.isEmpty()) {
+            return (NO_STRINGS);
+        }
         String results[] = new String[stateManagers.size()];
         return (stateManagers.toArray(results));
     }
 
+    public Collection<String> getStateManagersView() {
+        return (LiveView.of(() -> stateManagers));
+    }
+
+    public void forEachStateManager(Consumer<? super String> action) {
+        stateManagers.forEach(action);
+    }
+
+    public Stream<String> streamStateManagers() {
+        return (stateManagers.stream());
+    }
+
     public void removeStateManager(String stateManager) {
+        ReadOnly.check(unmodifiable, this);
         stateManagers.remove(stateManager);
     }
 
     // ------------------------------------------ VariableResolverHolder Methods
 
-    private List<String> variableResolvers = new ArrayList<String>();
+    private Set<String> variableResolvers = Collections.emptySet();
 
     public void addVariableResolver(String variableResolver) {
+        ReadOnly.check(unmodifiable, this);
         if (!variableResolvers.contains(variableResolver)) {
             VersionListener listener = DigesterFactory.getVersionListener();
             if (null != listener) {
                 listener.takeActionOnArtifact(variableResolver);
             }
+            if (variableResolvers.isEmpty()) {
+                variableResolvers = new LinkedHashSet<String>();
+            }
             variableResolvers.add(variableResolver);
         }
     }
 
     public String[] getVariableResolvers() {
+        if (variableResolvers.isEmpty()) {
+            return (NO_STRINGS);
+        }
         String results[] = new String[variableResolvers.size()];
         return (variableResolvers.toArray(results));
     }
 
+    public Collection<String> getVariableResolversView() {
+        return (LiveView.of(() -> variableResolvers));
+    }
+
+    public void forEachVariableResolver(Consumer<? super String> action) {
+        variableResolvers.forEach(action);
+    }
+
+    public Stream<String> streamVariableResolvers() {
+        return (variableResolvers.stream());
+    }
+
     public void removeVariableResolver(String variableResolver) {
+        ReadOnly.check(unmodifiable, this);
         variableResolvers.remove(variableResolver);
     }
 
     // ------------------------------------------ ELResolver Holder Methods
 
-    private List<String> elResolvers = new ArrayList<String>();
+    private Set<String> elResolvers = Collections.emptySet();
 
     public void addELResolver(String elResolver) {
+        ReadOnly.check(unmodifiable, this);
         if (!elResolvers.contains(elResolver)) {
             VersionListener listener = DigesterFactory.getVersionListener();
             if (null != listener) {
                 listener.takeActionOnArtifact(elResolver);
             }
+            if (elResolvers.isEmpty()) {
+                elResolvers = new LinkedHashSet<String>();
+            }
             elResolvers.add(elResolver);
         }
     }
 
     public String[] getELResolvers() {
+        if (elResolvers.isEmpty()) {
+            return (NO_STRINGS);
+        }
         String results[] = new String[elResolvers.size()];
         return (elResolvers.toArray(results));
     }
 
+    public Collection<String> getELResolversView() {
+        return (LiveView.of(() -> elResolvers));
+    }
+
+    public void forEachELResolver(Consumer<? super String> action) {
+        elResolvers.forEach(action);
+    }
+
+    public Stream<String> streamELResolvers() {
+        return (elResolvers.stream());
+    }
+
     public void removeELResolver(String elResolver) {
+        ReadOnly.check(unmodifiable, this);
         elResolvers.remove(elResolver);
     }
 
     // ------------------------------------------ ViewHandlerHolder Methods
 
-    private List<String> viewHandlers = new ArrayList<String>();
+    private Set<String> viewHandlers = Collections.emptySet();
 
     public void addViewHandler(String viewHandler) {
+        ReadOnly.check(unmodifiable, this);
         if (!viewHandlers.contains(viewHandler)) {
             VersionListener listener = DigesterFactory.getVersionListener();
             if (null != listener) {
                 listener.takeActionOnArtifact(viewHandler);
             }
+            if (viewHandlers.isEmpty()) {
+                viewHandlers = new LinkedHashSet<String>();
+            }
             viewHandlers.add(viewHandler);
         }
     }
 
     public String[] getViewHandlers() {
+        if (viewHandlers.isEmpty()) {
+            return (NO_STRINGS);
+        }
         String results[] = new String[viewHandlers.size()];
         return (viewHandlers.toArray(results));
     }
 
+    public Collection<String> getViewHandlersView() {
+        return (LiveView.of(() -> viewHandlers));
+    }
+
+    public void forEachViewHandler(Consumer<? super String> action) {
+        viewHandlers.forEach(action);
+    }
+
+    public Stream<String> streamViewHandlers() {
+        return (viewHandlers.stream());
+    }
+
     public void removeViewHandler(String viewHandler) {
+        ReadOnly.check(unmodifiable, this);
         viewHandlers.remove(viewHandler);
     }
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+        if (localeConfig != null) {
+            localeConfig.makeReadOnly();
+        }
+        resourceBundles.values().forEach(ResourceBundleBean::makeReadOnly);
+    }
+
 }
@@ -17,6 +17,7 @@
 package org.omnifaces.facesconfigparser.digester.beans;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -36,6 +37,7 @@ public class AttributeBean extends FeatureBean {
     }
 
     public void setAttributeClass(String attributeClass) {
+        ReadOnly.check(unmodifiable, this);
         this.attributeClass = attributeClass;
     }
 
@@ -46,6 +48,7 @@ public class AttributeBean extends FeatureBean {
     }
 
     public void setAttributeName(String attributeName) {
+        ReadOnly.check(unmodifiable, this);
         this.attributeName = attributeName;
     }
 
@@ -56,6 +59,7 @@ public class AttributeBean extends FeatureBean {
     }
 
     public void setSuggestedValue(String suggestedValue) {
+        ReadOnly.check(unmodifiable, this);
         this.suggestedValue = suggestedValue;
     }
 
@@ -69,6 +73,7 @@ public class AttributeBean extends FeatureBean {
     }
 
     public void setDefaultValue(String defaultValue) {
+        ReadOnly.check(unmodifiable, this);
         this.defaultValue = defaultValue;
     }
 
@@ -80,6 +85,7 @@ public class AttributeBean extends FeatureBean {
     }
 
     public void setPassThrough(boolean passThrough) {
+        ReadOnly.check(unmodifiable, this);
         this.passThrough = passThrough;
     }
 
@@ -91,6 +97,7 @@ public class AttributeBean extends FeatureBean {
     }
 
     public void setRequired(boolean required) {
+        ReadOnly.check(unmodifiable, this);
         this.required = required;
     }
 
@@ -102,6 +109,7 @@ public class AttributeBean extends FeatureBean {
     }
 
     public void setTagAttribute(boolean tagAttribute) {
+        ReadOnly.check(unmodifiable, this);
         this.tagAttribute = tagAttribute;
     }
 
@@ -112,6 +120,7 @@ public class AttributeBean extends FeatureBean {
     }
 
     public void setAttributeIgnoredForRenderer(boolean renderAttributeIgnore) {
+        ReadOnly.check(unmodifiable, this);
         this.renderAttributeIgnore = renderAttributeIgnore;
     }
 
@@ -137,6 +146,7 @@ public class AttributeBean extends FeatureBean {
      * @param behavior the behaviorAttribute to set
      */
     public void addBehavior(String behavior) {
+        ReadOnly.check(unmodifiable, this);
         if (null == this.behaviors) {
             this.behaviors = new ArrayList<String>(5);
         }
@@ -144,6 +154,7 @@ public class AttributeBean extends FeatureBean {
     }
 
     public void addAllBehaviors(List<String> behaviors) {
+        ReadOnly.check(unmodifiable, this);
         if (null != behaviors) {
             if (null == this.behaviors) {
                 this.behaviors = new ArrayList<String>(behaviors);
@@ -174,9 +185,20 @@ public class AttributeBean extends FeatureBean {
      * @param defaultBehavior the defaultBehavior to set
      */
     public void setDefaultBehavior(boolean defaultBehavior) {
+        ReadOnly.check(unmodifiable, this);
         this.defaultBehavior = defaultBehavior;
     }
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    @Override
+    void makeReadOnly() {
+        super.makeReadOnly();
+        if (behaviors != null) {
+            behaviors = Collections.unmodifiableList(behaviors);
+        }
+    }
+
 }
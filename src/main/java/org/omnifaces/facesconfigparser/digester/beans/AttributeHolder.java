@@ -16,6 +16,10 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 /**
  * <p>
  * Interface denoting a configuration bean that stores a named collection of attributes.
@@ -55,6 +59,38 @@ public interface AttributeHolder {
      */
     public AttributeBean[] getAttributes();
 
+    /**
+     * <p>
+     * Return an unmodifiable view of the descriptors of all attributes for which descriptors have been registered. Unlike
+     * {@link #getAttributes()}, this does not copy the descriptors, and the view reflects later changes.
+     * </p>
+     *
+     * @return a view of the descriptors of all attributes
+     */
+    public Collection<AttributeBean> getAttributesView();
+
+    /**
+     * <p>
+     * Perform the given action for the descriptor of each registered attribute, without copying the descriptors.
+     * </p>
+     *
+     * @param action the action to perform
+     */
+    public default void forEachAttribute(Consumer<? super AttributeBean> action) {
+        getAttributesView().forEach(action);
+    }
+
+    /**
+     * <p>
+     * Return a sequential stream of the descriptors of all registered attributes, without copying the descriptors.
+     * </p>
+     *
+     * @return a stream of the descriptors of all attributes
+     */
+    public default Stream<AttributeBean> streamAttributes() {
+        return getAttributesView().stream();
+    }
+
     /**
      * <p>
      * Deregister the specified attribute descriptor, if it is registered.
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.digester.beans;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Creates the configuration beans instantiated by the digester rules, through direct constructor references rather than
+ * reflection.
+ * </p>
+ *
+ * <p>
+ * {@link #DEFAULT} creates the beans of this package. A tool that wants the rules to create subclasses with additional
+ * state registers its own supplier for a bean type with {@link #with(Class, Supplier)}. Instances are immutable.
+ * </p>
+ */
+public final class BeanFactory {
+
+    /**
+     * <p>
+     * The factory that creates the plain beans of this package.
+     * </p>
+     */
+    public static final BeanFactory DEFAULT = new BeanFactory(new HashMap<>())
+            .with(ApplicationBean.class, ApplicationBean::new)
+            .with(AttributeBean.class, AttributeBean::new)
+            .with(ComponentBean.class, ComponentBean::new)
+            .with(ConverterBean.class, ConverterBean::new)
+            .with(DescriptionBean.class, DescriptionBean::new)
+            .with(DisplayNameBean.class, DisplayNameBean::new)
+            .with(FacesConfigBean.class, FacesConfigBean::new)
+            .with(FactoryBean.class, FactoryBean::new)
+            .with(IconBean.class, IconBean::new)
+            .with(LifecycleBean.class, LifecycleBean::new)
+            .with(ListEntriesBean.class, ListEntriesBean::new)
+            .with(LocaleConfigBean.class, LocaleConfigBean::new)
+            .with(ManagedBeanBean.class, ManagedBeanBean::new)
+            .with(ManagedPropertyBean.class, ManagedPropertyBean::new)
+            .with(MapEntriesBean.class, MapEntriesBean::new)
+            .with(MapEntryBean.class, MapEntryBean::new)
+            .with(NavigationCaseBean.class, NavigationCaseBean::new)
+            .with(NavigationRuleBean.class, NavigationRuleBean::new)
+            .with(PropertyBean.class, PropertyBean::new)
+            .with(ReferencedBeanBean.class, ReferencedBeanBean::new)
+            .with(RenderKitBean.class, RenderKitBean::new)
+            .with(RendererBean.class, RendererBean::new)
+            .with(ResourceBundleBean.class, ResourceBundleBean::new)
+            .with(ValidatorBean.class, ValidatorBean::new);
+
+    private final Map<Class<?>, Supplier<?>> suppliers;
+
+    private BeanFactory(Map<Class<?>, Supplier<?>> suppliers) {
+        this.suppliers = suppliers;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Return a factory that creates beans of the given type with the given supplier, and all other beans as this factory
+     * does.
+     * </p>
+     *
+     * @param <T> the bean type
+     * @param type the bean type
+     * @param supplier the supplier of new instances of the bean type, or of a subclass
+     * @return the new factory
+     */
+    public <T> BeanFactory with(Class<T> type, Supplier<? extends T> supplier) {
+        Map<Class<?>, Supplier<?>> copy = new HashMap<>(suppliers);
+        copy.put(type, supplier);
+
+        return new BeanFactory(copy);
+    }
+
+    /**
+     * <p>
+     * Return the supplier of new instances of the given bean type.
+     * </p>
+     *
+     * @param <T> the bean type
+     * @param type the bean type
+     * @return the supplier
+     *
+     * @exception IllegalStateException if no supplier is registered for the given type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Supplier<? extends T> supplier(Class<T> type) {
+        Supplier<? extends T> supplier = (Supplier<? extends T>) suppliers.get(type);
+        if (supplier == null) {
+            throw new IllegalStateException("No supplier registered for " + type.getName());
+        }
+
+        return supplier;
+    }
+
+    /**
+     * <p>
+     * Create a new instance of the given bean type.
+     * </p>
+     *
+     * @param <T> the bean type
+     * @param type the bean type
+     * @return the new instance
+     */
+    public <T> T create(Class<T> type) {
+        return supplier(type).get();
+    }
+
+}
@@ -16,6 +16,8 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -36,6 +38,7 @@ public class ComponentBean extends FeatureBean implements AttributeHolder, Prope
     }
 
     public void setComponentClass(String componentClass) {
+        ReadOnly.check(unmodifiable, this);
         this.componentClass = componentClass;
     }
 
@@ -46,6 +49,7 @@ public class ComponentBean extends FeatureBean implements AttributeHolder, Prope
     }
 
     public void setComponentType(String componentType) {
+        ReadOnly.check(unmodifiable, this);
         this.componentType = componentType;
     }
 
@@ -60,6 +64,7 @@ public class ComponentBean extends FeatureBean implements AttributeHolder, Prope
     }
 
     public void setBaseComponentType(String baseComponentType) {
+        ReadOnly.check(unmodifiable, this);
         this.baseComponentType = baseComponentType;
     }
 
@@ -72,6 +77,7 @@ public class ComponentBean extends FeatureBean implements AttributeHolder, Prope
     }
 
     public void setComponentFamily(String componentFamily) {
+        ReadOnly.check(unmodifiable, this);
         this.componentFamily = componentFamily;
     }
 
@@ -84,6 +90,7 @@ public class ComponentBean extends FeatureBean implements AttributeHolder, Prope
     }
 
     public void setRendererType(String rendererType) {
+        ReadOnly.check(unmodifiable, this);
         this.rendererType = rendererType;
     }
 
@@ -94,15 +101,22 @@ public class ComponentBean extends FeatureBean implements AttributeHolder, Prope
     }
 
     public void setIgnore(boolean ignore) {
+        ReadOnly.check(unmodifiable, this);
         this.ignore = ignore;
     }
 
     // ------------------------------------------------- AttributeHolder Methods
 
-    private Map<String, AttributeBean> attributes = new TreeMap<String, AttributeBean>();
+    private static final AttributeBean[] NO_ATTRIBUTES = new AttributeBean[0];
+
+    private Map<String, AttributeBean> attributes = Collections.emptyMap();
 
     @Override
     public void addAttribute(AttributeBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
+        if (attributes.isEmpty()) {
+            attributes = new TreeMap<String, AttributeBean>();
+        }
         attributes.put(descriptor.getAttributeName(), descriptor);
     }
 
@@ -113,21 +127,36 @@ public class ComponentBean extends FeatureBean implements AttributeHolder, Prope
 
     @Override
     public AttributeBean[] getAttributes() {
+        if (attributes.isEmpty()) {
+            return (NO_ATTRIBUTES);
+        }
         AttributeBean results[] = new AttributeBean[attributes.size()];
         return (attributes.values().toArray(results));
     }
 
+    @Override
+    public Collection<AttributeBean> getAttributesView() {
+        return (LiveView.of(() -> attributes.values()));
+    }
+
     @Override
     public void removeAttribute(AttributeBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         attributes.remove(descriptor.getAttributeName());
     }
 
     // ------------------------------------------------- PropertyHolder Methods
 
-    private Map<String, PropertyBean> properties = new TreeMap<String, PropertyBean>();
+    private static final PropertyBean[] NO_PROPERTIES = new PropertyBean[0];
+
+    private Map<String, PropertyBean> properties = Collections.emptyMap();
 
     @Override
     public void addProperty(PropertyBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
+        if (properties.isEmpty()) {
+            properties = new TreeMap<String, PropertyBean>();
+        }
         properties.put(descriptor.getPropertyName(), descriptor);
     }
 
@@ -138,15 +167,33 @@ public class ComponentBean extends FeatureBean implements AttributeHolder, Prope
 
     @Override
     public PropertyBean[] getProperties() {
+        if (properties.isEmpty()) {
+            return (NO_PROPERTIES);
+        }
         PropertyBean results[] = new PropertyBean[properties.size()];
         return (properties.values().toArray(results));
     }
 
+    @Override
+    public Collection<PropertyBean> getPropertiesView() {
+        return (LiveView.of(() -> properties.values()));
+    }
+
     @Override
     public void removeProperty(PropertyBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         properties.remove(descriptor.getPropertyName());
     }
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    @Override
+    void makeReadOnly() {
+        super.makeReadOnly();
+        attributes.values().forEach(AttributeBean::makeReadOnly);
+        properties.values().forEach(PropertyBean::makeReadOnly);
+    }
+
 }
@@ -16,6 +16,8 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -38,24 +40,54 @@ public class ConverterBean extends FeatureBean implements AttributeHolder, Prope
     }
 
     public void setConverterClass(String converterClass) {
+        ReadOnly.check(unmodifiable, this);
         this.converterClass = converterClass;
     }
 
+    // Only the name is kept while parsing; the class is loaded on first use
+    private String converterForClassName;
     private Class<?> converterForClass;
 
+    /**
+     * <p>
+     * Return the class this converter is registered for, loading it the first time with the context class loader of the
+     * calling thread. A read-only bean, which may be shared by applications with different class loaders, loads it on
+     * every call instead.
+     * </p>
+     *
+     * @return the class this converter is registered for, or <code>null</code> if none was set
+     *
+     * @exception RuntimeException if the class cannot be loaded
+     */
     public Class<?> getConverterForClass() {
+        if (converterForClass == null && converterForClassName != null) {
+            Class<?> loaded;
+            try {
+                loaded = ToolsUtil.loadClass(converterForClassName, this);
+            } catch (ClassNotFoundException cnfe) {
+                throw new RuntimeException(cnfe);
+            }
+            if (unmodifiable) {
+                return loaded;
+            }
+            converterForClass = loaded;
+        }
         return converterForClass;
     }
 
+    public String getConverterForClassName() {
+        return converterForClassName;
+    }
+
     public void setConverterForClass(String converterForClass) {
-        try {
-            this.converterForClass = ToolsUtil.loadClass(converterForClass, this);
-        } catch (ClassNotFoundException cnfe) {
-            throw new RuntimeException(cnfe);
-        }
+        ReadOnly.check(unmodifiable, this);
+        this.converterForClassName = converterForClass;
+        this.converterForClass = null;
     }
 
     public void setConverterForClass(Class<?> converterForClass) {
+        ReadOnly.check(unmodifiable, this);
+        this.converterForClassName = converterForClass == null ? null : converterForClass.getName();
         this.converterForClass = converterForClass;
     }
 
@@ -66,6 +98,7 @@ public class ConverterBean extends FeatureBean implements AttributeHolder, Prope
     }
 
     public void setConverterId(String converterId) {
+        ReadOnly.check(unmodifiable, this);
         this.converterId = converterId;
     }
 
@@ -73,10 +106,16 @@ public class ConverterBean extends FeatureBean implements AttributeHolder, Prope
 
     // ------------------------------------------------- AttributeHolder Methods
 
-    private Map<String, AttributeBean> attributes = new TreeMap<String, AttributeBean>();
+    private static final AttributeBean[] NO_ATTRIBUTES = new AttributeBean[0];
+
+    private Map<String, AttributeBean> attributes = Collections.emptyMap();
 
     @Override
     public void addAttribute(AttributeBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
+        if (attributes.isEmpty()) {
+            attributes = new TreeMap<String, AttributeBean>();
+        }
         attributes.put(descriptor.getAttributeName(), descriptor);
     }
 
@@ -87,21 +126,36 @@ public class ConverterBean extends FeatureBean implements AttributeHolder, Prope
 
     @Override
     public AttributeBean[] getAttributes() {
+        if (attributes.isEmpty()) {
+            return (NO_ATTRIBUTES);
+        }
         AttributeBean results[] = new AttributeBean[attributes.size()];
         return (attributes.values().toArray(results));
     }
 
+    @Override
+    public Collection<AttributeBean> getAttributesView() {
+        return (LiveView.of(() -> attributes.values()));
+    }
+
     @Override
     public void removeAttribute(AttributeBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         attributes.remove(descriptor.getAttributeName());
     }
 
     // ------------------------------------------------- PropertyHolder Methods
 
-    private Map<String, PropertyBean> properties = new TreeMap<String, PropertyBean>();
+    private static final PropertyBean[] NO_PROPERTIES = new PropertyBean[0];
+
+    private Map<String, PropertyBean> properties = Collections.emptyMap();
 
     @Override
     public void addProperty(PropertyBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
+        if (properties.isEmpty()) {
+            properties = new TreeMap<String, PropertyBean>();
+        }
         properties.put(descriptor.getPropertyName(), descriptor);
     }
 
@@ -112,15 +166,33 @@ public class ConverterBean extends FeatureBean implements AttributeHolder, Prope
 
     @Override
     public PropertyBean[] getProperties() {
+        if (properties.isEmpty()) {
+            return (NO_PROPERTIES);
+        }
         PropertyBean results[] = new PropertyBean[properties.size()];
         return (properties.values().toArray(results));
     }
 
+    @Override
+    public Collection<PropertyBean> getPropertiesView() {
+        return (LiveView.of(() -> properties.values()));
+    }
+
     @Override
     public void removeProperty(PropertyBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         properties.remove(descriptor.getPropertyName());
     }
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    @Override
+    void makeReadOnly() {
+        super.makeReadOnly();
+        attributes.values().forEach(AttributeBean::makeReadOnly);
+        properties.values().forEach(PropertyBean::makeReadOnly);
+    }
+
 }
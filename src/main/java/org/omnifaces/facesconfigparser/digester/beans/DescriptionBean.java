@@ -16,10 +16,21 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.StringArena;
+
 /**
  * <p>
  * Configuration bean for <code>&lt;description&gt;</code> element.
  * </p>
+ *
+ * <p>
+ * The description text is either held as a <code>String</code> or, when set with
+ * {@link #setDescription(String, StringArena)}, stored off-heap in a {@link StringArena} and decoded on every call of
+ * {@link #getDescription()}. When set with {@link #setDescriptionLoader(Supplier)}, it is only loaded on the first call
+ * of {@link #getDescription()}, typically from the source document.
+ * </p>
  */
 
 public class DescriptionBean {
@@ -27,13 +38,116 @@ public class DescriptionBean {
     // -------------------------------------------------------------- Properties
 
     private String description;
+    private StringArena descriptionArena;
+    private long descriptionReference;
+    // Cleared once the description is loaded, which publishes the description to other threads
+    private volatile Supplier<String> descriptionLoader;
 
+    /**
+     * <p>
+     * Return the description, loading it on the first call if it was set with a loader.
+     * </p>
+     *
+     * <p>
+     * A description deferred by the parser is read from its source document, which must still be readable and have the
+     * length and modification time it had when it was parsed. Loading is synchronized, so a bean shared read-only by
+     * several threads loads its description once.
+     * </p>
+     *
+     * @return the description, may be <code>null</code>
+     *
+     * @exception IllegalStateException if the description is loaded from a source document that can no longer be read,
+     * or that changed since it was parsed
+     */
     public String getDescription() {
+        if (descriptionArena != null) {
+            return descriptionArena.get(descriptionReference);
+        }
+        if (descriptionLoader != null) {
+            load();
+        }
         return description;
     }
 
     public void setDescription(String description) {
+        ReadOnly.check(unmodifiable, this);
         this.description = description;
+        this.descriptionArena = null;
+        this.descriptionLoader = null;
+    }
+
+    /**
+     * <p>
+     * Set the description, storing its text in the given arena instead of on the heap.
+     * </p>
+     *
+     * @param description the description, may be <code>null</code>
+     * @param arena the arena to store the text in, or <code>null</code> to hold it on the heap
+     */
+    public void setDescription(String description, StringArena arena) {
+        ReadOnly.check(unmodifiable, this);
+        if (description == null || arena == null) {
+            setDescription(description);
+            return;
+        }
+        this.description = null;
+        this.descriptionArena = arena;
+        this.descriptionReference = arena.store(description);
+        this.descriptionLoader = null;
+    }
+
+    /**
+     * <p>
+     * Set the description to the text returned by the given loader, which is called on the first call of
+     * {@link #getDescription()}.
+     * </p>
+     *
+     * @param loader the loader of the description, not <code>null</code>
+     */
+    public void setDescriptionLoader(Supplier<String> loader) {
+        ReadOnly.check(unmodifiable, this);
+        this.description = null;
+        this.descriptionArena = null;
+        this.descriptionLoader = loader;
+    }
+
+    /**
+     * <p>
+     * Set the description to that of the given bean, without decoding it if it is stored off-heap or loading it if it is
+     * not loaded yet.
+     * </p>
+     *
+     * @param other the bean to take the description from
+     */
+    public void setDescription(DescriptionBean other) {
+        ReadOnly.check(unmodifiable, this);
+        // The loader first, as it is cleared only after the description is loaded
+        Supplier<String> loader = other.descriptionLoader;
+        this.description = other.description;
+        this.descriptionArena = other.descriptionArena;
+        this.descriptionReference = other.descriptionReference;
+        this.descriptionLoader = loader;
+    }
+
+    /**
+     * @return whether a description is set, without decoding or loading it
+     */
+    public boolean hasDescription() {
+        return description != null || descriptionArena != null || descriptionLoader != null;
+    }
+
+    /**
+     * @return whether the description text is stored off-heap
+     */
+    public boolean isDescriptionOffHeap() {
+        return descriptionArena != null;
+    }
+
+    /**
+     * @return whether the description is set through a loader that has not been called yet
+     */
+    public boolean isDescriptionDeferred() {
+        return descriptionLoader != null;
     }
 
     private String lang;
@@ -43,7 +157,26 @@ public class DescriptionBean {
     }
 
     public void setLang(String lang) {
+        ReadOnly.check(unmodifiable, this);
         this.lang = lang;
     }
 
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private synchronized void load() {
+        Supplier<String> loader = descriptionLoader;
+        if (loader != null) {
+            description = loader.get();
+            descriptionLoader = null;
+        }
+    }
+
 }
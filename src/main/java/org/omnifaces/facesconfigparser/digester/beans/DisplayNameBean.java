@@ -33,6 +33,7 @@ public class DisplayNameBean {
     }
 
     public void setDisplayName(String displayName) {
+        ReadOnly.check(unmodifiable, this);
         this.displayName = displayName;
     }
 
@@ -43,7 +44,16 @@ public class DisplayNameBean {
     }
 
     public void setLang(String lang) {
+        ReadOnly.check(unmodifiable, this);
         this.lang = lang;
     }
 
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+    }
+
 }
@@ -16,13 +16,19 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 import org.omnifaces.facesconfigparser.digester.DigesterFactory;
 import org.omnifaces.facesconfigparser.digester.DigesterFactory.VersionListener;
+import org.omnifaces.facesconfigparser.model.FacesConfigModel;
+import org.omnifaces.facesconfigparser.model.ModelStore;
 import org.omnifaces.facesconfigparser.util.ToolsUtil;
 
 /**
@@ -44,6 +50,7 @@ public class FacesConfigBean {
     }
 
     public void setApplication(ApplicationBean application) {
+        ReadOnly.check(unmodifiable, this);
         this.application = application;
     }
 
@@ -54,6 +61,7 @@ public class FacesConfigBean {
     }
 
     public void setFactory(FactoryBean factory) {
+        ReadOnly.check(unmodifiable, this);
         this.factory = factory;
     }
 
@@ -64,17 +72,24 @@ public class FacesConfigBean {
     }
 
     public void setLifecycle(LifecycleBean lifecycle) {
+        ReadOnly.check(unmodifiable, this);
         this.lifecycle = lifecycle;
     }
 
     // ------------------------------------------------- ComponentHolder Methods
 
-    private Map<String, ComponentBean> components = new TreeMap<String, ComponentBean>();
+    private static final ComponentBean[] NO_COMPONENTS = new ComponentBean[0];
+
+    private Map<String, ComponentBean> components = Collections.emptyMap();
 
     public void addComponent(ComponentBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "addComponent(" + descriptor.getComponentType() + ")");
         }
+        if (components.isEmpty()) {
+            components = new TreeMap<String, ComponentBean>();
+        }
         components.put(descriptor.getComponentType(), descriptor);
     }
 
@@ -83,30 +98,55 @@ public class FacesConfigBean {
     }
 
     public ComponentBean[] getComponents() {
+        if (components.isEmpty()) {
+            return (NO_COMPONENTS);
+        }
         ComponentBean results[] = new ComponentBean[components.size()];
         return (components.values().toArray(results));
     }
 
+    public Collection<ComponentBean> getComponentsView() {
+        return (LiveView.of(() -> components.values()));
+    }
+
+    public void forEachComponent(Consumer<? super ComponentBean> action) {
+        components.values().forEach(action);
+    }
+
+    public Stream<ComponentBean> streamComponents() {
+        return (components.values().stream());
+    }
+
     public void removeComponent(ComponentBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         components.remove(descriptor.getComponentType());
     }
 
     // ------------------------------------------------- ConverterHolder Methods
 
-    private Map<String, ConverterBean> convertersByClass = new TreeMap<String, ConverterBean>();
-    private Map<String, ConverterBean> convertersById = new TreeMap<String, ConverterBean>();
+    private static final ConverterBean[] NO_CONVERTERS = new ConverterBean[0];
+
+    private Map<String, ConverterBean> convertersByClass = Collections.emptyMap();
+    private Map<String, ConverterBean> convertersById = Collections.emptyMap();
 
     public void addConverter(ConverterBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         if (descriptor.getConverterId() != null) {
             if (logger.isLoggable(Level.FINE)) {
                 logger.log(Level.FINE, "addConverterById(" + descriptor.getConverterId() + ")");
             }
+            if (convertersById.isEmpty()) {
+                convertersById = new TreeMap<String, ConverterBean>();
+            }
             convertersById.put(descriptor.getConverterId(), descriptor);
         } else {
             if (logger.isLoggable(Level.FINE)) {
-                logger.log(Level.FINE, "addConverterByClass(" + descriptor.getConverterForClass() + ")");
+                logger.log(Level.FINE, "addConverterByClass(" + descriptor.getConverterForClassName() + ")");
+            }
+            if (convertersByClass.isEmpty()) {
+                convertersByClass = new TreeMap<String, ConverterBean>();
             }
-            convertersByClass.put(descriptor.getConverterForClass().getName(), descriptor);
+            convertersByClass.put(descriptor.getConverterForClassName(), descriptor);
         }
     }
 
@@ -119,31 +159,68 @@ public class FacesConfigBean {
     }
 
     public ConverterBean[] getConvertersByClass() {
+        if (convertersByClass.isEmpty()) {
+            return (NO_CONVERTERS);
+        }
         ConverterBean results[] = new ConverterBean[convertersByClass.size()];
         return (convertersByClass.values().toArray(results));
     }
 
+    public Collection<ConverterBean> getConvertersByClassView() {
+        return (LiveView.of(() -> convertersByClass.values()));
+    }
+
+    public void forEachConverterByClass(Consumer<? super ConverterBean> action) {
+        convertersByClass.values().forEach(action);
+    }
+
+    public Stream<ConverterBean> streamConvertersByClass() {
+        return (convertersByClass.values().stream());
+    }
+
     public ConverterBean[] getConvertersById() {
+        if (convertersById.isEmpty()) {
+            return (NO_CONVERTERS);
+        }
         ConverterBean results[] = new ConverterBean[convertersById.size()];
         return (convertersById.values().toArray(results));
     }
 
+    public Collection<ConverterBean> getConvertersByIdView() {
+        return (LiveView.of(() -> convertersById.values()));
+    }
+
+    public void forEachConverterById(Consumer<? super ConverterBean> action) {
+        convertersById.values().forEach(action);
+    }
+
+    public Stream<ConverterBean> streamConvertersById() {
+        return (convertersById.values().stream());
+    }
+
     public void removeConverter(ConverterBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         if (descriptor.getConverterId() != null) {
             convertersById.remove(descriptor.getConverterId());
         } else {
-            convertersByClass.remove(descriptor.getConverterForClass());
+            convertersByClass.remove(descriptor.getConverterForClassName());
         }
     }
 
     // ----------------------------------------------- ManagedBeanHolder Methods
 
-    private Map<String, ManagedBeanBean> managedBeans = new TreeMap<String, ManagedBeanBean>();
+    private static final ManagedBeanBean[] NO_MANAGED_BEANS = new ManagedBeanBean[0];
+
+    private Map<String, ManagedBeanBean> managedBeans = Collections.emptyMap();
 
     public void addManagedBean(ManagedBeanBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "addManagedBean(" + descriptor.getManagedBeanName() + ")");
         }
+        if (managedBeans.isEmpty()) {
+            managedBeans = new TreeMap<String, ManagedBeanBean>();
+        }
         managedBeans.put(descriptor.getManagedBeanName(), descriptor);
     }
 
@@ -152,22 +229,44 @@ public class FacesConfigBean {
     }
 
     public ManagedBeanBean[] getManagedBeans() {
+        if (managedBeans.isEmpty()) {
+            return (NO_MANAGED_BEANS);
+        }
         ManagedBeanBean results[] = new ManagedBeanBean[managedBeans.size()];
         return (managedBeans.values().toArray(results));
     }
 
+    public Collection<ManagedBeanBean> getManagedBeansView() {
+        return (LiveView.of(() -> managedBeans.values()));
+    }
+
+    public void forEachManagedBean(Consumer<? super ManagedBeanBean> action) {
+        managedBeans.values().forEach(action);
+    }
+
+    public Stream<ManagedBeanBean> streamManagedBeans() {
+        return (managedBeans.values().stream());
+    }
+
     public void removeManagedBean(ManagedBeanBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         managedBeans.remove(descriptor.getManagedBeanName());
     }
 
     // -------------------------------------------- NavigationRuleHolder Methods
 
-    private Map<String, NavigationRuleBean> navigationRules = new TreeMap<String, NavigationRuleBean>();
+    private static final NavigationRuleBean[] NO_NAVIGATION_RULES = new NavigationRuleBean[0];
+
+    private Map<String, NavigationRuleBean> navigationRules = Collections.emptyMap();
 
     public void addNavigationRule(NavigationRuleBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "addNavigationRule(" + descriptor.getFromViewId() + ")");
         }
+        if (navigationRules.isEmpty()) {
+            navigationRules = new TreeMap<String, NavigationRuleBean>();
+        }
         navigationRules.put(descriptor.getFromViewId(), descriptor);
     }
 
@@ -176,22 +275,44 @@ public class FacesConfigBean {
     }
 
     public NavigationRuleBean[] getNavigationRules() {
+        if (navigationRules.isEmpty()) {
+            return (NO_NAVIGATION_RULES);
+        }
         NavigationRuleBean results[] = new NavigationRuleBean[navigationRules.size()];
         return (navigationRules.values().toArray(results));
     }
 
+    public Collection<NavigationRuleBean> getNavigationRulesView() {
+        return (LiveView.of(() -> navigationRules.values()));
+    }
+
+    public void forEachNavigationRule(Consumer<? super NavigationRuleBean> action) {
+        navigationRules.values().forEach(action);
+    }
+
+    public Stream<NavigationRuleBean> streamNavigationRules() {
+        return (navigationRules.values().stream());
+    }
+
     public void removeNavigationRule(NavigationRuleBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         navigationRules.remove(descriptor.getFromViewId());
     }
 
     // -------------------------------------------- ReferencedBeanHolder Methods
 
-    private Map<String, ReferencedBeanBean> referencedBeans = new TreeMap<String, ReferencedBeanBean>();
+    private static final ReferencedBeanBean[] NO_REFERENCED_BEANS = new ReferencedBeanBean[0];
+
+    private Map<String, ReferencedBeanBean> referencedBeans = Collections.emptyMap();
 
     public void addReferencedBean(ReferencedBeanBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "addReferencedBean(" + descriptor.getReferencedBeanName() + ")");
         }
+        if (referencedBeans.isEmpty()) {
+            referencedBeans = new TreeMap<String, ReferencedBeanBean>();
+        }
         referencedBeans.put(descriptor.getReferencedBeanName(), descriptor);
     }
 
@@ -200,19 +321,38 @@ public class FacesConfigBean {
     }
 
     public ReferencedBeanBean[] getReferencedBeans() {
+        if (referencedBeans.isEmpty()) {
+            return (NO_REFERENCED_BEANS);
+        }
         ReferencedBeanBean results[] = new ReferencedBeanBean[referencedBeans.size()];
         return (referencedBeans.values().toArray(results));
     }
 
+    public Collection<ReferencedBeanBean> getReferencedBeansView() {
+        return (LiveView.of(() -> referencedBeans.values()));
+    }
+
+    public void forEachReferencedBean(Consumer<? super ReferencedBeanBean> action) {
+        referencedBeans.values().forEach(action);
+    }
+
+    public Stream<ReferencedBeanBean> streamReferencedBeans() {
+        return (referencedBeans.values().stream());
+    }
+
     public void removeReferencedBean(ReferencedBeanBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         referencedBeans.remove(descriptor.getReferencedBeanName());
     }
 
     // ------------------------------------------------- RenderKitHolder Methods
 
-    private Map<String, RenderKitBean> renderKits = new TreeMap<String, RenderKitBean>();
+    private static final RenderKitBean[] NO_RENDER_KITS = new RenderKitBean[0];
+
+    private Map<String, RenderKitBean> renderKits = Collections.emptyMap();
 
     public void addRenderKit(RenderKitBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "addRenderKit(" + descriptor.getRenderKitId() + ")");
         }
@@ -220,6 +360,9 @@ public class FacesConfigBean {
         if (null != listener) {
             listener.takeActionOnArtifact(descriptor.getRenderKitId());
         }
+        if (renderKits.isEmpty()) {
+            renderKits = new TreeMap<String, RenderKitBean>();
+        }
         renderKits.put(descriptor.getRenderKitId(), descriptor);
     }
 
@@ -228,22 +371,44 @@ public class FacesConfigBean {
     }
 
     public RenderKitBean[] getRenderKits() {
+        if (renderKits.isEmpty()) {
+            return (NO_RENDER_KITS);
+        }
         RenderKitBean results[] = new RenderKitBean[renderKits.size()];
         return (renderKits.values().toArray(results));
     }
 
+    public Collection<RenderKitBean> getRenderKitsView() {
+        return (LiveView.of(() -> renderKits.values()));
+    }
+
+    public void forEachRenderKit(Consumer<? super RenderKitBean> action) {
+        renderKits.values().forEach(action);
+    }
+
+    public Stream<RenderKitBean> streamRenderKits() {
+        return (renderKits.values().stream());
+    }
+
     public void removeRenderKit(RenderKitBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         renderKits.remove(descriptor.getRenderKitId());
     }
 
     // ------------------------------------------------- ValidatorHolder Methods
 
-    private Map<String, ValidatorBean> validators = new TreeMap<String, ValidatorBean>();
+    private static final ValidatorBean[] NO_VALIDATORS = new ValidatorBean[0];
+
+    private Map<String, ValidatorBean> validators = Collections.emptyMap();
 
     public void addValidator(ValidatorBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "addValidator(" + descriptor.getValidatorId() + ")");
         }
+        if (validators.isEmpty()) {
+            validators = new TreeMap<String, ValidatorBean>();
+        }
         validators.put(descriptor.getValidatorId(), descriptor);
     }
 
@@ -252,14 +417,103 @@ public class FacesConfigBean {
     }
 
     public ValidatorBean[] getValidators() {
+        if (validators.isEmpty()) {
+            return (NO_VALIDATORS);
+        }
         ValidatorBean results[] = new ValidatorBean[validators.size()];
         return (validators.values().toArray(results));
     }
 
+    public Collection<ValidatorBean> getValidatorsView() {
+        return (LiveView.of(() -> validators.values()));
+    }
+
+    public void forEachValidator(Consumer<? super ValidatorBean> action) {
+        validators.values().forEach(action);
+    }
+
+    public Stream<ValidatorBean> streamValidators() {
+        return (validators.values().stream());
+    }
+
     public void removeValidator(ValidatorBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         validators.remove(descriptor.getValidatorId());
     }
 
     // ----------------------------------------------------------------- Methods
 
+    /**
+     * <p>
+     * Return an immutable, compact snapshot of the components, converters, validators and render kits of this merged
+     * configuration, that can be shared across threads without synchronization.
+     * </p>
+     *
+     * @return the new snapshot
+     */
+    public FacesConfigModel freeze() {
+        return FacesConfigModel.freeze(this);
+    }
+
+    /**
+     * <p>
+     * Return an immutable snapshot of this merged configuration, as {@link #freeze()} does, that shares its subtrees with
+     * the equal ones already in the given store.
+     * </p>
+     *
+     * @param store the store to canonicalize the snapshot with
+     * @return the canonical snapshot
+     */
+    public FacesConfigModel freeze(ModelStore store) {
+        return FacesConfigModel.freeze(this, store);
+    }
+
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    /**
+     * <p>
+     * Make this tree read-only, so that it can be shared by several applications and read by several threads at once. All
+     * mutators of this bean and of the beans it contains throw an <code>IllegalStateException</code> afterwards, and the
+     * state the beans resolve lazily, such as the class a converter is registered for, is no longer cached in the tree.
+     * Calling this method on a read-only tree has no effect.
+     * </p>
+     *
+     * <p>
+     * The tree must not be modified while it is being made read-only, and must be safely published to the threads that
+     * read it.
+     * </p>
+     */
+    public void makeReadOnly() {
+        if (unmodifiable) {
+            return;
+        }
+        unmodifiable = true;
+        if (application != null) {
+            application.makeReadOnly();
+        }
+        if (factory != null) {
+            factory.makeReadOnly();
+        }
+        if (lifecycle != null) {
+            lifecycle.makeReadOnly();
+        }
+        components.values().forEach(ComponentBean::makeReadOnly);
+        convertersByClass.values().forEach(ConverterBean::makeReadOnly);
+        convertersById.values().forEach(ConverterBean::makeReadOnly);
+        managedBeans.values().forEach(ManagedBeanBean::makeReadOnly);
+        navigationRules.values().forEach(NavigationRuleBean::makeReadOnly);
+        referencedBeans.values().forEach(ReferencedBeanBean::makeReadOnly);
+        renderKits.values().forEach(RenderKitBean::makeReadOnly);
+        validators.values().forEach(ValidatorBean::makeReadOnly);
+    }
+
+    /**
+     * @return whether this tree was made read-only with {@link #makeReadOnly()}
+     */
+    public boolean isReadOnly() {
+        return unmodifiable;
+    }
+
 }
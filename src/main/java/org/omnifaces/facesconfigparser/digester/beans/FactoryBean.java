@@ -17,6 +17,7 @@
 package org.omnifaces.facesconfigparser.digester.beans;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.omnifaces.facesconfigparser.digester.DigesterFactory;
@@ -32,60 +33,88 @@ public class FactoryBean {
 
     // -------------------------------------------------------------- Properties
 
-    private List<String> applicationFactories = new ArrayList<String>();
+    private List<String> applicationFactories = Collections.emptyList();
 
     public List<String> getApplicationFactories() {
         return applicationFactories;
     }
 
     public void addApplicationFactory(String applicationFactory) {
+        ReadOnly.check(unmodifiable, this);
         VersionListener listener = DigesterFactory.getVersionListener();
         if (null != listener) {
             listener.takeActionOnArtifact(applicationFactory);
         }
+        if (applicationFactories.isEmpty()) {
+            applicationFactories = new ArrayList<String>();
+        }
         applicationFactories.add(applicationFactory);
     }
 
-    private List<String> facesContextFactories = new ArrayList<String>();
+    private List<String> facesContextFactories = Collections.emptyList();
 
     public List<String> getFacesContextFactories() {
         return facesContextFactories;
     }
 
     public void addFacesContextFactory(String facesContextFactory) {
+        ReadOnly.check(unmodifiable, this);
         VersionListener listener = DigesterFactory.getVersionListener();
         if (null != listener) {
             listener.takeActionOnArtifact(facesContextFactory);
         }
+        if (facesContextFactories.isEmpty()) {
+            facesContextFactories = new ArrayList<String>();
+        }
         facesContextFactories.add(facesContextFactory);
     }
 
-    private List<String> lifecycleFactories = new ArrayList<String>();
+    private List<String> lifecycleFactories = Collections.emptyList();
 
     public List<String> getLifecycleFactories() {
         return lifecycleFactories;
     }
 
     public void addLifecycleFactory(String lifecycleFactory) {
+        ReadOnly.check(unmodifiable, this);
         VersionListener listener = DigesterFactory.getVersionListener();
         if (null != listener) {
             listener.takeActionOnArtifact(lifecycleFactory);
         }
+        if (lifecycleFactories.isEmpty()) {
+            lifecycleFactories = new ArrayList<String>();
+        }
         lifecycleFactories.add(lifecycleFactory);
     }
 
-    private List<String> renderKitFactories = new ArrayList<String>();
+    private List<String> renderKitFactories = Collections.emptyList();
 
     public List<String> getRenderKitFactories() {
         return renderKitFactories;
     }
 
     public void addRenderKitFactory(String renderKitFactory) {
+        ReadOnly.check(unmodifiable, this);
         VersionListener listener = DigesterFactory.getVersionListener();
         if (null != listener) {
             listener.takeActionOnArtifact(renderKitFactory);
         }
+        if (renderKitFactories.isEmpty()) {
+            renderKitFactories = new ArrayList<String>();
+        }
         renderKitFactories.add(renderKitFactory);
     }
 
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+        applicationFactories = Collections.unmodifiableList(applicationFactories);
+        facesContextFactories = Collections.unmodifiableList(facesContextFactories);
+        lifecycleFactories = Collections.unmodifiableList(lifecycleFactories);
+        renderKitFactories = Collections.unmodifiableList(renderKitFactories);
+    }
+
 }
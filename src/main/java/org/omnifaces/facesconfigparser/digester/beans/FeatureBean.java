@@ -16,8 +16,12 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -31,9 +35,15 @@ public abstract class FeatureBean {
 
     // ----------------------------------------------- DescriptionHolder Methods
 
-    private Map<String, DescriptionBean> descriptions = new TreeMap<String, DescriptionBean>();
+    private static final DescriptionBean[] NO_DESCRIPTIONS = new DescriptionBean[0];
+
+    private Map<String, DescriptionBean> descriptions = Collections.emptyMap();
 
     public void addDescription(DescriptionBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
+        if (descriptions.isEmpty()) {
+            descriptions = new TreeMap<String, DescriptionBean>();
+        }
         descriptions.put(descriptor.getLang(), descriptor);
     }
 
@@ -42,19 +52,41 @@ public abstract class FeatureBean {
     }
 
     public DescriptionBean[] getDescriptions() {
+        if (descriptions.isEmpty()) {
+            return (NO_DESCRIPTIONS);
+        }
         DescriptionBean results[] = new DescriptionBean[descriptions.size()];
         return (descriptions.values().toArray(results));
     }
 
+    public Collection<DescriptionBean> getDescriptionsView() {
+        return (LiveView.of(() -> descriptions.values()));
+    }
+
+    public void forEachDescription(Consumer<? super DescriptionBean> action) {
+        descriptions.values().forEach(action);
+    }
+
+    public Stream<DescriptionBean> streamDescriptions() {
+        return (descriptions.values().stream());
+    }
+
     public void removeDescription(DescriptionBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         descriptions.remove(descriptor.getLang());
     }
 
     // ----------------------------------------------- DisplayNameHolder Methods
 
-    private Map<String, DisplayNameBean> displayNames = new TreeMap<String, DisplayNameBean>();
+    private static final DisplayNameBean[] NO_DISPLAY_NAMES = new DisplayNameBean[0];
+
+    private Map<String, DisplayNameBean> displayNames = Collections.emptyMap();
 
     public void addDisplayName(DisplayNameBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
+        if (displayNames.isEmpty()) {
+            displayNames = new TreeMap<String, DisplayNameBean>();
+        }
         displayNames.put(descriptor.getLang(), descriptor);
     }
 
@@ -63,19 +95,41 @@ public abstract class FeatureBean {
     }
 
     public DisplayNameBean[] getDisplayNames() {
+        if (displayNames.isEmpty()) {
+            return (NO_DISPLAY_NAMES);
+        }
         DisplayNameBean results[] = new DisplayNameBean[displayNames.size()];
         return (displayNames.values().toArray(results));
     }
 
+    public Collection<DisplayNameBean> getDisplayNamesView() {
+        return (LiveView.of(() -> displayNames.values()));
+    }
+
+    public void forEachDisplayName(Consumer<? super DisplayNameBean> action) {
+        displayNames.values().forEach(action);
+    }
+
+    public Stream<DisplayNameBean> streamDisplayNames() {
+        return (displayNames.values().stream());
+    }
+
     public void removeDisplayName(DisplayNameBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         displayNames.remove(descriptor.getLang());
     }
 
     // ------------------------------------------------------ IconHolder Methods
 
-    private Map<String, IconBean> icons = new TreeMap<String, IconBean>();
+    private static final IconBean[] NO_ICONS = new IconBean[0];
+
+    private Map<String, IconBean> icons = Collections.emptyMap();
 
     public void addIcon(IconBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
+        if (icons.isEmpty()) {
+            icons = new TreeMap<String, IconBean>();
+        }
         icons.put(descriptor.getLang(), descriptor);
     }
 
@@ -84,11 +138,27 @@ public abstract class FeatureBean {
     }
 
     public IconBean[] getIcons() {
+        if (icons.isEmpty()) {
+            return (NO_ICONS);
+        }
         IconBean results[] = new IconBean[icons.size()];
         return (icons.values().toArray(results));
     }
 
+    public Collection<IconBean> getIconsView() {
+        return (LiveView.of(() -> icons.values()));
+    }
+
+    public void forEachIcon(Consumer<? super IconBean> action) {
+        icons.values().forEach(action);
+    }
+
+    public Stream<IconBean> streamIcons() {
+        return (icons.values().stream());
+    }
+
     public void removeIcon(IconBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         icons.remove(descriptor.getLang());
     }
 
@@ -96,4 +166,15 @@ public abstract class FeatureBean {
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+        descriptions.values().forEach(DescriptionBean::makeReadOnly);
+        displayNames.values().forEach(DisplayNameBean::makeReadOnly);
+        icons.values().forEach(IconBean::makeReadOnly);
+    }
+
 }
@@ -33,6 +33,7 @@ public class IconBean {
     }
 
     public void setLang(String lang) {
+        ReadOnly.check(unmodifiable, this);
         this.lang = lang;
     }
 
@@ -43,6 +44,7 @@ public class IconBean {
     }
 
     public void setLargeIcon(String largeIcon) {
+        ReadOnly.check(unmodifiable, this);
         this.largeIcon = largeIcon;
     }
 
@@ -53,7 +55,16 @@ public class IconBean {
     }
 
     public void setSmallIcon(String smallIcon) {
+        ReadOnly.check(unmodifiable, this);
         this.smallIcon = smallIcon;
     }
 
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+    }
+
 }
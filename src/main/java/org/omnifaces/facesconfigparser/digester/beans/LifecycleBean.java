@@ -16,8 +16,12 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.omnifaces.facesconfigparser.digester.DigesterFactory;
 import org.omnifaces.facesconfigparser.digester.DigesterFactory.VersionListener;
@@ -34,27 +38,57 @@ public class LifecycleBean {
 
     // --------------------------------------------- PhaseListenerHolder Methods
 
-    private List<String> phaseListeners = new ArrayList<String>();
+    private static final String[] NO_STRINGS = new String[0];
+
+    private Set<String> phaseListeners = Collections.emptySet();
 
     public void addPhaseListener(String phaseListener) {
+        ReadOnly.check(unmodifiable, this);
         if (!phaseListeners.contains(phaseListener)) {
             VersionListener listener = DigesterFactory.getVersionListener();
             if (null != listener) {
                 listener.takeActionOnArtifact(phaseListener);
             }
+            if (phaseListeners.isEmpty()) {
+                phaseListeners = new LinkedHashSet<String>();
+            }
             phaseListeners.add(phaseListener);
         }
     }
 
     public String[] getPhaseListeners() {
+        if (phaseListeners.isEmpty()) {
+            return (NO_STRINGS);
+        }
         String results[] = new String[phaseListeners.size()];
         return (phaseListeners.toArray(results));
     }
 
+    public Collection<String> getPhaseListenersView() {
+        return (LiveView.of(() -> phaseListeners));
+    }
+
+    public void forEachPhaseListener(Consumer<? super String> action) {
+        phaseListeners.forEach(action);
+    }
+
+    public Stream<String> streamPhaseListeners() {
+        return (phaseListeners.stream());
+    }
+
     public void removePhaseListener(String phaseListener) {
+        ReadOnly.check(unmodifiable, this);
         phaseListeners.remove(phaseListener);
     }
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+    }
+
 }
@@ -17,7 +17,10 @@
 package org.omnifaces.facesconfigparser.digester.beans;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -36,27 +39,61 @@ public class ListEntriesBean {
     }
 
     public void setValueClass(String valueClass) {
+        ReadOnly.check(unmodifiable, this);
         this.valueClass = valueClass;
     }
 
+    private static final String[] NO_STRINGS = new String[0];
+
     // Set of unconverted String and/or null entries for the list
-    private List<String> values = new ArrayList<String>();
+    private List<String> values = Collections.emptyList();
 
     public String[] getValues() {
+        if (values.isEmpty()) {
+            return (NO_STRINGS);
+        }
         String results[] = new String[values.size()];
         return (values.toArray(results));
     }
 
+    public List<String> getValuesView() {
+        return (LiveView.ofList(() -> values));
+    }
+
+    public void forEachValue(Consumer<? super String> action) {
+        values.forEach(action);
+    }
+
+    public Stream<String> streamValues() {
+        return (values.stream());
+    }
+
     // -------------------------------------------------------------- Extensions
 
     // ----------------------------------------------------------------- Methods
 
     public void addNullValue() {
+        ReadOnly.check(unmodifiable, this);
+        if (values.isEmpty()) {
+            values = new ArrayList<String>();
+        }
         values.add(null);
     }
 
     public void addValue(String value) {
+        ReadOnly.check(unmodifiable, this);
+        if (values.isEmpty()) {
+            values = new ArrayList<String>();
+        }
         values.add(value);
     }
 
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+    }
+
 }
@@ -33,6 +33,7 @@ public class ListEntryBean implements NullValueHolder {
     }
 
     public void setValue(String value) {
+        ReadOnly.check(unmodifiable, this);
         this.value = value;
     }
 
@@ -49,9 +50,18 @@ public class ListEntryBean implements NullValueHolder {
 
     @Override
     public void setNullValue(boolean nullValue) {
+        ReadOnly.check(unmodifiable, this);
         this.nullValue = nullValue;
     }
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+    }
+
 }
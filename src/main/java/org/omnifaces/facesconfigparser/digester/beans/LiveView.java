@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester.beans;
+
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Unmodifiable views of the collections of the beans that read the backing field on each access.
+ * </p>
+ *
+ * <p>
+ * The beans allocate their collections on the first add and hold a shared empty collection until then, so a view that
+ * wrapped the collection held when it was created would never show later additions.
+ * </p>
+ */
+final class LiveView {
+
+    private LiveView() {
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    static <E> Collection<E> of(Supplier<? extends Collection<? extends E>> collection) {
+        return new AbstractCollection<E>() {
+
+            @Override
+            public Iterator<E> iterator() {
+                return Collections.<E>unmodifiableCollection(collection.get()).iterator();
+            }
+
+            @Override
+            public int size() {
+                return collection.get().size();
+            }
+
+            @Override
+            public boolean contains(Object object) {
+                return collection.get().contains(object);
+            }
+        };
+    }
+
+    static <E> List<E> ofList(Supplier<? extends List<? extends E>> list) {
+        return new AbstractList<E>() {
+
+            @Override
+            public E get(int index) {
+                return list.get().get(index);
+            }
+
+            @Override
+            public int size() {
+                return list.get().size();
+            }
+        };
+    }
+
+}
@@ -16,8 +16,12 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -36,28 +40,59 @@ public class LocaleConfigBean {
     }
 
     public void setDefaultLocale(String defaultLocale) {
+        ReadOnly.check(unmodifiable, this);
         this.defaultLocale = defaultLocale;
     }
 
     // ------------------------------------------- SupportedLocaleHolder Methods
 
-    private Set<String> supportedLocales = new TreeSet<String>();
+    private static final String[] NO_STRINGS = new String[0];
+
+    private Set<String> supportedLocales = Collections.emptySet();
 
     public void addSupportedLocale(String supportedLocale) {
+        ReadOnly.check(unmodifiable, this);
         if (!supportedLocales.contains(supportedLocale)) {
+            if (supportedLocales.isEmpty()) {
+                supportedLocales = new TreeSet<String>();
+            }
             supportedLocales.add(supportedLocale);
         }
     }
 
     public String[] getSupportedLocales() {
+        if (supportedLocales.isEmpty()) {
+            return (NO_STRINGS);
+        }
         String results[] = new String[supportedLocales.size()];
         return (supportedLocales.toArray(results));
     }
 
+    public Collection<String> getSupportedLocalesView() {
+        return (LiveView.of(() -> supportedLocales));
+    }
+
+    public void forEachSupportedLocale(Consumer<? super String> action) {
+        supportedLocales.forEach(action);
+    }
+
+    public Stream<String> streamSupportedLocales() {
+        return (supportedLocales.stream());
+    }
+
     public void removeSupportedLocale(String supportedLocale) {
+        ReadOnly.check(unmodifiable, this);
         supportedLocales.remove(supportedLocale);
     }
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+    }
+
 }
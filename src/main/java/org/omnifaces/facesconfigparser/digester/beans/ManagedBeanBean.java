@@ -16,9 +16,12 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -37,6 +40,7 @@ public class ManagedBeanBean extends FeatureBean implements ListEntriesHolder, M
     }
 
     public void setManagedBeanClass(String managedBeanClass) {
+        ReadOnly.check(unmodifiable, this);
         this.managedBeanClass = managedBeanClass;
     }
 
@@ -47,6 +51,7 @@ public class ManagedBeanBean extends FeatureBean implements ListEntriesHolder, M
     }
 
     public void setManagedBeanName(String managedBeanName) {
+        ReadOnly.check(unmodifiable, this);
         this.managedBeanName = managedBeanName;
     }
 
@@ -57,6 +62,7 @@ public class ManagedBeanBean extends FeatureBean implements ListEntriesHolder, M
     }
 
     public void setManagedBeanScope(String managedBeanScope) {
+        ReadOnly.check(unmodifiable, this);
         this.managedBeanScope = managedBeanScope;
     }
 
@@ -73,57 +79,58 @@ public class ManagedBeanBean extends FeatureBean implements ListEntriesHolder, M
 
     @Override
     public void setListEntries(ListEntriesBean listEntries) {
+        ReadOnly.check(unmodifiable, this);
         this.listEntries = listEntries;
     }
 
     // ------------------------------------------- ManagedPropertyHolder Methods
 
-    private List<ManagedPropertyBean> managedProperties = new ArrayList<ManagedPropertyBean>();
+    private static final ManagedPropertyBean[] NO_MANAGED_PROPERTIES = new ManagedPropertyBean[0];
+
+    // Keyed by property name, in the order the properties were added
+    private Map<String, ManagedPropertyBean> managedProperties = Collections.emptyMap();
 
     public void addManagedProperty(ManagedPropertyBean descriptor) {
-        managedProperties.add(descriptor);
+        ReadOnly.check(unmodifiable, this);
+        if (null == descriptor) {
+            return;
+        }
+        if (managedProperties.isEmpty()) {
+            managedProperties = new LinkedHashMap<String, ManagedPropertyBean>();
+        }
+        managedProperties.put(descriptor.getPropertyName(), descriptor);
     }
 
     public ManagedPropertyBean getManagedProperty(String name) {
-        Iterator<ManagedPropertyBean> iter = managedProperties.iterator();
-        ManagedPropertyBean cur = null;
-        String curName = null;
-        while (iter.hasNext()) {
-            cur = iter.next();
-            if (null == cur) {
-                continue;
-            }
-            curName = cur.getPropertyName();
-            // if the name is null, and we're looking for null
-            if (null == curName && null == name) {
-                return cur;
-            }
-            // not a match
-            if (null == curName || null == name) {
-                continue;
-            }
-            // guaranteed that both are non-null
-            if (curName.equals(name)) {
-                return cur;
-            }
-        }
-
-        return null;
+        return (managedProperties.get(name));
     }
 
     public ManagedPropertyBean[] getManagedProperties() {
+        if (managedProperties.isEmpty()) {
+            return (NO_MANAGED_PROPERTIES);
+        }
         ManagedPropertyBean results[] = new ManagedPropertyBean[managedProperties.size()];
-        return (managedProperties.toArray(results));
+        return (managedProperties.values().toArray(results));
+    }
+
+    public Collection<ManagedPropertyBean> getManagedPropertiesView() {
+        return (LiveView.of(() -> managedProperties.values()));
+    }
+
+    public void forEachManagedProperty(Consumer<? super ManagedPropertyBean> action) {
+        managedProperties.values().forEach(action);
+    }
+
+    public Stream<ManagedPropertyBean> streamManagedProperties() {
+        return (managedProperties.values().stream());
     }
 
     public void removeManagedProperty(ManagedPropertyBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         if (null == descriptor) {
             return;
         }
-        ManagedPropertyBean toRemove = getManagedProperty(descriptor.getPropertyName());
-        if (null != toRemove) {
-            managedProperties.remove(toRemove);
-        }
+        managedProperties.remove(descriptor.getPropertyName());
     }
 
     // ------------------------------------------------ MapEntriesHolder Methods
@@ -137,9 +144,24 @@ public class ManagedBeanBean extends FeatureBean implements ListEntriesHolder, M
 
     @Override
     public void setMapEntries(MapEntriesBean mapEntries) {
+        ReadOnly.check(unmodifiable, this);
         this.mapEntries = mapEntries;
     }
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    @Override
+    void makeReadOnly() {
+        super.makeReadOnly();
+        if (listEntries != null) {
+            listEntries.makeReadOnly();
+        }
+        if (mapEntries != null) {
+            mapEntries.makeReadOnly();
+        }
+        managedProperties.values().forEach(ManagedPropertyBean::makeReadOnly);
+    }
+
 }
@@ -33,6 +33,7 @@ public class ManagedPropertyBean extends FeatureBean implements ListEntriesHolde
     }
 
     public void setPropertyClass(String propertyClass) {
+        ReadOnly.check(unmodifiable, this);
         this.propertyClass = propertyClass;
     }
 
@@ -43,6 +44,7 @@ public class ManagedPropertyBean extends FeatureBean implements ListEntriesHolde
     }
 
     public void setPropertyName(String propertyName) {
+        ReadOnly.check(unmodifiable, this);
         this.propertyName = propertyName;
     }
 
@@ -53,6 +55,7 @@ public class ManagedPropertyBean extends FeatureBean implements ListEntriesHolde
     }
 
     public void setValue(String value) {
+        ReadOnly.check(unmodifiable, this);
         this.value = value;
     }
 
@@ -67,6 +70,7 @@ public class ManagedPropertyBean extends FeatureBean implements ListEntriesHolde
 
     @Override
     public void setListEntries(ListEntriesBean listEntries) {
+        ReadOnly.check(unmodifiable, this);
         this.listEntries = listEntries;
     }
 
@@ -81,6 +85,7 @@ public class ManagedPropertyBean extends FeatureBean implements ListEntriesHolde
 
     @Override
     public void setMapEntries(MapEntriesBean mapEntries) {
+        ReadOnly.check(unmodifiable, this);
         this.mapEntries = mapEntries;
     }
 
@@ -95,6 +100,7 @@ public class ManagedPropertyBean extends FeatureBean implements ListEntriesHolde
 
     @Override
     public void setNullValue(boolean nullValue) {
+        ReadOnly.check(unmodifiable, this);
         this.nullValue = nullValue;
     }
 
@@ -102,4 +108,17 @@ public class ManagedPropertyBean extends FeatureBean implements ListEntriesHolde
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    @Override
+    void makeReadOnly() {
+        super.makeReadOnly();
+        if (listEntries != null) {
+            listEntries.makeReadOnly();
+        }
+        if (mapEntries != null) {
+            mapEntries.makeReadOnly();
+        }
+    }
+
 }
@@ -17,7 +17,10 @@
 package org.omnifaces.facesconfigparser.digester.beans;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -36,16 +39,34 @@ public class MapEntriesBean {
     }
 
     public void setKeyClass(String keyClass) {
+        ReadOnly.check(unmodifiable, this);
         this.keyClass = keyClass;
     }
 
-    private List<MapEntryBean> mapEntries = new ArrayList<MapEntryBean>();
+    private static final MapEntryBean[] NO_MAP_ENTRIES = new MapEntryBean[0];
+
+    private List<MapEntryBean> mapEntries = Collections.emptyList();
 
     public MapEntryBean[] getMapEntries() {
+        if (mapEntries.isEmpty()) {
+            return (NO_MAP_ENTRIES);
+        }
         MapEntryBean results[] = new MapEntryBean[mapEntries.size()];
         return (mapEntries.toArray(results));
     }
 
+    public List<MapEntryBean> getMapEntriesView() {
+        return (LiveView.ofList(() -> mapEntries));
+    }
+
+    public void forEachMapEntry(Consumer<? super MapEntryBean> action) {
+        mapEntries.forEach(action);
+    }
+
+    public Stream<MapEntryBean> streamMapEntries() {
+        return (mapEntries.stream());
+    }
+
     private String valueClass;
 
     public String getValueClass() {
@@ -53,6 +74,7 @@ public class MapEntriesBean {
     }
 
     public void setValueClass(String valueClass) {
+        ReadOnly.check(unmodifiable, this);
         this.valueClass = valueClass;
     }
 
@@ -61,7 +83,20 @@ public class MapEntriesBean {
     // ----------------------------------------------------------------- Methods
 
     public void addMapEntry(MapEntryBean mapEntry) {
+        ReadOnly.check(unmodifiable, this);
+        if (mapEntries.isEmpty()) {
+            mapEntries = new ArrayList<MapEntryBean>();
+        }
         mapEntries.add(mapEntry);
     }
 
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+        mapEntries.forEach(MapEntryBean::makeReadOnly);
+    }
+
 }
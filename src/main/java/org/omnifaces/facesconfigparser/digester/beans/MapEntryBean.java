@@ -33,6 +33,7 @@ public class MapEntryBean implements NullValueHolder {
     }
 
     public void setKey(String key) {
+        ReadOnly.check(unmodifiable, this);
         this.key = key;
     }
 
@@ -43,6 +44,7 @@ public class MapEntryBean implements NullValueHolder {
     }
 
     public void setValue(String value) {
+        ReadOnly.check(unmodifiable, this);
         this.value = value;
     }
 
@@ -57,6 +59,7 @@ public class MapEntryBean implements NullValueHolder {
 
     @Override
     public void setNullValue(boolean nullValue) {
+        ReadOnly.check(unmodifiable, this);
         this.nullValue = nullValue;
     }
 
@@ -64,4 +67,12 @@ public class MapEntryBean implements NullValueHolder {
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    private boolean unmodifiable;
+
+    void makeReadOnly() {
+        unmodifiable = true;
+    }
+
 }
@@ -33,6 +33,7 @@ public class NavigationCaseBean extends FeatureBean {
     }
 
     public void setFromAction(String fromAction) {
+        ReadOnly.check(unmodifiable, this);
         this.fromAction = fromAction;
     }
 
@@ -43,6 +44,7 @@ public class NavigationCaseBean extends FeatureBean {
     }
 
     public void setFromOutcome(String fromOutcome) {
+        ReadOnly.check(unmodifiable, this);
         this.fromOutcome = fromOutcome;
     }
 
@@ -53,10 +55,12 @@ public class NavigationCaseBean extends FeatureBean {
     }
 
     public void setRedirect(boolean redirect) {
+        ReadOnly.check(unmodifiable, this);
         this.redirect = redirect;
     }
 
     public void setRedirectTrue(String dummy) {
+        ReadOnly.check(unmodifiable, this);
         this.redirect = true;
     }
 
@@ -67,6 +71,7 @@ public class NavigationCaseBean extends FeatureBean {
     }
 
     public void setToViewId(String toViewId) {
+        ReadOnly.check(unmodifiable, this);
         this.toViewId = toViewId;
     }
 
@@ -17,7 +17,10 @@
 package org.omnifaces.facesconfigparser.digester.beans;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -36,22 +39,52 @@ public class NavigationRuleBean extends FeatureBean {
     }
 
     public void setFromViewId(String fromViewId) {
+        ReadOnly.check(unmodifiable, this);
         this.fromViewId = fromViewId;
     }
 
-    private List<NavigationCaseBean> navigationCases = new ArrayList<NavigationCaseBean>();
+    private static final NavigationCaseBean[] NO_NAVIGATION_CASES = new NavigationCaseBean[0];
+
+    private List<NavigationCaseBean> navigationCases = Collections.emptyList();
 
     public NavigationCaseBean[] getNavigationCases() {
+        if (navigationCases.isEmpty()) {
+            return (NO_NAVIGATION_CASES);
+        }
         NavigationCaseBean results[] = new NavigationCaseBean[navigationCases.size()];
         return (navigationCases.toArray(results));
     }
 
+    public List<NavigationCaseBean> getNavigationCasesView() {
+        return (LiveView.ofList(() -> navigationCases));
+    }
+
+    public void forEachNavigationCase(Consumer<? super NavigationCaseBean> action) {
+        navigationCases.forEach(action);
+    }
+
+    public Stream<NavigationCaseBean> streamNavigationCases() {
+        return (navigationCases.stream());
+    }
+
     // -------------------------------------------------------------- Extensions
 
     // ----------------------------------------------------------------- Methods
 
     public void addNavigationCase(NavigationCaseBean navigationCase) {
+        ReadOnly.check(unmodifiable, this);
+        if (navigationCases.isEmpty()) {
+            navigationCases = new ArrayList<NavigationCaseBean>();
+        }
         navigationCases.add(navigationCase);
     }
 
+    // --------------------------------------------------------------- Read-only
+
+    @Override
+    void makeReadOnly() {
+        super.makeReadOnly();
+        navigationCases.forEach(NavigationCaseBean::makeReadOnly);
+    }
+
 }
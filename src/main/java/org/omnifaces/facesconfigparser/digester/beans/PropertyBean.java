@@ -17,6 +17,7 @@
 package org.omnifaces.facesconfigparser.digester.beans;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -36,6 +37,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void setPropertyClass(String propertyClass) {
+        ReadOnly.check(unmodifiable, this);
         this.propertyClass = propertyClass;
     }
 
@@ -46,6 +48,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void setPropertyName(String propertyName) {
+        ReadOnly.check(unmodifiable, this);
         this.propertyName = propertyName;
     }
 
@@ -56,6 +59,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void setSuggestedValue(String suggestedValue) {
+        ReadOnly.check(unmodifiable, this);
         this.suggestedValue = suggestedValue;
     }
 
@@ -69,6 +73,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void setDefaultValue(String defaultValue) {
+        ReadOnly.check(unmodifiable, this);
         this.defaultValue = defaultValue;
     }
 
@@ -80,6 +85,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void setPassThrough(boolean passThrough) {
+        ReadOnly.check(unmodifiable, this);
         this.passThrough = passThrough;
     }
 
@@ -91,6 +97,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void setReadOnly(boolean readOnly) {
+        ReadOnly.check(unmodifiable, this);
         this.readOnly = readOnly;
     }
 
@@ -102,6 +109,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void setRequired(boolean required) {
+        ReadOnly.check(unmodifiable, this);
         this.required = required;
     }
 
@@ -113,6 +121,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void setTagAttribute(boolean tagAttribute) {
+        ReadOnly.check(unmodifiable, this);
         this.tagAttribute = tagAttribute;
     }
 
@@ -125,6 +134,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void setMethodExpressionEnabled(boolean methodExpressionEnabled) {
+        ReadOnly.check(unmodifiable, this);
         this.methodExpressionEnabled = methodExpressionEnabled;
     }
 
@@ -135,6 +145,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void setMethodSignature(String methodSignature) {
+        ReadOnly.check(unmodifiable, this);
         if (methodSignature != null) {
             methodSignature = methodSignature.trim();
             if (methodSignature.length() > 0) {
@@ -153,6 +164,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void setValueExpressionEnabled(boolean valueExpressionEnabled) {
+        ReadOnly.check(unmodifiable, this);
         this.valueExpressionEnabled = valueExpressionEnabled;
     }
 
@@ -178,6 +190,7 @@ public class PropertyBean extends FeatureBean {
      * @param behavior the behaviorAttribute to set
      */
     public void addBehavior(String behavior) {
+        ReadOnly.check(unmodifiable, this);
         if (null == this.behaviors) {
             this.behaviors = new ArrayList<String>(5);
         }
@@ -185,6 +198,7 @@ public class PropertyBean extends FeatureBean {
     }
 
     public void addAllBehaviors(List<String> behaviors) {
+        ReadOnly.check(unmodifiable, this);
         if (null != behaviors) {
 //			if(null == this.behaviors){
             this.behaviors = new ArrayList<String>(behaviors);
@@ -215,9 +229,20 @@ public class PropertyBean extends FeatureBean {
      * @param defaultBehavior the defaultBehavior to set
      */
     public void setDefaultBehavior(boolean defaultBehavior) {
+        ReadOnly.check(unmodifiable, this);
         this.defaultBehavior = defaultBehavior;
     }
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    @Override
+    void makeReadOnly() {
+        super.makeReadOnly();
+        if (behaviors != null) {
+            behaviors = Collections.unmodifiableList(behaviors);
+        }
+    }
+
 }
@@ -16,6 +16,10 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 /**
  * <p>
  * Interface denoting a configuration bean that stores a named collection of properties.
@@ -55,6 +59,38 @@ public interface PropertyHolder {
      */
     public PropertyBean[] getProperties();
 
+    /**
+     * <p>
+     * Return an unmodifiable view of the descriptors of all properties for which descriptors have been registered. Unlike
+     * {@link #getProperties()}, this does not copy the descriptors, and the view reflects later changes.
+     * </p>
+     *
+     * @return a view of the descriptors of all properties
+     */
+    public Collection<PropertyBean> getPropertiesView();
+
+    /**
+     * <p>
+     * Perform the given action for the descriptor of each registered property, without copying the descriptors.
+     * </p>
+     *
+     * @param action the action to perform
+     */
+    public default void forEachProperty(Consumer<? super PropertyBean> action) {
+        getPropertiesView().forEach(action);
+    }
+
+    /**
+     * <p>
+     * Return a sequential stream of the descriptors of all registered properties, without copying the descriptors.
+     * </p>
+     *
+     * @return a stream of the descriptors of all properties
+     */
+    public default Stream<PropertyBean> streamProperties() {
+        return getPropertiesView().stream();
+    }
+
     /**
      * <p>
      * Deregister the specified property descriptor, if it is registered.
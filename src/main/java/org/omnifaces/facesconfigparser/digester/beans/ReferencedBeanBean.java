@@ -33,6 +33,7 @@ public class ReferencedBeanBean extends FeatureBean {
     }
 
     public void setReferencedBeanClass(String referencedBeanClass) {
+        ReadOnly.check(unmodifiable, this);
         this.referencedBeanClass = referencedBeanClass;
     }
 
@@ -43,6 +44,7 @@ public class ReferencedBeanBean extends FeatureBean {
     }
 
     public void setReferencedBeanName(String referencedBeanName) {
+        ReadOnly.check(unmodifiable, this);
         this.referencedBeanName = referencedBeanName;
     }
 
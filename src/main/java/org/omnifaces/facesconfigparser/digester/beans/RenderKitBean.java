@@ -16,10 +16,18 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 import org.omnifaces.facesconfigparser.util.ToolsUtil;
 
@@ -42,6 +50,7 @@ public class RenderKitBean extends FeatureBean {
     }
 
     public void setRenderKitClass(String renderKitClass) {
+        ReadOnly.check(unmodifiable, this);
         this.renderKitClass = renderKitClass;
     }
 
@@ -52,36 +61,138 @@ public class RenderKitBean extends FeatureBean {
     }
 
     public void setRenderKitId(String renderKitId) {
+        ReadOnly.check(unmodifiable, this);
         this.renderKitId = renderKitId;
     }
 
     // -------------------------------------------------- RendererHolder Methods
 
-    // Key is family + rendererType
-    private Map<String, RendererBean> renderers = new TreeMap<String, RendererBean>();
+    private static final RendererBean[] NO_RENDERERS = new RendererBean[0];
+
+    private static final Comparator<String> KEY_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    // Keyed by component family, then by renderer type, so lookups need no composite key
+    private Map<String, Map<String, RendererBean>> renderers = Collections.emptyMap();
+    private int rendererCount;
 
     public void addRenderer(RendererBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         if (logger.isLoggable(Level.FINE)) {
             logger.log(Level.FINE, "addRenderer(" + descriptor.getComponentFamily() + "," + descriptor.getRendererType() + ")");
         }
-        renderers.put(descriptor.getComponentFamily() + "|" + descriptor.getRendererType(), descriptor);
+        if (renderers.isEmpty()) {
+            renderers = new TreeMap<String, Map<String, RendererBean>>(KEY_ORDER);
+        }
+        Map<String, RendererBean> family = renderers.get(descriptor.getComponentFamily());
+        if (family == null) {
+            family = new TreeMap<String, RendererBean>(KEY_ORDER);
+            renderers.put(descriptor.getComponentFamily(), family);
+        }
+        if (family.put(descriptor.getRendererType(), descriptor) == null) {
+            rendererCount++;
+        }
     }
 
     public RendererBean getRenderer(String componentFamily, String rendererType) {
-        return (renderers.get(componentFamily + "|" + rendererType));
+        Map<String, RendererBean> family = renderers.get(componentFamily);
+        return (family == null ? null : family.get(rendererType));
     }
 
     public RendererBean[] getRenderers() {
-        RendererBean results[] = new RendererBean[renderers.size()];
-        return (renderers.values().toArray(results));
+        if (renderers.isEmpty()) {
+            return (NO_RENDERERS);
+        }
+        RendererBean results[] = new RendererBean[rendererCount];
+        int i = 0;
+        for (Map<String, RendererBean> family : renderers.values()) {
+            for (RendererBean renderer : family.values()) {
+                results[i++] = renderer;
+            }
+        }
+        return (results);
+    }
+
+    public Collection<RendererBean> getRenderersView() {
+        return (new RenderersView());
+    }
+
+    public void forEachRenderer(Consumer<? super RendererBean> action) {
+        for (Map<String, RendererBean> family : renderers.values()) {
+            family.values().forEach(action);
+        }
+    }
+
+    public Stream<RendererBean> streamRenderers() {
+        return (renderers.values().stream().flatMap(family -> family.values().stream()));
     }
 
     public void removeRenderer(RendererBean descriptor) {
-        renderers.remove(descriptor.getComponentFamily() + "|" + descriptor.getRendererType());
+        ReadOnly.check(unmodifiable, this);
+        Map<String, RendererBean> family = renderers.get(descriptor.getComponentFamily());
+        if (family != null && family.remove(descriptor.getRendererType()) != null) {
+            rendererCount--;
+            if (family.isEmpty()) {
+                renderers.remove(descriptor.getComponentFamily());
+            }
+        }
     }
 
     // -------------------------------------------------------------- Extensions
 
     // ----------------------------------------------------------------- Methods
 
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * <p>
+     * Unmodifiable view of the renderers of all component families, in family and then renderer type order.
+     * </p>
+     */
+    private class RenderersView extends AbstractCollection<RendererBean> {
+
+        @Override
+        public Iterator<RendererBean> iterator() {
+            Iterator<Map<String, RendererBean>> families = renderers.values().iterator();
+
+            return new Iterator<RendererBean>() {
+
+                private Iterator<RendererBean> family = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!family.hasNext() && families.hasNext()) {
+                        family = families.next().values().iterator();
+                    }
+                    return family.hasNext();
+                }
+
+                @Override
+                public RendererBean next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return family.next();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return rendererCount;
+        }
+
+        @Override
+        public void forEach(Consumer<? super RendererBean> action) {
+            forEachRenderer(action);
+        }
+    }
+
+    // --------------------------------------------------------------- Read-only
+
+    @Override
+    void makeReadOnly() {
+        super.makeReadOnly();
+        renderers.values().forEach(family -> family.values().forEach(RendererBean::makeReadOnly));
+    }
+
 }
@@ -16,6 +16,8 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -36,6 +38,7 @@ public class RendererBean extends FeatureBean implements AttributeHolder {
     }
 
     public void setComponentFamily(String componentFamily) {
+        ReadOnly.check(unmodifiable, this);
         this.componentFamily = componentFamily;
     }
 
@@ -46,6 +49,7 @@ public class RendererBean extends FeatureBean implements AttributeHolder {
     }
 
     public void setRendererClass(String rendererClass) {
+        ReadOnly.check(unmodifiable, this);
         this.rendererClass = rendererClass;
     }
 
@@ -56,6 +60,7 @@ public class RendererBean extends FeatureBean implements AttributeHolder {
     }
 
     public void setRendererType(String rendererType) {
+        ReadOnly.check(unmodifiable, this);
         this.rendererType = rendererType;
     }
 
@@ -69,6 +74,7 @@ public class RendererBean extends FeatureBean implements AttributeHolder {
     }
 
     public void setRendersChildren(boolean rendersChildren) {
+        ReadOnly.check(unmodifiable, this);
         this.rendersChildren = rendersChildren;
     }
 
@@ -79,6 +85,7 @@ public class RendererBean extends FeatureBean implements AttributeHolder {
     }
 
     public void setExcludeAttributes(String newExcludeAttributes) {
+        ReadOnly.check(unmodifiable, this);
         excludeAttributes = newExcludeAttributes;
     }
 
@@ -89,6 +96,7 @@ public class RendererBean extends FeatureBean implements AttributeHolder {
     }
 
     public void setIgnoreForJsp(boolean notForJsp) {
+        ReadOnly.check(unmodifiable, this);
         this.notForJsp = notForJsp;
     }
 
@@ -99,6 +107,7 @@ public class RendererBean extends FeatureBean implements AttributeHolder {
     }
 
     public void setIgnoreAll(boolean ignoreAll) {
+        ReadOnly.check(unmodifiable, this);
         this.ignoreAll = ignoreAll;
     }
 
@@ -111,6 +120,7 @@ public class RendererBean extends FeatureBean implements AttributeHolder {
     }
 
     public void setBodyTag(boolean bodyTag) {
+        ReadOnly.check(unmodifiable, this);
         this.bodyTag = bodyTag;
     }
 
@@ -122,15 +132,22 @@ public class RendererBean extends FeatureBean implements AttributeHolder {
     }
 
     public void setTagName(String tagName) {
+        ReadOnly.check(unmodifiable, this);
         this.tagName = tagName;
     }
 
     // ------------------------------------------------- AttributeHolder Methods
 
-    private Map<String, AttributeBean> attributes = new TreeMap<String, AttributeBean>();
+    private static final AttributeBean[] NO_ATTRIBUTES = new AttributeBean[0];
+
+    private Map<String, AttributeBean> attributes = Collections.emptyMap();
 
     @Override
     public void addAttribute(AttributeBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
+        if (attributes.isEmpty()) {
+            attributes = new TreeMap<String, AttributeBean>();
+        }
         attributes.put(descriptor.getAttributeName(), descriptor);
     }
 
@@ -141,15 +158,32 @@ public class RendererBean extends FeatureBean implements AttributeHolder {
 
     @Override
     public AttributeBean[] getAttributes() {
+        if (attributes.isEmpty()) {
+            return (NO_ATTRIBUTES);
+        }
         AttributeBean results[] = new AttributeBean[attributes.size()];
         return (attributes.values().toArray(results));
     }
 
+    @Override
+    public Collection<AttributeBean> getAttributesView() {
+        return (LiveView.of(() -> attributes.values()));
+    }
+
     @Override
     public void removeAttribute(AttributeBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         attributes.remove(descriptor.getAttributeName());
     }
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    @Override
+    void makeReadOnly() {
+        super.makeReadOnly();
+        attributes.values().forEach(AttributeBean::makeReadOnly);
+    }
+
 }
@@ -44,6 +44,7 @@ public class ResourceBundleBean extends FeatureBean {
      * @param basename New value of property basename.
      */
     public void setBasename(String basename) {
+        ReadOnly.check(unmodifiable, this);
 
         this.basename = basename;
     }
@@ -69,6 +70,7 @@ public class ResourceBundleBean extends FeatureBean {
      * @param var New value of property var.
      */
     public void setVar(String var) {
+        ReadOnly.check(unmodifiable, this);
 
         this.var = var;
     }
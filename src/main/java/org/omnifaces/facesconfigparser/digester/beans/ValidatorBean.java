@@ -16,6 +16,8 @@
 
 package org.omnifaces.facesconfigparser.digester.beans;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -36,6 +38,7 @@ public class ValidatorBean extends FeatureBean implements AttributeHolder, Prope
     }
 
     public void setValidatorClass(String validatorClass) {
+        ReadOnly.check(unmodifiable, this);
         this.validatorClass = validatorClass;
     }
 
@@ -46,6 +49,7 @@ public class ValidatorBean extends FeatureBean implements AttributeHolder, Prope
     }
 
     public void setValidatorId(String validatorId) {
+        ReadOnly.check(unmodifiable, this);
         this.validatorId = validatorId;
     }
 
@@ -53,10 +57,16 @@ public class ValidatorBean extends FeatureBean implements AttributeHolder, Prope
 
     // ------------------------------------------------- AttributeHolder Methods
 
-    private Map<String, AttributeBean> attributes = new TreeMap<String, AttributeBean>();
+    private static final AttributeBean[] NO_ATTRIBUTES = new AttributeBean[0];
+
+    private Map<String, AttributeBean> attributes = Collections.emptyMap();
 
     @Override
     public void addAttribute(AttributeBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
+        if (attributes.isEmpty()) {
+            attributes = new TreeMap<String, AttributeBean>();
+        }
         attributes.put(descriptor.getAttributeName(), descriptor);
     }
 
@@ -67,21 +77,36 @@ public class ValidatorBean extends FeatureBean implements AttributeHolder, Prope
 
     @Override
     public AttributeBean[] getAttributes() {
+        if (attributes.isEmpty()) {
+            return (NO_ATTRIBUTES);
+        }
         AttributeBean results[] = new AttributeBean[attributes.size()];
         return (attributes.values().toArray(results));
     }
 
+    @Override
+    public Collection<AttributeBean> getAttributesView() {
+        return (LiveView.of(() -> attributes.values()));
+    }
+
     @Override
     public void removeAttribute(AttributeBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         attributes.remove(descriptor.getAttributeName());
     }
 
     // ------------------------------------------------- PropertyHolder Methods
 
-    private Map<String, PropertyBean> properties = new TreeMap<String, PropertyBean>();
+    private static final PropertyBean[] NO_PROPERTIES = new PropertyBean[0];
+
+    private Map<String, PropertyBean> properties = Collections.emptyMap();
 
     @Override
     public void addProperty(PropertyBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
+        if (properties.isEmpty()) {
+            properties = new TreeMap<String, PropertyBean>();
+        }
         properties.put(descriptor.getPropertyName(), descriptor);
     }
 
@@ -92,15 +117,33 @@ public class ValidatorBean extends FeatureBean implements AttributeHolder, Prope
 
     @Override
     public PropertyBean[] getProperties() {
+        if (properties.isEmpty()) {
+            return (NO_PROPERTIES);
+        }
         PropertyBean results[] = new PropertyBean[properties.size()];
         return (properties.values().toArray(results));
     }
 
+    @Override
+    public Collection<PropertyBean> getPropertiesView() {
+        return (LiveView.of(() -> properties.values()));
+    }
+
     @Override
     public void removeProperty(PropertyBean descriptor) {
+        ReadOnly.check(unmodifiable, this);
         properties.remove(descriptor.getPropertyName());
     }
 
     // ----------------------------------------------------------------- Methods
 
+    // --------------------------------------------------------------- Read-only
+
+    @Override
+    void makeReadOnly() {
+        super.makeReadOnly();
+        attributes.values().forEach(AttributeBean::makeReadOnly);
+        properties.values().forEach(PropertyBean::makeReadOnly);
+    }
+
 }
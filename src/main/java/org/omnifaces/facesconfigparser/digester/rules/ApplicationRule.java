@@ -16,9 +16,14 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
 import org.apache.commons.digester.Rule;
 import org.omnifaces.facesconfigparser.digester.beans.ApplicationBean;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.LocaleConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.ResourceBundleBean;
 import org.xml.sax.Attributes;
 
 /**
@@ -30,6 +35,30 @@ public class ApplicationRule extends Rule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.ApplicationBean";
 
+    private final Supplier<? extends ApplicationBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>ApplicationBean</code> instances.
+     * </p>
+     */
+    public ApplicationRule() {
+        this(ApplicationBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>ApplicationBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>ApplicationBean</code> instances, see {@link BeanFactory}
+     */
+    public ApplicationRule(Supplier<? extends ApplicationBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -58,8 +87,7 @@ public class ApplicationRule extends Rule {
             if (digester.getLogger().isDebugEnabled()) {
                 digester.getLogger().debug("[ApplicationRule]{" + digester.getMatch() + "} New " + CLASS_NAME);
             }
-            Class<?> clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-            ab = (ApplicationBean) clazz.newInstance();
+            ab = factory.get();
             fcb.setApplication(ab);
         } else {
             if (digester.getLogger().isDebugEnabled()) {
@@ -102,7 +130,7 @@ public class ApplicationRule extends Rule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[ApplicationRule]{" + digester.getMatch() + "} Pop " + top.getClass());
         }
-        if (!CLASS_NAME.equals(top.getClass().getName())) {
+        if (!(top instanceof ApplicationBean)) {
             throw new IllegalStateException("Popped object is not a " + CLASS_NAME + " instance");
         }
 
@@ -129,4 +157,63 @@ public class ApplicationRule extends Rule {
 
     }
 
+    // --------------------------------------------------------- Package Methods
+
+    // Merge "top" into "old"
+    static void mergeApplication(ApplicationBean top, ApplicationBean old) {
+
+        // Merge singleton properties
+        if (top.getMessageBundle() != null) {
+            old.setMessageBundle(top.getMessageBundle());
+        }
+        if (top.getDefaultRenderKitId() != null) {
+            old.setDefaultRenderKitId(top.getDefaultRenderKitId());
+        }
+        LocaleConfigBean lcbt = top.getLocaleConfig();
+        if (lcbt != null) {
+            LocaleConfigBean lcbo = old.getLocaleConfig();
+            if (lcbo == null) {
+                old.setLocaleConfig(lcbt);
+            } else {
+                if (lcbt.getDefaultLocale() != null) {
+                    lcbo.setDefaultLocale(lcbt.getDefaultLocale());
+                }
+                for (String supportedLocale : lcbt.getSupportedLocalesView()) {
+                    lcbo.addSupportedLocale(supportedLocale);
+                }
+            }
+        }
+
+        // Merge unique collections. The adders skip handlers and listeners that are already present,
+        // so a repeat keeps the position of its first declaration
+        for (String actionListener : top.getActionListenersView()) {
+            old.addActionListener(actionListener);
+        }
+        for (String elResolver : top.getELResolversView()) {
+            old.addELResolver(elResolver);
+        }
+        for (String navigationHandler : top.getNavigationHandlersView()) {
+            old.addNavigationHandler(navigationHandler);
+        }
+        for (String propertyResolver : top.getPropertyResolversView()) {
+            old.addPropertyResolver(propertyResolver);
+        }
+        for (String stateManager : top.getStateManagersView()) {
+            old.addStateManager(stateManager);
+        }
+        for (String variableResolver : top.getVariableResolversView()) {
+            old.addVariableResolver(variableResolver);
+        }
+        for (String viewHandler : top.getViewHandlersView()) {
+            old.addViewHandler(viewHandler);
+        }
+        for (ResourceBundleBean resourceBundle : top.getResourceBundlesView()) {
+            if (null != old.getResourceBundle(resourceBundle.getVar())) {
+                throw new IllegalStateException("Multiple ResourceBundle definitions " + "with the same name: " + resourceBundle.getVar() + ".");
+            }
+            old.addResourceBundle(resourceBundle);
+        }
+
+    }
+
 }
@@ -16,8 +16,11 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
 import org.omnifaces.facesconfigparser.digester.beans.AttributeBean;
 import org.omnifaces.facesconfigparser.digester.beans.AttributeHolder;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.xml.sax.Attributes;
 
 /**
@@ -30,6 +33,30 @@ public class AttributeRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.AttributeBean";
 
+    private final Supplier<? extends AttributeBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>AttributeBean</code> instances.
+     * </p>
+     */
+    public AttributeRule() {
+        this(AttributeBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>AttributeBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>AttributeBean</code> instances, see {@link BeanFactory}
+     */
+    public AttributeRule(Supplier<? extends AttributeBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -52,8 +79,7 @@ public class AttributeRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[AttributeRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class<?> clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        AttributeBean ab = (AttributeBean) clazz.newInstance();
+        AttributeBean ab = factory.get();
         digester.push(ab);
     }
 
@@ -169,13 +195,12 @@ public class AttributeRule extends FeatureRule {
     // Merge "top" into "old"
     static void mergeAttributes(AttributeHolder top, AttributeHolder old) {
 
-        AttributeBean ab[] = top.getAttributes();
-        for (int i = 0; i < ab.length; i++) {
-            AttributeBean abo = old.getAttribute(ab[i].getAttributeName());
+        for (AttributeBean ab : top.getAttributesView()) {
+            AttributeBean abo = old.getAttribute(ab.getAttributeName());
             if (abo == null) {
-                old.addAttribute(ab[i]);
+                old.addAttribute(ab);
             } else {
-                mergeAttribute(ab[i], abo);
+                mergeAttribute(ab, abo);
             }
         }
 
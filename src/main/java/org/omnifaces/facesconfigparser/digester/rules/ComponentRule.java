@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
 import org.xml.sax.Attributes;
@@ -30,6 +33,30 @@ public class ComponentRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.ComponentBean";
 
+    private final Supplier<? extends ComponentBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>ComponentBean</code> instances.
+     * </p>
+     */
+    public ComponentRule() {
+        this(ComponentBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>ComponentBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>ComponentBean</code> instances, see {@link BeanFactory}
+     */
+    public ComponentRule(Supplier<? extends ComponentBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -52,8 +79,7 @@ public class ComponentRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[ComponentRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class<?> clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        ComponentBean cb = (ComponentBean) clazz.newInstance();
+        ComponentBean cb = factory.get();
         digester.push(cb);
     }
 
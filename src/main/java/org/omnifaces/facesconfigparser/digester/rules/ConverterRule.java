@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.ConverterBean;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
 import org.xml.sax.Attributes;
@@ -30,6 +33,30 @@ public class ConverterRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.ConverterBean";
 
+    private final Supplier<? extends ConverterBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>ConverterBean</code> instances.
+     * </p>
+     */
+    public ConverterRule() {
+        this(ConverterBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>ConverterBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>ConverterBean</code> instances, see {@link BeanFactory}
+     */
+    public ConverterRule(Supplier<? extends ConverterBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -52,8 +79,7 @@ public class ConverterRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[ConverterRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        ConverterBean cb = (ConverterBean) clazz.newInstance();
+        ConverterBean cb = factory.get();
         digester.push(cb);
 
     }
@@ -97,17 +123,17 @@ public class ConverterRule extends FeatureRule {
         if (top.getConverterId() != null) {
             old = fcb.getConverterById(top.getConverterId());
         } else {
-            old = fcb.getConverterByClass(top.getConverterForClass().getName());
+            old = fcb.getConverterByClass(top.getConverterForClassName());
         }
         if (old == null) {
             if (digester.getLogger().isDebugEnabled()) {
-                digester.getLogger().debug("[ConverterRule]{" + digester.getMatch() + "} New(" + top.getConverterId() + "," + top.getConverterForClass() + ")");
+                digester.getLogger().debug("[ConverterRule]{" + digester.getMatch() + "} New(" + top.getConverterId() + "," + top.getConverterForClassName() + ")");
             }
             fcb.addConverter(top);
         } else {
             if (digester.getLogger().isDebugEnabled()) {
                 digester.getLogger()
-                        .debug("[ConverterRule]{" + digester.getMatch() + "} Merge(" + top.getConverterId() + "," + top.getConverterForClass() + ")");
+                        .debug("[ConverterRule]{" + digester.getMatch() + "} Merge(" + top.getConverterId() + "," + top.getConverterForClassName() + ")");
             }
             mergeConverter(top, old);
         }
@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.DescriptionBean;
 import org.omnifaces.facesconfigparser.digester.beans.FeatureBean;
 import org.xml.sax.Attributes;
@@ -30,6 +33,30 @@ public class DescriptionRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.DescriptionBean";
 
+    private final Supplier<? extends DescriptionBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>DescriptionBean</code> instances.
+     * </p>
+     */
+    public DescriptionRule() {
+        this(DescriptionBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>DescriptionBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>DescriptionBean</code> instances, see {@link BeanFactory}
+     */
+    public DescriptionRule(Supplier<? extends DescriptionBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -65,8 +92,7 @@ public class DescriptionRule extends FeatureRule {
             if (digester.getLogger().isDebugEnabled()) {
                 digester.getLogger().debug("[DescriptionRule]{" + digester.getMatch() + "} New (" + lang + ")");
             }
-            Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-            db = (DescriptionBean) clazz.newInstance();
+            db = factory.get();
             db.setLang(lang);
             fb.addDescription(db);
         } else {
@@ -16,12 +16,16 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
-import org.apache.commons.digester.NodeCreateRule;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.digester.Rule;
+import org.omnifaces.facesconfigparser.digester.StringArena;
 import org.omnifaces.facesconfigparser.digester.beans.DescriptionBean;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
 
 /**
  * <p>
@@ -29,28 +33,91 @@ import org.xml.sax.Attributes;
  * element even if it contains mixed markup and body content, and then save it as the value of the
  * <code>description</code> property of the corresponding <code>DescriptionBean</code> instance..
  * </p>
+ *
+ * <p>
+ * The body content is captured from the SAX events of the element straight into a reused buffer, without building a
+ * DOM. The captured text is the same as the serialization of the <code>DocumentFragment</code> that was built before:
+ * nested elements are written with their local name and their attributes in name order, elements without content are
+ * written as <code>&lt;name /&gt;</code> and text runs consisting only of whitespace are dropped. Attribute values are
+ * escaped; text is written as is. When the rule has a {@link StringArena}, the text is stored off-heap in it.
+ * </p>
+ *
+ * <p>
+ * When the rule defers descriptions, it records the range of the body content in the source document instead, as
+ * reported by the document <code>Locator</code>, and the description is only read back from the document and written
+ * the same way on the first call of {@link DescriptionBean#getDescription()}. All descriptions of a document share one
+ * handle on it, which fails the read if the document changed since it was parsed. While parsing, the body content is
+ * then only skipped, not written. Descriptions of documents without a system id, that cannot be read again or that
+ * declare general entities in their internal DTD subset are captured as usual; empty elements have no content to skip
+ * and get an empty description.
+ * </p>
+ *
+ * <p>
+ * Ranges are line and column positions rather than byte offsets, since that is what the <code>Locator</code> reports,
+ * and the document is read back through its URL, since it may be a jar entry that cannot be mapped. Display names and
+ * icons are not deferred: they are a few words or a path, so a recorded range would take about as much heap as the text.
+ * </p>
  */
 
-public class DescriptionTextRule extends NodeCreateRule {
+public class DescriptionTextRule extends Rule {
+
+    private final StringBuilder description = new StringBuilder();
+    private final Capture capture = new Capture();
+    private final StringArena arena;
 
-    // ------------------------------------------------------------- Constructor
+    /** The handles on the source documents by system id, or <code>null</code> if descriptions are not deferred. */
+    private final Map<String, SourceDocument> sourceDocuments;
+
+    private SourceDocument sourceDocument;
+    private int startLine;
+    private int startColumn;
+
+    // ------------------------------------------------------------ Constructors
 
     /**
      * <p>
-     * Construct a variant of <code>NodeCreateRule</code> that will create a <code>DocumentFragment</code> object.
-     * 
-     * @throws Exception something went wrong
+     * Construct a new rule that sets the captured text on the heap.
+     * </p>
      */
-    public DescriptionTextRule() throws Exception {
-        super(Node.DOCUMENT_FRAGMENT_NODE);
+    public DescriptionTextRule() {
+        this(null);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that stores the captured text in the given arena.
+     * </p>
+     *
+     * @param arena the arena to store the text in, or <code>null</code> to hold it on the heap
+     */
+    public DescriptionTextRule(StringArena arena) {
+        this(arena, false);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that stores the captured text in the given arena, or that defers reading descriptions from
+     * their source document until they are first used.
+     * </p>
+     *
+     * @param arena the arena to store the captured text in, or <code>null</code> to hold it on the heap
+     * @param deferred whether to defer descriptions to their first use
+     */
+    public DescriptionTextRule(StringArena arena, boolean deferred) {
+        this(arena, deferred ? new HashMap<>() : null);
+    }
+
+    DescriptionTextRule(StringArena arena, Map<String, SourceDocument> sourceDocuments) {
+        this.arena = arena;
+        this.sourceDocuments = sourceDocuments;
     }
 
     // ------------------------------------------------------------ Rule Methods
 
     /**
      * <p>
-     * Ensure that the object at the top of the stack is a <code>DescriptionBean</code>, then perform the standard
-     * superclass processing.
+     * Ensure that the object at the top of the stack is a <code>DescriptionBean</code>, then start capturing the body
+     * content of the element.
      * </p>
      *
      * @param namespace the namespace URI of the matching element, or an empty string if the parser is not namespace aware
@@ -65,11 +132,25 @@ public class DescriptionTextRule extends NodeCreateRule {
 
         assert digester.peek() instanceof DescriptionBean : "Assertion Error: Expected DescriptionBean to be at the top of the stack";
 
-        // Perform our standard superclass processing
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[DescriptionTextRule]{" + digester.getMatch() + "} Begin");
         }
-        super.begin(namespace, name, attributes);
+        sourceDocument = null;
+        Locator locator = digester.getDocumentLocator();
+        if (sourceDocuments != null && locator != null && locator.getSystemId() != null) {
+            sourceDocument = sourceDocuments.computeIfAbsent(locator.getSystemId(), SourceDocument::new);
+        }
+        if (sourceDocument != null && !sourceDocument.isDeferrable()) {
+            sourceDocument = null;
+        }
+        if (sourceDocument != null) {
+            startLine = locator.getLineNumber();
+            startColumn = locator.getColumnNumber();
+        }
+        description.setLength(0);
+        // A deferred description is written from the source document later, so only its end needs to be found now
+        capture.start(digester.getCustomContentHandler(), sourceDocument == null);
+        digester.setCustomContentHandler(capture);
 
     }
 
@@ -89,8 +170,8 @@ public class DescriptionTextRule extends NodeCreateRule {
 
     /**
      * <p>
-     * Serialize the resulting DOM into text, and use it to set the <code>description</code> property of the parent
-     * <code>DescriptionBean</code>.
+     * Use the captured body content, or the recorded range of it, to set the <code>description</code> property of the
+     * parent <code>DescriptionBean</code>.
      * </p>
      *
      * @param namespace the namespace URI of the matching element, or an empty string if the parser is not namespace aware
@@ -106,25 +187,21 @@ public class DescriptionTextRule extends NodeCreateRule {
             digester.getLogger().debug("[DescriptionTextRule]{" + digester.getMatch() + "} End (" + digester.peek() + ")");
         }
 
-        // Pop the DOM object off the stack (works around a bug in
-        // NodeCreateRule that won't be fixed until version 1.6 of
-        // commons-digester is released)
-        Node root = (Node) digester.pop();
-
-        // Serialize the child nodes into a StringBuffer
         DescriptionBean db = (DescriptionBean) digester.peek();
-        StringBuffer sb = new StringBuffer();
-        NodeList kids = root.getChildNodes();
-        int n = kids.getLength();
-        for (int i = 0; i < n; i++) {
-            serialize(sb, kids.item(i));
+        Locator locator = digester.getDocumentLocator();
+        if (sourceDocument != null && (locator.getLineNumber() != startLine || locator.getColumnNumber() != startColumn)) {
+            SourceDocument document = sourceDocument;
+            int fromLine = startLine;
+            int fromColumn = startColumn;
+            int toLine = locator.getLineNumber();
+            int toColumn = locator.getColumnNumber();
+            db.setDescriptionLoader(() -> DescriptionWriter.write(document.content(fromLine, fromColumn, toLine, toColumn)));
+        } else {
+            db.setDescription(description.toString(), arena);
         }
-
-        // Use the StringBuffer to set the value of the description property
-        db.setDescription(sb.toString());
+        sourceDocument = null;
 
     }
-
     /**
      * <p>
      * No finish processing is required.
@@ -145,82 +222,33 @@ public class DescriptionTextRule extends NodeCreateRule {
 
     }
 
-    // --------------------------------------------------------- Package Methods
-
-    // --------------------------------------------------------- Private Methods
+    // ----------------------------------------------------------- Inner Classes
 
     /**
      * <p>
-     * Append the serialized version of the specified node to the string buffer being accumulated.
+     * Receives the SAX events of the body content of a <code>&lt;description&gt;</code> element and writes them as markup
+     * to the description buffer of the enclosing rule, until the end of the element itself.
      * </p>
-     *
-     * @param sb StringBuffer to which serialized text is appended
-     * @param node Node to be serialized
-     *
-     * @exception Exception if any processing exception occurs
      */
-    private void serialize(StringBuffer sb, Node node) throws Exception {
-
-        // Processing depends on the node type
-        switch (node.getNodeType()) {
-
-        case Node.ELEMENT_NODE:
-
-            if (digester.getLogger().isDebugEnabled()) {
-                digester.getLogger().debug("  Processing element node '" + node.getNodeName() + "'");
-            }
-
-            // Open the element and echo the attributes
-            sb.append("<");
-            sb.append(node.getNodeName());
-            NamedNodeMap attrs = node.getAttributes();
-            int n = attrs.getLength();
-            for (int i = 0; i < n; i++) {
-                Node attr = attrs.item(i);
-                sb.append(" ");
-                sb.append(attr.getNodeName());
-                sb.append("=\"");
-                sb.append(attr.getNodeValue());
-                sb.append("\"");
-            }
-
-            // Does this element have any children?
-            NodeList kids = node.getChildNodes();
-            int m = kids.getLength();
-            if (m > 0) {
-
-                // Yes -- serialize child elements and close parent element
-                sb.append(">");
-                for (int j = 0; j < m; j++) {
-                    serialize(sb, kids.item(j));
-                }
-                sb.append("</");
-                sb.append(node.getNodeName());
-                sb.append(">");
-
-            } else {
-
-                // No -- shorthand close of the parent element
-                sb.append(" />");
-
-            }
-            break;
-
-        case Node.TEXT_NODE:
-
-            if (digester.getLogger().isDebugEnabled()) {
-                digester.getLogger().debug("  Processing text node '" + node.getNodeValue() + "'");
-            }
-
-            // Append the text to our accumulating buffer
-            sb.append(node.getNodeValue());
-            break;
-
-        default:
-            throw new IllegalArgumentException("Cannot process node '" + node.getNodeName() + "' of type '" + node.getNodeType());
+    private class Capture extends DescriptionWriter {
+
+        private ContentHandler previous;
 
+        Capture() {
+            super(description);
         }
 
+        void start(ContentHandler previous, boolean writing) {
+            this.previous = previous;
+            start(writing);
+        }
+
+        @Override
+        void endContent(String uri, String localName, String qName) throws SAXException {
+            digester.setCustomContentHandler(previous);
+            previous = null;
+            digester.endElement(uri, localName, qName);
+        }
     }
 
 }
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.digester.rules;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * <p>
+ * Writes the SAX events of the body content of a <code>&lt;description&gt;</code> element as markup, see
+ * {@link DescriptionTextRule}: nested elements are written with their local name and their attributes in name order,
+ * elements without content are written as <code>&lt;name /&gt;</code> and text runs consisting only of whitespace are
+ * dropped. Attribute values are escaped; text is written as is.
+ * </p>
+ *
+ * <p>
+ * The end of the <code>&lt;description&gt;</code> element itself, at depth zero, is passed to
+ * {@link #endContent(String, String, String)}. When started without writing, the writer only tracks the depth to find
+ * that end.
+ * </p>
+ */
+class DescriptionWriter extends DefaultHandler {
+
+    private static final Comparator<String[]> BY_NAME = Comparator.comparing(attribute -> attribute[0]);
+
+    private final StringBuilder description;
+    private final StringBuilder text = new StringBuilder();
+
+    /** Whether the events come from a parser that is not namespace aware, see {@link #write(String)}. */
+    private final boolean qualifiedNames;
+
+    private int depth;
+
+    /** Whether events are written; when not, only the depth is tracked to find the end of the content. */
+    private boolean writing = true;
+
+    /** Whether the start tag of the innermost element is still open, i.e. the element has no content yet. */
+    private boolean startTagOpen;
+
+    DescriptionWriter(StringBuilder description) {
+        this(description, false);
+    }
+
+    private DescriptionWriter(StringBuilder description, boolean qualifiedNames) {
+        this.description = description;
+        this.qualifiedNames = qualifiedNames;
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    /**
+     * <p>
+     * Return the description for the given body content, as captured from the source document, written as it would
+     * have been written while parsing the document.
+     * </p>
+     *
+     * <p>
+     * The content is parsed on its own, without namespace awareness, so prefixes declared outside of it do not need to
+     * be declared; the prefixes are removed from the names and namespace declarations are dropped instead.
+     * </p>
+     *
+     * @exception IllegalStateException if the content cannot be parsed
+     */
+    static String write(String content) {
+
+        StringBuilder description = new StringBuilder();
+        DescriptionWriter writer = new DescriptionWriter(description, true) {
+
+            private boolean root = true;
+
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+                // Skip the wrapper element
+                if (root) {
+                    root = false;
+                    return;
+                }
+                super.startElement(uri, localName, qName, attributes);
+            }
+        };
+
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware(false);
+            factory.setValidating(false);
+            factory.newSAXParser().parse(new InputSource(new StringReader("<description>" + content + "</description>")), writer);
+        } catch (IOException | ParserConfigurationException | SAXException e) {
+            throw new IllegalStateException("Cannot parse description content", e);
+        }
+
+        return description.toString();
+
+    }
+
+    void start() {
+        start(true);
+    }
+
+    void start(boolean writing) {
+        this.writing = writing;
+        depth = 0;
+        startTagOpen = false;
+        text.setLength(0);
+    }
+
+    /**
+     * <p>
+     * Called on the end of the <code>&lt;description&gt;</code> element itself. Does nothing by default.
+     * </p>
+     */
+    void endContent(String uri, String localName, String qName) throws SAXException {
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+
+        if (!writing) {
+            depth++;
+            return;
+        }
+
+        flushText();
+        closeStartTag();
+
+        description.append('<').append(nameOf(localName, qName));
+
+        int count = attributes.getLength();
+        if (count > 0) {
+            String[][] sorted = new String[count][];
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                String qualifiedName = attributes.getQName(i);
+                if (qualifiedNames && (qualifiedName.equals("xmlns") || qualifiedName.startsWith("xmlns:"))) {
+                    continue;
+                }
+                sorted[kept++] = new String[] { nameOf(attributes.getLocalName(i), qualifiedName), attributes.getValue(i) };
+            }
+            if (kept > 1) {
+                Arrays.sort(sorted, 0, kept, BY_NAME);
+            }
+            for (int i = 0; i < kept; i++) {
+                description.append(' ').append(sorted[i][0]).append("=\"");
+                appendEscaped(description, sorted[i][1]);
+                description.append('"');
+            }
+        }
+
+        startTagOpen = true;
+        depth++;
+
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+
+        flushText();
+
+        if (depth == 0) {
+            endContent(uri, localName, qName);
+            return;
+        }
+
+        if (!writing) {
+            depth--;
+            return;
+        }
+
+        if (startTagOpen) {
+            description.append(" />");
+            startTagOpen = false;
+        } else {
+            description.append("</").append(nameOf(localName, qName)).append('>');
+        }
+        depth--;
+
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        if (writing) {
+            text.append(ch, start, length);
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private String nameOf(String localName, String qName) {
+        if (qualifiedNames) {
+            return qName.substring(qName.indexOf(':') + 1);
+        }
+        return localName == null || localName.isEmpty() ? qName : localName;
+    }
+
+    private void flushText() {
+
+        if (text.length() == 0) {
+            return;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > ' ') {
+                closeStartTag();
+                description.append(text);
+                break;
+            }
+        }
+        text.setLength(0);
+
+    }
+
+    private void closeStartTag() {
+
+        if (startTagOpen) {
+            description.append('>');
+            startTagOpen = false;
+        }
+
+    }
+
+    private static void appendEscaped(StringBuilder sb, String value) {
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '&':
+                sb.append("&amp;");
+                break;
+            case '<':
+                sb.append("&lt;");
+                break;
+            case '"':
+                sb.append("&quot;");
+                break;
+            default:
+                sb.append(c);
+            }
+        }
+
+    }
+
+}
@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.DisplayNameBean;
 import org.omnifaces.facesconfigparser.digester.beans.FeatureBean;
 import org.xml.sax.Attributes;
@@ -30,6 +33,30 @@ public class DisplayNameRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.DisplayNameBean";
 
+    private final Supplier<? extends DisplayNameBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>DisplayNameBean</code> instances.
+     * </p>
+     */
+    public DisplayNameRule() {
+        this(DisplayNameBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>DisplayNameBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>DisplayNameBean</code> instances, see {@link BeanFactory}
+     */
+    public DisplayNameRule(Supplier<? extends DisplayNameBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -65,8 +92,7 @@ public class DisplayNameRule extends FeatureRule {
             if (digester.getLogger().isDebugEnabled()) {
                 digester.getLogger().debug("[DisplayNameRule]{" + digester.getMatch() + "} New (" + lang + ")");
             }
-            Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-            dnb = (DisplayNameBean) clazz.newInstance();
+            dnb = factory.get();
             dnb.setLang(lang);
             fb.addDisplayName(dnb);
         } else {
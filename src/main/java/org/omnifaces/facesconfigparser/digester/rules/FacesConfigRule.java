@@ -16,8 +16,18 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
 import org.apache.commons.digester.Rule;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.ConverterBean;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.NavigationRuleBean;
+import org.omnifaces.facesconfigparser.digester.beans.ReferencedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
+import org.omnifaces.facesconfigparser.digester.beans.ValidatorBean;
 import org.xml.sax.Attributes;
 
 /**
@@ -30,6 +40,30 @@ public class FacesConfigRule extends Rule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean";
 
+    private final Supplier<? extends FacesConfigBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>FacesConfigBean</code> instances.
+     * </p>
+     */
+    public FacesConfigRule() {
+        this(FacesConfigBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>FacesConfigBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>FacesConfigBean</code> instances, see {@link BeanFactory}
+     */
+    public FacesConfigRule(Supplier<? extends FacesConfigBean> factory) {
+        this.factory = factory;
+    }
+
     private boolean pushed = false;
 
     // ------------------------------------------------------------ Rule Methods
@@ -62,8 +96,7 @@ public class FacesConfigRule extends Rule {
             if (digester.getLogger().isDebugEnabled()) {
                 digester.getLogger().debug("[FacesConfigRule]{" + digester.getMatch() + "} New " + CLASS_NAME);
             }
-            Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-            Object instance = clazz.newInstance();
+            Object instance = factory.get();
             digester.push(instance);
         } else {
             if (digester.getLogger().isDebugEnabled()) {
@@ -106,7 +139,7 @@ public class FacesConfigRule extends Rule {
             if (digester.getLogger().isDebugEnabled()) {
                 digester.getLogger().debug("[FacesConfigRule]{" + digester.getMatch() + "} Pop " + top.getClass());
             }
-            if (!CLASS_NAME.equals(top.getClass().getName())) {
+            if (!(top instanceof FacesConfigBean)) {
                 throw new IllegalStateException("Popped object is not a " + CLASS_NAME + " instance");
             }
         } else {
@@ -139,4 +172,112 @@ public class FacesConfigRule extends Rule {
 
     }
 
+    /**
+     * <p>
+     * Merge the artifacts of a separately parsed configuration into another one, with the same semantics as used for
+     * duplicate definitions within a single configuration file: artifacts of <code>top</code> that are not yet present in
+     * <code>old</code> are added to it, the others are merged into the existing artifact.
+     * </p>
+     *
+     * <p>
+     * Beans of <code>top</code> may end up being referenced by <code>old</code>, so <code>top</code> should not be used
+     * afterwards.
+     * </p>
+     *
+     * @param top the configuration to merge
+     * @param old the configuration to merge into
+     */
+    public static void mergeFacesConfig(FacesConfigBean top, FacesConfigBean old) {
+
+        // Merge singleton properties
+        if (top.getApplication() != null) {
+            if (old.getApplication() == null) {
+                old.setApplication(top.getApplication());
+            } else {
+                ApplicationRule.mergeApplication(top.getApplication(), old.getApplication());
+            }
+        }
+        if (top.getFactory() != null) {
+            if (old.getFactory() == null) {
+                old.setFactory(top.getFactory());
+            } else {
+                FactoryRule.mergeFactory(top.getFactory(), old.getFactory());
+            }
+        }
+        if (top.getLifecycle() != null) {
+            if (old.getLifecycle() == null) {
+                old.setLifecycle(top.getLifecycle());
+            } else {
+                LifecycleRule.mergeLifecycle(top.getLifecycle(), old.getLifecycle());
+            }
+        }
+
+        // Merge unique collections
+        for (ComponentBean component : top.getComponentsView()) {
+            ComponentBean cbo = old.getComponent(component.getComponentType());
+            if (cbo == null) {
+                old.addComponent(component);
+            } else {
+                ComponentRule.mergeComponent(component, cbo);
+            }
+        }
+        for (ConverterBean converter : top.getConvertersByIdView()) {
+            ConverterBean cbo = old.getConverterById(converter.getConverterId());
+            if (cbo == null) {
+                old.addConverter(converter);
+            } else {
+                ConverterRule.mergeConverter(converter, cbo);
+            }
+        }
+        for (ConverterBean converter : top.getConvertersByClassView()) {
+            ConverterBean cbo = old.getConverterByClass(converter.getConverterForClassName());
+            if (cbo == null) {
+                old.addConverter(converter);
+            } else {
+                ConverterRule.mergeConverter(converter, cbo);
+            }
+        }
+        for (ManagedBeanBean managedBean : top.getManagedBeansView()) {
+            ManagedBeanBean mbbo = old.getManagedBean(managedBean.getManagedBeanName());
+            if (mbbo == null) {
+                old.addManagedBean(managedBean);
+            } else {
+                ManagedBeanRule.mergeManagedBean(managedBean, mbbo);
+            }
+        }
+        for (NavigationRuleBean navigationRule : top.getNavigationRulesView()) {
+            NavigationRuleBean nrbo = old.getNavigationRule(navigationRule.getFromViewId());
+            if (nrbo == null) {
+                old.addNavigationRule(navigationRule);
+            } else {
+                NavigationRuleRule.mergeNavigationRule(navigationRule, nrbo);
+            }
+        }
+        for (ReferencedBeanBean referencedBean : top.getReferencedBeansView()) {
+            ReferencedBeanBean rbbo = old.getReferencedBean(referencedBean.getReferencedBeanName());
+            if (rbbo == null) {
+                old.addReferencedBean(referencedBean);
+            } else {
+                ReferencedBeanRule.mergeReferencedBean(referencedBean, rbbo);
+            }
+        }
+        for (RenderKitBean renderKit : top.getRenderKitsView()) {
+            RenderKitBean rkbo = old.getRenderKit(renderKit.getRenderKitId());
+            if (rkbo == null) {
+                old.addRenderKit(renderKit);
+            } else {
+                RenderKitRule.mergeRenderKit(renderKit, rkbo);
+            }
+        }
+        for (ValidatorBean validator : top.getValidatorsView()) {
+            ValidatorBean vbo = old.getValidator(validator.getValidatorId());
+            if (vbo == null) {
+                old.addValidator(validator);
+            } else {
+                ValidatorRule.mergeValidator(validator, vbo);
+            }
+        }
+
+    }
+
 }
@@ -16,12 +16,39 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.apache.commons.digester.Digester;
 import org.apache.commons.digester.RuleSetBase;
-import org.omnifaces.facesconfigparser.util.ToolsUtil;
+import org.omnifaces.facesconfigparser.digester.StringArena;
+import org.omnifaces.facesconfigparser.digester.StringPool;
+import org.omnifaces.facesconfigparser.digester.beans.ApplicationBean;
+import org.omnifaces.facesconfigparser.digester.beans.AttributeBean;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.ConverterBean;
+import org.omnifaces.facesconfigparser.digester.beans.DescriptionBean;
+import org.omnifaces.facesconfigparser.digester.beans.DisplayNameBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.FactoryBean;
+import org.omnifaces.facesconfigparser.digester.beans.IconBean;
+import org.omnifaces.facesconfigparser.digester.beans.LifecycleBean;
+import org.omnifaces.facesconfigparser.digester.beans.ListEntriesBean;
+import org.omnifaces.facesconfigparser.digester.beans.LocaleConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedPropertyBean;
+import org.omnifaces.facesconfigparser.digester.beans.MapEntriesBean;
+import org.omnifaces.facesconfigparser.digester.beans.MapEntryBean;
+import org.omnifaces.facesconfigparser.digester.beans.NavigationCaseBean;
+import org.omnifaces.facesconfigparser.digester.beans.NavigationRuleBean;
+import org.omnifaces.facesconfigparser.digester.beans.PropertyBean;
+import org.omnifaces.facesconfigparser.digester.beans.ReferencedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
+import org.omnifaces.facesconfigparser.digester.beans.RendererBean;
+import org.omnifaces.facesconfigparser.digester.beans.ResourceBundleBean;
+import org.omnifaces.facesconfigparser.digester.beans.ValidatorBean;
 
 /**
  * <p>
@@ -46,19 +73,107 @@ public class FacesConfigRuleSet extends RuleSetBase {
      */
     public FacesConfigRuleSet(boolean design, boolean generate, boolean runtime) {
 
+        this(design, generate, runtime, BeanFactory.DEFAULT);
+
+    }
+
+    /**
+     * <p>
+     * Construct a new instance that will incorporate rules for the profiles identified by our parameters, and whose rules
+     * create their configuration beans through the given factory.
+     * </p>
+     *
+     * @param design Include rules suitable for design time use in a tool
+     * @param generate Include rules suitable for generating component, renderer, and tag classes
+     * @param runtime Include rules suitable for runtime execution of an application
+     * @param beanFactory Factory for the configuration beans created by the rules
+     */
+    public FacesConfigRuleSet(boolean design, boolean generate, boolean runtime, BeanFactory beanFactory) {
+
+        this(design, generate, runtime, beanFactory, new StringPool());
+
+    }
+
+    /**
+     * <p>
+     * Construct a new instance that will incorporate rules for the profiles identified by our parameters, whose rules
+     * create their configuration beans through the given factory and deduplicate the element text they set through the
+     * given pool. Sharing one pool between the rule sets of several parses that are merged together also deduplicates
+     * values across those parses.
+     * </p>
+     *
+     * @param design Include rules suitable for design time use in a tool
+     * @param generate Include rules suitable for generating component, renderer, and tag classes
+     * @param runtime Include rules suitable for runtime execution of an application
+     * @param beanFactory Factory for the configuration beans created by the rules
+     * @param stringPool Pool for the element text set by the rules
+     */
+    public FacesConfigRuleSet(boolean design, boolean generate, boolean runtime, BeanFactory beanFactory, StringPool stringPool) {
+
+        this(design, generate, runtime, beanFactory, stringPool, null);
+
+    }
+
+    /**
+     * <p>
+     * Construct a new instance as {@link #FacesConfigRuleSet(boolean, boolean, boolean, BeanFactory, StringPool)} does,
+     * whose rules also store the text of descriptions off-heap in the given arena.
+     * </p>
+     *
+     * @param design Include rules suitable for design time use in a tool
+     * @param generate Include rules suitable for generating component, renderer, and tag classes
+     * @param runtime Include rules suitable for runtime execution of an application
+     * @param beanFactory Factory for the configuration beans created by the rules
+     * @param stringPool Pool for the element text set by the rules
+     * @param descriptionArena Arena for the text of descriptions, or <code>null</code> to hold it on the heap
+     */
+    public FacesConfigRuleSet(boolean design, boolean generate, boolean runtime, BeanFactory beanFactory, StringPool stringPool,
+            StringArena descriptionArena) {
+
+        this(design, generate, runtime, beanFactory, stringPool, descriptionArena, false);
+
+    }
+
+    /**
+     * <p>
+     * Construct a new instance as {@link #FacesConfigRuleSet(boolean, boolean, boolean, BeanFactory, StringPool, StringArena)}
+     * does, whose rules may also defer descriptions: instead of their text, the range of their body content in the source
+     * document is recorded, and the text is only read back from the document when it is first used. Descriptions that
+     * cannot be deferred, for example because the document has no system id, are held as without deferring.
+     * </p>
+     *
+     * @param design Include rules suitable for design time use in a tool
+     * @param generate Include rules suitable for generating component, renderer, and tag classes
+     * @param runtime Include rules suitable for runtime execution of an application
+     * @param beanFactory Factory for the configuration beans created by the rules
+     * @param stringPool Pool for the element text set by the rules
+     * @param descriptionArena Arena for the text of descriptions, or <code>null</code> to hold it on the heap
+     * @param deferDescriptions Whether to defer descriptions to their first use
+     */
+    public FacesConfigRuleSet(boolean design, boolean generate, boolean runtime, BeanFactory beanFactory, StringPool stringPool,
+            StringArena descriptionArena, boolean deferDescriptions) {
+
         this.design = design;
         this.generate = generate;
         this.runtime = runtime;
+        this.beanFactory = beanFactory;
+        this.stringPool = stringPool;
+        this.descriptionArena = descriptionArena;
+        this.sourceDocuments = deferDescriptions ? new HashMap<>() : null;
 
     }
 
     // ------------------------------------------------------ Instance Variables
 
-    private static final Logger logger = ToolsUtil.getLogger(ToolsUtil.FACES_LOGGER + ToolsUtil.RULES_LOGGER);
-
     private boolean design = false;
     private boolean generate = false;
     private boolean runtime = false;
+    private final BeanFactory beanFactory;
+    private final StringPool stringPool;
+    private final StringArena descriptionArena;
+
+    // Shared by the description rules of all elements, so that they share one handle per source document
+    private final Map<String, SourceDocument> sourceDocuments;
 
     // ---------------------------------------------------------- Public Methods
 
@@ -73,50 +188,50 @@ public class FacesConfigRuleSet extends RuleSetBase {
     public void addRuleInstances(Digester digester) {
 
         // faces-config
-        digester.addRule("faces-config", new FacesConfigRule());
+        digester.addRule("faces-config", new FacesConfigRule(beanFactory.supplier(FacesConfigBean.class)));
 
         // faces-config/application
         if (runtime) {
-            digester.addRule("faces-config/application", new ApplicationRule());
-            digester.addCallMethod("faces-config/application/action-listener", "addActionListener", 0);
-            digester.addRule("faces-config/application/locale-config", new LocaleConfigRule());
-            digester.addCallMethod("faces-config/application/locale-config/default-locale", "setDefaultLocale", 0);
-            digester.addCallMethod("faces-config/application/locale-config/supported-locale", "addSupportedLocale", 0);
-            digester.addCallMethod("faces-config/application/message-bundle", "setMessageBundle", 0);
-            digester.addCallMethod("faces-config/application/navigation-handler", "addNavigationHandler", 0);
-            digester.addCallMethod("faces-config/application/property-resolver", "addPropertyResolver", 0);
-            digester.addCallMethod("faces-config/application/state-manager", "addStateManager", 0);
-            digester.addCallMethod("faces-config/application/variable-resolver", "addVariableResolver", 0);
-            digester.addCallMethod("faces-config/application/view-handler", "addViewHandler", 0);
-            digester.addCallMethod("faces-config/application/default-render-kit-id", "setDefaultRenderKitId", 0);
-            digester.addCallMethod("faces-config/application/el-resolver", "addELResolver", 0);
+            digester.addRule("faces-config/application", new ApplicationRule(beanFactory.supplier(ApplicationBean.class)));
+            addSetter(digester, "faces-config/application/action-listener", ApplicationBean.class, ApplicationBean::addActionListener);
+            digester.addRule("faces-config/application/locale-config", new LocaleConfigRule(beanFactory.supplier(LocaleConfigBean.class)));
+            addSetter(digester, "faces-config/application/locale-config/default-locale", LocaleConfigBean.class, LocaleConfigBean::setDefaultLocale);
+            addSetter(digester, "faces-config/application/locale-config/supported-locale", LocaleConfigBean.class, LocaleConfigBean::addSupportedLocale);
+            addSetter(digester, "faces-config/application/message-bundle", ApplicationBean.class, ApplicationBean::setMessageBundle);
+            addSetter(digester, "faces-config/application/navigation-handler", ApplicationBean.class, ApplicationBean::addNavigationHandler);
+            addSetter(digester, "faces-config/application/property-resolver", ApplicationBean.class, ApplicationBean::addPropertyResolver);
+            addSetter(digester, "faces-config/application/state-manager", ApplicationBean.class, ApplicationBean::addStateManager);
+            addSetter(digester, "faces-config/application/variable-resolver", ApplicationBean.class, ApplicationBean::addVariableResolver);
+            addSetter(digester, "faces-config/application/view-handler", ApplicationBean.class, ApplicationBean::addViewHandler);
+            addSetter(digester, "faces-config/application/default-render-kit-id", ApplicationBean.class, ApplicationBean::setDefaultRenderKitId);
+            addSetter(digester, "faces-config/application/el-resolver", ApplicationBean.class, ApplicationBean::addELResolver);
             // faces-config/application/resource-bundle
-            digester.addRule("faces-config/application/resource-bundle", new ResourceBundleRule());
-            digester.addCallMethod("faces-config/application/resource-bundle/base-name", "setBasename", 0);
-            digester.addCallMethod("faces-config/application/resource-bundle/var", "setVar", 0);
+            digester.addRule("faces-config/application/resource-bundle", new ResourceBundleRule(beanFactory.supplier(ResourceBundleBean.class)));
+            addSetter(digester, "faces-config/application/resource-bundle/base-name", ResourceBundleBean.class, ResourceBundleBean::setBasename);
+            addSetter(digester, "faces-config/application/resource-bundle/var", ResourceBundleBean.class, ResourceBundleBean::setVar);
             addFeatureRules("faces-config/application/resource-bundle", digester);
         }
 
         // faces-config/component
-        digester.addRule("faces-config/component", new ComponentRule());
-        digester.addCallMethod("faces-config/component/component-class", "setComponentClass", 0);
-        digester.addCallMethod("faces-config/component/component-type", "setComponentType", 0);
+        digester.addRule("faces-config/component", new ComponentRule(beanFactory.supplier(ComponentBean.class)));
+        addSetter(digester, "faces-config/component/component-class", ComponentBean.class, ComponentBean::setComponentClass);
+        addSetter(digester, "faces-config/component/component-type", ComponentBean.class, ComponentBean::setComponentType);
         if (design || generate) {
             addAttributeRules("faces-config/component", digester);
             addFeatureRules("faces-config/component", digester);
             addPropertyRules("faces-config/component", digester);
-            digester.addCallMethod("faces-config/component/component-extension/base-component-type", "setBaseComponentType", 0);
-            digester.addCallMethod("faces-config/component/component-extension/renderer-type", "setRendererType", 0);
-            digester.addCallMethod("faces-config/component/component-extension/component-family", "setComponentFamily", 0);
-            digester.addCallMethod("faces-config/component/component-extension/ignore", "setIgnore", 0, new String[] { "java.lang.Boolean" });
+            addSetter(digester, "faces-config/component/component-extension/base-component-type", ComponentBean.class, ComponentBean::setBaseComponentType);
+            addSetter(digester, "faces-config/component/component-extension/renderer-type", ComponentBean.class, ComponentBean::setRendererType);
+            addSetter(digester, "faces-config/component/component-extension/component-family", ComponentBean.class, ComponentBean::setComponentFamily);
+            addBooleanSetter(digester, "faces-config/component/component-extension/ignore", ComponentBean.class, ComponentBean::setIgnore);
         }
 
         // faces-config/converter
         if (design || runtime) {
-            digester.addRule("faces-config/converter", new ConverterRule());
-            digester.addCallMethod("faces-config/converter/converter-class", "setConverterClass", 0);
-            digester.addCallMethod("faces-config/converter/converter-for-class", "setConverterForClass", 0);
-            digester.addCallMethod("faces-config/converter/converter-id", "setConverterId", 0);
+            digester.addRule("faces-config/converter", new ConverterRule(beanFactory.supplier(ConverterBean.class)));
+            addSetter(digester, "faces-config/converter/converter-class", ConverterBean.class, ConverterBean::setConverterClass);
+            addSetter(digester, "faces-config/converter/converter-for-class", ConverterBean.class, ConverterBean::setConverterForClass);
+            addSetter(digester, "faces-config/converter/converter-id", ConverterBean.class, ConverterBean::setConverterId);
             if (design) {
                 addAttributeRules("faces-config/converter", digester);
                 addFeatureRules("faces-config/converter", digester);
@@ -126,25 +241,25 @@ public class FacesConfigRuleSet extends RuleSetBase {
 
         // faces-config/factory
         if (runtime) {
-            digester.addRule("faces-config/factory", new FactoryRule());
-            digester.addCallMethod("faces-config/factory/application-factory", "addApplicationFactory", 0);
-            digester.addCallMethod("faces-config/factory/faces-context-factory", "addFacesContextFactory", 0);
-            digester.addCallMethod("faces-config/factory/lifecycle-factory", "addLifecycleFactory", 0);
-            digester.addCallMethod("faces-config/factory/render-kit-factory", "addRenderKitFactory", 0);
+            digester.addRule("faces-config/factory", new FactoryRule(beanFactory.supplier(FactoryBean.class)));
+            addSetter(digester, "faces-config/factory/application-factory", FactoryBean.class, FactoryBean::addApplicationFactory);
+            addSetter(digester, "faces-config/factory/faces-context-factory", FactoryBean.class, FactoryBean::addFacesContextFactory);
+            addSetter(digester, "faces-config/factory/lifecycle-factory", FactoryBean.class, FactoryBean::addLifecycleFactory);
+            addSetter(digester, "faces-config/factory/render-kit-factory", FactoryBean.class, FactoryBean::addRenderKitFactory);
         }
 
         // faces-config/lifecycle
         if (runtime) {
-            digester.addRule("faces-config/lifecycle", new LifecycleRule());
-            digester.addCallMethod("faces-config/lifecycle/phase-listener", "addPhaseListener", 0);
+            digester.addRule("faces-config/lifecycle", new LifecycleRule(beanFactory.supplier(LifecycleBean.class)));
+            addSetter(digester, "faces-config/lifecycle/phase-listener", LifecycleBean.class, LifecycleBean::addPhaseListener);
         }
 
         // faces-config/managed-bean
         if (design || runtime) {
-            digester.addRule("faces-config/managed-bean", new ManagedBeanRule());
-            digester.addCallMethod("faces-config/managed-bean/managed-bean-class", "setManagedBeanClass", 0);
-            digester.addCallMethod("faces-config/managed-bean/managed-bean-name", "setManagedBeanName", 0);
-            digester.addCallMethod("faces-config/managed-bean/managed-bean-scope", "setManagedBeanScope", 0);
+            digester.addRule("faces-config/managed-bean", new ManagedBeanRule(beanFactory.supplier(ManagedBeanBean.class)));
+            addSetter(digester, "faces-config/managed-bean/managed-bean-class", ManagedBeanBean.class, ManagedBeanBean::setManagedBeanClass);
+            addSetter(digester, "faces-config/managed-bean/managed-bean-name", ManagedBeanBean.class, ManagedBeanBean::setManagedBeanName);
+            addSetter(digester, "faces-config/managed-bean/managed-bean-scope", ManagedBeanBean.class, ManagedBeanBean::setManagedBeanScope);
             addFeatureRules("faces-config/managed-bean", digester);
             addListEntriesRules("faces-config/managed-bean", digester);
             addMapEntriesRules("faces-config/managed-bean", digester);
@@ -152,11 +267,11 @@ public class FacesConfigRuleSet extends RuleSetBase {
 
         // faces-config/managed-bean/managed-property
         if (design || runtime) {
-            digester.addRule("faces-config/managed-bean/managed-property", new ManagedPropertyRule());
-            digester.addCallMethod("faces-config/managed-bean/managed-property/property-class", "setPropertyClass", 0);
-            digester.addCallMethod("faces-config/managed-bean/managed-property/property-name", "setPropertyName", 0);
+            digester.addRule("faces-config/managed-bean/managed-property", new ManagedPropertyRule(beanFactory.supplier(ManagedPropertyBean.class)));
+            addSetter(digester, "faces-config/managed-bean/managed-property/property-class", ManagedPropertyBean.class, ManagedPropertyBean::setPropertyClass);
+            addSetter(digester, "faces-config/managed-bean/managed-property/property-name", ManagedPropertyBean.class, ManagedPropertyBean::setPropertyName);
             digester.addRule("faces-config/managed-bean/managed-property/null-value", new NullValueRule());
-            digester.addCallMethod("faces-config/managed-bean/managed-property/value", "setValue", 0);
+            addSetter(digester, "faces-config/managed-bean/managed-property/value", ManagedPropertyBean.class, ManagedPropertyBean::setValue);
             addFeatureRules("faces-config/managed-bean/managed-property", digester);
             addListEntriesRules("faces-config/managed-bean/managed-property", digester);
             addMapEntriesRules("faces-config/managed-bean/managed-property", digester);
@@ -164,61 +279,59 @@ public class FacesConfigRuleSet extends RuleSetBase {
 
         // faces-config/navigation-rule
         if (design || runtime) {
-            digester.addRule("faces-config/navigation-rule", new NavigationRuleRule());
-            digester.addCallMethod("faces-config/navigation-rule/from-view-id", "setFromViewId", 0);
+            digester.addRule("faces-config/navigation-rule", new NavigationRuleRule(beanFactory.supplier(NavigationRuleBean.class)));
+            addSetter(digester, "faces-config/navigation-rule/from-view-id", NavigationRuleBean.class, NavigationRuleBean::setFromViewId);
             addFeatureRules("faces-config/navigation-rule", digester);
         }
 
         // faces-config/navigation-rule/navigation-case
         if (design || runtime) {
-            digester.addRule("faces-config/navigation-rule/navigation-case", new NavigationCaseRule());
-            digester.addCallMethod("faces-config/navigation-rule/navigation-case/from-action", "setFromAction", 0);
-            digester.addCallMethod("faces-config/navigation-rule/navigation-case/from-outcome", "setFromOutcome", 0);
-            digester.addCallMethod("faces-config/navigation-rule/navigation-case/redirect", "setRedirectTrue", 0);
-            digester.addCallMethod("faces-config/navigation-rule/navigation-case/to-view-id", "setToViewId", 0);
+            digester.addRule("faces-config/navigation-rule/navigation-case", new NavigationCaseRule(beanFactory.supplier(NavigationCaseBean.class)));
+            addSetter(digester, "faces-config/navigation-rule/navigation-case/from-action", NavigationCaseBean.class, NavigationCaseBean::setFromAction);
+            addSetter(digester, "faces-config/navigation-rule/navigation-case/from-outcome", NavigationCaseBean.class, NavigationCaseBean::setFromOutcome);
+            addSetter(digester, "faces-config/navigation-rule/navigation-case/redirect", NavigationCaseBean.class, NavigationCaseBean::setRedirectTrue);
+            addSetter(digester, "faces-config/navigation-rule/navigation-case/to-view-id", NavigationCaseBean.class, NavigationCaseBean::setToViewId);
             addFeatureRules("faces-config/navigation-rule/navigation-case", digester);
         }
 
         // faces-config/referenced-bean
         if (design) {
-            digester.addRule("faces-config/referenced-bean", new ReferencedBeanRule());
-            digester.addCallMethod("faces-config/referenced-bean/referenced-bean-class", "setReferencedBeanClass", 0);
-            digester.addCallMethod("faces-config/referenced-bean/referenced-bean-name", "setReferencedBeanName", 0);
+            digester.addRule("faces-config/referenced-bean", new ReferencedBeanRule(beanFactory.supplier(ReferencedBeanBean.class)));
+            addSetter(digester, "faces-config/referenced-bean/referenced-bean-class", ReferencedBeanBean.class, ReferencedBeanBean::setReferencedBeanClass);
+            addSetter(digester, "faces-config/referenced-bean/referenced-bean-name", ReferencedBeanBean.class, ReferencedBeanBean::setReferencedBeanName);
             addFeatureRules("faces-config/referenced-bean", digester);
         }
 
         // faces-config/render-kit
-        digester.addRule("faces-config/render-kit", new RenderKitRule());
-        digester.addCallMethod("faces-config/render-kit/render-kit-class", "setRenderKitClass", 0);
-        digester.addCallMethod("faces-config/render-kit/render-kit-id", "setRenderKitId", 0);
+        digester.addRule("faces-config/render-kit", new RenderKitRule(beanFactory.supplier(RenderKitBean.class)));
+        addSetter(digester, "faces-config/render-kit/render-kit-class", RenderKitBean.class, RenderKitBean::setRenderKitClass);
+        addSetter(digester, "faces-config/render-kit/render-kit-id", RenderKitBean.class, RenderKitBean::setRenderKitId);
         if (design || generate) {
             addFeatureRules("faces-config/render-kit", digester);
         }
 
         // faces-config/render-kit/renderer
-        digester.addRule("faces-config/render-kit/renderer", new RendererRule());
-        digester.addCallMethod("faces-config/render-kit/renderer/component-family", "setComponentFamily", 0);
-        digester.addCallMethod("faces-config/render-kit/renderer/renderer-class", "setRendererClass", 0);
-        digester.addCallMethod("faces-config/render-kit/renderer/renderer-type", "setRendererType", 0);
+        digester.addRule("faces-config/render-kit/renderer", new RendererRule(beanFactory.supplier(RendererBean.class)));
+        addSetter(digester, "faces-config/render-kit/renderer/component-family", RendererBean.class, RendererBean::setComponentFamily);
+        addSetter(digester, "faces-config/render-kit/renderer/renderer-class", RendererBean.class, RendererBean::setRendererClass);
+        addSetter(digester, "faces-config/render-kit/renderer/renderer-type", RendererBean.class, RendererBean::setRendererType);
         if (design || generate) {
             addAttributeRules("faces-config/render-kit/renderer", digester);
             addFeatureRules("faces-config/render-kit/renderer", digester);
-            digester.addCallMethod("faces-config/render-kit/renderer/renderer-extension/renders-children", "setRendersChildren", 0,
-                    new String[] { "java.lang.Boolean" });
-            digester.addCallMethod("faces-config/render-kit/renderer/renderer-extension/exclude-attributes", "setExcludeAttributes", 0);
-            digester.addCallMethod("faces-config/render-kit/renderer/renderer-extension/jsp-ignore", "setIgnoreForJsp", 0,
-                    new String[] { "java.lang.Boolean" });
-            digester.addCallMethod("faces-config/render-kit/renderer/renderer-extension/ignore-all", "setIgnoreAll", 0, new String[] { "java.lang.Boolean" });
-            digester.addCallMethod("faces-config/render-kit/renderer/renderer-extension/tag-name", "setTagName", 0);
-
-            digester.addCallMethod("faces-config/render-kit/renderer/renderer-extension/body-tag", "setBodyTag", 0, new String[] { "java.lang.Boolean" });
+            addBooleanSetter(digester, "faces-config/render-kit/renderer/renderer-extension/renders-children", RendererBean.class, RendererBean::setRendersChildren);
+            addSetter(digester, "faces-config/render-kit/renderer/renderer-extension/exclude-attributes", RendererBean.class, RendererBean::setExcludeAttributes);
+            addBooleanSetter(digester, "faces-config/render-kit/renderer/renderer-extension/jsp-ignore", RendererBean.class, RendererBean::setIgnoreForJsp);
+            addBooleanSetter(digester, "faces-config/render-kit/renderer/renderer-extension/ignore-all", RendererBean.class, RendererBean::setIgnoreAll);
+            addSetter(digester, "faces-config/render-kit/renderer/renderer-extension/tag-name", RendererBean.class, RendererBean::setTagName);
+
+            addBooleanSetter(digester, "faces-config/render-kit/renderer/renderer-extension/body-tag", RendererBean.class, RendererBean::setBodyTag);
         }
 
         // faces-config/validator
         if (design || runtime) {
-            digester.addRule("faces-config/validator", new ValidatorRule());
-            digester.addCallMethod("faces-config/validator/validator-class", "setValidatorClass", 0);
-            digester.addCallMethod("faces-config/validator/validator-id", "setValidatorId", 0);
+            digester.addRule("faces-config/validator", new ValidatorRule(beanFactory.supplier(ValidatorBean.class)));
+            addSetter(digester, "faces-config/validator/validator-class", ValidatorBean.class, ValidatorBean::setValidatorClass);
+            addSetter(digester, "faces-config/validator/validator-id", ValidatorBean.class, ValidatorBean::setValidatorId);
             if (design) {
                 addAttributeRules("faces-config/validator", digester);
                 addFeatureRules("faces-config/validator", digester);
@@ -230,79 +343,84 @@ public class FacesConfigRuleSet extends RuleSetBase {
 
     // --------------------------------------------------------- Private Methods
 
+    private <T> void addSetter(Digester digester, String pattern, Class<T> type, BiConsumer<? super T, String> setter) {
+
+        digester.addRule(pattern, new SetterRule<>(type, setter, stringPool));
+
+    }
+
+    private static <T> void addBooleanSetter(Digester digester, String pattern, Class<T> type, SetterRule.BooleanSetter<? super T> setter) {
+
+        digester.addRule(pattern, SetterRule.forBoolean(type, setter));
+
+    }
+
     private void addAttributeRules(String prefix, Digester digester) {
 
-        digester.addRule(prefix + "/attribute", new AttributeRule());
+        digester.addRule(prefix + "/attribute", new AttributeRule(beanFactory.supplier(AttributeBean.class)));
         addFeatureRules(prefix + "/attribute", digester);
-        digester.addCallMethod(prefix + "/attribute/attribute-name", "setAttributeName", 0);
-        digester.addCallMethod(prefix + "/attribute/attribute-class", "setAttributeClass", 0);
-        digester.addCallMethod(prefix + "/attribute/suggested-value", "setSuggestedValue", 0);
-        digester.addCallMethod(prefix + "/attribute/attribute-extension/default-value", "setDefaultValue", 0);
-        digester.addCallMethod(prefix + "/attribute/attribute-extension/ignored-by-renderer", "setPassThrough", 0, new String[] { "java.lang.Boolean" });
-        digester.addCallMethod(prefix + "/attribute/attribute-extension/required", "setRequired", 0, new String[] { "java.lang.Boolean" });
-        digester.addCallMethod(prefix + "/attribute/attribute-extension/read-only", "setReadOnly", 0, new String[] { "java.lang.Boolean" });
-        digester.addCallMethod(prefix + "/attribute/attribute-extension/tag-attribute", "setTagAttribute", 0, new String[] { "java.lang.Boolean" });
-        digester.addCallMethod(prefix + "/attribute/attribute-extension/renderer-attribute-ignore", "setAttributeIgnoredForRenderer", 0,
-                new String[] { "java.lang.Boolean" });
-        digester.addCallMethod(prefix + "/attribute/attribute-extension/behavior", "addBehavior", 0, new String[] { "java.lang.String" });
-        digester.addCallMethod(prefix + "/attribute/attribute-extension/default-behavior", "setDefaultBehavior", 0, new String[] { "java.lang.Boolean" });
+        addSetter(digester, prefix + "/attribute/attribute-name", AttributeBean.class, AttributeBean::setAttributeName);
+        addSetter(digester, prefix + "/attribute/attribute-class", AttributeBean.class, AttributeBean::setAttributeClass);
+        addSetter(digester, prefix + "/attribute/suggested-value", AttributeBean.class, AttributeBean::setSuggestedValue);
+        addSetter(digester, prefix + "/attribute/attribute-extension/default-value", AttributeBean.class, AttributeBean::setDefaultValue);
+        addBooleanSetter(digester, prefix + "/attribute/attribute-extension/ignored-by-renderer", AttributeBean.class, AttributeBean::setPassThrough);
+        addBooleanSetter(digester, prefix + "/attribute/attribute-extension/required", AttributeBean.class, AttributeBean::setRequired);
+        // AttributeBean has no read-only property, <attribute-extension><read-only> is ignored
+        addBooleanSetter(digester, prefix + "/attribute/attribute-extension/tag-attribute", AttributeBean.class, AttributeBean::setTagAttribute);
+        addBooleanSetter(digester, prefix + "/attribute/attribute-extension/renderer-attribute-ignore", AttributeBean.class, AttributeBean::setAttributeIgnoredForRenderer);
+        addSetter(digester, prefix + "/attribute/attribute-extension/behavior", AttributeBean.class, AttributeBean::addBehavior);
+        addBooleanSetter(digester, prefix + "/attribute/attribute-extension/default-behavior", AttributeBean.class, AttributeBean::setDefaultBehavior);
     }
 
     private void addFeatureRules(String prefix, Digester digester) {
 
-        digester.addRule(prefix + "/description", new DescriptionRule());
-        try {
-            digester.addRule(prefix + "/description", new DescriptionTextRule());
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Cannot configure DescriptionTextRule for pattern '" + prefix + "/description" + "'", e);
-            throw new IllegalStateException("Cannot configure DescriptionTextRule for pattern '" + prefix + "/description" + "'");
-        }
-        digester.addRule(prefix + "/display-name", new DisplayNameRule());
-        digester.addRule(prefix + "/icon", new IconRule());
-        digester.addCallMethod(prefix + "/icon/large-icon", "setLargeIcon", 0);
-        digester.addCallMethod(prefix + "/icon/small-icon", "setSmallIcon", 0);
+        digester.addRule(prefix + "/description", new DescriptionRule(beanFactory.supplier(DescriptionBean.class)));
+        digester.addRule(prefix + "/description", new DescriptionTextRule(descriptionArena, sourceDocuments));
+        digester.addRule(prefix + "/display-name", new DisplayNameRule(beanFactory.supplier(DisplayNameBean.class)));
+        digester.addRule(prefix + "/icon", new IconRule(beanFactory.supplier(IconBean.class)));
+        addSetter(digester, prefix + "/icon/large-icon", IconBean.class, IconBean::setLargeIcon);
+        addSetter(digester, prefix + "/icon/small-icon", IconBean.class, IconBean::setSmallIcon);
 
     }
 
     private void addListEntriesRules(String prefix, Digester digester) {
 
-        digester.addRule(prefix + "/list-entries", new ListEntriesRule());
-        digester.addCallMethod(prefix + "/list-entries/null-value", "addNullValue"); // No arguments
-        digester.addCallMethod(prefix + "/list-entries/value", "addValue", 0);
-        digester.addCallMethod(prefix + "/list-entries/value-class", "setValueClass", 0);
+        digester.addRule(prefix + "/list-entries", new ListEntriesRule(beanFactory.supplier(ListEntriesBean.class)));
+        addSetter(digester, prefix + "/list-entries/null-value", ListEntriesBean.class, (bean, text) -> bean.addNullValue()); // No arguments
+        addSetter(digester, prefix + "/list-entries/value", ListEntriesBean.class, ListEntriesBean::addValue);
+        addSetter(digester, prefix + "/list-entries/value-class", ListEntriesBean.class, ListEntriesBean::setValueClass);
 
     }
 
     private void addMapEntriesRules(String prefix, Digester digester) {
 
-        digester.addRule(prefix + "/map-entries", new MapEntriesRule());
-        digester.addCallMethod(prefix + "/map-entries/key-class", "setKeyClass", 0);
-        digester.addCallMethod(prefix + "/map-entries/value-class", "setValueClass", 0);
+        digester.addRule(prefix + "/map-entries", new MapEntriesRule(beanFactory.supplier(MapEntriesBean.class)));
+        addSetter(digester, prefix + "/map-entries/key-class", MapEntriesBean.class, MapEntriesBean::setKeyClass);
+        addSetter(digester, prefix + "/map-entries/value-class", MapEntriesBean.class, MapEntriesBean::setValueClass);
 
-        digester.addRule(prefix + "/map-entries/map-entry", new MapEntryRule());
-        digester.addCallMethod(prefix + "/map-entries/map-entry/key", "setKey", 0);
+        digester.addRule(prefix + "/map-entries/map-entry", new MapEntryRule(beanFactory.supplier(MapEntryBean.class)));
+        addSetter(digester, prefix + "/map-entries/map-entry/key", MapEntryBean.class, MapEntryBean::setKey);
         digester.addRule(prefix + "/map-entries/map-entry/null-value", new NullValueRule()); // No arguments
-        digester.addCallMethod(prefix + "/map-entries/map-entry/value", "setValue", 0);
+        addSetter(digester, prefix + "/map-entries/map-entry/value", MapEntryBean.class, MapEntryBean::setValue);
 
     }
 
     private void addPropertyRules(String prefix, Digester digester) {
 
-        digester.addRule(prefix + "/property", new PropertyRule());
+        digester.addRule(prefix + "/property", new PropertyRule(beanFactory.supplier(PropertyBean.class)));
         addFeatureRules(prefix + "/property", digester);
-        digester.addCallMethod(prefix + "/property/property-name", "setPropertyName", 0);
-        digester.addCallMethod(prefix + "/property/property-class", "setPropertyClass", 0);
-        digester.addCallMethod(prefix + "/property/suggested-value", "setSuggestedValue", 0);
-        digester.addCallMethod(prefix + "/property/property-extension/default-value", "setDefaultValue", 0);
-        digester.addCallMethod(prefix + "/property/property-extension/ignored-by-renderer", "setPassThrough", 0, new String[] { "java.lang.Boolean" });
-        digester.addCallMethod(prefix + "/property/property-extension/read-only", "setReadOnly", 0, new String[] { "java.lang.Boolean" });
-        digester.addCallMethod(prefix + "/property/property-extension/required", "setRequired", 0, new String[] { "java.lang.Boolean" });
-        digester.addCallMethod(prefix + "/property/property-extension/tag-attribute", "setTagAttribute", 0, new String[] { "java.lang.Boolean" });
-        digester.addCallMethod(prefix + "/property/property-extension/method-signature", "setMethodSignature", 0, new String[] { "java.lang.String" });
-        digester.addCallMethod(prefix + "/property/property-extension/value-expression-enabled", "setValueExpressionEnabled", 0,
-                new String[] { "java.lang.Boolean" });
-        digester.addCallMethod(prefix + "/property/property-extension/behavior", "addBehavior", 0, new String[] { "java.lang.String" });
-        digester.addCallMethod(prefix + "/property/property-extension/default-behavior", "setDefaultBehavior", 0, new String[] { "java.lang.Boolean" });
+        addSetter(digester, prefix + "/property/property-name", PropertyBean.class, PropertyBean::setPropertyName);
+        addSetter(digester, prefix + "/property/property-class", PropertyBean.class, PropertyBean::setPropertyClass);
+        addSetter(digester, prefix + "/property/suggested-value", PropertyBean.class, PropertyBean::setSuggestedValue);
+        addSetter(digester, prefix + "/property/property-extension/default-value", PropertyBean.class, PropertyBean::setDefaultValue);
+        addBooleanSetter(digester, prefix + "/property/property-extension/ignored-by-renderer", PropertyBean.class, PropertyBean::setPassThrough);
+        addBooleanSetter(digester, prefix + "/property/property-extension/read-only", PropertyBean.class, PropertyBean::setReadOnly);
+        addBooleanSetter(digester, prefix + "/property/property-extension/required", PropertyBean.class, PropertyBean::setRequired);
+        addBooleanSetter(digester, prefix + "/property/property-extension/tag-attribute", PropertyBean.class, PropertyBean::setTagAttribute);
+        addSetter(digester, prefix + "/property/property-extension/method-signature", PropertyBean.class, PropertyBean::setMethodSignature);
+        addBooleanSetter(digester, prefix + "/property/property-extension/value-expression-enabled", PropertyBean.class, PropertyBean::setValueExpressionEnabled);
+        addSetter(digester, prefix + "/property/property-extension/behavior", PropertyBean.class, PropertyBean::addBehavior);
+        addBooleanSetter(digester, prefix + "/property/property-extension/default-behavior", PropertyBean.class, PropertyBean::setDefaultBehavior);
 
     }
 
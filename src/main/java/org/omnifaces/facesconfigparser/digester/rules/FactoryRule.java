@@ -16,7 +16,10 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
 import org.apache.commons.digester.Rule;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
 import org.omnifaces.facesconfigparser.digester.beans.FactoryBean;
 import org.xml.sax.Attributes;
@@ -31,6 +34,30 @@ public class FactoryRule extends Rule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.FactoryBean";
 
+    private final Supplier<? extends FactoryBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>FactoryBean</code> instances.
+     * </p>
+     */
+    public FactoryRule() {
+        this(FactoryBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>FactoryBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>FactoryBean</code> instances, see {@link BeanFactory}
+     */
+    public FactoryRule(Supplier<? extends FactoryBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -59,8 +86,7 @@ public class FactoryRule extends Rule {
             if (digester.getLogger().isDebugEnabled()) {
                 digester.getLogger().debug("[FactoryRule]{" + digester.getMatch() + "} New " + CLASS_NAME);
             }
-            Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-            fb = (FactoryBean) clazz.newInstance();
+            fb = factory.get();
             fcb.setFactory(fb);
         } else {
             if (digester.getLogger().isDebugEnabled()) {
@@ -103,7 +129,7 @@ public class FactoryRule extends Rule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[FactoryRule]{" + digester.getMatch() + "} Pop " + top.getClass());
         }
-        if (!CLASS_NAME.equals(top.getClass().getName())) {
+        if (!(top instanceof FactoryBean)) {
             throw new IllegalStateException("Popped object is not a " + CLASS_NAME + " instance");
         }
 
@@ -131,4 +157,26 @@ public class FactoryRule extends Rule {
 
     }
 
+    // --------------------------------------------------------- Package Methods
+
+    // Merge "top" into "old"
+    static void mergeFactory(FactoryBean top, FactoryBean old) {
+
+        // Append the factories in merge order, keeping repeats: each declaration decorates or
+        // adds to the previous ones, as when parsing a single file
+        for (String applicationFactory : top.getApplicationFactories()) {
+            old.addApplicationFactory(applicationFactory);
+        }
+        for (String facesContextFactory : top.getFacesContextFactories()) {
+            old.addFacesContextFactory(facesContextFactory);
+        }
+        for (String lifecycleFactory : top.getLifecycleFactories()) {
+            old.addLifecycleFactory(lifecycleFactory);
+        }
+        for (String renderKitFactory : top.getRenderKitFactories()) {
+            old.addRenderKitFactory(renderKitFactory);
+        }
+
+    }
+
 }
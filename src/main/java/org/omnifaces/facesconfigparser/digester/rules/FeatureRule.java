@@ -35,8 +35,8 @@ public abstract class FeatureRule extends Rule {
     // Merge "top" into "old"
     static void mergeDescription(DescriptionBean top, DescriptionBean old) {
 
-        if (top.getDescription() != null) {
-            old.setDescription(top.getDescription());
+        if (top.hasDescription()) {
+            old.setDescription(top);
         }
 
     }
@@ -53,33 +53,30 @@ public abstract class FeatureRule extends Rule {
     // Merge "top" into "old"
     static void mergeFeatures(FeatureBean top, FeatureBean old) {
 
-        DescriptionBean db[] = top.getDescriptions();
-        for (int i = 0; i < db.length; i++) {
-            DescriptionBean dbo = old.getDescription(db[i].getLang());
+        for (DescriptionBean db : top.getDescriptionsView()) {
+            DescriptionBean dbo = old.getDescription(db.getLang());
             if (dbo == null) {
-                old.addDescription(db[i]);
+                old.addDescription(db);
             } else {
-                mergeDescription(db[i], dbo);
+                mergeDescription(db, dbo);
             }
         }
 
-        DisplayNameBean dnb[] = top.getDisplayNames();
-        for (int i = 0; i < dnb.length; i++) {
-            DisplayNameBean dnbo = old.getDisplayName(dnb[i].getLang());
+        for (DisplayNameBean dnb : top.getDisplayNamesView()) {
+            DisplayNameBean dnbo = old.getDisplayName(dnb.getLang());
             if (dnbo == null) {
-                old.addDisplayName(dnb[i]);
+                old.addDisplayName(dnb);
             } else {
-                mergeDisplayName(dnb[i], dnbo);
+                mergeDisplayName(dnb, dnbo);
             }
         }
 
-        IconBean ib[] = top.getIcons();
-        for (int i = 0; i < ib.length; i++) {
-            IconBean ibo = old.getIcon(ib[i].getLang());
+        for (IconBean ib : top.getIconsView()) {
+            IconBean ibo = old.getIcon(ib.getLang());
             if (ibo == null) {
-                old.addIcon(ib[i]);
+                old.addIcon(ib);
             } else {
-                mergeIcon(ib[i], ibo);
+                mergeIcon(ib, ibo);
             }
         }
 
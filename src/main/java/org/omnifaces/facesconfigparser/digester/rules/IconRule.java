@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.FeatureBean;
 import org.omnifaces.facesconfigparser.digester.beans.IconBean;
 import org.xml.sax.Attributes;
@@ -30,6 +33,30 @@ public class IconRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.IconBean";
 
+    private final Supplier<? extends IconBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>IconBean</code> instances.
+     * </p>
+     */
+    public IconRule() {
+        this(IconBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>IconBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>IconBean</code> instances, see {@link BeanFactory}
+     */
+    public IconRule(Supplier<? extends IconBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -65,8 +92,7 @@ public class IconRule extends FeatureRule {
             if (digester.getLogger().isDebugEnabled()) {
                 digester.getLogger().debug("[IconRule]{" + digester.getMatch() + "} New (" + lang + ")");
             }
-            Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-            ib = (IconBean) clazz.newInstance();
+            ib = factory.get();
             ib.setLang(lang);
             fb.addIcon(ib);
         } else {
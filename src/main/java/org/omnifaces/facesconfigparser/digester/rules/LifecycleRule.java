@@ -16,7 +16,10 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
 import org.apache.commons.digester.Rule;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
 import org.omnifaces.facesconfigparser.digester.beans.LifecycleBean;
 import org.xml.sax.Attributes;
@@ -31,6 +34,30 @@ public class LifecycleRule extends Rule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.LifecycleBean";
 
+    private final Supplier<? extends LifecycleBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>LifecycleBean</code> instances.
+     * </p>
+     */
+    public LifecycleRule() {
+        this(LifecycleBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>LifecycleBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>LifecycleBean</code> instances, see {@link BeanFactory}
+     */
+    public LifecycleRule(Supplier<? extends LifecycleBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -59,8 +86,7 @@ public class LifecycleRule extends Rule {
             if (digester.getLogger().isDebugEnabled()) {
                 digester.getLogger().debug("[LifecycleRule]{" + digester.getMatch() + "} New " + CLASS_NAME);
             }
-            Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-            lb = (LifecycleBean) clazz.newInstance();
+            lb = factory.get();
             fcb.setLifecycle(lb);
         } else {
             if (digester.getLogger().isDebugEnabled()) {
@@ -103,7 +129,7 @@ public class LifecycleRule extends Rule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[LifecycleRule]{" + digester.getMatch() + "} Pop " + top.getClass());
         }
-        if (!CLASS_NAME.equals(top.getClass().getName())) {
+        if (!(top instanceof LifecycleBean)) {
             throw new IllegalStateException("Popped object is not a " + CLASS_NAME + " instance");
         }
 
@@ -131,4 +157,17 @@ public class LifecycleRule extends Rule {
 
     }
 
+    // --------------------------------------------------------- Package Methods
+
+    // Merge "top" into "old"
+    static void mergeLifecycle(LifecycleBean top, LifecycleBean old) {
+
+        // Merge unique collections. The adder skips phase listeners that are already present,
+        // so a repeat keeps the position of its first declaration
+        for (String phaseListener : top.getPhaseListenersView()) {
+            old.addPhaseListener(phaseListener);
+        }
+
+    }
+
 }
@@ -16,7 +16,10 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
 import org.apache.commons.digester.Rule;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.ListEntriesBean;
 import org.omnifaces.facesconfigparser.digester.beans.ListEntriesHolder;
 import org.xml.sax.Attributes;
@@ -31,6 +34,30 @@ public class ListEntriesRule extends Rule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.ListEntriesBean";
 
+    private final Supplier<? extends ListEntriesBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>ListEntriesBean</code> instances.
+     * </p>
+     */
+    public ListEntriesRule() {
+        this(ListEntriesBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>ListEntriesBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>ListEntriesBean</code> instances, see {@link BeanFactory}
+     */
+    public ListEntriesRule(Supplier<? extends ListEntriesBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -53,8 +80,7 @@ public class ListEntriesRule extends Rule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[ListEntriesRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        ListEntriesBean leb = (ListEntriesBean) clazz.newInstance();
+        ListEntriesBean leb = factory.get();
         digester.push(leb);
 
     }
@@ -144,12 +170,11 @@ public class ListEntriesRule extends Rule {
         // Merge common collections
 
         // Merge unique collections
-        String values[] = top.getValues();
-        for (int i = 0; i < values.length; i++) {
-            if (values[i] == null) {
+        for (String value : top.getValuesView()) {
+            if (value == null) {
                 old.addNullValue();
             } else {
-                old.addValue(values[i]);
+                old.addValue(value);
             }
         }
 
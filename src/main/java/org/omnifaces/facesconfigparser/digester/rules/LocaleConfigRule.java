@@ -16,8 +16,11 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
 import org.apache.commons.digester.Rule;
 import org.omnifaces.facesconfigparser.digester.beans.ApplicationBean;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.LocaleConfigBean;
 import org.xml.sax.Attributes;
 
@@ -31,6 +34,30 @@ public class LocaleConfigRule extends Rule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.LocaleConfigBean";
 
+    private final Supplier<? extends LocaleConfigBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>LocaleConfigBean</code> instances.
+     * </p>
+     */
+    public LocaleConfigRule() {
+        this(LocaleConfigBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>LocaleConfigBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>LocaleConfigBean</code> instances, see {@link BeanFactory}
+     */
+    public LocaleConfigRule(Supplier<? extends LocaleConfigBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -59,8 +86,7 @@ public class LocaleConfigRule extends Rule {
             if (digester.getLogger().isDebugEnabled()) {
                 digester.getLogger().debug("[LocaleConfigRule]{" + digester.getMatch() + "} New " + CLASS_NAME);
             }
-            Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-            lcb = (LocaleConfigBean) clazz.newInstance();
+            lcb = factory.get();
             ab.setLocaleConfig(lcb);
         } else {
             if (digester.getLogger().isDebugEnabled()) {
@@ -103,7 +129,7 @@ public class LocaleConfigRule extends Rule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[LocaleConfigRule]{" + digester.getMatch() + "} Pop " + top.getClass());
         }
-        if (!CLASS_NAME.equals(top.getClass().getName())) {
+        if (!(top instanceof LocaleConfigBean)) {
             throw new IllegalStateException("Popped object is not a " + CLASS_NAME + " instance");
         }
 
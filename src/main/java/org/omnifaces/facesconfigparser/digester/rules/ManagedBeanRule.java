@@ -17,7 +17,9 @@
 package org.omnifaces.facesconfigparser.digester.rules;
 
 import java.util.Arrays;
+import java.util.function.Supplier;
 
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
 import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
 import org.omnifaces.facesconfigparser.util.ToolsUtil;
@@ -34,6 +36,30 @@ public class ManagedBeanRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean";
 
+    private final Supplier<? extends ManagedBeanBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>ManagedBeanBean</code> instances.
+     * </p>
+     */
+    public ManagedBeanRule() {
+        this(ManagedBeanBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>ManagedBeanBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>ManagedBeanBean</code> instances, see {@link BeanFactory}
+     */
+    public ManagedBeanRule(Supplier<? extends ManagedBeanBean> factory) {
+        this.factory = factory;
+    }
+
     private static final String[] SCOPES = { "none", "application", "session", "request" };
 
     static {
@@ -62,8 +88,7 @@ public class ManagedBeanRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[ManagedBeanRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        ManagedBeanBean mbb = (ManagedBeanBean) clazz.newInstance();
+        ManagedBeanBean mbb = factory.get();
         digester.push(mbb);
 
     }
@@ -210,12 +235,12 @@ public class ManagedBeanRule extends FeatureRule {
         // - if the managed bean is itself a Map, make sure it has no
         // managed properties
         if (bean.getListEntries() != null) {
-            if (bean.getMapEntries() != null || bean.getManagedProperties().length != 0) {
+            if (bean.getMapEntries() != null || !bean.getManagedPropertiesView().isEmpty()) {
                 throw new IllegalStateException(
                         ToolsUtil.getMessage(ToolsUtil.MANAGED_BEAN_AS_LIST_CONFIG_ERROR_ID, new Object[] { bean.getManagedBeanName() }));
             }
         } else if (bean.getMapEntries() != null) {
-            if (bean.getManagedProperties().length != 0) {
+            if (!bean.getManagedPropertiesView().isEmpty()) {
                 throw new IllegalStateException(
                         ToolsUtil.getMessage(ToolsUtil.MANAGED_BEAN_AS_MAP_CONFIG_ERROR_ID, new Object[] { bean.getManagedBeanName() }));
             }
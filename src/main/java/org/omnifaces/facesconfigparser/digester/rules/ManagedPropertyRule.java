@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
 import org.omnifaces.facesconfigparser.digester.beans.ManagedPropertyBean;
 import org.omnifaces.facesconfigparser.util.ToolsUtil;
@@ -31,6 +34,30 @@ public class ManagedPropertyRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.ManagedPropertyBean";
 
+    private final Supplier<? extends ManagedPropertyBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>ManagedPropertyBean</code> instances.
+     * </p>
+     */
+    public ManagedPropertyRule() {
+        this(ManagedPropertyBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>ManagedPropertyBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>ManagedPropertyBean</code> instances, see {@link BeanFactory}
+     */
+    public ManagedPropertyRule(Supplier<? extends ManagedPropertyBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -53,8 +80,7 @@ public class ManagedPropertyRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[ManagedPropertyRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        ManagedPropertyBean mpb = (ManagedPropertyBean) clazz.newInstance();
+        ManagedPropertyBean mpb = factory.get();
         digester.push(mpb);
 
     }
@@ -163,13 +189,12 @@ public class ManagedPropertyRule extends FeatureRule {
     // Merge "top" into "old"
     static void mergeManagedProperties(ManagedBeanBean top, ManagedBeanBean old) {
 
-        ManagedPropertyBean[] mpb = top.getManagedProperties();
-        for (int i = 0; i < mpb.length; i++) {
-            ManagedPropertyBean mpbo = old.getManagedProperty(mpb[i].getPropertyName());
+        for (ManagedPropertyBean mpb : top.getManagedPropertiesView()) {
+            ManagedPropertyBean mpbo = old.getManagedProperty(mpb.getPropertyName());
             if (mpbo == null) {
-                old.addManagedProperty(mpb[i]);
+                old.addManagedProperty(mpb);
             } else {
-                mergeManagedProperty(mpb[i], mpbo);
+                mergeManagedProperty(mpb, mpbo);
             }
         }
 
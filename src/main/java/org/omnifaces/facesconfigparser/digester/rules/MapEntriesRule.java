@@ -16,7 +16,10 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
 import org.apache.commons.digester.Rule;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.MapEntriesBean;
 import org.omnifaces.facesconfigparser.digester.beans.MapEntriesHolder;
 import org.omnifaces.facesconfigparser.digester.beans.MapEntryBean;
@@ -32,6 +35,30 @@ public class MapEntriesRule extends Rule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.MapEntriesBean";
 
+    private final Supplier<? extends MapEntriesBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>MapEntriesBean</code> instances.
+     * </p>
+     */
+    public MapEntriesRule() {
+        this(MapEntriesBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>MapEntriesBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>MapEntriesBean</code> instances, see {@link BeanFactory}
+     */
+    public MapEntriesRule(Supplier<? extends MapEntriesBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -54,8 +81,7 @@ public class MapEntriesRule extends Rule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[MapEntriesRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        MapEntriesBean meb = (MapEntriesBean) clazz.newInstance();
+        MapEntriesBean meb = factory.get();
         digester.push(meb);
 
     }
@@ -148,9 +174,8 @@ public class MapEntriesRule extends Rule {
         // Merge common collections
 
         // Merge unique collections
-        MapEntryBean mapEntries[] = top.getMapEntries();
-        for (int i = 0; i < mapEntries.length; i++) {
-            old.addMapEntry(mapEntries[i]);
+        for (MapEntryBean mapEntry : top.getMapEntriesView()) {
+            old.addMapEntry(mapEntry);
         }
 
     }
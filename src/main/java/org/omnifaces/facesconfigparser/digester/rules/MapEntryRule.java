@@ -16,7 +16,10 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
 import org.apache.commons.digester.Rule;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.MapEntriesBean;
 import org.omnifaces.facesconfigparser.digester.beans.MapEntryBean;
 import org.xml.sax.Attributes;
@@ -31,6 +34,30 @@ public class MapEntryRule extends Rule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.MapEntryBean";
 
+    private final Supplier<? extends MapEntryBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>MapEntryBean</code> instances.
+     * </p>
+     */
+    public MapEntryRule() {
+        this(MapEntryBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>MapEntryBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>MapEntryBean</code> instances, see {@link BeanFactory}
+     */
+    public MapEntryRule(Supplier<? extends MapEntryBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -53,8 +80,7 @@ public class MapEntryRule extends Rule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[MapEntryRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        MapEntryBean meb = (MapEntryBean) clazz.newInstance();
+        MapEntryBean meb = factory.get();
         digester.push(meb);
 
     }
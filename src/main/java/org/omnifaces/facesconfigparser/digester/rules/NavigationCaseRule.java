@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.NavigationCaseBean;
 import org.omnifaces.facesconfigparser.digester.beans.NavigationRuleBean;
 import org.xml.sax.Attributes;
@@ -31,6 +34,30 @@ public class NavigationCaseRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.NavigationCaseBean";
 
+    private final Supplier<? extends NavigationCaseBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>NavigationCaseBean</code> instances.
+     * </p>
+     */
+    public NavigationCaseRule() {
+        this(NavigationCaseBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>NavigationCaseBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>NavigationCaseBean</code> instances, see {@link BeanFactory}
+     */
+    public NavigationCaseRule(Supplier<? extends NavigationCaseBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -53,8 +80,7 @@ public class NavigationCaseRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[NavigationCaseRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        NavigationCaseBean ncb = (NavigationCaseBean) clazz.newInstance();
+        NavigationCaseBean ncb = factory.get();
         digester.push(ncb);
 
     }
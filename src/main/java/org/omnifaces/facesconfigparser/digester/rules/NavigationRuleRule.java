@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
 import org.omnifaces.facesconfigparser.digester.beans.NavigationCaseBean;
 import org.omnifaces.facesconfigparser.digester.beans.NavigationRuleBean;
@@ -31,6 +34,30 @@ public class NavigationRuleRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.NavigationRuleBean";
 
+    private final Supplier<? extends NavigationRuleBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>NavigationRuleBean</code> instances.
+     * </p>
+     */
+    public NavigationRuleRule() {
+        this(NavigationRuleBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>NavigationRuleBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>NavigationRuleBean</code> instances, see {@link BeanFactory}
+     */
+    public NavigationRuleRule(Supplier<? extends NavigationRuleBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -53,8 +80,7 @@ public class NavigationRuleRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[NavigationRuleRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        NavigationRuleBean cb = (NavigationRuleBean) clazz.newInstance();
+        NavigationRuleBean cb = factory.get();
         digester.push(cb);
 
     }
@@ -143,9 +169,8 @@ public class NavigationRuleRule extends FeatureRule {
         mergeFeatures(top, old);
 
         // Merge unique collections
-        NavigationCaseBean navigationCases[] = top.getNavigationCases();
-        for (int i = 0; i < navigationCases.length; i++) {
-            old.addNavigationCase(navigationCases[i]);
+        for (NavigationCaseBean navigationCase : top.getNavigationCasesView()) {
+            old.addNavigationCase(navigationCase);
         }
 
     }
@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.PropertyBean;
 import org.omnifaces.facesconfigparser.digester.beans.PropertyHolder;
 import org.xml.sax.Attributes;
@@ -30,6 +33,30 @@ public class PropertyRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.PropertyBean";
 
+    private final Supplier<? extends PropertyBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>PropertyBean</code> instances.
+     * </p>
+     */
+    public PropertyRule() {
+        this(PropertyBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>PropertyBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>PropertyBean</code> instances, see {@link BeanFactory}
+     */
+    public PropertyRule(Supplier<? extends PropertyBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -52,8 +79,7 @@ public class PropertyRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[PropertyRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        PropertyBean pb = (PropertyBean) clazz.newInstance();
+        PropertyBean pb = factory.get();
         digester.push(pb);
 
     }
@@ -174,13 +200,12 @@ public class PropertyRule extends FeatureRule {
     // Merge "top" into "old"
     static void mergeProperties(PropertyHolder top, PropertyHolder old) {
 
-        PropertyBean pb[] = top.getProperties();
-        for (int i = 0; i < pb.length; i++) {
-            PropertyBean pbo = old.getProperty(pb[i].getPropertyName());
+        for (PropertyBean pb : top.getPropertiesView()) {
+            PropertyBean pbo = old.getProperty(pb.getPropertyName());
             if (pbo == null) {
-                old.addProperty(pb[i]);
+                old.addProperty(pb);
             } else {
-                mergeProperty(pb[i], pbo);
+                mergeProperty(pb, pbo);
             }
         }
 
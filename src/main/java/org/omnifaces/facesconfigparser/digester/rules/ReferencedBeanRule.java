@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
 import org.omnifaces.facesconfigparser.digester.beans.ReferencedBeanBean;
 import org.xml.sax.Attributes;
@@ -30,6 +33,30 @@ public class ReferencedBeanRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.ReferencedBeanBean";
 
+    private final Supplier<? extends ReferencedBeanBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>ReferencedBeanBean</code> instances.
+     * </p>
+     */
+    public ReferencedBeanRule() {
+        this(ReferencedBeanBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>ReferencedBeanBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>ReferencedBeanBean</code> instances, see {@link BeanFactory}
+     */
+    public ReferencedBeanRule(Supplier<? extends ReferencedBeanBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -52,8 +79,7 @@ public class ReferencedBeanRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[ReferencedBeanRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        ReferencedBeanBean rbb = (ReferencedBeanBean) clazz.newInstance();
+        ReferencedBeanBean rbb = factory.get();
         digester.push(rbb);
 
     }
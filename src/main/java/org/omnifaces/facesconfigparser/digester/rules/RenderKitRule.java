@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
 import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
 import org.xml.sax.Attributes;
@@ -30,6 +33,30 @@ public class RenderKitRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.RenderKitBean";
 
+    private final Supplier<? extends RenderKitBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>RenderKitBean</code> instances.
+     * </p>
+     */
+    public RenderKitRule() {
+        this(RenderKitBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>RenderKitBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>RenderKitBean</code> instances, see {@link BeanFactory}
+     */
+    public RenderKitRule(Supplier<? extends RenderKitBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -52,8 +79,7 @@ public class RenderKitRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[RenderKitRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        RenderKitBean rkb = (RenderKitBean) clazz.newInstance();
+        RenderKitBean rkb = factory.get();
         digester.push(rkb);
 
     }
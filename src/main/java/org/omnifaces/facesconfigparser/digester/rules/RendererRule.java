@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
 import org.omnifaces.facesconfigparser.digester.beans.RendererBean;
 import org.xml.sax.Attributes;
@@ -30,6 +33,30 @@ public class RendererRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.RendererBean";
 
+    private final Supplier<? extends RendererBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>RendererBean</code> instances.
+     * </p>
+     */
+    public RendererRule() {
+        this(RendererBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>RendererBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>RendererBean</code> instances, see {@link BeanFactory}
+     */
+    public RendererRule(Supplier<? extends RendererBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -52,8 +79,7 @@ public class RendererRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[RendererRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        RendererBean cb = (RendererBean) clazz.newInstance();
+        RendererBean cb = factory.get();
         digester.push(cb);
 
     }
@@ -160,13 +186,12 @@ public class RendererRule extends FeatureRule {
     // Merge "top" into "old"
     static void mergeRenderers(RenderKitBean top, RenderKitBean old) {
 
-        RendererBean rb[] = top.getRenderers();
-        for (int i = 0; i < rb.length; i++) {
-            RendererBean rbo = old.getRenderer(rb[i].getComponentFamily(), rb[i].getRendererType());
+        for (RendererBean rb : top.getRenderersView()) {
+            RendererBean rbo = old.getRenderer(rb.getComponentFamily(), rb.getRendererType());
             if (rbo == null) {
-                old.addRenderer(rb[i]);
+                old.addRenderer(rb);
             } else {
-                mergeRenderer(rb[i], rbo);
+                mergeRenderer(rb, rbo);
             }
         }
 
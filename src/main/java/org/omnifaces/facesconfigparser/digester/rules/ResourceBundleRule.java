@@ -16,7 +16,10 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
 import org.omnifaces.facesconfigparser.digester.beans.ApplicationBean;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.ResourceBundleBean;
 import org.xml.sax.Attributes;
 
@@ -30,6 +33,30 @@ public class ResourceBundleRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.ResourceBundleBean";
 
+    private final Supplier<? extends ResourceBundleBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>ResourceBundleBean</code> instances.
+     * </p>
+     */
+    public ResourceBundleRule() {
+        this(ResourceBundleBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>ResourceBundleBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>ResourceBundleBean</code> instances, see {@link BeanFactory}
+     */
+    public ResourceBundleRule(Supplier<? extends ResourceBundleBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -52,8 +79,7 @@ public class ResourceBundleRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[ResourceBundleRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        ResourceBundleBean cb = (ResourceBundleBean) clazz.newInstance();
+        ResourceBundleBean cb = factory.get();
         digester.push(cb);
 
     }
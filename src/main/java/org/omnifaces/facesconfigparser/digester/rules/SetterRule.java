@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.digester.rules;
+
+import java.util.function.BiConsumer;
+
+import org.apache.commons.digester.Rule;
+import org.omnifaces.facesconfigparser.digester.StringPool;
+
+/**
+ * <p>
+ * Digester rule for leaf elements, that passes the trimmed body text of the element to a precompiled setter of the bean
+ * at the top of the stack.
+ * </p>
+ *
+ * <p>
+ * This replaces <code>Digester.addCallMethod(pattern, methodName, 0)</code>: there is no reflective method lookup and
+ * boolean values are parsed by {@link #parseBoolean(String)} instead of through the converter registry. As with
+ * <code>CallMethodRule</code>, the setter is also called for an empty element, with an empty string. When the rule has
+ * a {@link StringPool}, the text is deduplicated through it before it is passed to the setter.
+ * </p>
+ *
+ * @param <T> the type of the bean at the top of the stack
+ */
+
+public class SetterRule<T> extends Rule {
+
+    private final Class<T> type;
+    private final BiConsumer<? super T, String> setter;
+    private final StringPool stringPool;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that passes the body text to the given setter.
+     * </p>
+     *
+     * @param type the type of the bean at the top of the stack
+     * @param setter the setter to pass the body text to
+     */
+    public SetterRule(Class<T> type, BiConsumer<? super T, String> setter) {
+        this(type, setter, null);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that passes the body text, deduplicated through the given pool, to the given setter.
+     * </p>
+     *
+     * @param type the type of the bean at the top of the stack
+     * @param setter the setter to pass the body text to
+     * @param stringPool the pool to deduplicate the body text through, or <code>null</code> to pass it as is
+     */
+    public SetterRule(Class<T> type, BiConsumer<? super T, String> setter, StringPool stringPool) {
+        this.type = type;
+        this.setter = setter;
+        this.stringPool = stringPool;
+    }
+
+    /**
+     * <p>
+     * Return a rule that passes the body text, parsed by {@link #parseBoolean(String)}, to the given boolean setter.
+     * </p>
+     *
+     * @param <T> the type of the bean at the top of the stack
+     * @param type the type of the bean at the top of the stack
+     * @param setter the setter to pass the parsed body text to
+     * @return the new rule
+     */
+    public static <T> SetterRule<T> forBoolean(Class<T> type, BooleanSetter<? super T> setter) {
+        return new SetterRule<>(type, (bean, text) -> setter.set(bean, parseBoolean(text)));
+    }
+
+    // ------------------------------------------------------------ Rule Methods
+
+    /**
+     * <p>
+     * Pass the trimmed body text to the setter of the bean at the top of the stack.
+     * </p>
+     *
+     * @param namespace the namespace URI of the matching element, or an empty string if the parser is not namespace aware
+     * or the element has no namespace
+     * @param name the local name if the parser is namespace aware, or just the element name otherwise
+     * @param text The text of the body of this element
+     *
+     * @exception IllegalStateException if the top stack element is not of the expected type
+     */
+    @Override
+    public void body(String namespace, String name, String text) throws Exception {
+
+        Object top = digester.peek();
+        if (!type.isInstance(top)) {
+            throw new IllegalStateException("No parent " + type.getName() + " on object stack");
+        }
+        String value = text.trim();
+        if (stringPool != null) {
+            value = stringPool.intern(value);
+        }
+        if (digester.getLogger().isDebugEnabled()) {
+            digester.getLogger().debug("[SetterRule]{" + digester.getMatch() + "} Set(" + value + ")");
+        }
+        setter.accept(type.cast(top), value);
+
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Parse a boolean the way <code>BooleanConverter</code> of commons-beanutils does when configured with a default of
+     * <code>false</code>: "true", "yes", "y", "on" and "1", ignoring case, are <code>true</code>, everything else is
+     * <code>false</code>.
+     * </p>
+     *
+     * @param text the text to parse, not <code>null</code>
+     * @return the parsed value
+     */
+    public static boolean parseBoolean(String text) {
+
+        switch (text.length()) {
+        case 1:
+            char c = text.charAt(0);
+            return c == '1' || c == 'y' || c == 'Y';
+        case 2:
+            return text.equalsIgnoreCase("on");
+        case 3:
+            return text.equalsIgnoreCase("yes");
+        case 4:
+            return text.equalsIgnoreCase("true");
+        default:
+            return false;
+        }
+
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuffer sb = new StringBuffer("SetterRule[type=");
+        sb.append(type.getName());
+        sb.append("]");
+        return (sb.toString());
+
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * <p>
+     * A setter of a primitive boolean property.
+     * </p>
+     *
+     * @param <T> the type of the bean
+     */
+    @FunctionalInterface
+    public interface BooleanSetter<T> {
+
+        /**
+         * @param bean the bean to set the property on
+         * @param value the value to set
+         */
+        void set(T bean, boolean value);
+    }
+
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.digester.rules;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_16BE;
+import static java.nio.charset.StandardCharsets.UTF_16LE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Handle on a parsed document, identified by its system id, from which ranges reported by the SAX
+ * <code>Locator</code> (one-based line and column numbers) can be read back after parsing.
+ * </p>
+ *
+ * <p>
+ * The length and modification time of the document are recorded when the handle is created, while the document is
+ * being parsed, and reading a range fails if either changed since. The text of the document is read on the first
+ * request and held softly, so that several ranges of the same document can be read in a row without keeping the
+ * document on the heap. Instances are thread-safe.
+ * </p>
+ *
+ * <p>
+ * A range can only be read back if it can be parsed on its own. That is not the case when it refers to a general entity
+ * declared in the internal DTD subset of the document, so a document that declares one is not {@link #isDeferrable()
+ * deferrable}. General entities declared in an external DTD are not looked for; the faces config DTDs declare none.
+ * </p>
+ */
+final class SourceDocument {
+
+    private static final Pattern ENCODING = Pattern.compile("^<\\?xml[^>]*encoding\\s*=\\s*[\"']([A-Za-z0-9._-]+)[\"']");
+    private static final Pattern GENERAL_ENTITY = Pattern.compile("<!ENTITY\\s+[^%\\s]");
+
+    /** How much of the document is read to find its internal DTD subset. */
+    private static final int PROLOG_SIZE = 64 * 1024;
+
+    private final String systemId;
+    private final Stamp stamp;
+    private final boolean deferrable;
+
+    private SoftReference<Content> content = new SoftReference<>(null);
+
+    SourceDocument(String systemId) {
+        this.systemId = systemId;
+
+        Stamp current = null;
+        boolean prologDeferrable = false;
+        try {
+            URLConnection connection = open();
+            current = new Stamp(connection);
+            try (InputStream stream = connection.getInputStream()) {
+                prologDeferrable = isDeferrable(decode(read(stream, PROLOG_SIZE)));
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not deferrable, so its descriptions are captured while parsing
+        }
+
+        this.stamp = current;
+        this.deferrable = prologDeferrable;
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    /**
+     * <p>
+     * Return the body content of the element whose start tag ends at the given start position and whose end tag ends at
+     * the given end position.
+     * </p>
+     *
+     * @exception IllegalStateException if the document cannot be read or the positions do not match its text
+     */
+    /**
+     * @return whether ranges of this document can be read back and parsed on their own
+     */
+    boolean isDeferrable() {
+        return deferrable;
+    }
+
+    synchronized String content(int startLine, int startColumn, int endLine, int endColumn) {
+
+        Content current = content.get();
+        if (current == null) {
+            current = new Content(read());
+            content = new SoftReference<>(current);
+        }
+
+        int start = current.offset(startLine, startColumn);
+        int end = current.text.lastIndexOf("</", current.offset(endLine, endColumn) - 1);
+        if (start < 0 || end < start) {
+            throw new IllegalStateException(
+                    "Source of " + systemId + " does not match " + startLine + ":" + startColumn + "-" + endLine + ":" + endColumn);
+        }
+
+        return current.text.substring(start, end);
+
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private String read() {
+
+        byte[] bytes;
+        try {
+            URLConnection connection = open();
+            try (InputStream stream = connection.getInputStream()) {
+                if (!new Stamp(connection).equals(stamp)) {
+                    throw new IllegalStateException("Source " + systemId + " changed since it was parsed");
+                }
+                bytes = read(stream, Integer.MAX_VALUE);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + systemId, e);
+        }
+
+        if (stamp.length >= 0 && bytes.length != stamp.length) {
+            throw new IllegalStateException("Source " + systemId + " changed since it was parsed");
+        }
+
+        return decode(bytes);
+
+    }
+
+    private URLConnection open() throws IOException {
+        URLConnection connection = new URL(systemId).openConnection();
+        connection.setUseCaches(false);
+        return connection;
+    }
+
+    private static byte[] read(InputStream stream, int limit) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        for (int length = stream.read(buffer); length != -1; length = stream.read(buffer)) {
+            bytes.write(buffer, 0, length);
+            if (bytes.size() >= limit) {
+                break;
+            }
+        }
+
+        return bytes.toByteArray();
+    }
+
+    // A document is deferrable unless its internal DTD subset declares a general entity, or does not end in the prolog
+    private static boolean isDeferrable(String prolog) {
+
+        int doctype = prolog.indexOf("<!DOCTYPE");
+        if (doctype < 0) {
+            return true;
+        }
+
+        int subset = prolog.indexOf('[', doctype);
+        int end = prolog.indexOf('>', doctype);
+        if (end >= 0 && (subset < 0 || end < subset)) {
+            return true;
+        }
+
+        int subsetEnd = prolog.indexOf("]", subset);
+        return subsetEnd >= 0 && !GENERAL_ENTITY.matcher(prolog.substring(subset, subsetEnd)).find();
+
+    }
+
+    // The byte order mark, if any, is not part of the text the Locator counts in
+    private static String decode(byte[] bytes) {
+
+        if (bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF) {
+            return new String(bytes, 3, bytes.length - 3, UTF_8);
+        }
+        if (bytes.length >= 2 && (bytes[0] & 0xFF) == 0xFE && (bytes[1] & 0xFF) == 0xFF) {
+            return new String(bytes, 2, bytes.length - 2, UTF_16BE);
+        }
+        if (bytes.length >= 2 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xFE) {
+            return new String(bytes, 2, bytes.length - 2, UTF_16LE);
+        }
+
+        Matcher declaration = ENCODING.matcher(new String(bytes, 0, Math.min(bytes.length, 256), ISO_8859_1));
+        Charset charset = declaration.find() ? Charset.forName(declaration.group(1)) : UTF_8;
+
+        return new String(bytes, charset);
+
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * <p>
+     * The length and modification time of a document, either of which is <code>-1</code> or <code>0</code> if unknown.
+     * </p>
+     */
+    private static final class Stamp {
+
+        private final long length;
+        private final long lastModified;
+
+        Stamp(URLConnection connection) {
+            this.length = connection.getContentLengthLong();
+            this.lastModified = connection.getLastModified();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Stamp)) {
+                return false;
+            }
+
+            Stamp other = (Stamp) object;
+            return length == other.length && lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(length, lastModified);
+        }
+    }
+
+    /**
+     * <p>
+     * The text of the document with the offsets of its lines, where a line ends at <code>\n</code>, <code>\r\n</code> or
+     * <code>\r</code>.
+     * </p>
+     */
+    private static final class Content {
+
+        private final String text;
+        private final int[] lineStarts;
+
+        Content(String text) {
+            this.text = text;
+
+            int[] starts = new int[64];
+            int lines = 1;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\n' || c == '\r' && (i + 1 == text.length() || text.charAt(i + 1) != '\n')) {
+                    if (lines == starts.length) {
+                        starts = Arrays.copyOf(starts, lines * 2);
+                    }
+                    starts[lines++] = i + 1;
+                }
+            }
+            this.lineStarts = Arrays.copyOf(starts, lines);
+        }
+
+        int offset(int line, int column) {
+            if (line < 1 || line > lineStarts.length) {
+                return -1;
+            }
+            int offset = lineStarts[line - 1] + column - 1;
+            return offset <= text.length() ? offset : -1;
+        }
+    }
+
+}
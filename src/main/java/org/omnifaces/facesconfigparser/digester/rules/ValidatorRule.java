@@ -16,6 +16,9 @@
 
 package org.omnifaces.facesconfigparser.digester.rules;
 
+import java.util.function.Supplier;
+
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
 import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
 import org.omnifaces.facesconfigparser.digester.beans.ValidatorBean;
 import org.xml.sax.Attributes;
@@ -30,6 +33,30 @@ public class ValidatorRule extends FeatureRule {
 
     private static final String CLASS_NAME = "org.omnifaces.facesconfigparser.digester.beans.ValidatorBean";
 
+    private final Supplier<? extends ValidatorBean> factory;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Construct a new rule that creates plain <code>ValidatorBean</code> instances.
+     * </p>
+     */
+    public ValidatorRule() {
+        this(ValidatorBean::new);
+    }
+
+    /**
+     * <p>
+     * Construct a new rule that creates <code>ValidatorBean</code> instances with the given factory.
+     * </p>
+     *
+     * @param factory the supplier of new <code>ValidatorBean</code> instances, see {@link BeanFactory}
+     */
+    public ValidatorRule(Supplier<? extends ValidatorBean> factory) {
+        this.factory = factory;
+    }
+
     // ------------------------------------------------------------ Rule Methods
 
     /**
@@ -52,8 +79,7 @@ public class ValidatorRule extends FeatureRule {
         if (digester.getLogger().isDebugEnabled()) {
             digester.getLogger().debug("[ValidatorRule]{" + digester.getMatch() + "} Push " + CLASS_NAME);
         }
-        Class clazz = digester.getClassLoader().loadClass(CLASS_NAME);
-        ValidatorBean vb = (ValidatorBean) clazz.newInstance();
+        ValidatorBean vb = factory.get();
         digester.push(vb);
 
     }
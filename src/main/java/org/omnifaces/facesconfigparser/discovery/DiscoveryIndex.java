@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.discovery;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.omnifaces.facesconfigparser.util.ToolsUtil;
+
+/**
+ * <p>
+ * Persistent index of discovery results, recording per jar fingerprint which faces config entries the jar contains.
+ * </p>
+ *
+ * <p>
+ * A jar is identified by its path, size and last modified time and, optionally, a CRC-32 of the tail of the file that
+ * holds the zip central directory. Jars without faces config entries are recorded as well, so that a warm start can skip
+ * them without opening them.
+ * </p>
+ *
+ * <p>
+ * The index is stored as a small binary file. A missing, unreadable or outdated index file is treated as empty; it is
+ * only a cache and is rebuilt by the next discovery.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class DiscoveryIndex {
+
+    private static final Logger logger = ToolsUtil.getLogger(ToolsUtil.FACES_LOGGER + ToolsUtil.CONFIG_LOGGER);
+
+    private static final int MAGIC = 0x46434458; // "FCDX"
+    private static final int VERSION = 1;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean modified;
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Load an index from the given file.
+     * </p>
+     *
+     * @param file the index file
+     * @return the loaded index, or an empty index if the file does not exist or cannot be read
+     */
+    public static DiscoveryIndex load(Path file) {
+        DiscoveryIndex index = new DiscoveryIndex();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                logger.log(Level.FINE, "Ignoring discovery index " + file + " of unknown format");
+                return index;
+            }
+
+            for (int count = in.readInt(); count > 0; count--) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                long crc = in.readLong();
+
+                int entryCount = in.readUnsignedShort();
+                List<String> facesConfigEntries = new ArrayList<>(entryCount);
+                for (int i = 0; i < entryCount; i++) {
+                    facesConfigEntries.add(in.readUTF());
+                }
+
+                index.entries.put(path, new Entry(size, lastModified, crc, facesConfigEntries));
+            }
+        } catch (NoSuchFileException e) {
+            // First start
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Ignoring unreadable discovery index " + file, e);
+            index.entries.clear();
+        }
+
+        return index;
+    }
+
+    /**
+     * <p>
+     * Store this index to the given file, if it was modified since it was loaded. The file is replaced atomically where
+     * the file system supports it.
+     * </p>
+     *
+     * @param file the index file
+     *
+     * @exception IllegalStateException if the index cannot be written
+     */
+    public void store(Path file) {
+        if (!modified) {
+            return;
+        }
+
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeInt(entries.size());
+
+                    for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                        Entry entry = mapEntry.getValue();
+                        out.writeUTF(mapEntry.getKey());
+                        out.writeLong(entry.size);
+                        out.writeLong(entry.lastModified);
+                        out.writeLong(entry.crc);
+                        out.writeShort(entry.facesConfigEntries.size());
+                        for (String name : entry.facesConfigEntries) {
+                            out.writeUTF(name);
+                        }
+                    }
+                }
+
+                try {
+                    Files.move(temp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write discovery index " + file, e);
+        }
+
+        modified = false;
+    }
+
+    /**
+     * @return the number of jars in this index
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    /**
+     * Return the recorded faces config entries of the jar at the given path, or <code>null</code> if the jar is not
+     * indexed or its fingerprint differs. A <code>crc</code> of <code>-1</code> means it was not computed and is not
+     * compared.
+     */
+    List<String> get(String path, long size, long lastModified, long crc) {
+        Entry entry = entries.get(path);
+        if (entry == null || entry.size != size || entry.lastModified != lastModified || (crc != -1 && entry.crc != crc)) {
+            return null;
+        }
+
+        return entry.facesConfigEntries;
+    }
+
+    void put(String path, long size, long lastModified, long crc, List<String> facesConfigEntries) {
+        entries.put(path, new Entry(size, lastModified, crc, Collections.unmodifiableList(new ArrayList<>(facesConfigEntries))));
+        modified = true;
+    }
+
+    /**
+     * Drop all jars that were not seen by the last discovery, so the index does not grow with removed jars.
+     */
+    void retainAll(Iterable<String> paths) {
+        Map<String, Entry> retained = new HashMap<>();
+        for (String path : paths) {
+            Entry entry = entries.get(path);
+            if (entry != null) {
+                retained.put(path, entry);
+            }
+        }
+
+        if (retained.size() != entries.size()) {
+            entries.clear();
+            entries.putAll(retained);
+            modified = true;
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static class Entry {
+
+        private final long size;
+        private final long lastModified;
+        private final long crc;
+        private final List<String> facesConfigEntries;
+
+        Entry(long size, long lastModified, long crc, List<String> facesConfigEntries) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.crc = crc;
+            this.facesConfigEntries = facesConfigEntries;
+        }
+    }
+
+}
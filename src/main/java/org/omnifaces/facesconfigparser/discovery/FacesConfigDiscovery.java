@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.discovery;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.omnifaces.facesconfigparser.util.ToolsUtil;
+
+/**
+ * <p>
+ * Discovers the faces config resources of the jars in a set of library directories.
+ * </p>
+ *
+ * <p>
+ * Discovery walks the directories and, for each jar, reads its zip central directory looking for
+ * <code>META-INF/faces-config.xml</code> and <code>META-INF/*.faces-config.xml</code> entries. Results are recorded in a
+ * {@link DiscoveryIndex}; on a warm start a jar whose fingerprint is unchanged is answered from the index without being
+ * opened, so only the jars that actually contribute faces config resources are touched when they are parsed.
+ * </p>
+ *
+ * <p>
+ * With <code>verifyCrc</code> enabled the fingerprint also includes a CRC-32 of the tail of each jar, which holds the zip
+ * central directory. This catches jars replaced in place with the same size and a preserved modification time, at the
+ * cost of reading up to 64 KiB per jar.
+ * </p>
+ */
+public class FacesConfigDiscovery {
+
+    private static final Logger logger = ToolsUtil.getLogger(ToolsUtil.FACES_LOGGER + ToolsUtil.CONFIG_LOGGER);
+
+    /** The standard faces config resource of a jar. */
+    public static final String FACES_CONFIG = "META-INF/faces-config.xml";
+
+    private static final String META_INF = "META-INF/";
+    private static final String FACES_CONFIG_SUFFIX = ".faces-config.xml";
+
+    /** Maximum size of the zip end of central directory record plus its comment. */
+    private static final int CRC_TAIL_SIZE = 64 * 1024;
+
+    private final DiscoveryIndex index;
+    private final boolean verifyCrc;
+
+    private int openedCount;
+    private int skippedCount;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * <p>
+     * Creates a new discovery backed by the given index.
+     * </p>
+     *
+     * @param index the index to consult and update, for example one obtained by {@link DiscoveryIndex#load(Path)}
+     * @param verifyCrc whether to include a CRC-32 of the jar's central directory in its fingerprint
+     */
+    public FacesConfigDiscovery(DiscoveryIndex index, boolean verifyCrc) {
+        this.index = index;
+        this.verifyCrc = verifyCrc;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Return the faces config resources of all jars in the given directories and their subdirectories, ordered by jar
+     * path and then as returned by {@link #findFacesConfigEntries(JarFile)}.
+     * </p>
+     *
+     * <p>
+     * The index is updated with the result, and jars that no longer exist are removed from it; call
+     * {@link DiscoveryIndex#store(Path)} to persist it.
+     * </p>
+     *
+     * @param directories the library directories to scan
+     * @return the <code>jar:</code> URLs of the discovered faces config resources
+     *
+     * @exception IllegalStateException if a directory cannot be walked or a jar cannot be read
+     */
+    public List<URL> discover(List<Path> directories) {
+        TreeMap<String, Path> jars = new TreeMap<>();
+        for (Path directory : directories) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                paths.filter(path -> path.toString().endsWith(".jar") && Files.isRegularFile(path))
+                     .forEach(path -> jars.put(path.toAbsolutePath().normalize().toString(), path));
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot scan " + directory, e);
+            }
+        }
+
+        List<URL> facesConfigs = new ArrayList<>();
+        for (Path jar : jars.values()) {
+            for (String name : getFacesConfigEntries(jar)) {
+                facesConfigs.add(toURL(jar, name));
+            }
+        }
+
+        index.retainAll(jars.keySet());
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Discovered " + facesConfigs.size() + " faces config resources in " + jars.size() + " jars, opened "
+                    + openedCount + " and skipped " + skippedCount + " unchanged jars");
+        }
+
+        return facesConfigs;
+    }
+
+    /**
+     * @return the number of jars whose zip directory was read by this discovery
+     */
+    public int getOpenedCount() {
+        return openedCount;
+    }
+
+    /**
+     * @return the number of jars answered from the index by this discovery
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * <p>
+     * Return the faces config entries of the given jar: <code>META-INF/faces-config.xml</code>, if present, followed by
+     * any <code>META-INF/*.faces-config.xml</code> entries in jar entry order.
+     * </p>
+     *
+     * @param jarFile the jar to inspect
+     * @return the entry names
+     */
+    public static List<String> findFacesConfigEntries(JarFile jarFile) {
+        List<String> names = new ArrayList<>();
+        if (jarFile.getJarEntry(FACES_CONFIG) != null) {
+            names.add(FACES_CONFIG);
+        }
+
+        for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+            String name = entries.nextElement().getName();
+            if (name.startsWith(META_INF) && name.indexOf('/', META_INF.length()) == -1 && name.endsWith(FACES_CONFIG_SUFFIX)) {
+                names.add(name);
+            }
+        }
+
+        return names;
+    }
+
+    /**
+     * <p>
+     * Return the <code>jar:</code> URL of an entry of the given jar.
+     * </p>
+     *
+     * @param jar the jar
+     * @param name the entry name
+     * @return the URL
+     */
+    public static URL toURL(Path jar, String name) {
+        try {
+            return new URL("jar:" + jar.toUri() + "!/" + name);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private List<String> getFacesConfigEntries(Path jar) {
+        String path = jar.toAbsolutePath().normalize().toString();
+
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+            long size = attributes.size();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            long crc = verifyCrc ? crc(jar, size) : -1;
+
+            List<String> names = index.get(path, size, lastModified, crc);
+            if (names != null) {
+                skippedCount++;
+                return names;
+            }
+
+            try (JarFile jarFile = new JarFile(jar.toFile())) {
+                names = findFacesConfigEntries(jarFile);
+            }
+            openedCount++;
+
+            index.put(path, size, lastModified, crc, names);
+            return names;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + jar, e);
+        }
+    }
+
+    private static long crc(Path jar, long size) throws IOException {
+        int length = (int) Math.min(size, CRC_TAIL_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        try (FileChannel channel = FileChannel.open(jar, StandardOpenOption.READ)) {
+            long position = size - length;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read == -1) {
+                    break;
+                }
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+
+        return crc.getValue();
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Immutable snapshot of an <code>&lt;attribute&gt;</code> element, see
+ * {@link org.omnifaces.facesconfigparser.digester.beans.AttributeBean}.
+ * </p>
+ */
+public final class AttributeModel {
+
+    static final int PASS_THROUGH = 1;
+    static final int REQUIRED = 1 << 1;
+    static final int TAG_ATTRIBUTE = 1 << 2;
+    static final int IGNORED_FOR_RENDERER = 1 << 3;
+    static final int DEFAULT_BEHAVIOR = 1 << 4;
+
+    private final String name;
+    private final String attributeClass;
+    private final String suggestedValue;
+    private final String defaultValue;
+    private final String[] behaviors;
+    private final int flags;
+
+    /** Cached structural hash code, computed on first use. */
+    private int hash;
+
+    AttributeModel(String name, String attributeClass, String suggestedValue, String defaultValue, String[] behaviors, int flags) {
+        this.name = name;
+        this.attributeClass = attributeClass;
+        this.suggestedValue = suggestedValue;
+        this.defaultValue = defaultValue;
+        this.behaviors = behaviors;
+        this.flags = flags;
+    }
+
+    // -------------------------------------------------------------- Properties
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAttributeClass() {
+        return attributeClass;
+    }
+
+    public String getSuggestedValue() {
+        return suggestedValue;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    public List<String> getBehaviors() {
+        return SortedArrays.asList(behaviors);
+    }
+
+    public boolean isPassThrough() {
+        return (flags & PASS_THROUGH) != 0;
+    }
+
+    public boolean isRequired() {
+        return (flags & REQUIRED) != 0;
+    }
+
+    public boolean isTagAttribute() {
+        return (flags & TAG_ATTRIBUTE) != 0;
+    }
+
+    public boolean isAttributeIgnoredForRenderer() {
+        return (flags & IGNORED_FOR_RENDERER) != 0;
+    }
+
+    public boolean isDefaultBehavior() {
+        return (flags & DEFAULT_BEHAVIOR) != 0;
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    int getFlags() {
+        return flags;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Two models are equal if all their values and children are equal.
+     * </p>
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof AttributeModel)) {
+            return false;
+        }
+
+        AttributeModel other = (AttributeModel) object;
+        return flags == other.flags && Objects.equals(name, other.name) && Objects.equals(attributeClass, other.attributeClass)
+                && Objects.equals(suggestedValue, other.suggestedValue) && Objects.equals(defaultValue, other.defaultValue)
+                && Arrays.equals(behaviors, other.behaviors);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = flags;
+            h = 31 * h + Objects.hashCode(name);
+            h = 31 * h + Objects.hashCode(attributeClass);
+            h = 31 * h + Objects.hashCode(suggestedValue);
+            h = 31 * h + Objects.hashCode(defaultValue);
+            h = 31 * h + Arrays.hashCode(behaviors);
+            hash = h;
+        }
+
+        return h;
+    }
+
+}
@@ -0,0 +1,522 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * Column-oriented form of a {@link FacesConfigModel}, for scans and aggregations over many configurations.
+ * </p>
+ *
+ * <p>
+ * Every table (components, converters, validators, renderers, attributes and properties) is a set of parallel
+ * <code>int</code> columns indexed by row, holding the {@link SymbolTable} ids of its identifiers, plus one
+ * <code>BitSet</code> holding its boolean flags. Relations are kept as offsets: the attributes of component
+ * <code>row</code> are the attribute rows from <code>getComponentAttributesStart(row)</code> inclusive to
+ * <code>getComponentAttributesEnd(row)</code> exclusive, and likewise for the other owners. Rows are in the order of
+ * the model, so component rows are in component type order and renderer rows in render kit, family and type order.
+ * </p>
+ *
+ * <p>
+ * Models created with the same symbol table can be joined on their ids. Descriptions, default and suggested values,
+ * behaviors and method signatures are not part of the columns. Instances are immutable.
+ * </p>
+ */
+public final class ColumnarModel {
+
+    private static final int RENDERS_CHILDREN = 0;
+    private static final int IGNORE_FOR_JSP = 1;
+    private static final int IGNORE_ALL = 2;
+    private static final int BODY_TAG = 3;
+    private static final int RENDERER_FLAGS = 4;
+
+    private static final int ATTRIBUTE_PASS_THROUGH = 0;
+    private static final int ATTRIBUTE_REQUIRED = 1;
+    private static final int ATTRIBUTE_TAG_ATTRIBUTE = 2;
+    private static final int IGNORED_FOR_RENDERER = 3;
+    private static final int ATTRIBUTE_DEFAULT_BEHAVIOR = 4;
+    private static final int ATTRIBUTE_FLAGS = 5;
+
+    private static final int PROPERTY_PASS_THROUGH = 0;
+    private static final int READ_ONLY = 1;
+    private static final int PROPERTY_REQUIRED = 2;
+    private static final int PROPERTY_TAG_ATTRIBUTE = 3;
+    private static final int METHOD_EXPRESSION_ENABLED = 4;
+    private static final int VALUE_EXPRESSION_ENABLED = 5;
+    private static final int PROPERTY_DEFAULT_BEHAVIOR = 6;
+    private static final int PROPERTY_FLAGS = 7;
+
+    private final SymbolTable symbols;
+
+    private final int[] componentTypes;
+    private final int[] componentClasses;
+    private final int[] componentFamilies;
+    private final int[] componentRendererTypes;
+    private final BitSet componentIgnore;
+    private final int[] componentAttributes;
+    private final int[] componentProperties;
+
+    private final int[] converterIds;
+    private final int[] converterForClasses;
+    private final int[] converterClasses;
+    private final int[] converterAttributes;
+    private final int[] converterProperties;
+
+    private final int[] validatorIds;
+    private final int[] validatorClasses;
+    private final int[] validatorAttributes;
+    private final int[] validatorProperties;
+
+    private final int[] rendererRenderKits;
+    private final int[] rendererFamilies;
+    private final int[] rendererTypes;
+    private final int[] rendererClasses;
+    private final BitSet rendererFlags;
+    private final int[] rendererAttributes;
+
+    private final int[] attributeNames;
+    private final int[] attributeClasses;
+    private final BitSet attributeFlags;
+
+    private final int[] propertyNames;
+    private final int[] propertyClasses;
+    private final BitSet propertyFlags;
+
+    private ColumnarModel(FacesConfigModel model, SymbolTable symbols) {
+        this.symbols = symbols;
+
+        List<ComponentModel> components = model.getComponents();
+        List<ConverterModel> converters = converters(model);
+        List<ValidatorModel> validators = model.getValidators();
+        List<RendererModel> renderers = new ArrayList<>();
+        List<RenderKitModel> rendererKits = new ArrayList<>();
+        for (RenderKitModel renderKit : model.getRenderKits()) {
+            for (RendererModel renderer : renderKit.getRenderers()) {
+                renderers.add(renderer);
+                rendererKits.add(renderKit);
+            }
+        }
+
+        int attributes = 0;
+        int properties = 0;
+        for (ComponentModel component : components) {
+            attributes += component.getAttributes().size();
+            properties += component.getProperties().size();
+        }
+        for (ConverterModel converter : converters) {
+            attributes += converter.getAttributes().size();
+            properties += converter.getProperties().size();
+        }
+        for (ValidatorModel validator : validators) {
+            attributes += validator.getAttributes().size();
+            properties += validator.getProperties().size();
+        }
+        for (RendererModel renderer : renderers) {
+            attributes += renderer.getAttributes().size();
+        }
+
+        attributeNames = new int[attributes];
+        attributeClasses = new int[attributes];
+        attributeFlags = new BitSet(attributes * ATTRIBUTE_FLAGS);
+        propertyNames = new int[properties];
+        propertyClasses = new int[properties];
+        propertyFlags = new BitSet(properties * PROPERTY_FLAGS);
+
+        int count = components.size();
+        componentTypes = new int[count];
+        componentClasses = new int[count];
+        componentFamilies = new int[count];
+        componentRendererTypes = new int[count];
+        componentIgnore = new BitSet(count);
+        componentAttributes = new int[count + 1];
+        componentProperties = new int[count + 1];
+        for (int row = 0; row < count; row++) {
+            ComponentModel component = components.get(row);
+            componentTypes[row] = symbols.id(component.getComponentType());
+            componentClasses[row] = symbols.id(component.getComponentClass());
+            componentFamilies[row] = symbols.id(component.getComponentFamily());
+            componentRendererTypes[row] = symbols.id(component.getRendererType());
+            componentIgnore.set(row, component.isIgnore());
+            componentAttributes[row + 1] = addAttributes(componentAttributes[row], component.getAttributes());
+            componentProperties[row + 1] = addProperties(componentProperties[row], component.getProperties());
+        }
+
+        count = converters.size();
+        converterIds = new int[count];
+        converterForClasses = new int[count];
+        converterClasses = new int[count];
+        converterAttributes = new int[count + 1];
+        converterProperties = new int[count + 1];
+        converterAttributes[0] = componentAttributes[components.size()];
+        converterProperties[0] = componentProperties[components.size()];
+        for (int row = 0; row < count; row++) {
+            ConverterModel converter = converters.get(row);
+            converterIds[row] = symbols.id(converter.getConverterId());
+            converterForClasses[row] = symbols.id(converter.getConverterForClassName());
+            converterClasses[row] = symbols.id(converter.getConverterClass());
+            converterAttributes[row + 1] = addAttributes(converterAttributes[row], converter.getAttributes());
+            converterProperties[row + 1] = addProperties(converterProperties[row], converter.getProperties());
+        }
+
+        count = validators.size();
+        validatorIds = new int[count];
+        validatorClasses = new int[count];
+        validatorAttributes = new int[count + 1];
+        validatorProperties = new int[count + 1];
+        validatorAttributes[0] = converterAttributes[converters.size()];
+        validatorProperties[0] = converterProperties[converters.size()];
+        for (int row = 0; row < count; row++) {
+            ValidatorModel validator = validators.get(row);
+            validatorIds[row] = symbols.id(validator.getValidatorId());
+            validatorClasses[row] = symbols.id(validator.getValidatorClass());
+            validatorAttributes[row + 1] = addAttributes(validatorAttributes[row], validator.getAttributes());
+            validatorProperties[row + 1] = addProperties(validatorProperties[row], validator.getProperties());
+        }
+
+        count = renderers.size();
+        rendererRenderKits = new int[count];
+        rendererFamilies = new int[count];
+        rendererTypes = new int[count];
+        rendererClasses = new int[count];
+        rendererFlags = new BitSet(count * RENDERER_FLAGS);
+        rendererAttributes = new int[count + 1];
+        rendererAttributes[0] = validatorAttributes[validators.size()];
+        for (int row = 0; row < count; row++) {
+            RendererModel renderer = renderers.get(row);
+            rendererRenderKits[row] = symbols.id(rendererKits.get(row).getRenderKitId());
+            rendererFamilies[row] = symbols.id(renderer.getComponentFamily());
+            rendererTypes[row] = symbols.id(renderer.getRendererType());
+            rendererClasses[row] = symbols.id(renderer.getRendererClass());
+            int bit = row * RENDERER_FLAGS;
+            rendererFlags.set(bit + RENDERS_CHILDREN, renderer.isRendersChildren());
+            rendererFlags.set(bit + IGNORE_FOR_JSP, renderer.isIgnoreForJsp());
+            rendererFlags.set(bit + IGNORE_ALL, renderer.isIgnoreAll());
+            rendererFlags.set(bit + BODY_TAG, renderer.isBodyTag());
+            rendererAttributes[row + 1] = addAttributes(rendererAttributes[row], renderer.getAttributes());
+        }
+    }
+
+    /**
+     * <p>
+     * Return the columnar form of the given model, with its identifiers mapped to ids by the given table.
+     * </p>
+     *
+     * @param model the model
+     * @param symbols the table to map identifiers with, shared by all models that are to be joined
+     * @return the new columnar model
+     */
+    public static ColumnarModel of(FacesConfigModel model, SymbolTable symbols) {
+        return new ColumnarModel(model, symbols);
+    }
+
+    // -------------------------------------------------------------- Properties
+
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    // ------------------------------------------------------- Component Columns
+
+    public int getComponentCount() {
+        return componentTypes.length;
+    }
+
+    public int getComponentType(int row) {
+        return componentTypes[row];
+    }
+
+    public int getComponentClass(int row) {
+        return componentClasses[row];
+    }
+
+    public int getComponentFamily(int row) {
+        return componentFamilies[row];
+    }
+
+    public int getComponentRendererType(int row) {
+        return componentRendererTypes[row];
+    }
+
+    public boolean isComponentIgnore(int row) {
+        return componentIgnore.get(row);
+    }
+
+    public int getComponentAttributesStart(int row) {
+        return componentAttributes[row];
+    }
+
+    public int getComponentAttributesEnd(int row) {
+        return componentAttributes[row + 1];
+    }
+
+    public int getComponentPropertiesStart(int row) {
+        return componentProperties[row];
+    }
+
+    public int getComponentPropertiesEnd(int row) {
+        return componentProperties[row + 1];
+    }
+
+    // ------------------------------------------------------- Converter Columns
+
+    /**
+     * @return the number of distinct converters, registered by id, by class or both
+     */
+    public int getConverterCount() {
+        return converterIds.length;
+    }
+
+    public int getConverterId(int row) {
+        return converterIds[row];
+    }
+
+    public int getConverterForClass(int row) {
+        return converterForClasses[row];
+    }
+
+    public int getConverterClass(int row) {
+        return converterClasses[row];
+    }
+
+    public int getConverterAttributesStart(int row) {
+        return converterAttributes[row];
+    }
+
+    public int getConverterAttributesEnd(int row) {
+        return converterAttributes[row + 1];
+    }
+
+    public int getConverterPropertiesStart(int row) {
+        return converterProperties[row];
+    }
+
+    public int getConverterPropertiesEnd(int row) {
+        return converterProperties[row + 1];
+    }
+
+    // ------------------------------------------------------- Validator Columns
+
+    public int getValidatorCount() {
+        return validatorIds.length;
+    }
+
+    public int getValidatorId(int row) {
+        return validatorIds[row];
+    }
+
+    public int getValidatorClass(int row) {
+        return validatorClasses[row];
+    }
+
+    public int getValidatorAttributesStart(int row) {
+        return validatorAttributes[row];
+    }
+
+    public int getValidatorAttributesEnd(int row) {
+        return validatorAttributes[row + 1];
+    }
+
+    public int getValidatorPropertiesStart(int row) {
+        return validatorProperties[row];
+    }
+
+    public int getValidatorPropertiesEnd(int row) {
+        return validatorProperties[row + 1];
+    }
+
+    // -------------------------------------------------------- Renderer Columns
+
+    public int getRendererCount() {
+        return rendererFamilies.length;
+    }
+
+    public int getRendererRenderKit(int row) {
+        return rendererRenderKits[row];
+    }
+
+    public int getRendererFamily(int row) {
+        return rendererFamilies[row];
+    }
+
+    public int getRendererType(int row) {
+        return rendererTypes[row];
+    }
+
+    public int getRendererClass(int row) {
+        return rendererClasses[row];
+    }
+
+    public boolean isRendersChildren(int row) {
+        return rendererFlags.get(row * RENDERER_FLAGS + RENDERS_CHILDREN);
+    }
+
+    public boolean isIgnoreForJsp(int row) {
+        return rendererFlags.get(row * RENDERER_FLAGS + IGNORE_FOR_JSP);
+    }
+
+    public boolean isIgnoreAll(int row) {
+        return rendererFlags.get(row * RENDERER_FLAGS + IGNORE_ALL);
+    }
+
+    public boolean isBodyTag(int row) {
+        return rendererFlags.get(row * RENDERER_FLAGS + BODY_TAG);
+    }
+
+    public int getRendererAttributesStart(int row) {
+        return rendererAttributes[row];
+    }
+
+    public int getRendererAttributesEnd(int row) {
+        return rendererAttributes[row + 1];
+    }
+
+    // ------------------------------------------------------- Attribute Columns
+
+    public int getAttributeCount() {
+        return attributeNames.length;
+    }
+
+    public int getAttributeName(int row) {
+        return attributeNames[row];
+    }
+
+    public int getAttributeClass(int row) {
+        return attributeClasses[row];
+    }
+
+    public boolean isAttributePassThrough(int row) {
+        return attributeFlags.get(row * ATTRIBUTE_FLAGS + ATTRIBUTE_PASS_THROUGH);
+    }
+
+    public boolean isAttributeRequired(int row) {
+        return attributeFlags.get(row * ATTRIBUTE_FLAGS + ATTRIBUTE_REQUIRED);
+    }
+
+    public boolean isAttributeTagAttribute(int row) {
+        return attributeFlags.get(row * ATTRIBUTE_FLAGS + ATTRIBUTE_TAG_ATTRIBUTE);
+    }
+
+    public boolean isAttributeIgnoredForRenderer(int row) {
+        return attributeFlags.get(row * ATTRIBUTE_FLAGS + IGNORED_FOR_RENDERER);
+    }
+
+    public boolean isAttributeDefaultBehavior(int row) {
+        return attributeFlags.get(row * ATTRIBUTE_FLAGS + ATTRIBUTE_DEFAULT_BEHAVIOR);
+    }
+
+    // -------------------------------------------------------- Property Columns
+
+    public int getPropertyCount() {
+        return propertyNames.length;
+    }
+
+    public int getPropertyName(int row) {
+        return propertyNames[row];
+    }
+
+    public int getPropertyClass(int row) {
+        return propertyClasses[row];
+    }
+
+    public boolean isPropertyPassThrough(int row) {
+        return propertyFlags.get(row * PROPERTY_FLAGS + PROPERTY_PASS_THROUGH);
+    }
+
+    public boolean isPropertyReadOnly(int row) {
+        return propertyFlags.get(row * PROPERTY_FLAGS + READ_ONLY);
+    }
+
+    public boolean isPropertyRequired(int row) {
+        return propertyFlags.get(row * PROPERTY_FLAGS + PROPERTY_REQUIRED);
+    }
+
+    public boolean isPropertyTagAttribute(int row) {
+        return propertyFlags.get(row * PROPERTY_FLAGS + PROPERTY_TAG_ATTRIBUTE);
+    }
+
+    public boolean isPropertyMethodExpressionEnabled(int row) {
+        return propertyFlags.get(row * PROPERTY_FLAGS + METHOD_EXPRESSION_ENABLED);
+    }
+
+    public boolean isPropertyValueExpressionEnabled(int row) {
+        return propertyFlags.get(row * PROPERTY_FLAGS + VALUE_EXPRESSION_ENABLED);
+    }
+
+    public boolean isPropertyDefaultBehavior(int row) {
+        return propertyFlags.get(row * PROPERTY_FLAGS + PROPERTY_DEFAULT_BEHAVIOR);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    // The converters registered by id, followed by those only registered by class
+    private static List<ConverterModel> converters(FacesConfigModel model) {
+        Map<ConverterModel, Boolean> seen = new IdentityHashMap<>();
+        List<ConverterModel> converters = new ArrayList<>(model.getConvertersById());
+        for (ConverterModel converter : converters) {
+            seen.put(converter, Boolean.TRUE);
+        }
+        for (ConverterModel converter : model.getConvertersByClass()) {
+            if (seen.put(converter, Boolean.TRUE) == null) {
+                converters.add(converter);
+            }
+        }
+
+        return converters;
+    }
+
+    // Fill the attribute rows from the given offset and return the end offset
+    private int addAttributes(int row, List<AttributeModel> attributes) {
+        for (AttributeModel attribute : attributes) {
+            attributeNames[row] = symbols.id(attribute.getName());
+            attributeClasses[row] = symbols.id(attribute.getAttributeClass());
+            int bit = row * ATTRIBUTE_FLAGS;
+            attributeFlags.set(bit + ATTRIBUTE_PASS_THROUGH, attribute.isPassThrough());
+            attributeFlags.set(bit + ATTRIBUTE_REQUIRED, attribute.isRequired());
+            attributeFlags.set(bit + ATTRIBUTE_TAG_ATTRIBUTE, attribute.isTagAttribute());
+            attributeFlags.set(bit + IGNORED_FOR_RENDERER, attribute.isAttributeIgnoredForRenderer());
+            attributeFlags.set(bit + ATTRIBUTE_DEFAULT_BEHAVIOR, attribute.isDefaultBehavior());
+            row++;
+        }
+
+        return row;
+    }
+
+    // Fill the property rows from the given offset and return the end offset
+    private int addProperties(int row, List<PropertyModel> properties) {
+        for (PropertyModel property : properties) {
+            propertyNames[row] = symbols.id(property.getName());
+            propertyClasses[row] = symbols.id(property.getPropertyClass());
+            int bit = row * PROPERTY_FLAGS;
+            propertyFlags.set(bit + PROPERTY_PASS_THROUGH, property.isPassThrough());
+            propertyFlags.set(bit + READ_ONLY, property.isReadOnly());
+            propertyFlags.set(bit + PROPERTY_REQUIRED, property.isRequired());
+            propertyFlags.set(bit + PROPERTY_TAG_ATTRIBUTE, property.isTagAttribute());
+            propertyFlags.set(bit + METHOD_EXPRESSION_ENABLED, property.isMethodExpressionEnabled());
+            propertyFlags.set(bit + VALUE_EXPRESSION_ENABLED, property.isValueExpressionEnabled());
+            propertyFlags.set(bit + PROPERTY_DEFAULT_BEHAVIOR, property.isDefaultBehavior());
+            row++;
+        }
+
+        return row;
+    }
+
+}
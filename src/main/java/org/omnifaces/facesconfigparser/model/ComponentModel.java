@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Immutable snapshot of a <code>&lt;component&gt;</code> element, see
+ * {@link org.omnifaces.facesconfigparser.digester.beans.ComponentBean}.
+ * </p>
+ */
+public final class ComponentModel {
+
+    private final String componentType;
+    private final String componentClass;
+    private final String baseComponentType;
+    private final String componentFamily;
+    private final String rendererType;
+    private final boolean ignore;
+    private final AttributeModel[] attributes;
+    private final PropertyModel[] properties;
+
+    /** Cached structural hash code, computed on first use. */
+    private int hash;
+
+    ComponentModel(String componentType, String componentClass, String baseComponentType, String componentFamily, String rendererType,
+            boolean ignore, AttributeModel[] attributes, PropertyModel[] properties) {
+        this.componentType = componentType;
+        this.componentClass = componentClass;
+        this.baseComponentType = baseComponentType;
+        this.componentFamily = componentFamily;
+        this.rendererType = rendererType;
+        this.ignore = ignore;
+        this.attributes = attributes;
+        this.properties = properties;
+    }
+
+    // -------------------------------------------------------------- Properties
+
+    public String getComponentType() {
+        return componentType;
+    }
+
+    public String getComponentClass() {
+        return componentClass;
+    }
+
+    public String getBaseComponentType() {
+        return baseComponentType;
+    }
+
+    public String getComponentFamily() {
+        return componentFamily;
+    }
+
+    public String getRendererType() {
+        return rendererType;
+    }
+
+    public boolean isIgnore() {
+        return ignore;
+    }
+
+    // ------------------------------------------ Attribute and Property Methods
+
+    public AttributeModel getAttribute(String name) {
+        return SortedArrays.find(attributes, AttributeModel::getName, name);
+    }
+
+    /**
+     * @return the attributes, in name order
+     */
+    public List<AttributeModel> getAttributes() {
+        return SortedArrays.asList(attributes);
+    }
+
+    public PropertyModel getProperty(String name) {
+        return SortedArrays.find(properties, PropertyModel::getName, name);
+    }
+
+    /**
+     * @return the properties, in name order
+     */
+    public List<PropertyModel> getProperties() {
+        return SortedArrays.asList(properties);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Two models are equal if all their values and children are equal.
+     * </p>
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof ComponentModel)) {
+            return false;
+        }
+
+        ComponentModel other = (ComponentModel) object;
+        return ignore == other.ignore && Objects.equals(componentType, other.componentType) && Objects.equals(componentClass, other.componentClass)
+                && Objects.equals(baseComponentType, other.baseComponentType) && Objects.equals(componentFamily, other.componentFamily)
+                && Objects.equals(rendererType, other.rendererType) && Arrays.equals(attributes, other.attributes)
+                && Arrays.equals(properties, other.properties);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Boolean.hashCode(ignore);
+            h = 31 * h + Objects.hashCode(componentType);
+            h = 31 * h + Objects.hashCode(componentClass);
+            h = 31 * h + Objects.hashCode(baseComponentType);
+            h = 31 * h + Objects.hashCode(componentFamily);
+            h = 31 * h + Objects.hashCode(rendererType);
+            h = 31 * h + Arrays.hashCode(attributes);
+            h = 31 * h + Arrays.hashCode(properties);
+            hash = h;
+        }
+
+        return h;
+    }
+
+}
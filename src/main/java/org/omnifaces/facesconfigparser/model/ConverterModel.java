@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Immutable snapshot of a <code>&lt;converter&gt;</code> element, see
+ * {@link org.omnifaces.facesconfigparser.digester.beans.ConverterBean}. The class the converter is registered for is
+ * kept by name only.
+ * </p>
+ */
+public final class ConverterModel {
+
+    private final String converterId;
+    private final String converterForClassName;
+    private final String converterClass;
+    private final AttributeModel[] attributes;
+    private final PropertyModel[] properties;
+
+    /** Cached structural hash code, computed on first use. */
+    private int hash;
+
+    ConverterModel(String converterId, String converterForClassName, String converterClass, AttributeModel[] attributes,
+            PropertyModel[] properties) {
+        this.converterId = converterId;
+        this.converterForClassName = converterForClassName;
+        this.converterClass = converterClass;
+        this.attributes = attributes;
+        this.properties = properties;
+    }
+
+    // -------------------------------------------------------------- Properties
+
+    public String getConverterId() {
+        return converterId;
+    }
+
+    public String getConverterForClassName() {
+        return converterForClassName;
+    }
+
+    public String getConverterClass() {
+        return converterClass;
+    }
+
+    // ------------------------------------------ Attribute and Property Methods
+
+    public AttributeModel getAttribute(String name) {
+        return SortedArrays.find(attributes, AttributeModel::getName, name);
+    }
+
+    /**
+     * @return the attributes, in name order
+     */
+    public List<AttributeModel> getAttributes() {
+        return SortedArrays.asList(attributes);
+    }
+
+    public PropertyModel getProperty(String name) {
+        return SortedArrays.find(properties, PropertyModel::getName, name);
+    }
+
+    /**
+     * @return the properties, in name order
+     */
+    public List<PropertyModel> getProperties() {
+        return SortedArrays.asList(properties);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Two models are equal if all their values and children are equal.
+     * </p>
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof ConverterModel)) {
+            return false;
+        }
+
+        ConverterModel other = (ConverterModel) object;
+        return Objects.equals(converterId, other.converterId) && Objects.equals(converterForClassName, other.converterForClassName)
+                && Objects.equals(converterClass, other.converterClass) && Arrays.equals(attributes, other.attributes)
+                && Arrays.equals(properties, other.properties);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hashCode(converterId);
+            h = 31 * h + Objects.hashCode(converterForClassName);
+            h = 31 * h + Objects.hashCode(converterClass);
+            h = 31 * h + Arrays.hashCode(attributes);
+            h = 31 * h + Arrays.hashCode(properties);
+            hash = h;
+        }
+
+        return h;
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+
+/**
+ * <p>
+ * Immutable, compact snapshot of the components, converters, validators and render kits of a merged
+ * {@link FacesConfigBean}, as returned by {@link FacesConfigBean#freeze()}.
+ * </p>
+ *
+ * <p>
+ * Every model keeps its children in an array sorted by key and finds them by binary search, so there are no map entry
+ * nodes, and keeps its boolean settings bit-packed in a single <code>int</code>. Fields are final and nothing but a
+ * cached hash code is written after construction, so a model can be shared across threads without synchronization. The
+ * strings are shared with the beans, not copied. Models are equal if they are structurally equal; see {@link ModelStore}
+ * to share equal subtrees across models.
+ * </p>
+ *
+ * <p>
+ * Descriptions, display names, icons, managed and referenced beans, navigation rules and the application, factory and
+ * lifecycle settings are not part of the snapshot; they remain available from the beans.
+ * </p>
+ *
+ * <p>
+ * Dropping the map entry nodes, the per-bean feature maps and the boolean fields brings the estimated retained size of
+ * the snapshot, as reported by {@link org.omnifaces.facesconfigparser.cache.ModelSizeEstimator}, down to roughly a
+ * quarter to a half of that of the bean graph it is frozen from; the larger the configuration, the larger the saving.
+ * </p>
+ */
+public final class FacesConfigModel {
+
+    private final ComponentModel[] components;
+    private final ConverterModel[] convertersById;
+    private final ConverterModel[] convertersByClass;
+    private final ValidatorModel[] validators;
+    private final RenderKitModel[] renderKits;
+
+    /** Cached structural hash code, computed on first use. */
+    private int hash;
+
+    FacesConfigModel(ComponentModel[] components, ConverterModel[] convertersById, ConverterModel[] convertersByClass, ValidatorModel[] validators,
+            RenderKitModel[] renderKits) {
+        this.components = components;
+        this.convertersById = convertersById;
+        this.convertersByClass = convertersByClass;
+        this.validators = validators;
+        this.renderKits = renderKits;
+    }
+
+    /**
+     * <p>
+     * Freeze the given merged configuration into a new immutable model.
+     * </p>
+     *
+     * @param fcb the merged configuration, which must not be modified while it is frozen
+     * @return the new model
+     */
+    public static FacesConfigModel freeze(FacesConfigBean fcb) {
+        return ModelFreezer.freeze(fcb);
+    }
+
+    /**
+     * <p>
+     * Freeze the given merged configuration into an immutable model that shares its subtrees with the equal ones already
+     * in the given store.
+     * </p>
+     *
+     * @param fcb the merged configuration, which must not be modified while it is frozen
+     * @param store the store to canonicalize the model with
+     * @return the canonical model
+     */
+    public static FacesConfigModel freeze(FacesConfigBean fcb, ModelStore store) {
+        return store.canonicalize(ModelFreezer.freeze(fcb));
+    }
+
+    // ------------------------------------------------------- Component Methods
+
+    public ComponentModel getComponent(String componentType) {
+        return SortedArrays.find(components, ComponentModel::getComponentType, componentType);
+    }
+
+    /**
+     * @return the components, in component type order
+     */
+    public List<ComponentModel> getComponents() {
+        return SortedArrays.asList(components);
+    }
+
+    // ------------------------------------------------------- Converter Methods
+
+    public ConverterModel getConverterById(String converterId) {
+        return SortedArrays.find(convertersById, ConverterModel::getConverterId, converterId);
+    }
+
+    public ConverterModel getConverterByClass(String converterForClassName) {
+        return SortedArrays.find(convertersByClass, ConverterModel::getConverterForClassName, converterForClassName);
+    }
+
+    /**
+     * @return the converters registered by id, in id order
+     */
+    public List<ConverterModel> getConvertersById() {
+        return SortedArrays.asList(convertersById);
+    }
+
+    /**
+     * @return the converters registered by class, in class name order
+     */
+    public List<ConverterModel> getConvertersByClass() {
+        return SortedArrays.asList(convertersByClass);
+    }
+
+    // ------------------------------------------------------- Validator Methods
+
+    public ValidatorModel getValidator(String validatorId) {
+        return SortedArrays.find(validators, ValidatorModel::getValidatorId, validatorId);
+    }
+
+    /**
+     * @return the validators, in id order
+     */
+    public List<ValidatorModel> getValidators() {
+        return SortedArrays.asList(validators);
+    }
+
+    // ------------------------------------------------------ Render Kit Methods
+
+    public RenderKitModel getRenderKit(String renderKitId) {
+        return SortedArrays.find(renderKits, RenderKitModel::getRenderKitId, renderKitId);
+    }
+
+    /**
+     * @return the render kits, in id order
+     */
+    public List<RenderKitModel> getRenderKits() {
+        return SortedArrays.asList(renderKits);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Two models are equal if all their values and children are equal.
+     * </p>
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof FacesConfigModel)) {
+            return false;
+        }
+
+        FacesConfigModel other = (FacesConfigModel) object;
+        return Arrays.equals(components, other.components) && Arrays.equals(convertersById, other.convertersById)
+                && Arrays.equals(convertersByClass, other.convertersByClass) && Arrays.equals(validators, other.validators)
+                && Arrays.equals(renderKits, other.renderKits);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Arrays.hashCode(components);
+            h = 31 * h + Arrays.hashCode(convertersById);
+            h = 31 * h + Arrays.hashCode(convertersByClass);
+            h = 31 * h + Arrays.hashCode(validators);
+            h = 31 * h + Arrays.hashCode(renderKits);
+            hash = h;
+        }
+
+        return h;
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.omnifaces.facesconfigparser.digester.beans.AttributeBean;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.ConverterBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.PropertyBean;
+import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
+import org.omnifaces.facesconfigparser.digester.beans.RendererBean;
+import org.omnifaces.facesconfigparser.digester.beans.ValidatorBean;
+
+/**
+ * <p>
+ * Turns a merged <code>FacesConfigBean</code> graph into the models of this package.
+ * </p>
+ *
+ * <p>
+ * The views of the beans already iterate in key order (the beans keep their children in <code>TreeMap</code>s), so the
+ * arrays are filled in iteration order and need no further sorting.
+ * </p>
+ *
+ * <p>
+ * Only components, converters, validators and render kits, with their attributes, properties and renderers, are
+ * frozen. Managed and referenced beans, navigation rules, the application, factory and lifecycle settings, and the
+ * descriptions, display names and icons of every bean are left out of the snapshot.
+ * </p>
+ */
+final class ModelFreezer {
+
+    private static final AttributeModel[] NO_ATTRIBUTES = new AttributeModel[0];
+    private static final PropertyModel[] NO_PROPERTIES = new PropertyModel[0];
+    private static final RendererModel[] NO_RENDERERS = new RendererModel[0];
+
+    private ModelFreezer() {
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    static FacesConfigModel freeze(FacesConfigBean fcb) {
+
+        Collection<ComponentBean> componentBeans = fcb.getComponentsView();
+        ComponentModel[] components = new ComponentModel[componentBeans.size()];
+        int i = 0;
+        for (ComponentBean cb : componentBeans) {
+            components[i++] = freeze(cb);
+        }
+
+        // A converter registered both by id and by class is frozen once and shared by both arrays
+        Map<ConverterBean, ConverterModel> converters = new IdentityHashMap<>();
+
+        Collection<ConverterBean> byIdBeans = fcb.getConvertersByIdView();
+        ConverterModel[] convertersById = new ConverterModel[byIdBeans.size()];
+        i = 0;
+        for (ConverterBean cb : byIdBeans) {
+            convertersById[i++] = converters.computeIfAbsent(cb, ModelFreezer::freeze);
+        }
+
+        Collection<ConverterBean> byClassBeans = fcb.getConvertersByClassView();
+        ConverterModel[] convertersByClass = new ConverterModel[byClassBeans.size()];
+        i = 0;
+        for (ConverterBean cb : byClassBeans) {
+            convertersByClass[i++] = converters.computeIfAbsent(cb, ModelFreezer::freeze);
+        }
+
+        Collection<ValidatorBean> validatorBeans = fcb.getValidatorsView();
+        ValidatorModel[] validators = new ValidatorModel[validatorBeans.size()];
+        i = 0;
+        for (ValidatorBean vb : validatorBeans) {
+            validators[i++] = freeze(vb);
+        }
+
+        Collection<RenderKitBean> renderKitBeans = fcb.getRenderKitsView();
+        RenderKitModel[] renderKits = new RenderKitModel[renderKitBeans.size()];
+        i = 0;
+        for (RenderKitBean rkb : renderKitBeans) {
+            renderKits[i++] = freeze(rkb);
+        }
+
+        return new FacesConfigModel(components, convertersById, convertersByClass, validators, renderKits);
+
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static ComponentModel freeze(ComponentBean cb) {
+        return new ComponentModel(cb.getComponentType(), cb.getComponentClass(), cb.getBaseComponentType(), cb.getComponentFamily(),
+                cb.getRendererType(), cb.isIgnore(), attributes(cb.getAttributesView()), properties(cb.getPropertiesView()));
+    }
+
+    private static ConverterModel freeze(ConverterBean cb) {
+        return new ConverterModel(cb.getConverterId(), cb.getConverterForClassName(), cb.getConverterClass(), attributes(cb.getAttributesView()),
+                properties(cb.getPropertiesView()));
+    }
+
+    private static ValidatorModel freeze(ValidatorBean vb) {
+        return new ValidatorModel(vb.getValidatorId(), vb.getValidatorClass(), attributes(vb.getAttributesView()), properties(vb.getPropertiesView()));
+    }
+
+    private static RenderKitModel freeze(RenderKitBean rkb) {
+
+        Collection<RendererBean> rendererBeans = rkb.getRenderersView();
+        if (rendererBeans.isEmpty()) {
+            return new RenderKitModel(rkb.getRenderKitId(), rkb.getRenderKitClass(), NO_RENDERERS);
+        }
+
+        RendererModel[] renderers = new RendererModel[rendererBeans.size()];
+        int i = 0;
+        for (RendererBean rb : rendererBeans) {
+            int flags = 0;
+            if (rb.isRendersChildren()) {
+                flags |= RendererModel.RENDERS_CHILDREN;
+            }
+            if (rb.isIgnoreForJsp()) {
+                flags |= RendererModel.IGNORE_FOR_JSP;
+            }
+            if (rb.isIgnoreAll()) {
+                flags |= RendererModel.IGNORE_ALL;
+            }
+            if (rb.isBodyTag()) {
+                flags |= RendererModel.BODY_TAG;
+            }
+            renderers[i++] = new RendererModel(rb.getComponentFamily(), rb.getRendererType(), rb.getRendererClass(), rb.getExcludeAttributes(),
+                    rb.getTagName(), flags, attributes(rb.getAttributesView()));
+        }
+
+        return new RenderKitModel(rkb.getRenderKitId(), rkb.getRenderKitClass(), renderers);
+
+    }
+
+    private static AttributeModel[] attributes(Collection<AttributeBean> beans) {
+
+        if (beans.isEmpty()) {
+            return NO_ATTRIBUTES;
+        }
+
+        AttributeModel[] attributes = new AttributeModel[beans.size()];
+        int i = 0;
+        for (AttributeBean ab : beans) {
+            int flags = 0;
+            if (ab.isPassThrough()) {
+                flags |= AttributeModel.PASS_THROUGH;
+            }
+            if (ab.isRequired()) {
+                flags |= AttributeModel.REQUIRED;
+            }
+            if (ab.isTagAttribute()) {
+                flags |= AttributeModel.TAG_ATTRIBUTE;
+            }
+            if (ab.isAttributeIgnoredForRenderer()) {
+                flags |= AttributeModel.IGNORED_FOR_RENDERER;
+            }
+            if (ab.isDefaultBehavior()) {
+                flags |= AttributeModel.DEFAULT_BEHAVIOR;
+            }
+            attributes[i++] = new AttributeModel(ab.getAttributeName(), ab.getAttributeClass(), ab.getSuggestedValue(), ab.getDefaultValue(),
+                    SortedArrays.toArray(ab.getBehaviors()), flags);
+        }
+
+        return attributes;
+
+    }
+
+    private static PropertyModel[] properties(Collection<PropertyBean> beans) {
+
+        if (beans.isEmpty()) {
+            return NO_PROPERTIES;
+        }
+
+        PropertyModel[] properties = new PropertyModel[beans.size()];
+        int i = 0;
+        for (PropertyBean pb : beans) {
+            int flags = 0;
+            if (pb.isPassThrough()) {
+                flags |= PropertyModel.PASS_THROUGH;
+            }
+            if (pb.isReadOnly()) {
+                flags |= PropertyModel.READ_ONLY;
+            }
+            if (pb.isRequired()) {
+                flags |= PropertyModel.REQUIRED;
+            }
+            if (pb.isTagAttribute()) {
+                flags |= PropertyModel.TAG_ATTRIBUTE;
+            }
+            if (pb.isMethodExpressionEnabled()) {
+                flags |= PropertyModel.METHOD_EXPRESSION_ENABLED;
+            }
+            if (pb.isValueExpressionEnabled()) {
+                flags |= PropertyModel.VALUE_EXPRESSION_ENABLED;
+            }
+            if (pb.isDefaultBehavior()) {
+                flags |= PropertyModel.DEFAULT_BEHAVIOR;
+            }
+            properties[i++] = new PropertyModel(pb.getPropertyName(), pb.getPropertyClass(), pb.getSuggestedValue(), pb.getDefaultValue(),
+                    pb.getMethodSignature(), SortedArrays.toArray(pb.getBehaviors()), flags);
+        }
+
+        return properties;
+
+    }
+
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Canonicalizing store for frozen models, that deduplicates structurally equal subtrees across all the models passed
+ * through it, so that tenants that use the same libraries share one instance of each component, converter, validator,
+ * renderer, attribute and property model, of each array of those, and of each string.
+ * </p>
+ *
+ * <p>
+ * Models are canonicalized bottom up: the children of a model are replaced by their canonical instances before the
+ * model itself is looked up, so equality checks within the store mostly end at reference comparisons. The store holds
+ * its canonical instances weakly: a subtree stays canonical for as long as a model that uses it is reachable, and is
+ * dropped from the store once the last such model is discarded, so the store does not pin the models of undeployed
+ * tenants. {@link #clear()} drops all of them at once. It is thread-safe.
+ * </p>
+ */
+public final class ModelStore {
+
+    // Keys and values are the same weak entry; lookups use a strong probe that is equal to the entry of an equal value
+    private final ConcurrentMap<Object, Entry> canonical = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Return a model equal to the given one, sharing every subtree that is equal to one already in this store.
+     * </p>
+     *
+     * @param model the model to canonicalize
+     * @return the canonical model
+     */
+    public FacesConfigModel canonicalize(FacesConfigModel model) {
+        FacesConfigModel existing = lookup(model);
+        if (existing != null) {
+            return existing;
+        }
+
+        ComponentModel[] components = new ComponentModel[model.getComponents().size()];
+        int i = 0;
+        for (ComponentModel component : model.getComponents()) {
+            components[i++] = intern(new ComponentModel(string(component.getComponentType()), string(component.getComponentClass()),
+                    string(component.getBaseComponentType()), string(component.getComponentFamily()), string(component.getRendererType()),
+                    component.isIgnore(), attributes(component.getAttributes()), properties(component.getProperties())));
+        }
+
+        ConverterModel[] convertersById = new ConverterModel[model.getConvertersById().size()];
+        i = 0;
+        for (ConverterModel converter : model.getConvertersById()) {
+            convertersById[i++] = converter(converter);
+        }
+
+        ConverterModel[] convertersByClass = new ConverterModel[model.getConvertersByClass().size()];
+        i = 0;
+        for (ConverterModel converter : model.getConvertersByClass()) {
+            convertersByClass[i++] = converter(converter);
+        }
+
+        ValidatorModel[] validators = new ValidatorModel[model.getValidators().size()];
+        i = 0;
+        for (ValidatorModel validator : model.getValidators()) {
+            validators[i++] = intern(new ValidatorModel(string(validator.getValidatorId()), string(validator.getValidatorClass()),
+                    attributes(validator.getAttributes()), properties(validator.getProperties())));
+        }
+
+        RenderKitModel[] renderKits = new RenderKitModel[model.getRenderKits().size()];
+        i = 0;
+        for (RenderKitModel renderKit : model.getRenderKits()) {
+            renderKits[i++] = intern(new RenderKitModel(string(renderKit.getRenderKitId()), string(renderKit.getRenderKitClass()),
+                    renderers(renderKit.getRenderers())));
+        }
+
+        return intern(new FacesConfigModel(array(components), array(convertersById), array(convertersByClass), array(validators),
+                array(renderKits)));
+    }
+
+    /**
+     * @return the number of distinct models, arrays and strings held by this store that are still in use
+     */
+    public int size() {
+        expunge();
+        return canonical.size();
+    }
+
+    /**
+     * <p>
+     * Drop all canonical instances. Models canonicalized earlier remain valid, but no longer share their subtrees with
+     * the models canonicalized afterwards.
+     * </p>
+     */
+    public void clear() {
+        canonical.clear();
+        expunge();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private ConverterModel converter(ConverterModel converter) {
+        return intern(new ConverterModel(string(converter.getConverterId()), string(converter.getConverterForClassName()),
+                string(converter.getConverterClass()), attributes(converter.getAttributes()), properties(converter.getProperties())));
+    }
+
+    private RendererModel[] renderers(List<RendererModel> renderers) {
+        RendererModel[] results = new RendererModel[renderers.size()];
+        int i = 0;
+        for (RendererModel renderer : renderers) {
+            results[i++] = intern(new RendererModel(string(renderer.getComponentFamily()), string(renderer.getRendererType()),
+                    string(renderer.getRendererClass()), string(renderer.getExcludeAttributes()), string(renderer.getTagName()),
+                    renderer.getFlags(), attributes(renderer.getAttributes())));
+        }
+
+        return array(results);
+    }
+
+    private AttributeModel[] attributes(List<AttributeModel> attributes) {
+        AttributeModel[] results = new AttributeModel[attributes.size()];
+        int i = 0;
+        for (AttributeModel attribute : attributes) {
+            results[i++] = intern(new AttributeModel(string(attribute.getName()), string(attribute.getAttributeClass()),
+                    string(attribute.getSuggestedValue()), string(attribute.getDefaultValue()), strings(attribute.getBehaviors()),
+                    attribute.getFlags()));
+        }
+
+        return array(results);
+    }
+
+    private PropertyModel[] properties(List<PropertyModel> properties) {
+        PropertyModel[] results = new PropertyModel[properties.size()];
+        int i = 0;
+        for (PropertyModel property : properties) {
+            results[i++] = intern(new PropertyModel(string(property.getName()), string(property.getPropertyClass()),
+                    string(property.getSuggestedValue()), string(property.getDefaultValue()), string(property.getMethodSignature()),
+                    strings(property.getBehaviors()), property.getFlags()));
+        }
+
+        return array(results);
+    }
+
+    private String[] strings(List<String> values) {
+        String[] results = new String[values.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = string(values.get(i));
+        }
+
+        return array(results);
+    }
+
+    private String string(String value) {
+        return value == null ? null : intern(value);
+    }
+
+    private <T> T[] array(T[] values) {
+        return intern(values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T intern(T value) {
+        expunge();
+
+        Probe probe = new Probe(value);
+        while (true) {
+            Entry existing = canonical.get(probe);
+            if (existing == null) {
+                Entry entry = new Entry(value, probe.hash, queue);
+                existing = canonical.putIfAbsent(entry, entry);
+                if (existing == null) {
+                    return value;
+                }
+            }
+
+            Object canonicalValue = existing.get();
+            if (canonicalValue != null) {
+                return (T) canonicalValue;
+            }
+
+            // Collected but not expunged yet
+            canonical.remove(existing, existing);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(T value) {
+        Entry existing = canonical.get(new Probe(value));
+        return existing == null ? null : (T) existing.get();
+    }
+
+    private void expunge() {
+        for (Reference<?> entry = queue.poll(); entry != null; entry = queue.poll()) {
+            canonical.remove(entry, entry);
+        }
+    }
+
+    private static int hash(Object value) {
+        return value instanceof Object[] ? Arrays.hashCode((Object[]) value) : value.hashCode();
+    }
+
+    // Arrays are equal if they are of the same type with equal elements
+    private static boolean same(Object value, Object other) {
+        if (value == other) {
+            return true;
+        }
+        if (value == null || other == null) {
+            return false;
+        }
+        if (value instanceof Object[]) {
+            return value.getClass() == other.getClass() && Arrays.equals((Object[]) value, (Object[]) other);
+        }
+
+        return value.equals(other);
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    /**
+     * <p>
+     * Canonical instance, held weakly. Equal to the entry or probe of an equal value; a collected entry is only equal to
+     * itself.
+     * </p>
+     */
+    private static final class Entry extends WeakReference<Object> {
+
+        private final int hash;
+
+        Entry(Object value, int hash, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object == this) {
+                return true;
+            }
+
+            Object value = get();
+            if (value == null) {
+                return false;
+            }
+            if (object instanceof Probe) {
+                return same(value, ((Probe) object).value);
+            }
+            return object instanceof Entry && same(value, ((Entry) object).get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * <p>
+     * Lookup key for a value, equal to the entry of an equal value.
+     * </p>
+     */
+    private static final class Probe {
+
+        private final Object value;
+        private final int hash;
+
+        Probe(Object value) {
+            this.value = value;
+            this.hash = ModelStore.hash(value);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object instanceof Entry) {
+                return object.equals(this);
+            }
+            return object instanceof Probe && same(value, ((Probe) object).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
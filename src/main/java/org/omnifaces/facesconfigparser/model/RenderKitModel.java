@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Immutable snapshot of a <code>&lt;render-kit&gt;</code> element, see
+ * {@link org.omnifaces.facesconfigparser.digester.beans.RenderKitBean}.
+ * </p>
+ */
+public final class RenderKitModel {
+
+    private final String renderKitId;
+    private final String renderKitClass;
+
+    /** Sorted by component family, then by renderer type, with <code>null</code> first. */
+    private final RendererModel[] renderers;
+
+    /** Cached structural hash code, computed on first use. */
+    private int hash;
+
+    RenderKitModel(String renderKitId, String renderKitClass, RendererModel[] renderers) {
+        this.renderKitId = renderKitId;
+        this.renderKitClass = renderKitClass;
+        this.renderers = renderers;
+    }
+
+    // -------------------------------------------------------------- Properties
+
+    public String getRenderKitId() {
+        return renderKitId;
+    }
+
+    public String getRenderKitClass() {
+        return renderKitClass;
+    }
+
+    // -------------------------------------------------------- Renderer Methods
+
+    /**
+     * <p>
+     * Return the renderer for the given component family and renderer type, by binary search and without allocating.
+     * </p>
+     *
+     * @param componentFamily the component family
+     * @param rendererType the renderer type
+     * @return the renderer, or <code>null</code> if there is none
+     */
+    public RendererModel getRenderer(String componentFamily, String rendererType) {
+        int low = 0;
+        int high = renderers.length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            RendererModel renderer = renderers[middle];
+            int comparison = SortedArrays.compare(renderer.getComponentFamily(), componentFamily);
+            if (comparison == 0) {
+                comparison = SortedArrays.compare(renderer.getRendererType(), rendererType);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return renderer;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the renderers, by component family and then renderer type
+     */
+    public List<RendererModel> getRenderers() {
+        return SortedArrays.asList(renderers);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Two models are equal if all their values and children are equal.
+     * </p>
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof RenderKitModel)) {
+            return false;
+        }
+
+        RenderKitModel other = (RenderKitModel) object;
+        return Objects.equals(renderKitId, other.renderKitId) && Objects.equals(renderKitClass, other.renderKitClass)
+                && Arrays.equals(renderers, other.renderers);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hashCode(renderKitId);
+            h = 31 * h + Objects.hashCode(renderKitClass);
+            h = 31 * h + Arrays.hashCode(renderers);
+            hash = h;
+        }
+
+        return h;
+    }
+
+}
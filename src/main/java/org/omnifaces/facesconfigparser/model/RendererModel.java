@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * Immutable snapshot of a <code>&lt;renderer&gt;</code> element, see
+ * {@link org.omnifaces.facesconfigparser.digester.beans.RendererBean}.
+ * </p>
+ */
+public final class RendererModel {
+
+    static final int RENDERS_CHILDREN = 1;
+    static final int IGNORE_FOR_JSP = 1 << 1;
+    static final int IGNORE_ALL = 1 << 2;
+    static final int BODY_TAG = 1 << 3;
+
+    private final String componentFamily;
+    private final String rendererType;
+    private final String rendererClass;
+    private final String excludeAttributes;
+    private final String tagName;
+    private final int flags;
+    private final AttributeModel[] attributes;
+
+    /** Cached structural hash code, computed on first use. */
+    private int hash;
+
+    RendererModel(String componentFamily, String rendererType, String rendererClass, String excludeAttributes, String tagName, int flags,
+            AttributeModel[] attributes) {
+        this.componentFamily = componentFamily;
+        this.rendererType = rendererType;
+        this.rendererClass = rendererClass;
+        this.excludeAttributes = excludeAttributes;
+        this.tagName = tagName;
+        this.flags = flags;
+        this.attributes = attributes;
+    }
+
+    // -------------------------------------------------------------- Properties
+
+    public String getComponentFamily() {
+        return componentFamily;
+    }
+
+    public String getRendererType() {
+        return rendererType;
+    }
+
+    public String getRendererClass() {
+        return rendererClass;
+    }
+
+    public String getExcludeAttributes() {
+        return excludeAttributes;
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    public boolean isRendersChildren() {
+        return (flags & RENDERS_CHILDREN) != 0;
+    }
+
+    public boolean isIgnoreForJsp() {
+        return (flags & IGNORE_FOR_JSP) != 0;
+    }
+
+    public boolean isIgnoreAll() {
+        return (flags & IGNORE_ALL) != 0;
+    }
+
+    public boolean isBodyTag() {
+        return (flags & BODY_TAG) != 0;
+    }
+
+    // ------------------------------------------------------- Attribute Methods
+
+    public AttributeModel getAttribute(String name) {
+        return SortedArrays.find(attributes, AttributeModel::getName, name);
+    }
+
+    /**
+     * @return the attributes, in name order
+     */
+    public List<AttributeModel> getAttributes() {
+        return SortedArrays.asList(attributes);
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    int getFlags() {
+        return flags;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Two models are equal if all their values and children are equal.
+     * </p>
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof RendererModel)) {
+            return false;
+        }
+
+        RendererModel other = (RendererModel) object;
+        return flags == other.flags && Objects.equals(componentFamily, other.componentFamily) && Objects.equals(rendererType, other.rendererType)
+                && Objects.equals(rendererClass, other.rendererClass) && Objects.equals(excludeAttributes, other.excludeAttributes)
+                && Objects.equals(tagName, other.tagName) && Arrays.equals(attributes, other.attributes);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = flags;
+            h = 31 * h + Objects.hashCode(componentFamily);
+            h = 31 * h + Objects.hashCode(rendererType);
+            h = 31 * h + Objects.hashCode(rendererClass);
+            h = 31 * h + Objects.hashCode(excludeAttributes);
+            h = 31 * h + Objects.hashCode(tagName);
+            h = 31 * h + Arrays.hashCode(attributes);
+            hash = h;
+        }
+
+        return h;
+    }
+
+}
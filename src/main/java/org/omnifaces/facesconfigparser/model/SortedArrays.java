@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Helpers for the sorted arrays the models keep their children in.
+ * </p>
+ */
+final class SortedArrays {
+
+    static final String[] NO_STRINGS = new String[0];
+
+    private SortedArrays() {
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    /**
+     * <p>
+     * Find the element with the given key by binary search in an array sorted by that key, with <code>null</code> keys
+     * first.
+     * </p>
+     */
+    static <T> T find(T[] values, Function<? super T, String> key, String name) {
+        int low = 0;
+        int high = values.length - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(key.apply(values[middle]), name);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return values[middle];
+            }
+        }
+
+        return null;
+    }
+
+    static int compare(String left, String right) {
+        if (left == null) {
+            return right == null ? 0 : -1;
+        }
+
+        return right == null ? 1 : left.compareTo(right);
+    }
+
+    static <T> List<T> asList(T[] values) {
+        return values.length == 0 ? Collections.<T>emptyList() : Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    static String[] toArray(List<String> values) {
+        return values == null || values.isEmpty() ? NO_STRINGS : values.toArray(new String[values.size()]);
+    }
+
+}
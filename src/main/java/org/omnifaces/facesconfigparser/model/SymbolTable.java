@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Maps identifiers, such as component types, component families, renderer types, class names and attribute names, to
+ * dense <code>int</code> ids, starting at zero in order of first use.
+ * </p>
+ *
+ * <p>
+ * A table is shared by all the {@link ColumnarModel}s that are to be compared, so that equal identifiers have equal ids
+ * across configurations and joins become comparisons of <code>int</code>s. A table only grows.
+ * </p>
+ *
+ * <p>
+ * A table is thread-safe, so one can be shared by all models of an application. Lookups of identifiers that already
+ * have an id do not lock; assigning a new id is serialized.
+ * </p>
+ */
+public final class SymbolTable {
+
+    /** The id of a <code>null</code> identifier. */
+    public static final int NONE = -1;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    // Written under the lock of this table; size is published after the array slot it covers
+    private volatile String[] symbols = new String[64];
+    private volatile int size;
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Return the id of the given identifier, assigning the next id if it has none yet.
+     * </p>
+     *
+     * @param symbol the identifier, may be <code>null</code>
+     * @return the id, or {@link #NONE} for <code>null</code>
+     */
+    public int id(String symbol) {
+        if (symbol == null) {
+            return NONE;
+        }
+
+        Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+
+        return assign(symbol);
+    }
+
+    /**
+     * <p>
+     * Return the id of the given identifier without assigning one.
+     * </p>
+     *
+     * @param symbol the identifier, may be <code>null</code>
+     * @return the id, or {@link #NONE} if the identifier is <code>null</code> or has no id
+     */
+    public int find(String symbol) {
+        Integer id = symbol == null ? null : ids.get(symbol);
+        return id == null ? NONE : id;
+    }
+
+    /**
+     * @param id an id returned by {@link #id(String)}, or {@link #NONE}
+     * @return the identifier with the given id, or <code>null</code> for {@link #NONE}
+     *
+     * @exception IllegalStateException if no identifier has the given id
+     */
+    public String symbol(int id) {
+        if (id == NONE) {
+            return null;
+        }
+        if (id < 0 || id >= size) {
+            throw new IllegalStateException("No symbol with id " + id);
+        }
+
+        return symbols[id];
+    }
+
+    /**
+     * @return the number of identifiers that have an id
+     */
+    public int size() {
+        return size;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private synchronized int assign(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+
+        int next = size;
+        String[] table = symbols;
+        if (next == table.length) {
+            table = Arrays.copyOf(table, next * 2);
+        }
+        table[next] = symbol;
+        symbols = table;
+        size = next + 1;
+        ids.put(symbol, next);
+
+        return next;
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.util;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Caches the outcome of loading classes by name, per class loader, including failures, so that repeatedly resolving
+ * the same names does not walk the class loader delegation chain again.
+ * </p>
+ *
+ * <p>
+ * Class loaders are held weakly, and so are the cached classes, since a class strongly references its own loader. A
+ * class loader that is discarded on redeploy can therefore still be collected, together with its entries.
+ * </p>
+ *
+ * <p>
+ * Misses are cached per class loader for {@link #MISS_TIMEOUT} nanoseconds, and at most {@link #MAX_MISSES} of them,
+ * the least recently used ones being dropped first. A class made visible to a loader that missed it is therefore found
+ * again after a while; callers that need it found right away can {@link #clear(ClassLoader)} that loader.
+ * </p>
+ */
+final class ClassCache {
+
+    /** How long a name that could not be loaded is remembered, in nanoseconds. */
+    static final long MISS_TIMEOUT = TimeUnit.SECONDS.toNanos(30);
+
+    /** How many names that could not be loaded are remembered per class loader. */
+    static final int MAX_MISSES = 512;
+
+    private static final Map<ClassLoader, Entries> CACHE = new WeakHashMap<>();
+
+    private ClassCache() {
+    }
+
+    // --------------------------------------------------------- Package Methods
+
+    static Class<?> load(String name, ClassLoader loader) throws ClassNotFoundException {
+        return load(name, loader, System.nanoTime());
+    }
+
+    static Class<?> load(String name, ClassLoader loader, long now) throws ClassNotFoundException {
+        Entries entries = entries(loader);
+
+        WeakReference<Class<?>> cached = entries.classes.get(name);
+        if (cached != null) {
+            Class<?> type = cached.get();
+            if (type != null) {
+                return type;
+            }
+        } else if (entries.isMiss(name, now)) {
+            throw new ClassNotFoundException(name);
+        }
+
+        try {
+            Class<?> type = Class.forName(name, false, loader);
+            entries.classes.put(name, new WeakReference<Class<?>>(type));
+            return type;
+        } catch (ClassNotFoundException e) {
+            entries.addMiss(name, now + MISS_TIMEOUT);
+            throw e;
+        }
+    }
+
+    static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    static void clear(ClassLoader loader) {
+        synchronized (CACHE) {
+            CACHE.remove(loader);
+        }
+    }
+
+    static int missCount(ClassLoader loader) {
+        Entries entries;
+        synchronized (CACHE) {
+            entries = CACHE.get(loader);
+        }
+        if (entries == null) {
+            return 0;
+        }
+        synchronized (entries.misses) {
+            return entries.misses.size();
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static Entries entries(ClassLoader loader) {
+        synchronized (CACHE) {
+            return CACHE.computeIfAbsent(loader, key -> new Entries());
+        }
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class Entries {
+
+        final Map<String, WeakReference<Class<?>>> classes = new ConcurrentHashMap<>();
+
+        // Expiry times of the misses, in access order and bounded to the most recently used ones
+        final Map<String, Long> misses = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > MAX_MISSES;
+            }
+        };
+
+        boolean isMiss(String name, long now) {
+            synchronized (misses) {
+                Long expiry = misses.get(name);
+                if (expiry == null) {
+                    return false;
+                }
+                if (now - expiry >= 0) {
+                    misses.remove(name);
+                    return false;
+                }
+                return true;
+            }
+        }
+
+        void addMiss(String name, long expiry) {
+            synchronized (misses) {
+                misses.put(name, expiry);
+            }
+        }
+
+    }
+
+}
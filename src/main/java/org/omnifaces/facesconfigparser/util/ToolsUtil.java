@@ -68,8 +68,35 @@ public class ToolsUtil {
         return Logger.getLogger(loggerName, FACES_LOG_STRINGS);
     }
 
+    /**
+     * Load the named class, without initializing it, from the context class loader of the calling thread, or else from
+     * the class loader of the given object. Outcomes are cached per class loader, failures for a limited time.
+     *
+     * @param name the binary name of the class
+     * @param fallbackClass the object whose class loader to use if there is no context class loader
+     * @return the class
+     * @throws ClassNotFoundException if the class cannot be found, now or on an earlier call of the last 30 seconds
+     */
     public static Class<?> loadClass(String name, Object fallbackClass) throws ClassNotFoundException {
-        return Class.forName(name, false, getCurrentLoader(fallbackClass));
+        return ClassCache.load(name, getCurrentLoader(fallbackClass));
+    }
+
+    /**
+     * Forget all classes loaded by {@link #loadClass(String, Object)}, including the names that could not be found, for
+     * instance after classes were made visible to a class loader that already missed them.
+     */
+    public static void clearClassCache() {
+        ClassCache.clear();
+    }
+
+    /**
+     * Forget the classes loaded by {@link #loadClass(String, Object)} through the given class loader, including the
+     * names that could not be found, for instance after classes were made visible to it.
+     *
+     * @param loader the class loader whose classes to forget
+     */
+    public static void clearClassCache(ClassLoader loader) {
+        ClassCache.clear(loader);
     }
 
     private static ClassLoader getCurrentLoader(Object fallbackClass) {
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.omnifaces.facesconfigparser.digester.CancellationToken;
+import org.omnifaces.facesconfigparser.digester.LazyFacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.ParseCancelledException;
+import org.omnifaces.facesconfigparser.digester.RecordedDocument;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+
+public class FacesConfigParserCancellationTest {
+
+    private static final String VALIDATING_FACES_CONFIG = "/org/omnifaces/facesconfigparser/validating-faces-config.xml";
+
+    @Test
+    public void cancelsParseWithDeferredDescriptions() throws Exception {
+        CancellationToken cancellation = CancellationToken.newToken();
+        cancellation.cancel();
+
+        ParseCancelledException cancelled = assertThrows(ParseCancelledException.class,
+                () -> FacesConfigParser.parseFacesConfig(path(VALIDATING_FACES_CONFIG), null, true, cancellation));
+
+        assertEquals(ParseCancelledException.Reason.CANCELLED, cancelled.getReason());
+    }
+
+    @Test
+    public void cancelsLaterLazyBinds() throws Exception {
+        CancellationToken cancellation = CancellationToken.newToken();
+        LazyFacesConfigBean facesConfigBean = FacesConfigParser.parseFacesConfigLazily(path(NativeParseTest.FACES_CONFIG), null, cancellation);
+
+        cancellation.cancel();
+
+        assertThrows(ParseCancelledException.class, () -> facesConfigBean.getComponent("javax.faces.Input"));
+    }
+
+    @Test
+    public void endsAsyncParseAtDeadline() throws Exception {
+        CancellationToken cancellation = CancellationToken.withTimeout(1, TimeUnit.SECONDS);
+        URL facesConfig = holdingBeforeConverter(() -> {
+            while (!cancellation.isDeadlineExceeded()) {
+                sleep();
+            }
+        });
+
+        CompletableFuture<FacesConfigBean> future = FacesConfigParser.parseFacesConfigAsync(facesConfig, null, cancellation);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+
+        assertStoppedAtConverter(ParseCancelledException.Reason.DEADLINE_EXCEEDED, failure.getCause());
+    }
+
+    @Test
+    public void cancelsAsyncParseMidway() throws Exception {
+        CancellationToken cancellation = CancellationToken.newToken();
+        URL facesConfig = holdingBeforeConverter(cancellation::cancel);
+
+        CompletableFuture<FacesConfigBean> future = FacesConfigParser.parseFacesConfigAsync(facesConfig, null, Runnable::run, cancellation);
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+
+        assertStoppedAtConverter(ParseCancelledException.Reason.CANCELLED, failure.getCause());
+    }
+
+    @Test
+    public void cancellingFutureDoesNotCancelToken() throws Exception {
+        CancellationToken cancellation = CancellationToken.newToken();
+
+        CompletableFuture<FacesConfigBean> future = FacesConfigParser.parseFacesConfigAsync(
+                Collections.singletonList(path(VALIDATING_FACES_CONFIG)), null, task -> { }, cancellation);
+        future.cancel(true);
+
+        assertFalse(cancellation.isCancelled());
+    }
+
+    @Test
+    public void cancelsRecording() throws Exception {
+        CancellationToken cancellation = CancellationToken.newToken();
+        cancellation.cancel();
+
+        ParseCancelledException cancelled = assertThrows(ParseCancelledException.class,
+                () -> FacesConfigParser.recordFacesConfig(path(VALIDATING_FACES_CONFIG), null, cancellation));
+
+        assertEquals(ParseCancelledException.Reason.CANCELLED, cancelled.getReason());
+        assertEquals("faces-config", cancelled.getPath());
+        assertEquals(12, cancelled.getLineNumber());
+        assertEquals(0, cancelled.getElementCount());
+        assertTrue(cancelled.getPartialResult() instanceof RecordedDocument);
+    }
+
+    @Test
+    public void cancelsParseOfFiles() throws Exception {
+        CancellationToken cancellation = CancellationToken.newToken();
+        cancellation.cancel();
+
+        ParseCancelledException cancelled = assertThrows(ParseCancelledException.class,
+                () -> FacesConfigParser.parseFacesConfig(Collections.singletonList(path(VALIDATING_FACES_CONFIG)), null, cancellation));
+
+        assertEquals("faces-config", cancelled.getPath());
+        assertEquals(12, cancelled.getLineNumber());
+        assertEquals(0, cancelled.getElementCount());
+        assertTrue(cancelled.getPartialResult() instanceof FacesConfigBean);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    // The parse stops at the converter, after the root and the component with its two children, with the component bound
+    private static void assertStoppedAtConverter(ParseCancelledException.Reason reason, Throwable failure) {
+        assertTrue(failure instanceof ParseCancelledException, "not cancelled: " + failure);
+        ParseCancelledException cancelled = (ParseCancelledException) failure;
+
+        assertEquals(reason, cancelled.getReason());
+        assertEquals("faces-config/converter", cancelled.getPath());
+        assertEquals(14, cancelled.getLineNumber());
+        assertEquals(4, cancelled.getElementCount());
+
+        FacesConfigBean partialResult = (FacesConfigBean) cancelled.getPartialResult();
+        assertNotNull(partialResult.getComponent("javax.faces.Input"));
+        assertNull(partialResult.getConverterByClass("java.lang.Integer"));
+    }
+
+    // The validating faces config, whose stream runs the given action before it returns the bytes from the converter on
+    private static URL holdingBeforeConverter(Runnable hold) throws Exception {
+        byte[] bytes = Files.readAllBytes(Paths.get(path(VALIDATING_FACES_CONFIG)));
+        int holdAt = new String(bytes, UTF_8).indexOf("<converter>");
+
+        return new URL(null, "holding:faces-config.xml", new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL url) {
+                return new URLConnection(url) {
+                    @Override
+                    public void connect() {
+                        // Nothing to connect to
+                    }
+
+                    @Override
+                    public InputStream getInputStream() {
+                        return new HoldingInputStream(bytes, holdAt, hold);
+                    }
+                };
+            }
+        });
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    private static String path(String resource) throws URISyntaxException {
+        return Paths.get(FacesConfigParserCancellationTest.class.getResource(resource).toURI()).toString();
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    // Returns the bytes up to the given offset, then runs the given action before returning the rest, so that the parser
+    // has processed all elements before the offset when the action runs
+    private static final class HoldingInputStream extends InputStream {
+
+        private final byte[] bytes;
+        private final Runnable hold;
+        private int holdAt;
+        private int position;
+
+        HoldingInputStream(byte[] bytes, int holdAt, Runnable hold) {
+            this.bytes = bytes;
+            this.holdAt = holdAt;
+            this.hold = hold;
+        }
+
+        @Override
+        public int read() {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == holdAt) {
+                holdAt = -1;
+                hold.run();
+            }
+            if (position == bytes.length) {
+                return -1;
+            }
+
+            int count = Math.min(length, (position < holdAt ? holdAt : bytes.length) - position);
+            System.arraycopy(bytes, position, buffer, offset, count);
+            position += count;
+
+            return count;
+        }
+    }
+
+}
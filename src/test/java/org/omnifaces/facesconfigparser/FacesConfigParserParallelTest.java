@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.omnifaces.facesconfigparser.digester.ParseCancelledException;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+
+public class FacesConfigParserParallelTest {
+
+    private static final int COMPONENTS = 400;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void bindsAllShards() throws Exception {
+        Path facesConfig = write(-1);
+
+        FacesConfigBean facesConfigBean = FacesConfigParser.parseFacesConfigInParallel(facesConfig.toString(), null);
+
+        assertEquals(COMPONENTS, facesConfigBean.getComponents().length);
+        assertEquals("com.example.Component" + (COMPONENTS - 1), facesConfigBean.getComponent("component" + (COMPONENTS - 1)).getComponentClass());
+        assertEquals(FacesConfigParser.parseFacesConfig(facesConfig.toString(), null).freeze(), facesConfigBean.freeze());
+    }
+
+    @Test
+    public void reportsFailedShardRatherThanCancelledOnes() throws Exception {
+        Path facesConfig = write(COMPONENTS - 1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            IllegalStateException failure = assertThrows(IllegalStateException.class,
+                    () -> FacesConfigParser.parseFacesConfigInParallel(facesConfig.toString(), null, executor, 8));
+
+            for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+                assertFalse(cause instanceof ParseCancelledException, "reported a cancelled shard: " + failure);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failsAsyncParseWithoutWaitingForEarlierFiles() throws Exception {
+        Path first = Files.copy(write(-1), directory.resolve("first.xml"));
+        Path second = write(0);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger submitted = new AtomicInteger();
+
+        // Holds the parse of the first file until the returned future has failed, on daemon threads so that a hung parse
+        // does not keep the test JVM alive
+        Executor executor = task -> {
+            Thread thread = new Thread(() -> {
+                if (submitted.getAndIncrement() == 0) {
+                    firstStarted.countDown();
+                    await(failed);
+                }
+                task.run();
+            });
+            thread.setDaemon(true);
+            thread.start();
+        };
+
+        try {
+            CompletableFuture<FacesConfigBean> future = FacesConfigParser.parseFacesConfigAsync(
+                    Arrays.asList(first.toString(), second.toString()), null, executor);
+            assertTrue(firstStarted.await(10, TimeUnit.SECONDS), "first parse did not start");
+
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertEquals(IllegalStateException.class, failure.getCause().getClass());
+        } finally {
+            failed.countDown();
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Writes a config with the given number of components, the one at the given index with a malformed end tag, declaring
+    // its elements so that it can also be parsed serially, which validates
+    private Path write(int malformed) throws Exception {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append("<!DOCTYPE faces-config [\n  <!ELEMENT faces-config ANY>\n  <!ELEMENT component ANY>\n");
+        xml.append("  <!ELEMENT component-type (#PCDATA)>\n  <!ELEMENT component-class (#PCDATA)>\n]>\n<faces-config>\n");
+        for (int i = 0; i < COMPONENTS; i++) {
+            xml.append("  <component><component-type>component").append(i).append("</component-type>");
+            xml.append("<component-class>com.example.Component").append(i).append(i == malformed ? "</component-clas>" : "</component-class>");
+            xml.append("</component>\n");
+        }
+        xml.append("</faces-config>\n");
+
+        return Files.write(directory.resolve("faces-config.xml"), xml.toString().getBytes(UTF_8));
+    }
+
+}
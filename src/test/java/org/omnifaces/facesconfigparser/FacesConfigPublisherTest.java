@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.omnifaces.facesconfigparser.FacesConfigPublisher.Subscriber;
+import org.omnifaces.facesconfigparser.FacesConfigPublisher.Subscription;
+import org.omnifaces.facesconfigparser.digester.CancellationToken;
+import org.omnifaces.facesconfigparser.digester.ParseCancelledException;
+import org.omnifaces.facesconfigparser.model.ComponentModel;
+import org.omnifaces.facesconfigparser.model.ConverterModel;
+import org.omnifaces.facesconfigparser.model.FacesConfigModel;
+
+public class FacesConfigPublisherTest {
+
+    private static final int FILES = 4;
+    private static final Object COMPLETE = "complete";
+
+    @TempDir
+    Path directory;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void publishesSameArtifactsAsSerialParse() throws Exception {
+        List<String> facesConfigs = write(-1);
+        Recorder recorder = new Recorder(1, subscription -> subscription.request(1));
+
+        FacesConfigParser.publishFacesConfig(facesConfigs, null, executor).subscribe(recorder);
+
+        // Later files republish the shared component with their attributes merged in, and models list in key order
+        Map<String, ComponentModel> components = new TreeMap<>();
+        Map<String, ConverterModel> converters = new TreeMap<>();
+        for (int i = 0; i < FILES; i++) {
+            FacesConfigModel model = (FacesConfigModel) recorder.next();
+            model.getComponents().forEach(component -> components.put(component.getComponentType(), component));
+            model.getConvertersById().forEach(converter -> converters.put(converter.getConverterId(), converter));
+        }
+        assertSame(COMPLETE, recorder.next());
+
+        FacesConfigModel serial = FacesConfigParser.parseFacesConfig(facesConfigs, null).freeze();
+        assertEquals(serial.getComponents(), new ArrayList<>(components.values()));
+        assertEquals(serial.getConvertersById(), new ArrayList<>(converters.values()));
+    }
+
+    @Test
+    public void publishesNoMoreThanRequested() throws Exception {
+        Recorder recorder = new Recorder(1, null);
+
+        FacesConfigParser.publishFacesConfig(write(-1), null, executor).subscribe(recorder);
+
+        recorder.next();
+        assertNull(recorder.signals.poll(200, TimeUnit.MILLISECONDS));
+
+        recorder.subscription.request(2);
+        recorder.next();
+        recorder.next();
+        assertNull(recorder.signals.poll(200, TimeUnit.MILLISECONDS));
+
+        recorder.subscription.request(Long.MAX_VALUE);
+        recorder.next();
+        assertSame(COMPLETE, recorder.next());
+    }
+
+    @Test
+    public void signalsParseErrorAfterEarlierFiles() throws Exception {
+        Recorder recorder = new Recorder(Long.MAX_VALUE, null);
+
+        FacesConfigParser.publishFacesConfig(write(2), null, executor).subscribe(recorder);
+
+        assertTrue(recorder.next() instanceof FacesConfigModel);
+        assertTrue(recorder.next() instanceof FacesConfigModel);
+        assertEquals(IllegalStateException.class, recorder.next().getClass());
+        assertNull(recorder.signals.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void signalsExceptionThrownByOnNext() throws Exception {
+        IllegalStateException thrown = new IllegalStateException("onNext");
+        Recorder recorder = new Recorder(Long.MAX_VALUE, subscription -> {
+            throw thrown;
+        });
+
+        FacesConfigParser.publishFacesConfig(write(-1), null, executor).subscribe(recorder);
+
+        assertTrue(recorder.next() instanceof FacesConfigModel);
+        assertSame(thrown, recorder.next());
+        assertNull(recorder.signals.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void signalsRejectedExecution() throws Exception {
+        Recorder recorder = new Recorder(1, null);
+
+        FacesConfigParser.publishFacesConfig(write(-1), null, task -> {
+            throw new RejectedExecutionException();
+        }).subscribe(recorder);
+
+        assertEquals(RejectedExecutionException.class, recorder.next().getClass());
+        assertNull(recorder.signals.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void stopsPublishingOnCancel() throws Exception {
+        Recorder recorder = new Recorder(Long.MAX_VALUE, Subscription::cancel);
+
+        FacesConfigParser.publishFacesConfig(write(-1), null, executor).subscribe(recorder);
+
+        assertTrue(recorder.next() instanceof FacesConfigModel);
+        assertNull(recorder.signals.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void signalsCancelledToken() throws Exception {
+        CancellationToken cancellation = CancellationToken.newToken();
+        cancellation.cancel();
+        Recorder recorder = new Recorder(Long.MAX_VALUE, null);
+
+        FacesConfigParser.publishFacesConfig(write(-1), null, executor, cancellation).subscribe(recorder);
+
+        ParseCancelledException cancelled = (ParseCancelledException) recorder.next();
+        assertEquals("faces-config", cancelled.getPath());
+        assertEquals(0, cancelled.getElementCount());
+        assertNull(recorder.signals.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void signalsInvalidRequest() throws Exception {
+        Recorder recorder = new Recorder(0, null);
+
+        FacesConfigParser.publishFacesConfig(write(-1), null, executor).subscribe(recorder);
+
+        assertEquals(IllegalArgumentException.class, recorder.next().getClass());
+        assertNull(recorder.signals.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    // Writes the files, each with a component and a converter of its own and one that all files define, the file at the
+    // given index with a malformed end tag
+    private List<String> write(int malformed) throws Exception {
+        List<String> facesConfigs = new ArrayList<>();
+        for (int i = 0; i < FILES; i++) {
+            StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            xml.append("<!DOCTYPE faces-config [\n  <!ELEMENT faces-config ANY>\n  <!ELEMENT component ANY>\n");
+            xml.append("  <!ELEMENT component-type (#PCDATA)>\n  <!ELEMENT component-class (#PCDATA)>\n  <!ELEMENT attribute ANY>\n");
+            xml.append("  <!ELEMENT attribute-name (#PCDATA)>\n  <!ELEMENT attribute-class (#PCDATA)>\n  <!ELEMENT converter ANY>\n");
+            xml.append("  <!ELEMENT converter-id (#PCDATA)>\n  <!ELEMENT converter-class (#PCDATA)>\n]>\n<faces-config>\n");
+            xml.append("  <component><component-type>component").append(i).append("</component-type>");
+            xml.append("<component-class>com.example.Component").append(i).append(i == malformed ? "</component-clas>" : "</component-class>");
+            xml.append("</component>\n");
+            xml.append("  <component><component-type>shared</component-type><component-class>com.example.Shared</component-class>");
+            xml.append("<attribute><attribute-name>attribute").append(i).append("</attribute-name>");
+            xml.append("<attribute-class>int</attribute-class></attribute></component>\n");
+            xml.append("  <converter><converter-id>converter").append(i).append("</converter-id>");
+            xml.append("<converter-class>com.example.Converter").append(i).append("</converter-class></converter>\n");
+            xml.append("</faces-config>\n");
+
+            facesConfigs.add(Files.write(directory.resolve("faces-config" + i + ".xml"), xml.toString().getBytes(UTF_8)).toString());
+        }
+
+        return facesConfigs;
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    // Records the signals it receives, requesting the given number of items on subscribe and running the given action on
+    // every item
+    private static final class Recorder implements Subscriber<FacesConfigModel> {
+
+        final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+        private final long initialRequest;
+        private final Consumer<Subscription> onNext;
+        volatile Subscription subscription;
+
+        Recorder(long initialRequest, Consumer<Subscription> onNext) {
+            this.initialRequest = initialRequest;
+            this.onNext = onNext;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(FacesConfigModel item) {
+            signals.add(item);
+            if (onNext != null) {
+                onNext.accept(subscription);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            signals.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add(COMPLETE);
+        }
+
+        Object next() throws InterruptedException {
+            Object signal = signals.poll(10, TimeUnit.SECONDS);
+            assertTrue(signal != null, "no signal within 10 seconds");
+
+            return signal;
+        }
+    }
+
+}
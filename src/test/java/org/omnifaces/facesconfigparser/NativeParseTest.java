@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.net.URL;
+
+import org.apache.commons.digester.Digester;
+import org.junit.jupiter.api.Test;
+import org.omnifaces.facesconfigparser.digester.DigesterFactory;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
+import org.omnifaces.facesconfigparser.digester.rules.FacesConfigRuleSet;
+import org.xml.sax.InputSource;
+
+/**
+ * <p>
+ * Parses a complete <code>faces-config.xml</code> through the reflection-free rule set.
+ * </p>
+ *
+ * <p>
+ * Under <code>mvn test -P native</code> this test is also compiled into a native executable and run there, which
+ * verifies that the metadata under <code>META-INF/native-image</code> covers everything a parse needs.
+ * </p>
+ */
+public class NativeParseTest {
+
+    static final String FACES_CONFIG = "/org/omnifaces/facesconfigparser/faces-config.xml";
+
+    static FacesConfigBean parse(String resource) throws Exception {
+        URL url = NativeParseTest.class.getResource(resource);
+        assertNotNull(url, resource);
+
+        Digester digester = DigesterFactory.newInstance(false, (String) null).createDigester();
+        digester.addRuleSet(new FacesConfigRuleSet(true, true, true));
+
+        return (FacesConfigBean) digester.parse(new InputSource(url.toExternalForm()));
+    }
+
+    @Test
+    public void parsesCompleteDocument() throws Exception {
+        FacesConfigBean facesConfig = parse(FACES_CONFIG);
+
+        assertEquals("com.example.Messages", facesConfig.getApplication().getMessageBundle());
+        assertEquals("com.example.AL", facesConfig.getApplication().getActionListeners()[0]);
+        assertEquals("com.example.AF", facesConfig.getFactory().getApplicationFactories().get(0));
+
+        ComponentBean component = facesConfig.getComponent("javax.faces.Input");
+        assertEquals("javax.faces.component.UIInput", component.getComponentClass());
+        assertEquals(2, component.getAttributes().length);
+        assertEquals("javax.faces.Input", component.getComponentFamily());
+
+        assertEquals("com.example.Conv", facesConfig.getConverterById("myConv").getConverterClass());
+        assertEquals("com.example.IntConv", facesConfig.getConverterByClass("java.lang.Integer").getConverterClass());
+        assertEquals("com.example.Val", facesConfig.getValidator("myVal").getValidatorClass());
+
+        ManagedBeanBean managedBean = facesConfig.getManagedBean("bean");
+        assertEquals("request", managedBean.getManagedBeanScope());
+        assertEquals(4, managedBean.getManagedProperties().length);
+
+        assertEquals(1, facesConfig.getNavigationRules().length);
+
+        RenderKitBean renderKit = facesConfig.getRenderKits()[0];
+        assertEquals("com.example.TextRenderer", renderKit.getRenderer("javax.faces.Input", "javax.faces.Text").getRendererClass());
+        assertEquals("com.example.OutRenderer", renderKit.getRenderer("javax.faces.Output", "javax.faces.Text").getRendererClass());
+    }
+
+}
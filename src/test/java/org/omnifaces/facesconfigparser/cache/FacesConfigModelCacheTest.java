@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.omnifaces.facesconfigparser.FacesConfigParser;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+
+public class FacesConfigModelCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void sharesReadOnlyModel() throws Exception {
+        FacesConfigModelCache cache = new FacesConfigModelCache(Long.MAX_VALUE);
+
+        FacesConfigBean first = cache.get(facesConfigs(), null);
+        FacesConfigBean second = cache.get(facesConfigs(), null);
+
+        assertSame(first, second);
+        assertTrue(first.isReadOnly());
+        assertThrows(IllegalStateException.class, () -> first.getComponent("javax.faces.Input").setComponentClass("com.example.Changed"));
+        assertThrows(IllegalStateException.class, () -> first.addComponent(component("com.example.Added")));
+        assertEquals(1, cache.getStats().getLoadCount());
+        assertEquals(1, cache.getStats().getHitCount());
+    }
+
+    @Test
+    public void copiesAreModifiable() throws Exception {
+        FacesConfigModelCache cache = new FacesConfigModelCache(Long.MAX_VALUE);
+        FacesConfigBean shared = cache.get(facesConfigs(), null);
+
+        FacesConfigBean copy = FacesConfigModelCache.copy(shared);
+        copy.getComponent("javax.faces.Input").setComponentClass("com.example.Changed");
+        copy.addComponent(component("com.example.Added"));
+
+        assertNotSame(shared.getConverterByClass("java.lang.Integer"), copy.getConverterByClass("java.lang.Integer"));
+        assertEquals("javax.faces.component.UIInput", shared.getComponent("javax.faces.Input").getComponentClass());
+        assertEquals(1, shared.getComponents().length);
+        assertEquals(2, copy.getComponents().length);
+    }
+
+    @Test
+    public void keysOnSchemaDirectory() throws Exception {
+        List<String> facesConfigs = facesConfigs();
+
+        assertNotEquals(FacesConfigModelCache.fingerprint(facesConfigs, null), FacesConfigModelCache.fingerprint(facesConfigs, "/a"));
+        assertNotEquals(FacesConfigModelCache.fingerprint(facesConfigs, "/a"), FacesConfigModelCache.fingerprint(facesConfigs, "/b"));
+        assertEquals(FacesConfigModelCache.fingerprint(facesConfigs), FacesConfigModelCache.fingerprint(facesConfigs, null));
+
+        FacesConfigModelCache cache = new FacesConfigModelCache(Long.MAX_VALUE);
+        FacesConfigBean facesConfig = cache.get(facesConfigs, null);
+        cache.get(facesConfigs, System.getProperty("java.io.tmpdir"));
+
+        assertEquals(2, cache.getStats().getLoadCount());
+        assertEquals(2, cache.getStats().getEntryCount());
+        assertSame(facesConfig, cache.getIfPresent(FacesConfigModelCache.fingerprint(facesConfigs, null)));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedByWeight() throws Exception {
+        List<String> small = write("small.xml", 1);
+        List<String> large = write("large.xml", 20);
+        long smallWeight = weight(small);
+        long largeWeight = weight(large);
+        FacesConfigModelCache cache = new FacesConfigModelCache(smallWeight + largeWeight);
+
+        cache.get(small, null);
+        cache.get(large, null);
+        cache.get(small, null);
+        assertEquals(2, cache.getStats().getEntryCount());
+        assertEquals(smallWeight + largeWeight, cache.getStats().getWeight());
+
+        List<String> other = write("other.xml", 2);
+        cache.get(other, null);
+
+        // The large model was used least recently, and evicting it alone makes room
+        FacesConfigModelCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.getEvictionCount());
+        assertEquals(2, stats.getEntryCount());
+        assertEquals(smallWeight + weight(other), stats.getWeight());
+        assertTrue(stats.getWeight() <= stats.getMaximumWeight());
+        assertNull(cache.getIfPresent(FacesConfigModelCache.fingerprint(large, null)));
+    }
+
+    @Test
+    public void doesNotCacheModelsLargerThanBudget() throws Exception {
+        FacesConfigModelCache cache = new FacesConfigModelCache(1);
+
+        FacesConfigBean first = cache.get(facesConfigs(), null);
+        FacesConfigBean second = cache.get(facesConfigs(), null);
+
+        assertNotSame(first, second);
+        assertEquals(0, cache.getStats().getEntryCount());
+        assertEquals(0, cache.getStats().getWeight());
+        assertEquals(0, cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void countsHitsMissesAndLoads() throws Exception {
+        FacesConfigModelCache cache = new FacesConfigModelCache(Long.MAX_VALUE);
+        assertEquals(1.0, cache.getStats().getHitRate());
+
+        cache.get(facesConfigs(), null);
+        cache.get(facesConfigs(), null);
+        cache.get(facesConfigs(), null);
+        assertNull(cache.getIfPresent("unknown"));
+
+        FacesConfigModelCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(1, stats.getLoadCount());
+        assertEquals(0.5, stats.getHitRate());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.getStats().getEntryCount());
+        assertEquals(0, cache.getStats().getWeight());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static List<String> facesConfigs() throws Exception {
+        URL url = FacesConfigModelCacheTest.class.getResource("/org/omnifaces/facesconfigparser/validating-faces-config.xml");
+        return singletonList(Paths.get(url.toURI()).toString());
+    }
+
+    private static ComponentBean component(String componentType) {
+        ComponentBean component = new ComponentBean();
+        component.setComponentType(componentType);
+        return component;
+    }
+
+    private static long weight(List<String> facesConfigs) {
+        return ModelSizeEstimator.estimate(FacesConfigParser.parseFacesConfig(facesConfigs, null));
+    }
+
+    // Writes a config with the given number of components
+    private List<String> write(String name, int components) throws Exception {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!DOCTYPE faces-config [\n");
+        xml.append("  <!ELEMENT faces-config ANY>\n  <!ELEMENT component ANY>\n");
+        xml.append("  <!ELEMENT component-type (#PCDATA)>\n  <!ELEMENT component-class (#PCDATA)>\n]>\n<faces-config>\n");
+        for (int i = 0; i < components; i++) {
+            xml.append("  <component><component-type>").append(name).append(i).append("</component-type>");
+            xml.append("<component-class>com.example.Component").append(i).append("</component-class></component>\n");
+        }
+        xml.append("</faces-config>\n");
+
+        return singletonList(Files.write(directory.resolve(name), xml.toString().getBytes(UTF_8)).toString());
+    }
+
+}
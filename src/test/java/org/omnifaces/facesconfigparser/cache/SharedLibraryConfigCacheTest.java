@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+
+public class SharedLibraryConfigCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void parsesOnceForAllLoaders() throws Exception {
+        File jar = jar("library.jar", "");
+        SharedLibraryConfigCache cache = new SharedLibraryConfigCache();
+
+        FacesConfigBean first = mergeWithLoader(cache, jar);
+        FacesConfigBean second = mergeWithLoader(cache, jar);
+
+        assertEquals(1, cache.getLoadCount());
+        assertEquals(1, cache.size());
+        assertNotNull(second.getComponent("javax.faces.Input"));
+        assertNotSame(first.getComponent("javax.faces.Input"), second.getComponent("javax.faces.Input"));
+    }
+
+    @Test
+    public void doesNotPinLoaders() throws Exception {
+        File jar = jar("library.jar", "");
+        SharedLibraryConfigCache cache = new SharedLibraryConfigCache();
+
+        WeakReference<ClassLoader> loader = mergeAndResolveWithLoader(cache, jar);
+
+        for (int i = 0; i < 20 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(loader.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void replacesChangedJarsAndPrunesDeletedOnes() throws Exception {
+        File jar = jar("library.jar", "");
+        SharedLibraryConfigCache cache = new SharedLibraryConfigCache();
+        cache.mergeInto(new FacesConfigBean(), jar, null);
+
+        // A jar replaced at the same path replaces its entry
+        jar("library.jar", "<!-- changed -->");
+        jar.setLastModified(jar.lastModified() + 2000);
+        cache.mergeInto(new FacesConfigBean(), jar, null);
+        assertEquals(2, cache.getLoadCount());
+        assertEquals(1, cache.size());
+
+        // The former version of an upgraded library is evicted when the new one is parsed
+        File upgraded = jar("library-2.jar", "");
+        Files.delete(jar.toPath());
+        cache.mergeInto(new FacesConfigBean(), upgraded, null);
+        assertEquals(1, cache.size());
+
+        Files.delete(upgraded.toPath());
+        cache.prune();
+        assertEquals(0, cache.size());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private FacesConfigBean mergeWithLoader(SharedLibraryConfigCache cache, File jar) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, original)) {
+            thread.setContextClassLoader(loader);
+            FacesConfigBean facesConfig = new FacesConfigBean();
+            cache.mergeInto(facesConfig, jar, null);
+
+            return facesConfig;
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    // Merges and resolves the converter class with a loader of its own, returning a weak reference to that loader
+    private WeakReference<ClassLoader> mergeAndResolveWithLoader(SharedLibraryConfigCache cache, File jar) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        URLClassLoader loader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, original);
+        try {
+            thread.setContextClassLoader(loader);
+            FacesConfigBean facesConfig = new FacesConfigBean();
+            cache.mergeInto(facesConfig, jar, null);
+            assertEquals(Integer.class, facesConfig.getConverterByClass("java.lang.Integer").getConverterForClass());
+
+            return new WeakReference<>(loader);
+        } finally {
+            thread.setContextClassLoader(original);
+            loader.close();
+        }
+    }
+
+    // Writes a jar with the test faces config as META-INF/faces-config.xml, followed by the given suffix
+    private File jar(String name, String suffix) throws Exception {
+        File jar = directory.resolve(name).toFile();
+        try (JarOutputStream stream = new JarOutputStream(Files.newOutputStream(jar.toPath()));
+                InputStream facesConfig = getClass().getResourceAsStream("/org/omnifaces/facesconfigparser/validating-faces-config.xml")) {
+            stream.putNextEntry(new JarEntry("META-INF/faces-config.xml"));
+            copy(facesConfig, stream);
+            stream.write(suffix.getBytes("UTF-8"));
+            stream.closeEntry();
+        }
+
+        return jar;
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws Exception {
+        byte[] buffer = new byte[8192];
+        for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+            out.write(buffer, 0, read);
+        }
+    }
+
+}
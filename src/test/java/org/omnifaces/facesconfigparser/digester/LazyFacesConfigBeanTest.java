@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.digester;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.apache.commons.digester.Digester;
+import org.apache.commons.digester.Rule;
+import org.junit.jupiter.api.Test;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.NavigationRuleBean;
+import org.omnifaces.facesconfigparser.digester.rules.FacesConfigRuleSet;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+
+public class LazyFacesConfigBeanTest {
+
+    private static final int COUNT = 200;
+
+    @Test
+    public void lookupsEqualEagerParse() throws Exception {
+        byte[] document = document();
+        FacesConfigBean eager = parse(document);
+        LazyFacesConfigBean lazy = new LazyFacesConfigBean(document, LazyFacesConfigBeanTest::newDigester);
+
+        for (int i = COUNT - 1; i >= 0; i--) {
+            assertLookupsEqual(eager, lazy, i);
+        }
+
+        assertEquals(0, lazy.getUnboundCount());
+        assertEquals(eager.freeze(), lazy.freeze());
+    }
+
+    @Test
+    public void lookupsFromSeveralThreadsEqualEagerParse() throws Exception {
+        byte[] document = document();
+        FacesConfigBean eager = parse(document);
+        LazyFacesConfigBean lazy = new LazyFacesConfigBean(document, LazyFacesConfigBeanTest::newDigester);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> lookups = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                List<Integer> order = new ArrayList<>();
+                for (int i = 0; i < COUNT; i++) {
+                    order.add(i);
+                }
+                Collections.shuffle(order, new Random(t));
+
+                lookups.add(executor.submit((Callable<Void>) () -> {
+                    for (int i : order) {
+                        assertLookupsEqual(eager, lazy, i);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> lookup : lookups) {
+                lookup.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, lazy.getUnboundCount());
+        assertEquals(eager.freeze(), lazy.freeze());
+    }
+
+    @Test
+    public void failedBindLeavesElementsUnbound() throws Exception {
+        byte[] document = document();
+        AtomicBoolean failing = new AtomicBoolean();
+        LazyFacesConfigBean lazy = new LazyFacesConfigBean(document, () -> {
+            Digester digester = newDigester();
+            digester.addRule("faces-config/component", new Rule() {
+                @Override
+                public void begin(String namespace, String name, Attributes attributes) {
+                    if (failing.get()) {
+                        throw new IllegalStateException("failing");
+                    }
+                }
+            });
+            return digester;
+        });
+        int unbound = lazy.getUnboundCount();
+
+        failing.set(true);
+        assertThrows(IllegalStateException.class, () -> lazy.getComponent("c1"));
+        assertEquals(unbound, lazy.getUnboundCount());
+        assertThrows(IllegalStateException.class, () -> lazy.getComponentsView());
+        assertEquals(unbound, lazy.getUnboundCount());
+
+        failing.set(false);
+        assertNotNull(lazy.getComponent("c1"));
+        assertEquals(unbound - 2, lazy.getUnboundCount());
+        assertEquals(parse(document).freeze(), lazy.freeze());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static void assertLookupsEqual(FacesConfigBean eager, LazyFacesConfigBean lazy, int i) {
+        assertEqual(eager, lazy, bean -> bean.getComponent("c" + i).getAttributes().length);
+        assertEqual(eager, lazy, bean -> bean.getConverterById("conv" + i).getConverterClass());
+        assertEqual(eager, lazy, bean -> bean.getConverterByClass("com.example.Type" + i).getConverterClass());
+        assertEqual(eager, lazy, bean -> bean.getValidator("val" + i).getValidatorClass());
+        assertEqual(eager, lazy, bean -> describe(bean.getManagedBean("bean" + i)));
+        assertEqual(eager, lazy, bean -> describe(bean.getNavigationRule("/view" + i + ".xhtml")));
+    }
+
+    private static void assertEqual(FacesConfigBean eager, LazyFacesConfigBean lazy, Function<FacesConfigBean, Object> lookup) {
+        Object expected = lookup.apply(eager);
+        assertNotNull(expected);
+        assertEquals(expected, lookup.apply(lazy));
+    }
+
+    private static String describe(ManagedBeanBean bean) {
+        return bean.getManagedBeanClass() + " " + bean.getManagedBeanScope() + " " + bean.getManagedProperties().length;
+    }
+
+    private static String describe(NavigationRuleBean rule) {
+        StringBuilder description = new StringBuilder(rule.getFromViewId());
+        rule.getNavigationCasesView().forEach(navigationCase -> description.append(' ').append(navigationCase.getFromOutcome())
+                .append("->").append(navigationCase.getToViewId()));
+        return description.toString();
+    }
+
+    // Every component is declared twice, the second time adding an attribute, so lookups merge both in document order
+    private static byte[] document() {
+        StringBuilder document = new StringBuilder("<faces-config xmlns=\"http://xmlns.jcp.org/xml/ns/javaee\" version=\"2.2\">\n");
+        document.append("<application><message-bundle>com.example.Messages</message-bundle></application>\n");
+        for (int i = 0; i < COUNT; i++) {
+            document.append("<component><component-type>c").append(i).append("</component-type>")
+                    .append("<component-class>com.example.C").append(i).append("</component-class>")
+                    .append("<attribute><attribute-name>a</attribute-name><attribute-class>int</attribute-class></attribute></component>\n")
+                    .append("<converter><converter-id>conv").append(i).append("</converter-id>")
+                    .append("<converter-class>com.example.Conv").append(i).append("</converter-class></converter>\n")
+                    .append("<converter><converter-for-class>com.example.Type").append(i).append("</converter-for-class>")
+                    .append("<converter-class>com.example.TypeConv").append(i).append("</converter-class></converter>\n")
+                    .append("<validator><validator-id>val").append(i).append("</validator-id>")
+                    .append("<validator-class>com.example.Val").append(i).append("</validator-class></validator>\n")
+                    .append("<managed-bean><managed-bean-name>bean").append(i).append("</managed-bean-name>")
+                    .append("<managed-bean-class>com.example.Bean").append(i).append("</managed-bean-class>")
+                    .append("<managed-bean-scope>request</managed-bean-scope>")
+                    .append("<managed-property><property-name>p</property-name><value>v</value></managed-property></managed-bean>\n")
+                    .append("<navigation-rule><from-view-id>/view").append(i).append(".xhtml</from-view-id>")
+                    .append("<navigation-case><from-outcome>next</from-outcome><to-view-id>/view").append(i + 1)
+                    .append(".xhtml</to-view-id></navigation-case></navigation-rule>\n");
+        }
+        for (int i = 0; i < COUNT; i++) {
+            document.append("<component><component-type>c").append(i).append("</component-type>")
+                    .append("<attribute><attribute-name>b</attribute-name><attribute-class>int</attribute-class></attribute></component>\n");
+        }
+        return document.append("</faces-config>\n").toString().getBytes(UTF_8);
+    }
+
+    private static FacesConfigBean parse(byte[] document) throws Exception {
+        Digester digester = newDigester();
+        FacesConfigBean bean = new FacesConfigBean();
+        digester.push(bean);
+        digester.parse(new InputSource(new ByteArrayInputStream(document)));
+        return bean;
+    }
+
+    private static Digester newDigester() {
+        Digester digester = DigesterFactory.newInstance(false, (String) null).createDigester();
+        digester.addRuleSet(new FacesConfigRuleSet(true, false, true));
+        return digester;
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.digester.Digester;
+import org.junit.jupiter.api.Test;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
+import org.omnifaces.facesconfigparser.digester.rules.FacesConfigRuleSet;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+import org.xml.sax.helpers.DefaultHandler;
+
+public class SaxEventRecorderTest {
+
+    private static final String FACES_CONFIG = "/org/omnifaces/facesconfigparser/faces-config.xml";
+
+    @Test
+    public void replayBindsSameModelAsDirectParse() throws Exception {
+        URL url = getClass().getResource(FACES_CONFIG);
+
+        FacesConfigBean parsed = (FacesConfigBean) newDigester().parse(new InputSource(url.toExternalForm()));
+        RecordedDocument recorded = SaxEventRecorder.record(DigesterFactory.newInstance(false, (String) null).createDigester(),
+                new InputSource(url.toExternalForm()));
+        FacesConfigBean replayed = (FacesConfigBean) recorded.replay(newDigester());
+
+        assertEquals(url.toExternalForm(), recorded.getSystemId());
+        assertEquals(parsed.freeze(), replayed.freeze());
+        assertEquals(parsed.getApplication().getMessageBundle(), replayed.getApplication().getMessageBundle());
+        assertEquals(parsed.getFactory().getApplicationFactories(), replayed.getFactory().getApplicationFactories());
+        assertEquals(parsed.getNavigationRules().length, replayed.getNavigationRules().length);
+
+        ManagedBeanBean managedBean = replayed.getManagedBean("bean");
+        assertEquals(parsed.getManagedBean("bean").getManagedBeanClass(), managedBean.getManagedBeanClass());
+        assertEquals(parsed.getManagedBean("bean").getManagedProperties().length, managedBean.getManagedProperties().length);
+
+        // A recorded document can be replayed again
+        assertEquals(parsed.freeze(), ((FacesConfigBean) recorded.replay(newDigester())).freeze());
+    }
+
+    @Test
+    public void replaysProcessingInstructions() throws SAXException {
+        SaxEventRecorder recorder = new SaxEventRecorder(null);
+        recorder.startDocument();
+        recorder.processingInstruction("no-data", null);
+        recorder.startElement("", "faces-config", "faces-config", new AttributesImpl());
+        recorder.processingInstruction("empty", "");
+        recorder.processingInstruction("text", "déjà €");
+        recorder.endElement("", "faces-config", "faces-config");
+        recorder.endDocument();
+
+        List<String> replayed = new ArrayList<>();
+        recorder.getDocument().replay(new DefaultHandler() {
+            @Override
+            public void processingInstruction(String target, String data) {
+                replayed.add(target + "=" + data);
+            }
+        });
+
+        assertEquals("[no-data=null, empty=, text=déjà €]", replayed.toString());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static Digester newDigester() {
+        Digester digester = DigesterFactory.newInstance(false, (String) null).createDigester();
+        digester.addRuleSet(new FacesConfigRuleSet(true, true, true));
+
+        return digester;
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.digester;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.digester.Digester;
+import org.junit.jupiter.api.Test;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.DescriptionBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.rules.FacesConfigRuleSet;
+import org.xml.sax.InputSource;
+
+public class StringArenaTest {
+
+    private static final String FACES_CONFIG = "/org/omnifaces/facesconfigparser/faces-config.xml";
+
+    @Test
+    public void roundTripsStrings() {
+        StringArena arena = new StringArena(64);
+        String[] values = { "", "plain", "déjà vu € 😀", new String(new char[100]).replace('\0', 'x') };
+
+        List<Long> references = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            for (String value : values) {
+                references.add(arena.store(value));
+            }
+        }
+
+        for (int i = 0; i < references.size(); i++) {
+            assertEquals(values[i % values.length], arena.get(references.get(i)));
+        }
+        assertTrue(arena.getSize() >= 10 * 104);
+        assertThrows(IllegalStateException.class, () -> arena.get(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void roundTripsParsedDescriptions() throws Exception {
+        StringArena arena = new StringArena();
+        FacesConfigBean stored = parse(arena);
+        FacesConfigBean held = parse(null);
+
+        assertTrue(arena.getSize() > 0);
+        ComponentBean input = stored.getComponent("javax.faces.Input");
+        for (DescriptionBean description : held.getComponent("javax.faces.Input").getDescriptionsView()) {
+            assertEquals(description.getDescription(), input.getDescription(description.getLang()).getDescription());
+        }
+    }
+
+    @Test
+    public void releasesBuffers() throws Exception {
+        StringArena arena = new StringArena();
+        FacesConfigBean facesConfig = parse(arena);
+        DescriptionBean description = facesConfig.getComponent("javax.faces.Input").getDescription("");
+        assertFalse(arena.isReleased());
+
+        arena.release();
+
+        assertTrue(arena.isReleased());
+        assertEquals(0, arena.getSize());
+        assertThrows(IllegalStateException.class, description::getDescription);
+        assertThrows(IllegalStateException.class, () -> arena.store("text"));
+    }
+
+    @Test
+    public void isCollectedWithItsBeans() throws Exception {
+        WeakReference<StringArena> arena = parseAndDiscard();
+
+        for (int i = 0; i < 20 && arena.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(arena.get());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static WeakReference<StringArena> parseAndDiscard() throws Exception {
+        StringArena arena = new StringArena();
+        parse(arena);
+        return new WeakReference<>(arena);
+    }
+
+    private static FacesConfigBean parse(StringArena arena) throws Exception {
+        Digester digester = DigesterFactory.newInstance(false, (String) null).createDigester();
+        digester.addRuleSet(new FacesConfigRuleSet(true, true, true, BeanFactory.DEFAULT, new StringPool(), arena, false));
+
+        return (FacesConfigBean) digester.parse(new InputSource(StringArenaTest.class.getResource(FACES_CONFIG).toExternalForm()));
+    }
+
+}
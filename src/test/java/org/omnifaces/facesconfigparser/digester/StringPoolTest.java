@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.digester;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.lang.ref.WeakReference;
+
+import org.apache.commons.digester.Digester;
+import org.junit.jupiter.api.Test;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.rules.FacesConfigRuleSet;
+import org.xml.sax.InputSource;
+
+public class StringPoolTest {
+
+    private static final String[] ATTRIBUTES = {
+            "accesskey", "alt", "dir", "disabled", "lang", "onblur", "onchange", "onclick", "ondblclick", "onfocus",
+            "onkeydown", "onkeypress", "onkeyup", "onmousedown", "onmousemove", "onmouseout", "onmouseover", "onmouseup",
+            "onselect", "readonly", "style", "styleClass", "tabindex", "title", "label" };
+
+    private static final String[] FAMILIES = {
+            "javax.faces.Command", "javax.faces.Data", "javax.faces.Form", "javax.faces.Graphic", "javax.faces.Input",
+            "javax.faces.Output", "javax.faces.Panel", "javax.faces.SelectBoolean", "javax.faces.SelectMany", "javax.faces.SelectOne" };
+
+    @Test
+    public void internsEqualValues() {
+        StringPool pool = new StringPool();
+        String first = new String("javax.faces.Input");
+        String second = new String("javax.faces.Input");
+
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertNull(pool.intern(null));
+
+        String text = new String(new char[StringPool.MAX_LENGTH + 1]);
+        assertSame(text, pool.intern(text));
+        assertNotSame(text, pool.intern(new String(text)));
+
+        assertEquals(2, pool.getLookupCount());
+        assertEquals(1, pool.getHitCount());
+        assertEquals(24 + 40, pool.getSavedBytes());
+    }
+
+    @Test
+    public void weakPoolDoesNotRetainStrings() throws Exception {
+        StringPool pool = StringPool.newWeakPool();
+        WeakReference<String> pooled = internFresh(pool);
+
+        for (int i = 0; i < 20 && pooled.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(pooled.get());
+
+        String value = new String("com.example.Pooled");
+        assertSame(value, pool.intern(value));
+        assertSame(value, pool.intern(new String("com.example.Pooled")));
+    }
+
+    @Test
+    public void deduplicatesComponentLibrary() throws Exception {
+        StringPool pool = new StringPool();
+        Digester digester = DigesterFactory.newInstance(false, (String) null).createDigester();
+        digester.addRuleSet(new FacesConfigRuleSet(true, false, true, BeanFactory.DEFAULT, pool));
+
+        FacesConfigBean facesConfig = (FacesConfigBean) digester.parse(new InputSource(new ByteArrayInputStream(componentLibrary(200))));
+
+        assertEquals(200, facesConfig.getComponents().length);
+        assertSame(facesConfig.getComponent("component0").getAttribute("style").getAttributeClass(),
+                facesConfig.getComponent("component199").getAttribute("style").getAttributeClass());
+        assertTrue(pool.getHitCount() * 10 > pool.getLookupCount() * 8, pool.getHitCount() + " hits of " + pool.getLookupCount());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static WeakReference<String> internFresh(StringPool pool) {
+        String value = new String("com.example.Pooled");
+        assertSame(value, pool.intern(value));
+        return new WeakReference<>(value);
+    }
+
+    // A library in the shape of the standard HTML components: many components sharing families, attribute names and types
+    private static byte[] componentLibrary(int components) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<faces-config>\n");
+        for (int i = 0; i < components; i++) {
+            xml.append("  <component><component-type>component").append(i).append("</component-type>");
+            xml.append("<component-class>com.example.Component").append(i).append("</component-class>\n");
+            for (String attribute : ATTRIBUTES) {
+                xml.append("    <attribute><attribute-name>").append(attribute).append("</attribute-name>");
+                xml.append("<attribute-class>java.lang.String</attribute-class></attribute>\n");
+            }
+            xml.append("    <component-extension><component-family>").append(FAMILIES[i % FAMILIES.length]);
+            xml.append("</component-family></component-extension>\n  </component>\n");
+        }
+        xml.append("</faces-config>\n");
+
+        return xml.toString().getBytes(UTF_8);
+    }
+
+}
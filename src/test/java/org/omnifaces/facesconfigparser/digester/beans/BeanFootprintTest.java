@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester.beans;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * <p>
+ * Counts the collections allocated per bean. A fresh bean shares the immutable empty defaults in all its collection
+ * fields; a bean that had each of its collections added to and removed from once holds an allocated, empty collection
+ * in every field: the layout all beans had when the collections were created by the constructors.
+ * </p>
+ */
+public class BeanFootprintTest {
+
+    @Test
+    public void attributeBean() {
+        assertFootprint(AttributeBean::new, BeanFootprintTest::touchFeatures, 3);
+    }
+
+    @Test
+    public void componentBean() {
+        assertFootprint(ComponentBean::new, bean -> {
+            touchFeatures(bean);
+            bean.addAttribute(attribute());
+            bean.removeAttribute(attribute());
+            bean.addProperty(property());
+            bean.removeProperty(property());
+        }, 5);
+    }
+
+    @Test
+    public void converterBean() {
+        assertFootprint(ConverterBean::new, bean -> {
+            touchFeatures(bean);
+            bean.addAttribute(attribute());
+            bean.removeAttribute(attribute());
+            bean.addProperty(property());
+            bean.removeProperty(property());
+        }, 5);
+    }
+
+    @Test
+    public void allocatesOnlyTheCollectionsInUse() {
+        ComponentBean bean = new ComponentBean();
+        bean.addAttribute(attribute());
+
+        assertEquals(1, allocatedCollections(bean));
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static <T> void assertFootprint(Supplier<T> constructor, Consumer<T> eager, int collectionCount) {
+        T bean = constructor.get();
+        assertEquals(0, allocatedCollections(bean), bean.getClass().getSimpleName() + " allocates collections when created");
+
+        eager.accept(bean);
+        assertEquals(collectionCount, allocatedCollections(bean), bean.getClass().getSimpleName() + " collection fields");
+    }
+
+    // Counts the collection and map fields of the given bean that hold an instance other than the shared empty defaults
+    private static int allocatedCollections(Object bean) {
+        int count = 0;
+        for (Class<?> type = bean.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())
+                        || !(Map.class.isAssignableFrom(field.getType()) || Collection.class.isAssignableFrom(field.getType()))) {
+                    continue;
+                }
+
+                Object value = get(field, bean);
+                if (value != null && value != Collections.emptyMap() && value != Collections.emptyList() && value != Collections.emptySet()) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private static Object get(Field field, Object bean) {
+        try {
+            field.setAccessible(true);
+            return field.get(bean);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void touchFeatures(FeatureBean bean) {
+        DescriptionBean description = new DescriptionBean();
+        description.setLang("en");
+        bean.addDescription(description);
+        bean.removeDescription(description);
+
+        DisplayNameBean displayName = new DisplayNameBean();
+        displayName.setLang("en");
+        bean.addDisplayName(displayName);
+        bean.removeDisplayName(displayName);
+
+        IconBean icon = new IconBean();
+        icon.setLang("en");
+        bean.addIcon(icon);
+        bean.removeIcon(icon);
+    }
+
+    private static AttributeBean attribute() {
+        AttributeBean attribute = new AttributeBean();
+        attribute.setAttributeName("value");
+        return attribute;
+    }
+
+    private static PropertyBean property() {
+        PropertyBean property = new PropertyBean();
+        property.setPropertyName("value");
+        return property;
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester.beans;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class BeanViewTest {
+
+    @Test
+    public void viewTakenBeforeFirstAddShowsLaterAdds() {
+        FacesConfigBean facesConfig = new FacesConfigBean();
+        Collection<ComponentBean> components = facesConfig.getComponentsView();
+        assertTrue(components.isEmpty());
+
+        ComponentBean component = new ComponentBean();
+        component.setComponentType("javax.faces.Input");
+        facesConfig.addComponent(component);
+
+        assertEquals(1, components.size());
+        assertTrue(components.contains(component));
+        assertEquals(component, components.iterator().next());
+    }
+
+    @Test
+    public void viewSurvivesReallocation() {
+        ApplicationBean application = new ApplicationBean();
+        Collection<String> actionListeners = application.getActionListenersView();
+
+        application.addActionListener("com.example.A");
+        assertEquals(1, actionListeners.size());
+
+        NavigationRuleBean navigationRule = new NavigationRuleBean();
+        List<NavigationCaseBean> navigationCases = navigationRule.getNavigationCasesView();
+        navigationRule.addNavigationCase(new NavigationCaseBean());
+        navigationRule.addNavigationCase(new NavigationCaseBean());
+        assertEquals(2, navigationCases.size());
+
+        // Removing the last description and adding a new one allocates a new map
+        AttributeBean attribute = new AttributeBean();
+        Collection<DescriptionBean> descriptions = attribute.getDescriptionsView();
+        DescriptionBean description = new DescriptionBean();
+        description.setLang("en");
+        attribute.addDescription(description);
+        attribute.removeDescription(description);
+        attribute.addDescription(description);
+        assertEquals(1, descriptions.size());
+    }
+
+    @Test
+    public void viewIsUnmodifiable() {
+        ApplicationBean application = new ApplicationBean();
+        application.addActionListener("com.example.A");
+
+        Iterator<String> iterator = application.getActionListenersView().iterator();
+        iterator.next();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+        assertThrows(UnsupportedOperationException.class, () -> application.getActionListenersView().add("com.example.B"));
+        assertThrows(UnsupportedOperationException.class, () -> new NavigationRuleBean().getNavigationCasesView().add(null));
+    }
+
+}
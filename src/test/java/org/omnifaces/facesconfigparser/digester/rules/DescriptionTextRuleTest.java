@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester.rules;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.digester.Digester;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.omnifaces.facesconfigparser.digester.DigesterFactory;
+import org.omnifaces.facesconfigparser.digester.StringPool;
+import org.omnifaces.facesconfigparser.digester.beans.BeanFactory;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.DescriptionBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.xml.sax.InputSource;
+
+public class DescriptionTextRuleTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void deferredDescriptionsEqualCapturedOnes() throws Exception {
+        Path facesConfig = copyFacesConfig();
+
+        ComponentBean captured = parse(facesConfig, false).getComponent("javax.faces.Input");
+        ComponentBean deferred = parse(facesConfig, true).getComponent("javax.faces.Input");
+
+        assertEquals("Plain & <b class=\"x&quot;y\">bold</b> text<br /> end", captured.getDescription("").getDescription());
+        for (DescriptionBean description : captured.getDescriptionsView()) {
+            DescriptionBean deferredDescription = deferred.getDescription(description.getLang());
+            assertTrue(deferredDescription.isDescriptionDeferred());
+            assertEquals(description.getDescription(), deferredDescription.getDescription());
+        }
+    }
+
+    @Test
+    public void deferredDescriptionOfChangedSourceFails() throws Exception {
+        Path facesConfig = copyFacesConfig();
+
+        DescriptionBean deferred = parse(facesConfig, true).getComponent("javax.faces.Input").getDescription("");
+        Files.write(facesConfig, "<faces-config />".getBytes(UTF_8));
+
+        assertThrows(IllegalStateException.class, deferred::getDescription);
+    }
+
+    @Test
+    public void deferredDescriptionOfSourceChangedInPlaceFails() throws Exception {
+        Path facesConfig = copyFacesConfig();
+
+        DescriptionBean deferred = parse(facesConfig, true).getComponent("javax.faces.Input").getDescription("");
+        String changed = new String(Files.readAllBytes(facesConfig), UTF_8).replace("Plain", "Plane");
+        Files.write(facesConfig, changed.getBytes(UTF_8));
+        Files.setLastModifiedTime(facesConfig, FileTime.fromMillis(Files.getLastModifiedTime(facesConfig).toMillis() + 2000));
+
+        assertThrows(IllegalStateException.class, deferred::getDescription);
+    }
+
+    @Test
+    public void capturesDescriptionsOfDocumentsDeclaringEntities() throws Exception {
+        Path facesConfig = directory.resolve("faces-config.xml");
+        Files.write(facesConfig, ("<?xml version=\"1.0\"?>\n<!DOCTYPE faces-config [\n  <!ENTITY company \"Example &amp; Co\">\n]>\n"
+                + "<faces-config>\n  <component><component-type>c</component-type><description>By &company;</description></component>\n"
+                + "</faces-config>\n").getBytes(UTF_8));
+
+        DescriptionBean description = parse(facesConfig, true).getComponent("c").getDescription("");
+
+        assertFalse(description.isDescriptionDeferred());
+        assertEquals("By Example & Co", description.getDescription());
+    }
+
+    @Test
+    public void loadsSharedDeferredDescriptionOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        DescriptionBean description = new DescriptionBean();
+        description.setDescriptionLoader(() -> {
+            loads.incrementAndGet();
+            return "loaded";
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(description::getDescription));
+            }
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private Path copyFacesConfig() throws Exception {
+        Path facesConfig = directory.resolve("faces-config.xml");
+        Files.copy(Paths.get(getClass().getResource("/org/omnifaces/facesconfigparser/faces-config.xml").toURI()), facesConfig);
+        return facesConfig;
+    }
+
+    private static FacesConfigBean parse(Path facesConfig, boolean deferDescriptions) throws Exception {
+        Digester digester = DigesterFactory.newInstance(false, (String) null).createDigester();
+        digester.addRuleSet(new FacesConfigRuleSet(true, true, true, BeanFactory.DEFAULT, new StringPool(), null, deferDescriptions));
+
+        return (FacesConfigBean) digester.parse(new InputSource(facesConfig.toUri().toString()));
+    }
+
+}
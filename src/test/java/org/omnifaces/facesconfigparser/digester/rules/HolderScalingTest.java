@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.omnifaces.facesconfigparser.digester.rules;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.omnifaces.facesconfigparser.digester.beans.ApplicationBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedBeanBean;
+import org.omnifaces.facesconfigparser.digester.beans.ManagedPropertyBean;
+
+/**
+ * <p>
+ * Adds and merges 10k entries into the holders that used to scan a list per entry, checking that duplicates are still
+ * dropped and declaration order kept. Their scaling is measured by <code>HolderScalingBenchmark</code> in the
+ * benchmarks module.
+ * </p>
+ */
+public class HolderScalingTest {
+
+    private static final int SIZE = 10_000;
+
+    @Test
+    public void addApplicationListeners() {
+        String[] names = names("com.example.Listener", SIZE);
+        ApplicationBean application = new ApplicationBean();
+        for (String name : names) {
+            application.addActionListener(name);
+            application.addELResolver(name);
+            application.addViewHandler(name);
+        }
+        for (String name : names) {
+            application.addActionListener(name);
+        }
+
+        assertArrayEquals(names, application.getActionListeners());
+        assertArrayEquals(names, application.getELResolvers());
+        assertArrayEquals(names, application.getViewHandlers());
+    }
+
+    @Test
+    public void addAndGetManagedProperties() {
+        String[] names = names("property", SIZE);
+        ManagedBeanBean managedBean = new ManagedBeanBean();
+        for (String name : names) {
+            managedBean.addManagedProperty(managedProperty(name));
+        }
+
+        for (String name : names) {
+            assertEquals(name, managedBean.getManagedProperty(name).getPropertyName());
+        }
+        assertArrayEquals(names, propertyNames(managedBean));
+    }
+
+    @Test
+    public void mergeManagedProperties() {
+        String[] names = names("property", SIZE);
+
+        // Half of the properties of top are in old as well
+        ManagedBeanBean top = new ManagedBeanBean();
+        ManagedBeanBean old = new ManagedBeanBean();
+        for (int i = 0; i < SIZE; i++) {
+            top.addManagedProperty(managedProperty(names[i]));
+            old.addManagedProperty(managedProperty(names[(i + SIZE / 2) % SIZE].concat("-old")));
+        }
+        for (int i = 0; i < SIZE / 2; i++) {
+            old.addManagedProperty(managedProperty(names[i]));
+        }
+
+        ManagedPropertyRule.mergeManagedProperties(top, old);
+
+        assertEquals(SIZE * 2, old.getManagedPropertiesView().size());
+        for (String name : names) {
+            assertEquals(name, old.getManagedProperty(name).getPropertyName());
+        }
+    }
+
+    @Test
+    public void mergeApplications() {
+        String[] names = names("com.example.Listener", SIZE);
+        ApplicationBean top = new ApplicationBean();
+        ApplicationBean old = new ApplicationBean();
+        for (int i = 0; i < SIZE; i++) {
+            top.addActionListener(names[i]);
+            old.addActionListener(names[(i + SIZE / 2) % SIZE]);
+        }
+
+        ApplicationRule.mergeApplication(top, old);
+
+        assertEquals(SIZE, old.getActionListenersView().size());
+        String[] sorted = old.getActionListeners();
+        Arrays.sort(sorted);
+        String[] expected = names.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sorted);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static String[] names(String prefix, int size) {
+        String[] names = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = prefix + i;
+        }
+        return names;
+    }
+
+    private static String[] propertyNames(ManagedBeanBean managedBean) {
+        return managedBean.getManagedPropertiesView().stream().map(ManagedPropertyBean::getPropertyName).toArray(String[]::new);
+    }
+
+    private static ManagedPropertyBean managedProperty(String name) {
+        ManagedPropertyBean managedProperty = new ManagedPropertyBean();
+        managedProperty.setPropertyName(name);
+        return managedProperty;
+    }
+
+}
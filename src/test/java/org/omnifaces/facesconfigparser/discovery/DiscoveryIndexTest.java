@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.discovery;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DiscoveryIndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void warmStartSkipsUnchangedJars() throws Exception {
+        Path lib = Files.createDirectory(directory.resolve("lib"));
+        jar(lib.resolve("a.jar"), FacesConfigDiscovery.FACES_CONFIG, "META-INF/a.faces-config.xml");
+        jar(lib.resolve("b.jar"), "META-INF/MANIFEST.MF");
+        Path indexFile = directory.resolve("discovery.idx");
+
+        FacesConfigDiscovery cold = new FacesConfigDiscovery(DiscoveryIndex.load(indexFile), true);
+        List<URL> discovered = cold.discover(singletonList(lib));
+        assertEquals(2, cold.getOpenedCount());
+        assertEquals(0, cold.getSkippedCount());
+        assertEquals(asList(FacesConfigDiscovery.toURL(lib.resolve("a.jar"), FacesConfigDiscovery.FACES_CONFIG),
+                FacesConfigDiscovery.toURL(lib.resolve("a.jar"), "META-INF/a.faces-config.xml")), discovered);
+
+        assertEquals(0, DiscoveryIndex.load(indexFile).size());
+        storeIndex(lib, indexFile);
+
+        FacesConfigDiscovery warm = new FacesConfigDiscovery(DiscoveryIndex.load(indexFile), true);
+        assertEquals(discovered, warm.discover(singletonList(lib)));
+        assertEquals(0, warm.getOpenedCount());
+        assertEquals(2, warm.getSkippedCount());
+    }
+
+    @Test
+    public void reopensJarsWithChangedSize() throws Exception {
+        Path lib = Files.createDirectory(directory.resolve("lib"));
+        Path jar = lib.resolve("a.jar");
+        jar(jar, FacesConfigDiscovery.FACES_CONFIG);
+        Path indexFile = storeIndex(lib, directory.resolve("discovery.idx"));
+
+        FileTime lastModified = Files.getLastModifiedTime(jar);
+        jar(jar, FacesConfigDiscovery.FACES_CONFIG, "META-INF/a.faces-config.xml");
+        Files.setLastModifiedTime(jar, lastModified);
+
+        FacesConfigDiscovery discovery = new FacesConfigDiscovery(DiscoveryIndex.load(indexFile), false);
+        assertEquals(2, discovery.discover(singletonList(lib)).size());
+        assertEquals(1, discovery.getOpenedCount());
+    }
+
+    @Test
+    public void reopensJarsWithChangedLastModified() throws Exception {
+        Path lib = Files.createDirectory(directory.resolve("lib"));
+        Path jar = lib.resolve("a.jar");
+        jar(jar, FacesConfigDiscovery.FACES_CONFIG);
+        Path indexFile = storeIndex(lib, directory.resolve("discovery.idx"));
+
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 2000));
+
+        FacesConfigDiscovery discovery = new FacesConfigDiscovery(DiscoveryIndex.load(indexFile), false);
+        assertEquals(1, discovery.discover(singletonList(lib)).size());
+        assertEquals(1, discovery.getOpenedCount());
+        assertEquals(0, discovery.getSkippedCount());
+    }
+
+    @Test
+    public void reopensJarsWithChangedCrcOnlyWhenVerifyingCrc() throws Exception {
+        Path lib = Files.createDirectory(directory.resolve("lib"));
+        Path jar = lib.resolve("a.jar");
+        jar(jar, "META-INF/a.faces-config.xml");
+        Path indexFile = storeIndex(lib, directory.resolve("discovery.idx"));
+
+        // Same size and modification time, different central directory
+        long size = Files.size(jar);
+        FileTime lastModified = Files.getLastModifiedTime(jar);
+        jar(jar, "META-INF/a.faces-config.xmI");
+        Files.setLastModifiedTime(jar, lastModified);
+        assertEquals(size, Files.size(jar));
+
+        FacesConfigDiscovery unverified = new FacesConfigDiscovery(DiscoveryIndex.load(indexFile), false);
+        assertEquals(1, unverified.discover(singletonList(lib)).size());
+        assertEquals(1, unverified.getSkippedCount());
+
+        FacesConfigDiscovery verified = new FacesConfigDiscovery(DiscoveryIndex.load(indexFile), true);
+        assertEquals(0, verified.discover(singletonList(lib)).size());
+        assertEquals(1, verified.getOpenedCount());
+        assertEquals(0, verified.getSkippedCount());
+    }
+
+    @Test
+    public void recoversFromCorruptIndex() throws Exception {
+        Path lib = Files.createDirectory(directory.resolve("lib"));
+        jar(lib.resolve("a.jar"), FacesConfigDiscovery.FACES_CONFIG);
+        jar(lib.resolve("b.jar"), FacesConfigDiscovery.FACES_CONFIG);
+        Path indexFile = storeIndex(lib, directory.resolve("discovery.idx"));
+        assertEquals(2, DiscoveryIndex.load(indexFile).size());
+
+        // Truncated
+        byte[] stored = Files.readAllBytes(indexFile);
+        Files.write(indexFile, Arrays.copyOf(stored, stored.length - 5));
+        assertEquals(0, DiscoveryIndex.load(indexFile).size());
+
+        // Garbage
+        Files.write(indexFile, "not an index".getBytes("UTF-8"));
+        DiscoveryIndex index = DiscoveryIndex.load(indexFile);
+        assertEquals(0, index.size());
+
+        FacesConfigDiscovery discovery = new FacesConfigDiscovery(index, true);
+        assertEquals(2, discovery.discover(singletonList(lib)).size());
+        assertEquals(2, discovery.getOpenedCount());
+
+        index.store(indexFile);
+        assertEquals(2, DiscoveryIndex.load(indexFile).size());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    // Runs a cold discovery of the given directory and stores its index
+    private static Path storeIndex(Path lib, Path indexFile) {
+        DiscoveryIndex index = new DiscoveryIndex();
+        new FacesConfigDiscovery(index, true).discover(singletonList(lib));
+        index.store(indexFile);
+
+        return indexFile;
+    }
+
+    private static void jar(Path jar, String... entries) throws Exception {
+        try (JarOutputStream stream = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (String entry : entries) {
+                JarEntry jarEntry = new JarEntry(entry);
+                jarEntry.setTime(0);
+                stream.putNextEntry(jarEntry);
+                stream.write("<faces-config/>".getBytes("UTF-8"));
+                stream.closeEntry();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.omnifaces.facesconfigparser.digester.beans.AttributeBean;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.PropertyBean;
+
+public class ColumnarModelTest {
+
+    @Test
+    public void roundTripsModel() throws Exception {
+        FacesConfigBean facesConfig = ModelFreezerTest.parse();
+        ComponentBean input = facesConfig.getComponent("javax.faces.Input");
+        AttributeBean attribute = input.getAttributes()[0];
+        attribute.addBehavior("change");
+        attribute.setDefaultBehavior(true);
+        PropertyBean property = new PropertyBean();
+        property.setPropertyName("value");
+        property.setPropertyClass("java.lang.Object");
+        property.setDefaultBehavior(true);
+        property.setReadOnly(true);
+        input.addProperty(property);
+
+        FacesConfigModel model = FacesConfigModel.freeze(facesConfig);
+        SymbolTable symbols = new SymbolTable();
+        ColumnarModel columns = ColumnarModel.of(model, symbols);
+        assertSame(symbols, columns.getSymbols());
+
+        List<ComponentModel> components = model.getComponents();
+        assertEquals(components.size(), columns.getComponentCount());
+        for (int row = 0; row < components.size(); row++) {
+            ComponentModel component = components.get(row);
+            assertEquals(component.getComponentType(), symbols.symbol(columns.getComponentType(row)));
+            assertEquals(component.getComponentClass(), symbols.symbol(columns.getComponentClass(row)));
+            assertEquals(component.getComponentFamily(), symbols.symbol(columns.getComponentFamily(row)));
+            assertEquals(component.getRendererType(), symbols.symbol(columns.getComponentRendererType(row)));
+            assertEquals(component.isIgnore(), columns.isComponentIgnore(row));
+            assertAttributes(component.getAttributes(), columns, columns.getComponentAttributesStart(row), columns.getComponentAttributesEnd(row));
+            assertProperties(component.getProperties(), columns, columns.getComponentPropertiesStart(row), columns.getComponentPropertiesEnd(row));
+        }
+
+        int inputRow = components.indexOf(model.getComponent("javax.faces.Input"));
+        assertTrue(columns.isAttributeDefaultBehavior(columns.getComponentAttributesStart(inputRow)));
+        assertTrue(columns.isPropertyDefaultBehavior(columns.getComponentPropertiesEnd(inputRow) - 1));
+
+        List<ConverterModel> converters = new ArrayList<>(model.getConvertersById());
+        for (ConverterModel converter : model.getConvertersByClass()) {
+            if (!converters.contains(converter)) {
+                converters.add(converter);
+            }
+        }
+        assertEquals(converters.size(), columns.getConverterCount());
+        for (int row = 0; row < converters.size(); row++) {
+            ConverterModel converter = converters.get(row);
+            assertEquals(converter.getConverterId(), symbols.symbol(columns.getConverterId(row)));
+            assertEquals(converter.getConverterForClassName(), symbols.symbol(columns.getConverterForClass(row)));
+            assertEquals(converter.getConverterClass(), symbols.symbol(columns.getConverterClass(row)));
+            assertAttributes(converter.getAttributes(), columns, columns.getConverterAttributesStart(row), columns.getConverterAttributesEnd(row));
+            assertProperties(converter.getProperties(), columns, columns.getConverterPropertiesStart(row), columns.getConverterPropertiesEnd(row));
+        }
+
+        List<ValidatorModel> validators = model.getValidators();
+        assertEquals(validators.size(), columns.getValidatorCount());
+        for (int row = 0; row < validators.size(); row++) {
+            ValidatorModel validator = validators.get(row);
+            assertEquals(validator.getValidatorId(), symbols.symbol(columns.getValidatorId(row)));
+            assertEquals(validator.getValidatorClass(), symbols.symbol(columns.getValidatorClass(row)));
+            assertAttributes(validator.getAttributes(), columns, columns.getValidatorAttributesStart(row), columns.getValidatorAttributesEnd(row));
+            assertProperties(validator.getProperties(), columns, columns.getValidatorPropertiesStart(row), columns.getValidatorPropertiesEnd(row));
+        }
+
+        int row = 0;
+        for (RenderKitModel renderKit : model.getRenderKits()) {
+            for (RendererModel renderer : renderKit.getRenderers()) {
+                assertEquals(renderKit.getRenderKitId(), symbols.symbol(columns.getRendererRenderKit(row)));
+                assertEquals(renderer.getComponentFamily(), symbols.symbol(columns.getRendererFamily(row)));
+                assertEquals(renderer.getRendererType(), symbols.symbol(columns.getRendererType(row)));
+                assertEquals(renderer.getRendererClass(), symbols.symbol(columns.getRendererClass(row)));
+                assertEquals(renderer.isRendersChildren(), columns.isRendersChildren(row));
+                assertEquals(renderer.isIgnoreForJsp(), columns.isIgnoreForJsp(row));
+                assertEquals(renderer.isIgnoreAll(), columns.isIgnoreAll(row));
+                assertEquals(renderer.isBodyTag(), columns.isBodyTag(row));
+                assertAttributes(renderer.getAttributes(), columns, columns.getRendererAttributesStart(row), columns.getRendererAttributesEnd(row));
+                row++;
+            }
+        }
+        assertEquals(row, columns.getRendererCount());
+
+        // A second model mapped with the same table joins on the same ids
+        ColumnarModel other = ColumnarModel.of(FacesConfigModel.freeze(ModelFreezerTest.parse()), symbols);
+        assertEquals(columns.getComponentType(0), other.getComponentType(0));
+    }
+
+    @Test
+    public void assignsIdsConcurrently() throws Exception {
+        SymbolTable symbols = new SymbolTable();
+        int threads = 8;
+        int count = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    int[] ids = new int[count];
+                    for (int i = 0; i < count; i++) {
+                        ids[i] = symbols.id("symbol" + i);
+                    }
+                    return ids;
+                }));
+            }
+
+            int[] first = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<int[]> result : results) {
+                int[] ids = result.get(10, TimeUnit.SECONDS);
+                for (int i = 0; i < count; i++) {
+                    assertEquals(first[i], ids[i]);
+                    assertEquals("symbol" + i, symbols.symbol(ids[i]));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(count, symbols.size());
+        for (int i = 0; i < count; i++) {
+            assertTrue(symbols.find("symbol" + i) < count);
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static void assertAttributes(List<AttributeModel> attributes, ColumnarModel columns, int start, int end) {
+        assertEquals(attributes.size(), end - start);
+        for (int i = 0; i < attributes.size(); i++) {
+            AttributeModel attribute = attributes.get(i);
+            int row = start + i;
+            assertEquals(attribute.getName(), columns.getSymbols().symbol(columns.getAttributeName(row)));
+            assertEquals(attribute.getAttributeClass(), columns.getSymbols().symbol(columns.getAttributeClass(row)));
+            assertEquals(attribute.isPassThrough(), columns.isAttributePassThrough(row));
+            assertEquals(attribute.isRequired(), columns.isAttributeRequired(row));
+            assertEquals(attribute.isTagAttribute(), columns.isAttributeTagAttribute(row));
+            assertEquals(attribute.isAttributeIgnoredForRenderer(), columns.isAttributeIgnoredForRenderer(row));
+            assertEquals(attribute.isDefaultBehavior(), columns.isAttributeDefaultBehavior(row));
+        }
+    }
+
+    private static void assertProperties(List<PropertyModel> properties, ColumnarModel columns, int start, int end) {
+        assertEquals(properties.size(), end - start);
+        for (int i = 0; i < properties.size(); i++) {
+            PropertyModel property = properties.get(i);
+            int row = start + i;
+            assertEquals(property.getName(), columns.getSymbols().symbol(columns.getPropertyName(row)));
+            assertEquals(property.getPropertyClass(), columns.getSymbols().symbol(columns.getPropertyClass(row)));
+            assertEquals(property.isPassThrough(), columns.isPropertyPassThrough(row));
+            assertEquals(property.isReadOnly(), columns.isPropertyReadOnly(row));
+            assertEquals(property.isRequired(), columns.isPropertyRequired(row));
+            assertEquals(property.isTagAttribute(), columns.isPropertyTagAttribute(row));
+            assertEquals(property.isMethodExpressionEnabled(), columns.isPropertyMethodExpressionEnabled(row));
+            assertEquals(property.isValueExpressionEnabled(), columns.isPropertyValueExpressionEnabled(row));
+            assertEquals(property.isDefaultBehavior(), columns.isPropertyDefaultBehavior(row));
+        }
+    }
+
+}
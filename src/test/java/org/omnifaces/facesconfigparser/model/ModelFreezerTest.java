@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.digester.Digester;
+import org.junit.jupiter.api.Test;
+import org.omnifaces.facesconfigparser.digester.DigesterFactory;
+import org.omnifaces.facesconfigparser.digester.beans.AttributeBean;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.ConverterBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+import org.omnifaces.facesconfigparser.digester.beans.PropertyBean;
+import org.omnifaces.facesconfigparser.digester.beans.RenderKitBean;
+import org.omnifaces.facesconfigparser.digester.beans.RendererBean;
+import org.omnifaces.facesconfigparser.digester.beans.ValidatorBean;
+import org.omnifaces.facesconfigparser.digester.rules.FacesConfigRuleSet;
+import org.xml.sax.InputSource;
+
+public class ModelFreezerTest {
+
+    static final String FACES_CONFIG = "/org/omnifaces/facesconfigparser/faces-config.xml";
+
+    static FacesConfigBean parse() throws Exception {
+        Digester digester = DigesterFactory.newInstance(false, (String) null).createDigester();
+        digester.addRuleSet(new FacesConfigRuleSet(true, true, true));
+
+        return (FacesConfigBean) digester.parse(new InputSource(ModelFreezerTest.class.getResource(FACES_CONFIG).toExternalForm()));
+    }
+
+    @Test
+    public void snapshotEqualsSource() throws Exception {
+        FacesConfigBean facesConfig = parse();
+        FacesConfigModel model = FacesConfigModel.freeze(facesConfig);
+
+        assertEquals(facesConfig.getComponentsView().size(), model.getComponents().size());
+        for (ComponentBean bean : facesConfig.getComponentsView()) {
+            ComponentModel component = model.getComponent(bean.getComponentType());
+            assertEquals(bean.getComponentClass(), component.getComponentClass());
+            assertEquals(bean.getBaseComponentType(), component.getBaseComponentType());
+            assertEquals(bean.getComponentFamily(), component.getComponentFamily());
+            assertEquals(bean.getRendererType(), component.getRendererType());
+            assertEquals(bean.isIgnore(), component.isIgnore());
+            assertAttributes(bean.getAttributesView(), component.getAttributes());
+            assertProperties(bean.getPropertiesView(), component.getProperties());
+        }
+
+        assertEquals(facesConfig.getConvertersByIdView().size(), model.getConvertersById().size());
+        for (ConverterBean bean : facesConfig.getConvertersByIdView()) {
+            assertConverter(bean, model.getConverterById(bean.getConverterId()));
+        }
+        assertEquals(facesConfig.getConvertersByClassView().size(), model.getConvertersByClass().size());
+        for (ConverterBean bean : facesConfig.getConvertersByClassView()) {
+            assertConverter(bean, model.getConverterByClass(bean.getConverterForClassName()));
+        }
+
+        assertEquals(facesConfig.getValidatorsView().size(), model.getValidators().size());
+        for (ValidatorBean bean : facesConfig.getValidatorsView()) {
+            ValidatorModel validator = model.getValidator(bean.getValidatorId());
+            assertEquals(bean.getValidatorClass(), validator.getValidatorClass());
+            assertAttributes(bean.getAttributesView(), validator.getAttributes());
+            assertProperties(bean.getPropertiesView(), validator.getProperties());
+        }
+
+        assertEquals(facesConfig.getRenderKitsView().size(), model.getRenderKits().size());
+        for (RenderKitBean bean : facesConfig.getRenderKitsView()) {
+            RenderKitModel renderKit = model.getRenderKit(bean.getRenderKitId());
+            assertEquals(bean.getRenderKitClass(), renderKit.getRenderKitClass());
+            assertEquals(bean.getRenderersView().size(), renderKit.getRenderers().size());
+            for (RendererBean rendererBean : bean.getRenderersView()) {
+                RendererModel renderer = renderKit.getRenderer(rendererBean.getComponentFamily(), rendererBean.getRendererType());
+                assertEquals(rendererBean.getRendererClass(), renderer.getRendererClass());
+                assertEquals(rendererBean.getExcludeAttributes(), renderer.getExcludeAttributes());
+                assertEquals(rendererBean.getTagName(), renderer.getTagName());
+                assertEquals(rendererBean.isRendersChildren(), renderer.isRendersChildren());
+                assertEquals(rendererBean.isIgnoreForJsp(), renderer.isIgnoreForJsp());
+                assertEquals(rendererBean.isIgnoreAll(), renderer.isIgnoreAll());
+                assertEquals(rendererBean.isBodyTag(), renderer.isBodyTag());
+                assertAttributes(rendererBean.getAttributesView(), renderer.getAttributes());
+            }
+        }
+
+        assertEquals(model, FacesConfigModel.freeze(parse()));
+    }
+
+    @Test
+    public void snapshotIsImmutable() throws Exception {
+        FacesConfigBean facesConfig = parse();
+        FacesConfigModel model = FacesConfigModel.freeze(facesConfig);
+        int hashCode = model.hashCode();
+
+        ComponentModel input = model.getComponent("javax.faces.Input");
+        assertThrows(UnsupportedOperationException.class, () -> model.getComponents().clear());
+        assertThrows(UnsupportedOperationException.class, () -> model.getConvertersById().clear());
+        assertThrows(UnsupportedOperationException.class, () -> model.getRenderKits().clear());
+        assertThrows(UnsupportedOperationException.class, () -> input.getAttributes().clear());
+        assertThrows(UnsupportedOperationException.class, () -> input.getAttributes().get(0).getBehaviors().add("behavior"));
+        assertThrows(UnsupportedOperationException.class, () -> model.getRenderKits().get(0).getRenderers().clear());
+
+        // Later changes to the source are not seen
+        ComponentBean added = new ComponentBean();
+        added.setComponentType("com.example.Added");
+        facesConfig.addComponent(added);
+        facesConfig.getComponent("javax.faces.Input").setComponentClass("com.example.Changed");
+        facesConfig.getComponent("javax.faces.Input").removeAttribute(facesConfig.getComponent("javax.faces.Input").getAttributes()[0]);
+
+        assertNull(model.getComponent("com.example.Added"));
+        assertEquals("javax.faces.component.UIInput", input.getComponentClass());
+        assertEquals(2, input.getAttributes().size());
+        assertEquals(hashCode, model.hashCode());
+        assertEquals(model, FacesConfigModel.freeze(parse()));
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static void assertConverter(ConverterBean bean, ConverterModel converter) {
+        assertEquals(bean.getConverterId(), converter.getConverterId());
+        assertEquals(bean.getConverterForClassName(), converter.getConverterForClassName());
+        assertEquals(bean.getConverterClass(), converter.getConverterClass());
+        assertAttributes(bean.getAttributesView(), converter.getAttributes());
+        assertProperties(bean.getPropertiesView(), converter.getProperties());
+    }
+
+    private static void assertAttributes(Collection<AttributeBean> beans, List<AttributeModel> attributes) {
+        assertEquals(beans.size(), attributes.size());
+        int i = 0;
+        for (AttributeBean bean : beans) {
+            AttributeModel attribute = attributes.get(i++);
+            assertEquals(bean.getAttributeName(), attribute.getName());
+            assertEquals(bean.getAttributeClass(), attribute.getAttributeClass());
+            assertEquals(bean.getSuggestedValue(), attribute.getSuggestedValue());
+            assertEquals(bean.getDefaultValue(), attribute.getDefaultValue());
+            assertEquals(size(bean.getBehaviors()), attribute.getBehaviors().size());
+            assertEquals(bean.isPassThrough(), attribute.isPassThrough());
+            assertEquals(bean.isRequired(), attribute.isRequired());
+            assertEquals(bean.isTagAttribute(), attribute.isTagAttribute());
+            assertEquals(bean.isAttributeIgnoredForRenderer(), attribute.isAttributeIgnoredForRenderer());
+            assertEquals(bean.isDefaultBehavior(), attribute.isDefaultBehavior());
+        }
+    }
+
+    private static void assertProperties(Collection<PropertyBean> beans, List<PropertyModel> properties) {
+        assertEquals(beans.size(), properties.size());
+        int i = 0;
+        for (PropertyBean bean : beans) {
+            PropertyModel property = properties.get(i++);
+            assertEquals(bean.getPropertyName(), property.getName());
+            assertEquals(bean.getPropertyClass(), property.getPropertyClass());
+            assertEquals(bean.getSuggestedValue(), property.getSuggestedValue());
+            assertEquals(bean.getDefaultValue(), property.getDefaultValue());
+            assertEquals(bean.getMethodSignature(), property.getMethodSignature());
+            assertEquals(size(bean.getBehaviors()), property.getBehaviors().size());
+            assertEquals(bean.isPassThrough(), property.isPassThrough());
+            assertEquals(bean.isReadOnly(), property.isReadOnly());
+            assertEquals(bean.isRequired(), property.isRequired());
+            assertEquals(bean.isTagAttribute(), property.isTagAttribute());
+            assertEquals(bean.isMethodExpressionEnabled(), property.isMethodExpressionEnabled());
+            assertEquals(bean.isValueExpressionEnabled(), property.isValueExpressionEnabled());
+            assertEquals(bean.isDefaultBehavior(), property.isDefaultBehavior());
+        }
+    }
+
+    private static int size(List<String> behaviors) {
+        return behaviors == null ? 0 : behaviors.size();
+    }
+
+}
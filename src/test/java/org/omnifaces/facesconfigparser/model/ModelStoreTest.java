@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+
+import org.junit.jupiter.api.Test;
+import org.omnifaces.facesconfigparser.digester.beans.ComponentBean;
+import org.omnifaces.facesconfigparser.digester.beans.FacesConfigBean;
+
+public class ModelStoreTest {
+
+    @Test
+    public void sharesEqualSubtrees() throws Exception {
+        ModelStore store = new ModelStore();
+        FacesConfigModel first = FacesConfigModel.freeze(ModelFreezerTest.parse(), store);
+
+        // An equal model is the same instance
+        assertSame(first, FacesConfigModel.freeze(ModelFreezerTest.parse(), store));
+
+        // A different model shares the subtrees it has in common with the first
+        FacesConfigBean changed = ModelFreezerTest.parse();
+        ComponentBean added = new ComponentBean();
+        added.setComponentType("com.example.Added");
+        added.setComponentClass("javax.faces.component.UIInput");
+        changed.addComponent(added);
+        FacesConfigModel second = FacesConfigModel.freeze(changed, store);
+
+        assertNotSame(first, second);
+        assertSame(first.getComponent("javax.faces.Input"), second.getComponent("javax.faces.Input"));
+        assertSame(first.getConverterById("myConv"), second.getConverterById("myConv"));
+        assertSame(first.getRenderKits().get(0), second.getRenderKits().get(0));
+        assertSame(first.getComponent("javax.faces.Input").getComponentClass(), second.getComponent("com.example.Added").getComponentClass());
+    }
+
+    @Test
+    public void sharesEqualArrays() throws Exception {
+        ModelStore store = new ModelStore();
+        FacesConfigBean facesConfig = ModelFreezerTest.parse();
+
+        // A component with the same attributes as another
+        ComponentBean input = facesConfig.getComponent("javax.faces.Input");
+        ComponentBean copy = new ComponentBean();
+        copy.setComponentType("com.example.Copy");
+        input.getAttributesView().forEach(copy::addAttribute);
+        facesConfig.addComponent(copy);
+
+        FacesConfigModel model = FacesConfigModel.freeze(facesConfig, store);
+        Object attributes = field(model.getComponent("javax.faces.Input"), "attributes");
+        assertEquals(2, ((Object[]) attributes).length);
+        assertSame(attributes, field(model.getComponent("com.example.Copy"), "attributes"));
+
+        // Empty arrays are shared, but not across types
+        assertSame(field(model.getComponent("com.example.Copy"), "properties"), field(model.getConverterById("myConv"), "properties"));
+        assertNotSame(field(model.getConverterById("myConv"), "attributes"), field(model.getConverterById("myConv"), "properties"));
+    }
+
+    @Test
+    public void doesNotRetainDiscardedModels() throws Exception {
+        ModelStore store = new ModelStore();
+        WeakReference<FacesConfigModel> model = new WeakReference<>(FacesConfigModel.freeze(ModelFreezerTest.parse(), store));
+
+        for (int i = 0; i < 20 && model.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(model.get());
+
+        // Only constants such as the default render kit id are left
+        assertTrue(store.size() <= 1, store.size() + " instances left");
+    }
+
+    @Test
+    public void clearsCanonicalInstances() throws Exception {
+        ModelStore store = new ModelStore();
+        FacesConfigModel model = FacesConfigModel.freeze(ModelFreezerTest.parse(), store);
+        int size = store.size();
+
+        store.clear();
+        assertEquals(0, store.size());
+
+        FacesConfigModel again = FacesConfigModel.freeze(ModelFreezerTest.parse(), store);
+        assertNotSame(model, again);
+        assertEquals(model, again);
+        assertEquals(size, store.size());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static Object field(Object model, String name) throws Exception {
+        Field field = model.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(model);
+    }
+
+}
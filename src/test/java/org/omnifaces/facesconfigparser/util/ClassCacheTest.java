@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.omnifaces.facesconfigparser.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.jupiter.api.Test;
+
+public class ClassCacheTest {
+
+    private static final String MISSING = "com.example.Missing";
+
+    @Test
+    public void cachesMissesUntilTheyExpire() throws Exception {
+        CountingLoader loader = new CountingLoader();
+
+        assertThrows(ClassNotFoundException.class, () -> ClassCache.load(MISSING, loader, 0));
+        assertThrows(ClassNotFoundException.class, () -> ClassCache.load(MISSING, loader, ClassCache.MISS_TIMEOUT - 1));
+        assertEquals(1, loader.count);
+
+        assertThrows(ClassNotFoundException.class, () -> ClassCache.load(MISSING, loader, ClassCache.MISS_TIMEOUT));
+        assertEquals(2, loader.count);
+
+        assertSame(String.class, ClassCache.load("java.lang.String", loader, 0));
+        assertSame(String.class, ClassCache.load("java.lang.String", loader, 0));
+        assertEquals(3, loader.count);
+    }
+
+    @Test
+    public void boundsMissesPerLoader() {
+        CountingLoader loader = new CountingLoader();
+        CountingLoader other = new CountingLoader();
+        assertThrows(ClassNotFoundException.class, () -> ClassCache.load(MISSING, other, 0));
+
+        for (int i = 0; i < ClassCache.MAX_MISSES + 10; i++) {
+            String name = MISSING + i;
+            assertThrows(ClassNotFoundException.class, () -> ClassCache.load(name, loader, 0));
+        }
+        assertEquals(ClassCache.MAX_MISSES, ClassCache.missCount(loader));
+        assertEquals(1, ClassCache.missCount(other));
+
+        ClassCache.clear(loader);
+        assertEquals(0, ClassCache.missCount(loader));
+        assertEquals(1, ClassCache.missCount(other));
+    }
+
+    @Test
+    public void doesNotPinDiscardedLoaders() throws Exception {
+        WeakReference<ClassLoader> loader = loadWithDiscardedLoader();
+
+        for (int i = 0; i < 20 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(loader.get());
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static WeakReference<ClassLoader> loadWithDiscardedLoader() throws Exception {
+        CountingLoader loader = new CountingLoader();
+        assertSame(String.class, ClassCache.load("java.lang.String", loader));
+        assertThrows(ClassNotFoundException.class, () -> ClassCache.load(MISSING, loader));
+
+        return new WeakReference<>(loader);
+    }
+
+    // ----------------------------------------------------------- Inner Classes
+
+    private static final class CountingLoader extends ClassLoader {
+
+        int count;
+
+        CountingLoader() {
+            super(ClassCacheTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            count++;
+            return super.loadClass(name, resolve);
+        }
+
+    }
+
+}